@@ -0,0 +1,18 @@
+#version 460
+
+uniform vec4 color;
+uniform vec3 lightDirection;
+uniform float ambient;
+
+in vec3 normal;
+in vec4 vertexColor;
+
+out vec4 fragColor;
+
+void main()
+{
+    //Simple directional lighting, entities don't go through the lighting of the MeshRenderers
+    float diffuse = max(dot(normalize(normal), -normalize(lightDirection)), 0.0);
+
+    fragColor = vec4(color.rgb * vertexColor.rgb * (ambient + (1.0 - ambient) * diffuse), color.a * vertexColor.a);
+}
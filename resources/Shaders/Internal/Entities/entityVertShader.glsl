@@ -0,0 +1,21 @@
+#version 460
+layout (location = 0) in vec3 position;
+layout (location = 1) in vec4 inVertColor;
+layout (location = 3) in vec3 inNormal;
+layout (location = 4) in vec4 instancePositionScale;
+
+uniform mat4 uView;
+uniform mat4 uProjection;
+
+out vec3 normal;
+out vec4 vertexColor;
+
+void main()
+{
+    vec3 worldPosition = position * instancePositionScale.w + instancePositionScale.xyz;
+
+    gl_Position = uProjection * uView * vec4(worldPosition, 1.0);
+
+    normal = inNormal;
+    vertexColor = inVertColor;
+}
@@ -0,0 +1,22 @@
+#version 460
+
+uniform sampler2D image;
+uniform bool roundParticles;
+
+in vec2 uvCoords;
+in vec4 particleColor;
+
+out vec4 color;
+
+void main()
+{
+    color = texture(image, uvCoords) * particleColor;
+
+    if(roundParticles)
+    {
+        color.a *= 1.0 - smoothstep(0.8, 1.0, length(uvCoords * 2.0 - 1.0));
+    }
+
+    if(color.a <= 0.0)
+        discard;
+}
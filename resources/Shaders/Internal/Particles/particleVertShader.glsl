@@ -0,0 +1,29 @@
+#version 460
+layout (location = 0) in vec2 corner;
+layout (location = 1) in vec4 instancePositionAge;
+
+uniform mat4 uView;
+uniform mat4 uProjection;
+
+uniform vec4 startColor;
+uniform vec4 endColor;
+uniform float startSize;
+uniform float endSize;
+
+out vec2 uvCoords;
+out vec4 particleColor;
+
+void main()
+{
+    float age = instancePositionAge.w;
+    float size = mix(startSize, endSize, age);
+
+    //The quad is expanded in view space so it always faces the camera
+    vec4 viewPosition = uView * vec4(instancePositionAge.xyz, 1.0);
+    viewPosition.xy += corner * size;
+
+    gl_Position = uProjection * viewPosition;
+
+    uvCoords = corner + 0.5;
+    particleColor = mix(startColor, endColor, age);
+}
@@ -1,16 +1,21 @@
 package JGame.Application;
 
 import JGame.Engine.Basic.BaseObject;
+import JGame.Engine.Basic.CallbackDispatcher;
 import JGame.Engine.Basic.JGameObject;
+import JGame.Engine.Coroutines.Coroutine;
+import JGame.Engine.ECS.EntityWorld;
 import JGame.Engine.Graphics.Renderers.RayTracing.RayTracingRenderer;
 import JGame.Engine.Internal.Time;
+import JGame.Engine.Jobs.JobScheduler;
 import JGame.Engine.Graphics.Renderers.Renderer;
 import JGame.Engine.Input.Input;
 import JGame.Engine.Physics.General.Physics;
+import JGame.Engine.Settings;
 import Project.JGameInstance;
 import org.lwjgl.glfw.GLFW;
 
-import java.util.ArrayList;
+import java.util.concurrent.locks.LockSupport;
 
 /**
  * The class used internally by the engine to start the game application, handles the main application loop.
@@ -23,9 +28,35 @@ public class Application
 
     private static boolean useRayTracing = false;
 
+    private static boolean headless = false;
+
+    /**
+     * Maximum number of late ticks the headless loop runs back to back to catch up, if it falls further behind the late ticks are dropped
+     */
+    public static int headlessMaxCatchUpTicks = 5;
+    /**
+     * If false the headless loop doesn't wait between ticks and simulates as fast as possible
+     */
+    public static boolean headlessRealTime = true;
+
     public Application()
     {
-        RunApplication();
+        this(false);
+    }
+
+    /**
+     * Starts the application
+     * @param headless
+     * If true the application runs without a window or an OpenGL context, see RunHeadless
+     */
+    public Application(boolean headless)
+    {
+        Application.headless = headless;
+
+        if(headless)
+            RunHeadless();
+        else
+            RunApplication();
     }
 
     /**
@@ -33,6 +64,7 @@ public class Application
      */
     void RunApplication()
     {
+        JobScheduler.Initialize();
         JGameInstance.Instance._internalInitialize();
 
         Input.Init();
@@ -51,6 +83,8 @@ public class Application
             EarlyUpdate();
             Physics.UpdatePhysics();
             Update();
+            //Sync point, the jobs of the frame are done before rendering
+            JobScheduler.CompleteAll();
             Render();
             LateUpdate();
 
@@ -70,6 +104,50 @@ public class Application
         Input.Destroy();
     }
 
+    /**
+     * Handles the application runtime without GLFW or OpenGL, running one fixed tick every physics update interval.
+     * Every tick runs the early update, a single physics step, the update and the late update, render only components are never initialized
+     * and no graphic resource is created, so it can run in servers without a display
+     */
+    void RunHeadless()
+    {
+        JobScheduler.Initialize();
+        JGameInstance.Instance._internalInitialize();
+
+        Time.Initialize();
+
+        long tickNanos = (long) (Settings.Physics.physicsUpdateInterval * 1_000_000_000);
+        long nextTick = System.nanoTime();
+
+        while(running)
+        {
+            EarlyUpdate();
+            Physics.Step();
+            Time.UpdateFixedTime(Settings.Physics.physicsUpdateInterval);
+            UpdateObjects();
+            JobScheduler.CompleteAll();
+            LateUpdate();
+
+            if(!headlessRealTime)
+                continue;
+
+            nextTick += tickNanos;
+            long remaining = nextTick - System.nanoTime();
+
+            if(remaining > 0)
+            {
+                LockSupport.parkNanos(remaining);
+            }
+            else if(-remaining > tickNanos * headlessMaxCatchUpTicks)
+            {
+                //Too far behind, drop the late ticks instead of running them all at once
+                nextTick = System.nanoTime();
+            }
+        }
+
+        JGameObject.Terminate();
+    }
+
     /**
      * Busy Waiting precise sleep in seconds
      * @param seconds
@@ -98,13 +176,7 @@ public class Application
      */
     private void EarlyUpdate()
     {
-        for(BaseObject baseObj : new ArrayList<>(BaseObject.allBaseObjects))
-        {
-            if(baseObj != null && baseObj.IsAvailable())
-            {
-                baseObj._internalEarlyUpdate();
-            }
-        }
+        CallbackDispatcher.Dispatch(CallbackDispatcher.Callback.EarlyUpdate);
 
     }
     /**
@@ -114,28 +186,29 @@ public class Application
     {
         Time.UpdateTime();
 
-        for(BaseObject baseObj : new ArrayList<>(BaseObject.allBaseObjects))
-        {
-            if(baseObj != null && baseObj.IsAvailable())
-            {
-                baseObj._internalUpdate();
-            }
-        }
+        UpdateObjects();
+
         Window.Update();
     }
 
+    /**
+     * Calls the update of every available object
+     */
+    private void UpdateObjects()
+    {
+        CallbackDispatcher.Dispatch(CallbackDispatcher.Callback.Update);
+        Coroutine.ResumeFrame((float) Time.DeltaTime());
+        EntityWorld.UpdateWorlds((float) Time.DeltaTime());
+    }
+
     /**
      * Called at the end of each frame
      */
     private void LateUpdate()
     {
-        for(BaseObject baseObj : new ArrayList<>(BaseObject.allBaseObjects))
-        {
-            if(baseObj != null && baseObj.IsAvailable())
-            {
-                baseObj._internalLateUpdate();
-            }
-        }
+        CallbackDispatcher.Dispatch(CallbackDispatcher.Callback.LateUpdate);
+
+        BaseObject.SweepDestroyedObjects();
     }
 
     /**
@@ -172,6 +245,9 @@ public class Application
 
         useRayTracing = value;
 
+        if(headless)
+            return;
+
         if(value)
             RayTracingRenderer.InitializeRenderer();
         else
@@ -187,4 +263,14 @@ public class Application
     {
         return useRayTracing;
     }
+
+    /**
+     * Gets if the application is running without a window or an OpenGL context
+     * @return
+     * True if the application is headless
+     */
+    public static boolean IsHeadless()
+    {
+        return headless;
+    }
 }
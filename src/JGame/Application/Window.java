@@ -93,6 +93,14 @@ public class Window
      */
     public static void CreateWindow(int width, int height, boolean fullscreen, String title)
     {
+        Window.title = title;
+
+        if(Application.IsHeadless())
+        {
+            Logger.DebugLog("Running headless, the window \"" + title + "\" won't be created");
+            return;
+        }
+
         if(!GLFW.glfwInit())
         {
             Logger.DebugError("GLFW not initialized!");
@@ -100,8 +108,6 @@ public class Window
             return;
         }
 
-        Window.title = title;
-
         InitWindow(width, height, fullscreen);
 
         GLFW.glfwMakeContextCurrent(window);
@@ -0,0 +1,186 @@
+package JGame.Benchmarks;
+
+import JGame.Engine.Basic.JGameObject;
+import JGame.Engine.Internal.Logger;
+import JGame.Engine.Physics.Bodies.Rigidbody;
+import JGame.Engine.Physics.Collision.Colliders.*;
+import JGame.Engine.Physics.Collision.Helper.CollisionDispatcher;
+import JGame.Engine.Physics.Collision.Helper.CollisionHelper;
+import JGame.Engine.Structures.Vector3D;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Measures the cost of selecting the narrow phase routine for a collider pair, comparing the dispatch table
+ * against the previous chain of instanceof checks. Runs headless, no window or OpenGL context is needed.
+ * Colliders are placed far apart so the kernels exit early and the measurement is dominated by the dispatch.
+ */
+public class NarrowPhaseDispatchBenchmark
+{
+    private static final int PAIR_COUNT = 4096;
+    private static final int WARMUP_ROUNDS = 5;
+    private static final int MEASURED_ROUNDS = 21;
+    private static final int OPERATIONS_PER_ROUND = 2_000_000;
+
+    private static volatile int sink;
+
+    public static void main(String[] args)
+    {
+        Collider[][] pairs = CreatePairs();
+
+        Logger.DebugLog("Narrow phase dispatch, " + PAIR_COUNT + " pairs of mixed box/sphere/capsule/cylinder/plane colliders");
+
+        for(int i = 0; i < WARMUP_ROUNDS; i++)
+        {
+            RunTable(pairs);
+            RunInstanceOf(pairs);
+        }
+
+        //The kernels allocate, so garbage collections land in random rounds, the median ignores them
+        double[] tableRounds = new double[MEASURED_ROUNDS];
+        double[] instanceOfRounds = new double[MEASURED_ROUNDS];
+        for(int i = 0; i < MEASURED_ROUNDS; i++)
+        {
+            //Alternate which path runs first so neither one always inherits the other's garbage
+            if((i & 1) == 0)
+            {
+                tableRounds[i] = RunTable(pairs);
+                instanceOfRounds[i] = RunInstanceOf(pairs);
+            }
+            else
+            {
+                instanceOfRounds[i] = RunInstanceOf(pairs);
+                tableRounds[i] = RunTable(pairs);
+            }
+        }
+
+        double table = Median(tableRounds);
+        double instanceOf = Median(instanceOfRounds);
+
+        Logger.DebugLog(String.format("Dispatch table: %.2f ns/op (median of %d rounds)", table, MEASURED_ROUNDS));
+        Logger.DebugLog(String.format("instanceof chain: %.2f ns/op", instanceOf));
+        Logger.DebugLog(String.format("Speedup: %.2fx", instanceOf / table));
+    }
+
+    private static double Median(double[] values)
+    {
+        Arrays.sort(values);
+        return values[values.length / 2];
+    }
+
+    private static Collider[][] CreatePairs()
+    {
+        Random random = new Random(42);
+        Collider[] colliders = new Collider[64];
+
+        for(int i = 0; i < colliders.length; i++)
+        {
+            Class<? extends Collider> type = switch (i % 5)
+            {
+                case 0 -> SphereCollider.class;
+                case 1 -> BoxCollider.class;
+                case 2 -> CapsuleCollider.class;
+                case 3 -> CylinderCollider.class;
+                default -> PlaneCollider.class;
+            };
+
+            //Spread the colliders out so no pair overlaps
+            Vector3D position = new Vector3D(i * 10.0f, 0, 0);
+            colliders[i] = JGameObject.Create("Benchmark " + i, position, Rigidbody.class, type).GetComponent(type);
+        }
+
+        Collider[][] pairs = new Collider[PAIR_COUNT][];
+        for(int i = 0; i < PAIR_COUNT; i++)
+        {
+            pairs[i] = new Collider[] { colliders[random.nextInt(colliders.length)], colliders[random.nextInt(colliders.length)] };
+        }
+
+        return pairs;
+    }
+
+    private static double RunTable(Collider[][] pairs)
+    {
+        int hits = 0;
+        long start = System.nanoTime();
+
+        for(int i = 0; i < OPERATIONS_PER_ROUND; i++)
+        {
+            Collider[] pair = pairs[i & (PAIR_COUNT - 1)];
+            if(CollisionDispatcher.Overlaps(pair[0], pair[1]))
+                hits++;
+        }
+
+        long elapsed = System.nanoTime() - start;
+        sink += hits;
+
+        return (double) elapsed / OPERATIONS_PER_ROUND;
+    }
+
+    private static double RunInstanceOf(Collider[][] pairs)
+    {
+        int hits = 0;
+        long start = System.nanoTime();
+
+        for(int i = 0; i < OPERATIONS_PER_ROUND; i++)
+        {
+            Collider[] pair = pairs[i & (PAIR_COUNT - 1)];
+            if(OverlapsInstanceOf(pair[0], pair[1]))
+                hits++;
+        }
+
+        long elapsed = System.nanoTime() - start;
+        sink += hits;
+
+        return (double) elapsed / OPERATIONS_PER_ROUND;
+    }
+
+    /**
+     * The previous dispatch of Collider.Overlaps, kept here as the baseline
+     */
+    private static boolean OverlapsInstanceOf(Collider a, Collider b)
+    {
+        if (a instanceof BoxCollider box)
+        {
+            if (b instanceof BoxCollider boxB) return CollisionHelper.Overlaps(box, boxB);
+            else if (b instanceof SphereCollider sphere) return CollisionHelper.Overlaps(box, sphere);
+            else if (b instanceof CapsuleCollider capsule) return CollisionHelper.Overlaps(box, capsule);
+            else if (b instanceof CylinderCollider cylinder) return CollisionHelper.Overlaps(box, cylinder);
+            else if (b instanceof PlaneCollider plane) return CollisionHelper.Overlaps(box, plane);
+        }
+        else if (a instanceof SphereCollider sphere)
+        {
+            if (b instanceof BoxCollider box) return CollisionHelper.Overlaps(box, sphere);
+            else if (b instanceof SphereCollider sphereB) return CollisionHelper.Overlaps(sphere, sphereB);
+            else if (b instanceof CapsuleCollider capsule) return CollisionHelper.Overlaps(sphere, capsule);
+            else if (b instanceof CylinderCollider cylinder) return CollisionHelper.Overlaps(sphere, cylinder);
+            else if (b instanceof PlaneCollider plane) return CollisionHelper.Overlaps(sphere, plane);
+        }
+        else if (a instanceof CapsuleCollider capsule)
+        {
+            if (b instanceof BoxCollider box) return CollisionHelper.Overlaps(box, capsule);
+            else if (b instanceof SphereCollider sphere) return CollisionHelper.Overlaps(sphere, capsule);
+            else if (b instanceof CapsuleCollider capsuleB) return CollisionHelper.Overlaps(capsule, capsuleB);
+            else if (b instanceof CylinderCollider cylinder) return CollisionHelper.Overlaps(cylinder, capsule);
+            else if (b instanceof PlaneCollider plane) return CollisionHelper.Overlaps(capsule, plane);
+        }
+        else if (a instanceof CylinderCollider cylinder)
+        {
+            if (b instanceof BoxCollider box) return CollisionHelper.Overlaps(box, cylinder);
+            else if (b instanceof SphereCollider sphere) return CollisionHelper.Overlaps(sphere, cylinder);
+            else if (b instanceof CapsuleCollider capsule) return CollisionHelper.Overlaps(cylinder, capsule);
+            else if (b instanceof CylinderCollider cylinderB) return CollisionHelper.Overlaps(cylinder, cylinderB);
+            else if (b instanceof PlaneCollider plane) return CollisionHelper.Overlaps(cylinder, plane);
+        }
+        else if (a instanceof PlaneCollider plane)
+        {
+            if (b instanceof BoxCollider box) return CollisionHelper.Overlaps(box, plane);
+            else if (b instanceof SphereCollider sphere) return CollisionHelper.Overlaps(sphere, plane);
+            else if (b instanceof CapsuleCollider capsule) return CollisionHelper.Overlaps(capsule, plane);
+            else if (b instanceof CylinderCollider cylinder) return CollisionHelper.Overlaps(cylinder, plane);
+            else if (b instanceof PlaneCollider planeB) return CollisionHelper.Overlaps(plane, planeB);
+        }
+
+        throw new IllegalArgumentException("Invalid Collider type combination!");
+    }
+}
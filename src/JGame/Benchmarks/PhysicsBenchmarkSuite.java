@@ -0,0 +1,345 @@
+package JGame.Benchmarks;
+
+import JGame.Engine.Basic.JGameObject;
+import JGame.Engine.Internal.Logger;
+import JGame.Engine.Physics.Bodies.Rigidbody;
+import JGame.Engine.Physics.Collision.Colliders.*;
+import JGame.Engine.Physics.Collision.Detection.TriggerDetection;
+import JGame.Engine.Physics.General.Physics;
+import JGame.Engine.Physics.General.PhysicsMetrics;
+import JGame.Engine.Physics.Raycast.Raycast;
+import JGame.Engine.Physics.Raycast.RaycastContact;
+import JGame.Engine.Structures.Quaternion;
+import JGame.Engine.Structures.Vector2D;
+import JGame.Engine.Structures.Vector3D;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Runs the physics pipeline headless on a set of canonical scenes and reports steps per second, allocations per step
+ * and the average work done by the pipeline, to track regressions. No window or OpenGL context is needed.
+ * Pass scene names as arguments to run only those scenes: pyramid, rain, compound, raycast
+ */
+public class PhysicsBenchmarkSuite
+{
+    private static final long SEED = 42;
+
+    private static volatile Object sink;
+
+    public static void main(String[] args)
+    {
+        List<BenchmarkScene> scenes = List.of(new PyramidScene(), new SphereRainScene(), new CompoundPileScene(), new RaycastStormScene());
+
+        for(BenchmarkScene scene : scenes)
+        {
+            if(args.length > 0 && !List.of(args).contains(scene.name))
+                continue;
+
+            Run(scene);
+        }
+    }
+
+    /**
+     * Builds a scene, runs its warmup and measured steps, logs the report and clears the scene
+     * @param scene
+     * The scene to run
+     */
+    public static void Run(BenchmarkScene scene)
+    {
+        scene.Build(new Random(SEED));
+
+        for(int i = 0; i < scene.warmupSteps; i++)
+            scene.Step();
+
+        PhysicsMetrics.StepMetrics step = new PhysicsMetrics.StepMetrics();
+        long[] stageTotals = new long[PhysicsMetrics.STAGE_COUNT];
+        long[] counterTotals = new long[PhysicsMetrics.COUNTER_COUNT];
+
+        long allocationStart = GetAllocatedBytes();
+        long start = System.nanoTime();
+
+        for(int i = 0; i < scene.measuredSteps; i++)
+        {
+            scene.Step();
+
+            //Reading the metrics doesn't allocate, so it doesn't skew the allocation count
+            if(PhysicsMetrics.ReadLatest(step))
+            {
+                for(int s = 0; s < PhysicsMetrics.STAGE_COUNT; s++)
+                    stageTotals[s] += step.stageNanos[s];
+
+                for(int c = 0; c < PhysicsMetrics.COUNTER_COUNT; c++)
+                    counterTotals[c] += step.counters[c];
+            }
+        }
+
+        long elapsed = System.nanoTime() - start;
+        long allocated = GetAllocatedBytes() - allocationStart;
+
+        int steps = scene.measuredSteps;
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("%s (%d bodies): %.1f steps/s, %.3f ms/step, %s/step allocated",
+                scene.name, scene.bodyCount, steps / (elapsed / 1e9), elapsed / 1e6 / steps, FormatBytes(allocated / steps)));
+
+        if(scene.operationsPerStep > 0)
+            report.append(String.format(", %.0f %s/s", scene.operationsPerStep * steps / (elapsed / 1e9), scene.operationName));
+
+        report.append("\n   ");
+        for(int s = 0; s < PhysicsMetrics.STAGE_COUNT; s++)
+            report.append(String.format(" %s %.3fms", PhysicsMetrics.GetStageName(s), stageTotals[s] / 1e6 / steps));
+
+        report.append("\n   ");
+        for(int c = 0; c < PhysicsMetrics.COUNTER_COUNT; c++)
+            report.append(String.format(" %s %.1f", PhysicsMetrics.GetCounterName(c), (double) counterTotals[c] / steps));
+
+        //Clearing big scenes can take a while, log the results first
+        Logger.DebugLog(report.toString());
+
+        scene.Clear();
+    }
+
+    private static long GetAllocatedBytes()
+    {
+        if(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean)
+            return bean.getThreadAllocatedBytes(Thread.currentThread().getId());
+
+        return 0;
+    }
+
+    private static String FormatBytes(long bytes)
+    {
+        if(bytes < 1024) return bytes + "B";
+        if(bytes < 1024 * 1024) return String.format("%.1fKB", bytes / 1024.0);
+        return String.format("%.1fMB", bytes / (1024.0 * 1024.0));
+    }
+
+    //------Scenes------
+
+    /**
+     * A scene of the suite, steps the physics by default
+     */
+    public static abstract class BenchmarkScene
+    {
+        public final String name;
+        public final int warmupSteps;
+        public final int measuredSteps;
+
+        protected int bodyCount = 0;
+        /**
+         * Operations other than the physics step done on every step, reported as a throughput
+         */
+        protected int operationsPerStep = 0;
+        protected String operationName = "";
+
+        protected BenchmarkScene(String name, int warmupSteps, int measuredSteps)
+        {
+            this.name = name;
+            this.warmupSteps = warmupSteps;
+            this.measuredSteps = measuredSteps;
+        }
+
+        protected abstract void Build(Random random);
+
+        protected void Step()
+        {
+            Physics.Step();
+        }
+
+        protected void Clear()
+        {
+            JGameObject.DestroyAll();
+            TriggerDetection.Clear();
+        }
+
+        protected Rigidbody CreateBody(String name, Vector3D position, Quaternion rotation, Vector3D scale, Class<? extends Collider> collider, Rigidbody.BodyType bodyType)
+        {
+            Rigidbody body = JGameObject.Create(name, position, rotation, scale, Rigidbody.class, collider).GetComponent(Rigidbody.class);
+            body.SetBodyType(bodyType);
+            bodyCount++;
+
+            return body;
+        }
+
+        protected void CreateGround(float size)
+        {
+            CreateBody("Ground", new Vector3D(0, -0.5f, 0), Quaternion.Identity, new Vector3D(size, 1, size), BoxCollider.class, Rigidbody.BodyType.Static);
+        }
+    }
+
+    /**
+     * Pyramids of unit boxes resting on a static ground, stresses stacking and the contact resolver
+     */
+    public static class PyramidScene extends BenchmarkScene
+    {
+        private static final int PYRAMID_COUNT = 4;
+        private static final int BASE_SIZE = 10;
+
+        public PyramidScene()
+        {
+            super("pyramid", 60, 600);
+        }
+
+        @Override
+        protected void Build(Random random)
+        {
+            CreateGround(100);
+
+            for(int pyramid = 0; pyramid < PYRAMID_COUNT; pyramid++)
+            {
+                float offsetZ = (pyramid - PYRAMID_COUNT / 2) * 4.0f;
+
+                for(int layer = 0; layer < BASE_SIZE; layer++)
+                {
+                    int count = BASE_SIZE - layer;
+                    for(int i = 0; i < count; i++)
+                    {
+                        Vector3D position = new Vector3D((i - count * 0.5f) * 1.02f, 0.5f + layer, offsetZ);
+                        CreateBody("Box", position, Quaternion.Identity, Vector3D.One, BoxCollider.class, Rigidbody.BodyType.Dynamic);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * 10k spheres falling onto a static plane, stresses the broad phase and the per body overhead
+     */
+    public static class SphereRainScene extends BenchmarkScene
+    {
+        private static final int SPHERE_COUNT = 10_000;
+
+        public SphereRainScene()
+        {
+            super("rain", 10, 120);
+        }
+
+        @Override
+        protected void Build(Random random)
+        {
+            Rigidbody ground = CreateBody("Ground", Vector3D.Zero, Quaternion.Identity, new Vector3D(400, 1, 400), PlaneCollider.class, Rigidbody.BodyType.Static);
+            ground.object().GetComponent(PlaneCollider.class).SetHalfSize(new Vector2D(0.5f, 0.5f));
+
+            int side = (int) Math.ceil(Math.sqrt(SPHERE_COUNT));
+            for(int i = 0; i < SPHERE_COUNT; i++)
+            {
+                float x = (i % side - side * 0.5f) * 1.5f + random.nextFloat() * 0.2f;
+                float z = (i / side - side * 0.5f) * 1.5f + random.nextFloat() * 0.2f;
+                float y = 0.5f + random.nextFloat() * 3.0f;
+
+                CreateBody("Sphere", new Vector3D(x, y, z), Quaternion.Identity, Vector3D.One, SphereCollider.class, Rigidbody.BodyType.Dynamic);
+            }
+        }
+    }
+
+    /**
+     * A pile of bodies made of several colliders each, stresses the collider mid phase
+     */
+    public static class CompoundPileScene extends BenchmarkScene
+    {
+        private static final int COMPOUND_COUNT = 400;
+
+        public CompoundPileScene()
+        {
+            super("compound", 30, 300);
+        }
+
+        @Override
+        protected void Build(Random random)
+        {
+            CreateGround(100);
+
+            for(int i = 0; i < COMPOUND_COUNT; i++)
+            {
+                Vector3D position = new Vector3D((i % 10 - 5) * 2.2f, 1.0f + (i / 100) * 1.6f, ((i / 10) % 10 - 5) * 2.2f);
+                Quaternion rotation = Quaternion.EulerToQuaternion(new Vector3D(0, random.nextFloat() * 360, 0));
+
+                //Dumbbell: a bar with a sphere on each end, plus a small box on top. Built unrotated, the children follow the root
+                JGameObject root = JGameObject.Create("Compound", position, Rigidbody.class);
+                JGameObject.Create("Bar", position, Quaternion.Identity, new Vector3D(1.6f, 0.3f, 0.3f), root.transform(), BoxCollider.class);
+                JGameObject.Create("End", position.Add(new Vector3D(0.8f, 0, 0)), Quaternion.Identity, new Vector3D(0.8f, 0.8f, 0.8f), root.transform(), SphereCollider.class);
+                JGameObject.Create("End", position.Add(new Vector3D(-0.8f, 0, 0)), Quaternion.Identity, new Vector3D(0.8f, 0.8f, 0.8f), root.transform(), SphereCollider.class);
+                JGameObject.Create("Top", position.Add(new Vector3D(0, 0.3f, 0)), Quaternion.Identity, new Vector3D(0.3f, 0.3f, 0.3f), root.transform(), BoxCollider.class);
+                root.transform().SetGlobalRotation(rotation);
+
+                bodyCount++;
+            }
+        }
+    }
+
+    /**
+     * Random rays cast against a field of static shapes, every step casts a batch of rays besides stepping the physics
+     */
+    public static class RaycastStormScene extends BenchmarkScene
+    {
+        private static final int SHAPE_COUNT = 2000;
+        private static final int RAYS_PER_STEP = 1000;
+        private static final float FIELD_SIZE = 100.0f;
+
+        private final List<Vector3D> origins = new ArrayList<>();
+        private final List<Vector3D> directions = new ArrayList<>();
+        private int nextRay = 0;
+
+        public RaycastStormScene()
+        {
+            super("raycast", 5, 60);
+            operationsPerStep = RAYS_PER_STEP;
+            operationName = "rays";
+        }
+
+        @Override
+        protected void Build(Random random)
+        {
+            CreateGround(FIELD_SIZE * 2);
+
+            for(int i = 0; i < SHAPE_COUNT; i++)
+            {
+                Class<? extends Collider> type = switch (i % 3)
+                {
+                    case 0 -> BoxCollider.class;
+                    case 1 -> SphereCollider.class;
+                    default -> CapsuleCollider.class;
+                };
+
+                Vector3D position = new Vector3D((random.nextFloat() - 0.5f) * FIELD_SIZE, random.nextFloat() * 10.0f, (random.nextFloat() - 0.5f) * FIELD_SIZE);
+                Quaternion rotation = Quaternion.EulerToQuaternion(new Vector3D(random.nextFloat() * 360, random.nextFloat() * 360, 0));
+
+                CreateBody("Shape", position, rotation, Vector3D.One, type, Rigidbody.BodyType.Static);
+            }
+
+            //Precomputed rays, so generating them isn't measured
+            for(int i = 0; i < RAYS_PER_STEP * 16; i++)
+            {
+                origins.add(new Vector3D((random.nextFloat() - 0.5f) * FIELD_SIZE, 20.0f, (random.nextFloat() - 0.5f) * FIELD_SIZE));
+                directions.add(new Vector3D(random.nextFloat() - 0.5f, -1.0f, random.nextFloat() - 0.5f).Normalized());
+            }
+        }
+
+        @Override
+        protected void Step()
+        {
+            super.Step();
+
+            RaycastContact last = null;
+            for(int i = 0; i < RAYS_PER_STEP; i++)
+            {
+                int ray = nextRay++ % origins.size();
+                RaycastContact contact = Raycast.Raycast(origins.get(ray), directions.get(ray), 100.0f);
+                if(contact != null)
+                    last = contact;
+            }
+
+            sink = last;
+        }
+
+        @Override
+        protected void Clear()
+        {
+            super.Clear();
+            origins.clear();
+            directions.clear();
+        }
+    }
+}
@@ -1,12 +1,16 @@
 package JGame.Engine.Basic;
 
+import JGame.Engine.Coroutines.Coroutine;
 import JGame.Engine.Internal.Logger;
-import Project.JGameInstance;
+import JGame.Engine.Jobs.JobScheduler;
+import JGame.Engine.Settings;
+import JGame.Engine.Structures.DeferredList;
 
-import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.Modifier;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.function.Predicate;
 
 /**
  * The base class for most instanceable classes used by the engine. Handles memory management, reference deletion and provides the
@@ -16,30 +20,28 @@ public abstract class BaseObject
 {
     private boolean enabled = true;
     private boolean available = true;
-    public static final ArrayList<BaseObject> allBaseObjects = new ArrayList<>();
+    private boolean dormant = false;
+    private boolean destroyed = false;
+    private boolean suspended = false;
+    private int generation = 0;
+    /**
+     * Index of the object in the dispatch list of every callback, -1 if it isn't in the list, managed by the CallbackDispatcher
+     */
+    final int[] dispatchSlots = { -1, -1, -1, -1 };
+    /**
+     * True if the class is marked with ParallelUpdate, set by the CallbackDispatcher
+     */
+    boolean parallelUpdate = false;
+    public static final DeferredList<BaseObject> allBaseObjects = new DeferredList<>();
 
     public static <T extends BaseObject> T CreateInstance(Class<T> clazz)
     {
-        try
-        {
-            Constructor<T> baseConstructor = clazz.getConstructor();
-            baseConstructor.setAccessible(true);
-
-            T instance = baseConstructor.newInstance();
+        T instance = InstanceFactory.Of(clazz).NewInstance();
 
-            instance._internalInitialize();
-            instance.OnEnable();
+        instance._internalInitialize();
+        instance.OnEnable();
 
-            return instance;
-        }
-        catch(NoSuchMethodException e)
-        {
-            throw new RuntimeException("Failed to create instance for " + clazz.getName() + ". Ensure it extends BaseObject and has a default constructor.", e);
-        }
-        catch (Exception e)
-        {
-            throw new RuntimeException("Failed to create instance for " + clazz.getName() + ". Error:", e);
-        }
+        return instance;
     }
 
     /**
@@ -48,7 +50,10 @@ public abstract class BaseObject
      */
     protected BaseObject()
     {
-        allBaseObjects.add(this);
+        JobScheduler.CheckMainThread("Creating an instance of", getClass().getSimpleName());
+
+        allBaseObjects.Add(this);
+        CallbackDispatcher.Register(this);
     }
 
     /**
@@ -137,17 +142,97 @@ public abstract class BaseObject
     protected void OnDisable() { }
 
     /**
-     * Destroys the object by deleting all references to it.
+     * Called when an object suspended in an ObjectPool stops being suspended while it's unavailable, because it's destroyed in the pool
+     * or it was disabled while in the pool. Objects keeping their registrations while suspended remove them here
+     */
+    protected void OnRelease() { }
+
+    /**
+     * Destroys the object, it stops receiving callbacks right away and IsDestroyed returns true from now on.
+     * References to it held in fields of other objects stay valid, use IsDestroyed or an ObjectHandle to check them.
+     * They are set to null at the end of the frame only if Settings.Objects.nullifyDestroyedReferences is on.
      * The base version of this function should always be called.
      * Add super.Destroy() in the end if the function is overridden.
      */
     public void Destroy()
     {
+        if(destroyed)
+            return;
+
+        JobScheduler.CheckMainThread("Destroying", this);
+
         SetActive(false);
-        OnDestroy();
-        ReferenceNullifierHandler(this);
+        SetSuspended(false);
+
+        CallbackDispatcher.Unregister(this);
+
+        if(!dormant)
+            OnDestroy();
+
+        destroyed = true;
+        generation++;
+        destroyedSinceSweep++;
+
+        if(destroyDepth == 0)
+            SweepIfNeeded();
+    }
+
+    /**
+     * Returns true once the object has been destroyed
+     * @return
+     * True if the object is destroyed
+     */
+    public final boolean IsDestroyed()
+    {
+        return destroyed;
+    }
+
+    /**
+     * Gets the generation of the object, increased every time the object is destroyed or recycled.
+     * Used by ObjectHandle to detect references to objects that aren't the same anymore
+     * @return
+     * The generation of the object
+     */
+    public final int GetGeneration()
+    {
+        return generation;
+    }
 
-        allBaseObjects.remove(this);
+    /**
+     * Increases the generation of the object without destroying it, so the handles pointing to it stop resolving. Used by ObjectPool
+     * when an object is returned to its pool
+     */
+    final void Recycle()
+    {
+        generation++;
+    }
+
+    /**
+     * Returns true while the object is kept in an ObjectPool. Suspended objects are unavailable, but they keep the registrations
+     * they had when they were despawned, like the physics object list or the colliders of a rigidbody, so spawning them again doesn't rebuild them.
+     * Systems iterating those registries skip the unavailable objects
+     * @return
+     * True if the object is suspended
+     */
+    public final boolean IsSuspended()
+    {
+        return suspended;
+    }
+
+    /**
+     * Changes the suspended state of the object, used by ObjectPool. An object leaving the suspended state while unavailable is released
+     * @param value
+     * The new state
+     */
+    final void SetSuspended(boolean value)
+    {
+        if(value == suspended)
+            return;
+
+        suspended = value;
+
+        if(!value && !available)
+            OnRelease();
     }
 
     /**
@@ -185,6 +270,9 @@ public abstract class BaseObject
             }
             else
             {
+                if(this instanceof JComponent component)
+                    Coroutine.StopAll(component);
+
                 OnDisable();
             }
         }
@@ -200,7 +288,8 @@ public abstract class BaseObject
             }
             for(Transform child : object.transform().GetChildren())
             {
-                if(child.object() != null)
+                //Destroyed children stay in the list until the next sweep
+                if(child.object() != null && !child.IsDestroyed())
                     ((BaseObject)child.object()).UpdateAvailability();
             }
         }
@@ -228,71 +317,196 @@ public abstract class BaseObject
     }
 
     /**
-     * Handles nullifying all the references to the target engine class
-     * @param target
-     * The BaseObject to be deleted from all references
+     * Makes the object dormant, it stays unavailable and doesn't receive any callback until it's destroyed.
+     * Used for objects that are created but never initialized
+     */
+    final void MakeDormant()
+    {
+        dormant = true;
+        available = false;
+        CallbackDispatcher.Unregister(this);
+    }
+
+    /**
+     * Returns true if the object was created dormant, see MakeDormant
+     * @return
+     * True if the object is dormant
      */
-    protected static void ReferenceNullifierHandler(BaseObject target)
+    public final boolean IsDormant()
     {
-        for(BaseObject baseObject : allBaseObjects)
+        return dormant;
+    }
+
+    //------Destroyed references------
+
+    /**
+     * Removes the objects destroyed since the last sweep from the object lists and, if Settings.Objects.nullifyDestroyedReferences is on,
+     * sets to null every field of an alive object pointing to them. The cost of a sweep doesn't depend on how many objects were destroyed,
+     * so destroying many objects only pays it once. Called at the end of every frame, the object lists can be iterated safely afterwards
+     */
+    public static void SweepDestroyedObjects()
+    {
+        if(destroyedSinceSweep == 0)
+            return;
+
+        destroyedSinceSweep = 0;
+
+        allBaseObjects.RemoveAll(IS_DESTROYED);
+        JGameObject.allObjects.RemoveAll(IS_DESTROYED);
+        Transform.RemoveDestroyedChildren();
+
+        if(!Settings.Objects.nullifyDestroyedReferences)
+            return;
+
+        allBaseObjects.BeginIteration();
+
+        try
+        {
+            for(int i = 0; i < allBaseObjects.Size(); i++)
+            {
+                BaseObject baseObject = allBaseObjects.Get(i);
+
+                if(baseObject != null)
+                    NullifyDestroyedReferences(baseObject, GetReferenceFields(baseObject.getClass()).instanceFields);
+            }
+        }
+        finally
         {
-            baseObject.NullifyReferencesTo(target);
+            allBaseObjects.EndIteration();
         }
 
-        JGameInstance.Instance.NullifyReferencesTo(target);
+        for(ReferenceFields fields : referenceFields.values())
+            NullifyDestroyedReferences(null, fields.staticFields);
+    }
+
+    static final Predicate<BaseObject> IS_DESTROYED = BaseObject::IsDestroyed;
+
+    private static int destroyedSinceSweep = 0;
+
+    private static boolean bulkDestroying = false;
+
+    /**
+     * Number of nested destroys running, like the destroys of the children of an object. The automatic sweep waits until the outermost
+     * one ends, so it doesn't change the children lists being iterated
+     */
+    private static int destroyDepth = 0;
+
+    static void BeginDestroy()
+    {
+        destroyDepth++;
+    }
+
+    static void EndDestroy()
+    {
+        if(--destroyDepth == 0)
+            SweepIfNeeded();
+    }
+
+    private static void SweepIfNeeded()
+    {
+        //Sweeping once half of the objects are destroyed keeps the cost of every destroy constant on average
+        if(!bulkDestroying && destroyedSinceSweep > allBaseObjects.Size() / 2 + 64)
+            SweepDestroyedObjects();
+    }
+
+    /**
+     * Returns true while a bulk destroy like JGameObject.DestroyAll is running. Registries can skip removing the destroyed objects
+     * one by one while it's true, they are cleaned up wholesale when the bulk destroy ends
+     * @return
+     * True if a bulk destroy is running
+     */
+    public static boolean IsBulkDestroying()
+    {
+        return bulkDestroying;
+    }
+
+    static void SetBulkDestroying(boolean value)
+    {
+        bulkDestroying = value;
     }
+
     /**
-     * Uses reflection to set all references to the target object in this class instance to null,
-     * including fields that are arrays containing references to the target object.
-     * @param target The object to nullify.
+     * Fields of a class that can hold references to other objects, found once per class
      */
-    protected final void NullifyReferencesTo(BaseObject target)
+    private static final HashMap<Class<?>, ReferenceFields> referenceFields = new HashMap<>();
+
+    private record ReferenceFields(Field[] instanceFields, Field[] staticFields) { }
+
+    private static ReferenceFields GetReferenceFields(Class<?> clazz)
     {
-        Class<?> currentClass = this.getClass();
+        ReferenceFields fields = referenceFields.get(clazz);
+
+        if(fields != null)
+            return fields;
+
+        ArrayList<Field> instanceFields = new ArrayList<>();
+        ArrayList<Field> staticFields = new ArrayList<>();
 
-        while (currentClass != null)
+        for(Class<?> currentClass = clazz; currentClass != null; currentClass = currentClass.getSuperclass())
         {
-            Field[] fields = currentClass.getDeclaredFields();
-            for (Field field : fields)
+            for(Field field : currentClass.getDeclaredFields())
             {
-                if (Modifier.isFinal(field.getModifiers()))
+                if(Modifier.isFinal(field.getModifiers()) || !CanReferenceObjects(field.getType()))
                     continue;
 
-                field.setAccessible(true);
                 try
                 {
-                    Object fieldValue = field.get(this);
-
-                    if (BaseObject.class.isAssignableFrom(field.getType()))
-                    {
-                        if (fieldValue == target)
-                        {
-                            field.set(this, null);
-                        }
-                    }
-                    else if (field.getType().isArray() && BaseObject.class.isAssignableFrom(field.getType().getComponentType()))
-                    {
-                        BaseObject[] array = (BaseObject[]) fieldValue;
-                        if (array != null)
-                        {
-                            for (int i = 0; i < array.length; i++)
-                            {
-                                if (array[i] == target)
-                                {
-                                    array[i] = null;
-                                }
-                            }
-                        }
-                    }
+                    field.setAccessible(true);
                 }
-                catch (IllegalAccessException e)
+                catch(RuntimeException e)
                 {
-                    Logger.DebugStackTraceError("An error occurred while nullifying references to: " + target, e);
+                    continue;
                 }
-            }
 
-            currentClass = currentClass.getSuperclass();
+                //Static fields are only kept in the class that declares them so they are swept once
+                if(!Modifier.isStatic(field.getModifiers()))
+                    instanceFields.add(field);
+                else if(currentClass == clazz)
+                    staticFields.add(field);
+            }
         }
+
+        fields = new ReferenceFields(instanceFields.toArray(new Field[0]), staticFields.toArray(new Field[0]));
+        referenceFields.put(clazz, fields);
+
+        return fields;
+    }
+
+    private static boolean CanReferenceObjects(Class<?> type)
+    {
+        return BaseObject.class.isAssignableFrom(type) || (type.isArray() && BaseObject.class.isAssignableFrom(type.getComponentType()));
     }
 
+    /**
+     * Sets to null the fields of an object, or the static fields if the owner is null, pointing to destroyed objects,
+     * including the elements of arrays of objects
+     */
+    private static void NullifyDestroyedReferences(BaseObject owner, Field[] fields)
+    {
+        for(Field field : fields)
+        {
+            try
+            {
+                Object fieldValue = field.get(owner);
+
+                if(fieldValue instanceof BaseObject baseObject)
+                {
+                    if(baseObject.destroyed)
+                        field.set(owner, null);
+                }
+                else if(fieldValue instanceof BaseObject[] array)
+                {
+                    for(int i = 0; i < array.length; i++)
+                    {
+                        if(array[i] != null && array[i].destroyed)
+                            array[i] = null;
+                    }
+                }
+            }
+            catch(IllegalAccessException e)
+            {
+                Logger.DebugStackTraceError("An error occurred while nullifying references in: " + owner, e);
+            }
+        }
+    }
 }
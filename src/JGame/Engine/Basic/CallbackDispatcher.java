@@ -0,0 +1,337 @@
+package JGame.Engine.Basic;
+
+import JGame.Engine.Jobs.JobHandle;
+import JGame.Engine.Jobs.JobScheduler;
+import JGame.Engine.Jobs.ParallelUpdate;
+import JGame.Engine.Settings;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Keeps a dispatch list per callback phase holding only the objects whose class overrides that callback, so the main loop
+ * doesn't call the empty base version on every Transform and component. The overridden callbacks are found once per class and cached.
+ * Objects keep their creation order inside every list, removed objects leave an empty slot that is compacted after the phase ends.
+ * Update and PhysicsUpdate of classes marked with ParallelUpdate run in the JobScheduler before the serial ones, grouped by class
+ */
+public final class CallbackDispatcher
+{
+    public enum Callback
+    {
+        /**
+         * Also dispatched to classes that only override Start, since Start is called from the early update
+         */
+        EarlyUpdate(BaseObject::_internalEarlyUpdate, "EarlyUpdate", "Start"),
+        Update(BaseObject::_internalUpdate, true, "Update"),
+        LateUpdate(BaseObject::_internalLateUpdate, "LateUpdate"),
+        PhysicsUpdate(BaseObject::_internalPhysicsUpdate, true, "PhysicsUpdate");
+
+        private final Consumer<BaseObject> invoker;
+        private final boolean parallelizable;
+        private final String[] methodNames;
+
+        Callback(Consumer<BaseObject> invoker, String... methodNames)
+        {
+            this(invoker, false, methodNames);
+        }
+
+        Callback(Consumer<BaseObject> invoker, boolean parallelizable, String... methodNames)
+        {
+            this.invoker = invoker;
+            this.parallelizable = parallelizable;
+            this.methodNames = methodNames;
+        }
+    }
+
+    private static final int CALLBACK_COUNT = Callback.values().length;
+    /**
+     * Bit of the callback masks set for the classes marked with ParallelUpdate
+     */
+    private static final int PARALLEL_BIT = 1 << 30;
+
+    private static final HashMap<Class<?>, Integer> overriddenCallbacks = new HashMap<>();
+    private static final DispatchList[] lists = new DispatchList[CALLBACK_COUNT];
+
+    static
+    {
+        for(int i = 0; i < CALLBACK_COUNT; i++)
+            lists[i] = new DispatchList(i);
+    }
+
+    private CallbackDispatcher() { }
+
+    /**
+     * Calls a callback on every available object overriding it. Objects created during the dispatch are called starting from the next one,
+     * objects destroyed during the dispatch aren't called anymore
+     * @param callback
+     * The callback to call
+     */
+    public static void Dispatch(Callback callback)
+    {
+        DispatchList list = lists[callback.ordinal()];
+        Consumer<BaseObject> invoker = callback.invoker;
+
+        list.dispatching++;
+        int size = list.size;
+
+        try
+        {
+            if(list.parallelCount > 0)
+                DispatchParallel(list, invoker);
+
+            for(int i = 0; i < size; i++)
+            {
+                //Read the array every time, adding objects during the dispatch can replace it
+                BaseObject baseObj = list.objects[i];
+
+                if(baseObj != null && !(list.parallelizable && baseObj.parallelUpdate) && baseObj.IsAvailable())
+                    invoker.accept(baseObj);
+            }
+        }
+        finally
+        {
+            if(--list.dispatching == 0)
+                list.Compact();
+        }
+    }
+
+    /**
+     * Gets the number of objects in the dispatch list of a callback
+     * @param callback
+     * The callback
+     * @return
+     * The number of objects that override the callback
+     */
+    public static int GetListenerCount(Callback callback)
+    {
+        DispatchList list = lists[callback.ordinal()];
+        return list.size - list.removed;
+    }
+
+    /**
+     * Checks if a class overrides a callback of BaseObject
+     * @param clazz
+     * The class
+     * @param callback
+     * The callback
+     * @return
+     * True if the class or one of its superclasses below BaseObject overrides the callback
+     */
+    public static boolean Overrides(Class<? extends BaseObject> clazz, Callback callback)
+    {
+        return (GetOverriddenCallbacks(clazz) & (1 << callback.ordinal())) != 0;
+    }
+
+    //------Parallel Updates------
+
+    /**
+     * Runs the callback of the available objects marked with ParallelUpdate, one job per class started once the classes it depends on are done.
+     * Returns after every job is done and the Transform events queued by the jobs are invoked
+     */
+    private static void DispatchParallel(DispatchList list, Consumer<BaseObject> invoker)
+    {
+        for(ArrayList<BaseObject> group : list.parallelGroups.values())
+            group.clear();
+
+        for(int i = 0; i < list.size; i++)
+        {
+            BaseObject baseObj = list.objects[i];
+
+            if(baseObj != null && baseObj.parallelUpdate && baseObj.IsAvailable())
+                list.parallelGroups.computeIfAbsent(baseObj.getClass(), k -> new ArrayList<>()).add(baseObj);
+        }
+
+        HashMap<Class<?>, JobHandle> handles = new HashMap<>();
+        HashSet<Class<?>> scheduling = new HashSet<>();
+
+        for(Map.Entry<Class<?>, ArrayList<BaseObject>> group : list.parallelGroups.entrySet())
+        {
+            if(!group.getValue().isEmpty())
+                ScheduleGroup(group.getKey(), list.parallelGroups, invoker, handles, scheduling);
+        }
+
+        try
+        {
+            JobHandle.Combine(handles.values().toArray(new JobHandle[0])).Complete();
+        }
+        finally
+        {
+            JobScheduler.RunMainThreadActions();
+        }
+    }
+
+    private static JobHandle ScheduleGroup(Class<?> clazz, LinkedHashMap<Class<?>, ArrayList<BaseObject>> groups, Consumer<BaseObject> invoker,
+                                           HashMap<Class<?>, JobHandle> handles, HashSet<Class<?>> scheduling)
+    {
+        JobHandle handle = handles.get(clazz);
+
+        if(handle != null)
+            return handle;
+
+        if(!scheduling.add(clazz))
+            throw new IllegalStateException("The parallel updates of " + clazz.getSimpleName() + " depend on themselves, check the after classes of its ParallelUpdate!");
+
+        ArrayList<JobHandle> dependencies = new ArrayList<>();
+
+        for(Class<?> dependency : clazz.getAnnotation(ParallelUpdate.class).after())
+        {
+            for(Map.Entry<Class<?>, ArrayList<BaseObject>> group : groups.entrySet())
+            {
+                if(group.getKey() != clazz && !group.getValue().isEmpty() && dependency.isAssignableFrom(group.getKey()))
+                    dependencies.add(ScheduleGroup(group.getKey(), groups, invoker, handles, scheduling));
+            }
+        }
+
+        handle = JobScheduler.ScheduleForEach(groups.get(clazz), Settings.Jobs.parallelUpdateBatchSize, invoker, dependencies.toArray(new JobHandle[0]));
+
+        scheduling.remove(clazz);
+        handles.put(clazz, handle);
+
+        return handle;
+    }
+
+    //------Registration------
+
+    /**
+     * Adds an object to the dispatch lists of the callbacks its class overrides, called by the BaseObject constructor
+     */
+    static void Register(BaseObject baseObject)
+    {
+        int mask = GetOverriddenCallbacks(baseObject.getClass());
+        baseObject.parallelUpdate = (mask & PARALLEL_BIT) != 0;
+
+        for(int i = 0; i < CALLBACK_COUNT; i++)
+        {
+            if((mask & (1 << i)) != 0)
+                lists[i].Add(baseObject);
+        }
+    }
+
+    /**
+     * Removes an object from every dispatch list it's in
+     */
+    static void Unregister(BaseObject baseObject)
+    {
+        for(int i = 0; i < CALLBACK_COUNT; i++)
+        {
+            if(baseObject.dispatchSlots[i] >= 0)
+                lists[i].Remove(baseObject);
+        }
+    }
+
+    private static int GetOverriddenCallbacks(Class<?> clazz)
+    {
+        Integer mask = overriddenCallbacks.get(clazz);
+
+        if(mask == null)
+        {
+            mask = FindOverriddenCallbacks(clazz);
+            overriddenCallbacks.put(clazz, mask);
+        }
+
+        return mask;
+    }
+
+    private static int FindOverriddenCallbacks(Class<?> clazz)
+    {
+        int mask = 0;
+
+        for(Class<?> currentClass = clazz; currentClass != null && currentClass != BaseObject.class; currentClass = currentClass.getSuperclass())
+        {
+            for(Callback callback : Callback.values())
+            {
+                for(String methodName : callback.methodNames)
+                {
+                    try
+                    {
+                        currentClass.getDeclaredMethod(methodName);
+                        mask |= 1 << callback.ordinal();
+                    }
+                    catch(NoSuchMethodException ignored) { }
+                }
+            }
+        }
+
+        if(clazz.isAnnotationPresent(ParallelUpdate.class))
+            mask |= PARALLEL_BIT;
+
+        return mask;
+    }
+
+    /**
+     * Ordered list of objects where removing only clears the slot of the object, the empty slots are compacted at the end of every dispatch
+     */
+    private static final class DispatchList
+    {
+        private final int callbackIndex;
+        private final boolean parallelizable;
+        private BaseObject[] objects = new BaseObject[256];
+        private int size = 0;
+        private int removed = 0;
+        private int dispatching = 0;
+
+        /**
+         * Number of objects in the list updated in parallel, always 0 for callbacks that can't run in parallel
+         */
+        private int parallelCount = 0;
+        /**
+         * Objects updated in parallel grouped by class, refilled on every dispatch
+         */
+        private final LinkedHashMap<Class<?>, ArrayList<BaseObject>> parallelGroups = new LinkedHashMap<>();
+
+        private DispatchList(int callbackIndex)
+        {
+            this.callbackIndex = callbackIndex;
+            parallelizable = Callback.values()[callbackIndex].parallelizable;
+        }
+
+        private void Add(BaseObject baseObject)
+        {
+            if(size == objects.length)
+                objects = Arrays.copyOf(objects, size * 2);
+
+            baseObject.dispatchSlots[callbackIndex] = size;
+            objects[size++] = baseObject;
+
+            if(parallelizable && baseObject.parallelUpdate)
+                parallelCount++;
+        }
+
+        private void Remove(BaseObject baseObject)
+        {
+            objects[baseObject.dispatchSlots[callbackIndex]] = null;
+            baseObject.dispatchSlots[callbackIndex] = -1;
+            removed++;
+
+            if(parallelizable && baseObject.parallelUpdate)
+                parallelCount--;
+        }
+
+        private void Compact()
+        {
+            if(removed == 0)
+                return;
+
+            int write = 0;
+            for(int read = 0; read < size; read++)
+            {
+                BaseObject baseObject = objects[read];
+
+                if(baseObject == null)
+                    continue;
+
+                baseObject.dispatchSlots[callbackIndex] = write;
+                objects[write++] = baseObject;
+            }
+
+            Arrays.fill(objects, write, size, null);
+            size = write;
+            removed = 0;
+        }
+    }
+}
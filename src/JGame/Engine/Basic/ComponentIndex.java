@@ -0,0 +1,186 @@
+package JGame.Engine.Basic;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+
+/**
+ * Index of the live components of the scene by class, used by JComponent.FindComponent and FindComponents.
+ * Every component is kept in the list of its exact class in creation order, removing one leaves a hole that is compacted once the list
+ * is mostly holes. A query for a type goes through the lists of the classes assignable to it, which are found once per type and refreshed
+ * only when a new class is registered, and returns the components in creation order like a scan of all the components would
+ */
+final class ComponentIndex
+{
+    private static final HashMap<Class<?>, ClassList> componentsByClass = new HashMap<>();
+    private static final HashMap<Class<?>, ArrayList<ClassList>> listsByType = new HashMap<>();
+
+    private static final Comparator<JComponent> CREATION_ORDER = Comparator.comparingLong(component -> component.indexSequence);
+
+    private static long nextSequence = 0;
+
+    private ComponentIndex() { }
+
+    /**
+     * The components of a single class, sorted by creation. Removed components leave a null slot
+     */
+    private static final class ClassList
+    {
+        final ArrayList<JComponent> slots = new ArrayList<>();
+        int count = 0;
+        /**
+         * Every slot before head is empty
+         */
+        int head = 0;
+
+        JComponent First()
+        {
+            while(head < slots.size() && slots.get(head) == null)
+                head++;
+
+            return head < slots.size() ? slots.get(head) : null;
+        }
+
+        /**
+         * Removes the empty slots and the destroyed components, keeping the order of the rest
+         */
+        void Compact()
+        {
+            int write = 0;
+
+            for(int read = 0; read < slots.size(); read++)
+            {
+                JComponent component = slots.get(read);
+
+                if(component == null)
+                    continue;
+
+                if(component.IsDestroyed())
+                {
+                    component.indexSlot = -1;
+                    continue;
+                }
+
+                component.indexSlot = write;
+                slots.set(write++, component);
+            }
+
+            slots.subList(write, slots.size()).clear();
+            count = write;
+            head = 0;
+        }
+    }
+
+    static void Add(JComponent component)
+    {
+        ClassList list = componentsByClass.get(component.getClass());
+
+        if(list == null)
+        {
+            list = new ClassList();
+            componentsByClass.put(component.getClass(), list);
+
+            //A new class can be assignable to any of the types queried so far
+            listsByType.clear();
+        }
+
+        component.indexSequence = nextSequence++;
+        component.indexSlot = list.slots.size();
+        list.slots.add(component);
+        list.count++;
+    }
+
+    static void Remove(JComponent component)
+    {
+        if(component.indexSlot < 0)
+            return;
+
+        ClassList list = componentsByClass.get(component.getClass());
+
+        list.slots.set(component.indexSlot, null);
+        list.count--;
+        component.indexSlot = -1;
+
+        //Compacting once half of the slots are empty keeps removals constant on average
+        if(list.slots.size() > list.count * 2 + 16)
+            list.Compact();
+    }
+
+    /**
+     * Removes every destroyed component in a single pass per class, used after bulk destroys
+     */
+    static void RemoveDestroyed()
+    {
+        for(ClassList list : componentsByClass.values())
+            list.Compact();
+    }
+
+    static <C extends JComponent> C FindFirst(Class<C> type)
+    {
+        JComponent first = null;
+
+        for(ClassList list : GetLists(type))
+        {
+            JComponent candidate = list.First();
+
+            if(candidate != null && (first == null || candidate.indexSequence < first.indexSequence))
+                first = candidate;
+        }
+
+        return type.cast(first);
+    }
+
+    static <C extends JComponent> ArrayList<C> FindAll(Class<C> type)
+    {
+        ArrayList<ClassList> lists = GetLists(type);
+
+        int count = 0;
+        int nonEmptyLists = 0;
+        for(ClassList list : lists)
+        {
+            count += list.count;
+
+            if(list.count > 0)
+                nonEmptyLists++;
+        }
+
+        ArrayList<C> components = new ArrayList<>(count);
+
+        for(ClassList list : lists)
+        {
+            for(int i = list.head; i < list.slots.size(); i++)
+            {
+                JComponent component = list.slots.get(i);
+
+                if(component != null)
+                    components.add(type.cast(component));
+            }
+        }
+
+        //Every list is sorted already, only the components of different classes have to be merged
+        if(nonEmptyLists > 1)
+            components.sort(CREATION_ORDER);
+
+        return components;
+    }
+
+    private static ArrayList<ClassList> GetLists(Class<?> type)
+    {
+        ArrayList<ClassList> lists = listsByType.get(type);
+
+        if(lists == null)
+        {
+            lists = new ArrayList<>();
+
+            for(var entry : componentsByClass.entrySet())
+            {
+                if(type.isAssignableFrom(entry.getKey()))
+                    lists.add(entry.getValue());
+            }
+
+            listsByType.put(type, lists);
+        }
+
+        return lists;
+    }
+}
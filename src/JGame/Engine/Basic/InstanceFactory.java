@@ -0,0 +1,219 @@
+package JGame.Engine.Basic;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.function.Supplier;
+
+/**
+ * Creates instances of a BaseObject type and copies their fields without reflection. The constructor and the field accessors of every class
+ * are looked up once and turned into a generated lambda and method handles, so creating or copying an object afterwards costs about
+ * the same as doing it by hand
+ * @param <T>
+ * The type of the objects
+ */
+final class InstanceFactory<T extends BaseObject>
+{
+    private static final HashMap<Class<?>, InstanceFactory<?>> factories = new HashMap<>();
+
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private final Class<T> type;
+    private final Supplier<T> constructor;
+    private final FieldAccessor[] fields;
+
+    /**
+     * Accessors of a field of the class, all of them take the owners as Object
+     * @param getter
+     * (owner) -> value
+     * @param setter
+     * (owner, value) -> void
+     * @param copier
+     * (destination, source) -> void, copies the value without boxing it
+     */
+    record FieldAccessor(Field field, MethodHandle getter, MethodHandle setter, MethodHandle copier)
+    {
+        Object Get(Object owner)
+        {
+            try
+            {
+                return (Object) getter.invokeExact(owner);
+            }
+            catch(Throwable e)
+            {
+                throw new IllegalStateException("Failed to read field " + field.getName() + " of " + owner, e);
+            }
+        }
+
+        void Set(Object owner, Object value)
+        {
+            try
+            {
+                setter.invokeExact(owner, value);
+            }
+            catch(Throwable e)
+            {
+                throw new IllegalStateException("Failed to write field " + field.getName() + " of " + owner, e);
+            }
+        }
+    }
+
+    private InstanceFactory(Class<T> type)
+    {
+        this.type = type;
+
+        try
+        {
+            MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(type, MethodHandles.lookup());
+
+            constructor = Modifier.isAbstract(type.getModifiers()) ? null : CreateConstructor(lookup, type);
+            fields = FindFields(lookup, type);
+        }
+        catch(IllegalAccessException e)
+        {
+            throw new IllegalArgumentException("Can't access the members of " + type.getName() + "!", e);
+        }
+    }
+
+    /**
+     * Gets the factory of a type, creating it the first time
+     * @param type
+     * The type of the objects
+     * @return
+     * The factory of the type
+     */
+    @SuppressWarnings("unchecked")
+    static <T extends BaseObject> InstanceFactory<T> Of(Class<T> type)
+    {
+        InstanceFactory<T> factory = (InstanceFactory<T>) factories.get(type);
+
+        if(factory == null)
+        {
+            factory = new InstanceFactory<>(type);
+            factories.put(type, factory);
+        }
+
+        return factory;
+    }
+
+    /**
+     * Creates a new object with the default constructor, it isn't initialized
+     * @return
+     * The new object
+     */
+    T NewInstance()
+    {
+        if(constructor == null)
+            throw new IllegalArgumentException("Failed to create instance for " + type.getName() + ". Ensure it isn't abstract and has a default constructor.");
+
+        return constructor.get();
+    }
+
+    /**
+     * Gets the fields copied between objects of the type: the non static, non final fields not marked NotCopied declared by the type
+     * and its superclasses, stopping at JComponent, or BaseObject for other objects, so the internal state of the engine isn't copied
+     * @return
+     * The fields, don't modify the array
+     */
+    FieldAccessor[] GetFields()
+    {
+        return fields;
+    }
+
+    /**
+     * Copies every field returned by GetFields from an object to another, references are copied as they are
+     * @param source
+     * The object to copy from
+     * @param destination
+     * The object to copy to
+     */
+    void CopyFields(T source, T destination)
+    {
+        for(FieldAccessor field : fields)
+        {
+            try
+            {
+                field.copier.invokeExact((Object)destination, (Object)source);
+            }
+            catch(Throwable e)
+            {
+                throw new IllegalStateException("Failed to copy field " + field.field.getName() + " of " + source, e);
+            }
+        }
+    }
+
+    //------Generation------
+
+    @SuppressWarnings("unchecked")
+    private static <T> Supplier<T> CreateConstructor(MethodHandles.Lookup lookup, Class<T> type) throws IllegalAccessException
+    {
+        MethodHandle constructorHandle;
+
+        try
+        {
+            constructorHandle = lookup.findConstructor(type, MethodType.methodType(void.class));
+        }
+        catch(NoSuchMethodException e)
+        {
+            return null;
+        }
+
+        try
+        {
+            CallSite site = LambdaMetafactory.metafactory(lookup, "get", MethodType.methodType(Supplier.class),
+                    MethodType.methodType(Object.class), constructorHandle, MethodType.methodType(type));
+
+            return (Supplier<T>) site.getTarget().invokeExact();
+        }
+        catch(Throwable e)
+        {
+            //Classes the metafactory can't link against, like hidden classes, still get a method handle
+            MethodHandle genericHandle = constructorHandle.asType(MethodType.methodType(Object.class));
+
+            return () ->
+            {
+                try
+                {
+                    return (T) genericHandle.invokeExact();
+                }
+                catch(Throwable throwable)
+                {
+                    throw new RuntimeException("Failed to create instance for " + type.getName() + ". Error:", throwable);
+                }
+            };
+        }
+    }
+
+    private static FieldAccessor[] FindFields(MethodHandles.Lookup lookup, Class<?> type) throws IllegalAccessException
+    {
+        ArrayList<FieldAccessor> fields = new ArrayList<>();
+
+        for(Class<?> currentClass = type; currentClass != JComponent.class && currentClass != BaseObject.class; currentClass = currentClass.getSuperclass())
+        {
+            MethodHandles.Lookup classLookup = currentClass == type ? lookup : MethodHandles.privateLookupIn(currentClass, lookup);
+
+            for(Field field : currentClass.getDeclaredFields())
+            {
+                int modifiers = field.getModifiers();
+
+                if(Modifier.isStatic(modifiers) || Modifier.isFinal(modifiers) || field.isAnnotationPresent(NotCopied.class))
+                    continue;
+
+                MethodHandle getter = classLookup.unreflectGetter(field);
+                MethodHandle setter = classLookup.unreflectSetter(field);
+
+                fields.add(new FieldAccessor(field, getter.asType(GETTER_TYPE), setter.asType(SETTER_TYPE),
+                        MethodHandles.filterArguments(setter, 1, getter).asType(SETTER_TYPE)));
+            }
+        }
+
+        return fields.toArray(new FieldAccessor[0]);
+    }
+}
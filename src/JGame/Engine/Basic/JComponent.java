@@ -1,15 +1,18 @@
 package JGame.Engine.Basic;
 
+import JGame.Application.Application;
+import JGame.Engine.Coroutines.Coroutine;
+import JGame.Engine.Coroutines.YieldInstruction;
 import JGame.Engine.Graphics.Renderers.BillboardRenderer;
 import JGame.Engine.Graphics.Textures.Texture;
 import JGame.Engine.EventSystem.Event1P;
-import JGame.Engine.Internal.Logger;
+import JGame.Engine.Interfaces.Basic.ICoroutine;
+import JGame.Engine.Interfaces.Graphics.IRenderOnly;
+import JGame.Engine.Physics.Collision.Colliders.Collider;
 import JGame.Engine.Settings;
 
-import java.lang.reflect.Constructor;
-import java.lang.reflect.Field;
-import java.lang.reflect.Modifier;
 import java.util.ArrayList;
+import java.util.Iterator;
 
 /**
  * Base class for the game JComponents, extend from this class to create your own custom behavior for objects,
@@ -24,6 +27,14 @@ public abstract class JComponent extends BaseObject
     private JGameObject object;
     private Transform transform;
     private BillboardRenderer iconRenderer;
+    /**
+     * Slot of the component in the ComponentIndex, -1 if it isn't indexed
+     */
+    int indexSlot = -1;
+    /**
+     * Creation order of the component, used by the ComponentIndex to return the components in the order they were created
+     */
+    long indexSequence;
 
     private final Event1P<Boolean> debugViewCallback = new Event1P<>()
     {
@@ -44,28 +55,16 @@ public abstract class JComponent extends BaseObject
      */
     public static <T extends JComponent> T CreateComponent(Class<T> type, JGameObject object)
     {
-        try
-        {
-            // Use reflection to create a new instance
-            Constructor<T> constructor = type.getConstructor();
-            constructor.setAccessible(true);
+        T comp = CreateUninitializedComponent(InstanceFactory.Of(type), object);
+        comp.InitializeCreatedComponent();
 
-            T comp =  constructor.newInstance();
-            ((JComponent)comp).InitializeComponent(object);
-
-            comp._internalInitialize();
-            comp.OnEnable();
-
-            return comp;
-        }
-        catch (Exception e)
-        {
-            throw new RuntimeException("Failed to create component for " + type.getName() + ". Ensure it extends JComponent and has a valid constructor.", e);
-        }
+        return comp;
     }
 
     /**
      * Creates a duplicate of the given JComponent and binds it to the specified JGameObject.
+     * The fields declared by the type of the component are copied after it's initialized, references are copied as they are and
+     * OnCopied is called afterwards
      * @param original
      * The original JComponent to duplicate.
      * @param object
@@ -74,62 +73,64 @@ public abstract class JComponent extends BaseObject
      * The type of the JComponent.
      * @return The duplicated JComponent.
      */
+    @SuppressWarnings("unchecked")
     public static <T extends JComponent> T DuplicateComponent(T original, JGameObject object)
     {
-        try
-        {
-            // Create a new instance of the same type as the original
-            Class<T> type = (Class<T>) original.getClass();
-            Constructor<T> constructor = type.getConstructor();
-            constructor.setAccessible(true);
-
-            T duplicate = constructor.newInstance();
-            ((JComponent)duplicate).InitializeComponent(object);
-
-            duplicate._internalInitialize();
-            duplicate.OnEnable();
-
-
-            Class<?> currentClass = type;
-            while (currentClass != null)
-            {
-                Field[] fields = currentClass.getDeclaredFields();
-                for (Field field : fields)
-                {
-                    int modifiers = field.getModifiers();
-                    if (Modifier.isStatic(modifiers) || Modifier.isFinal(modifiers))
-                    {
-                        continue;
-                    }
-
-                    field.setAccessible(true);
-                    try
-                    {
-                        Object fieldValue = field.get(original);
-                        field.set(duplicate, fieldValue);
-                    }
-                    catch (IllegalAccessException e)
-                    {
-                        Logger.DebugStackTraceError("Failed to copy field: " + field.getName(), e);
-                    }
-                }
-                currentClass = currentClass.getSuperclass();
-            }
-
-            return duplicate;
-        }
-        catch (Exception e)
+        InstanceFactory<T> factory = InstanceFactory.Of((Class<T>) original.getClass());
+
+        T duplicate = CreateUninitializedComponent(factory, object);
+        duplicate.InitializeCreatedComponent();
+
+        factory.CopyFields(original, duplicate);
+        duplicate.OnCopied();
+
+        return duplicate;
+    }
+
+    /**
+     * Creates a component bound to a JGameObject without initializing it, InitializeCreatedComponent has to be called afterwards.
+     * Used by prefabs to fill the fields of the components before they are initialized
+     */
+    static <T extends JComponent> T CreateUninitializedComponent(InstanceFactory<T> factory, JGameObject object)
+    {
+        T comp = factory.NewInstance();
+        ((JComponent)comp).InitializeComponent(object);
+
+        return comp;
+    }
+
+    /**
+     * Initializes a component created by CreateUninitializedComponent, or makes it dormant if it shouldn't be initialized
+     */
+    final void InitializeCreatedComponent()
+    {
+        if(ShouldBeDormant(this))
         {
-            throw new RuntimeException("Failed to duplicate component of type " + original.getClass().getName(), e);
+            MakeDormant();
+            return;
         }
+
+        _internalInitialize();
+        OnEnable();
     }
 
+    /**
+     * Render only components are created dormant when the application is headless
+     * @param component
+     * The component being created
+     * @return
+     * True if the component shouldn't be initialized
+     */
+    private static boolean ShouldBeDormant(JComponent component)
+    {
+        return Application.IsHeadless() && component instanceof IRenderOnly;
+    }
 
     private void InitializeComponent(JGameObject object)
     {
         this.object = object;
         this.transform = object.transform();
-        Texture image = GetIcon();
+        Texture image = Application.IsHeadless() ? null : GetIcon();
         if(image != null)
         {
             iconRenderer = this.object().AddComponent(BillboardRenderer.class);
@@ -142,17 +143,33 @@ public abstract class JComponent extends BaseObject
         }
 
         allJComponents.add(this);
+        ComponentIndex.Add(this);
 
         Settings.Debug.changeDebugViewEvent.Subscribe(debugViewCallback);
     }
 
+    /**
+     * Gets the renderer showing the icon of the component in the debug view
+     * @return
+     * The icon renderer, or null if the component has no icon
+     */
+    final JComponent GetIconRenderer()
+    {
+        return iconRenderer;
+    }
+
     @Override
     public final void Destroy()
     {
         Settings.Debug.changeDebugViewEvent.Unsubscribe(debugViewCallback);
-        object.JComponents.remove(this);
+        object.DetachComponent(this);
         super.Destroy();
-        allJComponents.remove(this);
+
+        if(!IsBulkDestroying())
+        {
+            allJComponents.remove(this);
+            ComponentIndex.Remove(this);
+        }
         object = null;
     }
 
@@ -166,6 +183,71 @@ public abstract class JComponent extends BaseObject
         return null;
     }
 
+    /**
+     * Called once the fields of the component were copied from another one, by DuplicateComponent or when instantiating a Prefab.
+     * Copied references are shared with the original, override it to replace the mutable values the component holds, like arrays
+     * or settings objects, with copies. Prefab instances call it before the component is initialized, duplicates after
+     */
+    protected void OnCopied() { }
+
+    //------Trigger Callbacks------
+
+    /**
+     * Called on the first physics step a trigger collider of this object overlaps another collider,
+     * or a collider of this object overlaps a trigger collider of another object
+     * @param other
+     * The collider of the other object
+     */
+    protected void OnTriggerEnter(Collider other) { }
+    /**
+     * Called on every following physics step both colliders keep overlapping
+     * @param other
+     * The collider of the other object
+     */
+    protected void OnTriggerStay(Collider other) { }
+    /**
+     * Called on the first physics step both colliders stop overlapping, or when one of them is disabled
+     * @param other
+     * The collider of the other object
+     */
+    protected void OnTriggerExit(Collider other) { }
+
+    //------Coroutines------
+
+    /**
+     * Starts a coroutine bound to the component, its first stage runs right away.
+     * The coroutine is stopped when the component is disabled or destroyed
+     * @param coroutine
+     * The body of the coroutine, returning what to wait for after every stage
+     * @return
+     * The coroutine, used to stop it
+     */
+    public final Coroutine StartCoroutine(ICoroutine coroutine)
+    {
+        return Coroutine.Start(coroutine, this);
+    }
+
+    /**
+     * Starts a coroutine bound to the component whose stages are the elements of an iterator, its first stage runs right away.
+     * The coroutine is stopped when the component is disabled or destroyed
+     * @param stages
+     * The iterator, every call to next runs a stage and returns what to wait for, null waits for the next frame
+     * @return
+     * The coroutine, used to stop it
+     */
+    public final Coroutine StartCoroutine(Iterator<? extends YieldInstruction> stages)
+    {
+        return Coroutine.Start(stages, this);
+    }
+
+    /**
+     * Stops every coroutine started by the component
+     */
+    public final void StopAllCoroutines()
+    {
+        Coroutine.StopAll(this);
+    }
+
     /**
      * Gets the first component in the scene that is of type
      * @param type
@@ -177,26 +259,26 @@ public abstract class JComponent extends BaseObject
      */
     public static <C extends JComponent> C FindComponent(Class<C> type)
     {
-        return type.cast(allJComponents.stream().filter(type::isInstance).findFirst().orElse(null));
+        return ComponentIndex.FindFirst(type);
     }
     /**
-     * Gets the first component in the scene that is of type
+     * Gets every component in the scene that is of type
      * @param type
-     * The type of the component to find
+     * The type of the components to find
      * @return
-     * The component, or null if it wasn't found
+     * The array list containing all the components of type, empty if none were found
      * @param <C>
-     * The type of the component
+     * The type of the components
      */
-    public static <C extends JComponent> C FindComponents(Class<C> type)
+    public static <C extends JComponent> ArrayList<C> FindComponents(Class<C> type)
     {
-        return type.cast(allJComponents.stream().filter(type::isInstance));
+        return ComponentIndex.FindAll(type);
     }
 
     @Override
     public final boolean CalculateAvailability()
     {
-        return GetActive() && object.IsAvailable();
+        return GetActive() && !IsDormant() && object.IsAvailable();
     }
 
     public JGameObject object()
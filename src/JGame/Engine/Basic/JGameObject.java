@@ -1,10 +1,17 @@
 package JGame.Engine.Basic;
 
+import JGame.Engine.Graphics.Misc.GraphicsResources;
+import JGame.Engine.Graphics.Renderers.Renderer;
+import JGame.Engine.Jobs.JobScheduler;
+import JGame.Engine.Physics.Collision.Colliders.Collider;
+import JGame.Engine.Physics.Collision.Detection.TriggerDetection;
+import JGame.Engine.Physics.General.Physics;
+import JGame.Engine.Structures.DeferredList;
 import JGame.Engine.Structures.Quaternion;
 import JGame.Engine.Structures.Vector3D;
 
 import java.util.ArrayList;
-import java.util.stream.Collectors;
+import java.util.HashMap;
 
 /**
  * JGameObject that can be instantiated in the world, you can add your own JComponents,
@@ -12,11 +19,15 @@ import java.util.stream.Collectors;
  */
 public class JGameObject extends BaseObject
 {
-    public final static ArrayList<JGameObject> allObjects = new ArrayList<>();
+    public final static DeferredList<JGameObject> allObjects = new DeferredList<>();
 
     public String name;
     private Transform transform = BaseObject.CreateInstance(Transform.class);
     final ArrayList<JComponent> JComponents = new ArrayList<>();
+    /**
+     * Results of GetComponent by type, including the types with no component, cleared whenever a component is added or removed
+     */
+    private HashMap<Class<?>, JComponent> componentCache = null;
 
 
 
@@ -37,46 +48,94 @@ public class JGameObject extends BaseObject
         if(transform == null)
             return;
 
-        for(Transform child : transform.GetChildren())
+        BeginDestroy();
+
+        try
         {
-            if(child.object() != null)
-                child.object().Destroy();
-        }
+            for(Transform child : transform.GetChildren())
+            {
+                if(child.object() != null)
+                    child.object().Destroy();
+            }
 
-        JComponent[] comps = new JComponent[JComponents.size()];
+            JComponent[] comps = new JComponent[JComponents.size()];
 
-        comps = JComponents.toArray(comps);
+            comps = JComponents.toArray(comps);
 
-        for (JComponent comp : comps)
-        {
-            comp.Destroy();
-        }
-
-        JComponents.clear();
+            for (JComponent comp : comps)
+            {
+                comp.Destroy();
+            }
 
-        super.Destroy();
+            JComponents.clear();
+            componentCache = null;
 
-        transform.Destroy();
-        transform = null;
+            super.Destroy();
 
-        allObjects.remove(this);
+            transform.Destroy();
+            transform = null;
+        }
+        finally
+        {
+            EndDestroy();
+        }
     }
 
     /**
-     * Destroys all current objects
+     * Destroys all current objects in bulk. Objects still get their OnDestroy callbacks, but the global registries aren't updated
+     * per object, they are cleaned up in a single pass at the end, listeners are unsubscribed in batch and the OpenGL resources
+     * released are deleted together
      */
     public static void DestroyAll()
     {
-        JGameObject[] objs = new JGameObject[allObjects.size()];
-        allObjects.toArray(objs);
+        if(IsBulkDestroying())
+        {
+            DestroyAllObjects();
+            return;
+        }
+
+        SetBulkDestroying(true);
+        DeferredList.BeginBatchedRemovals();
+        GraphicsResources.BeginBatch();
 
-        for(var obj : objs)
+        try
         {
-            obj.Destroy();
+            DestroyAllObjects();
+        }
+        finally
+        {
+            SetBulkDestroying(false);
+            DeferredList.EndBatchedRemovals();
+
+            SweepDestroyedObjects();
+            JComponent.allJComponents.removeIf(IS_DESTROYED);
+            ComponentIndex.RemoveDestroyed();
+            Renderer.RemoveDestroyedRenderers();
+            Physics.RemoveUnavailableObjects();
+
+            GraphicsResources.EndBatch();
         }
     }
 
-    //------ Other Functions -------
+    private static void DestroyAllObjects()
+    {
+        allObjects.BeginIteration();
+
+        try
+        {
+            for(int i = 0; i < allObjects.Size(); i++)
+            {
+                JGameObject object = allObjects.Get(i);
+
+                if(object != null && !object.IsDestroyed())
+                    object.Destroy();
+            }
+        }
+        finally
+        {
+            allObjects.EndIteration();
+        }
+    }
 
     /**
      * Creates a JGameObject at Position Zero and no rotation
@@ -161,7 +220,7 @@ public class JGameObject extends BaseObject
     public static JGameObject Create(String name, Vector3D position, Quaternion rotation, Vector3D scale, Transform parent, ArrayList<JComponent> components)
     {
         JGameObject newObject = BaseObject.CreateInstance(JGameObject.class);
-        allObjects.add(newObject);
+        allObjects.Add(newObject);
 
         newObject.name = name;
         newObject.transform().SetGlobalPosition(position);
@@ -196,7 +255,7 @@ public class JGameObject extends BaseObject
     public static JGameObject Create(String name, Vector3D position, Quaternion rotation, Vector3D scale, Transform parent, Class<? extends JComponent>... components)
     {
         JGameObject newObject = BaseObject.CreateInstance(JGameObject.class);
-        allObjects.add(newObject);
+        allObjects.Add(newObject);
 
         newObject.name = name;
         newObject.transform().SetGlobalPosition(position);
@@ -212,6 +271,19 @@ public class JGameObject extends BaseObject
         return newObject;
     }
 
+    /**
+     * Creates a JGameObject at the origin without components, used by prefabs to build their objects
+     */
+    static JGameObject CreateEmpty(String name)
+    {
+        JGameObject newObject = BaseObject.CreateInstance(JGameObject.class);
+        allObjects.Add(newObject);
+
+        newObject.name = name;
+
+        return newObject;
+    }
+
     /**
      * Duplicates and returns the JGameObject
      * @return
@@ -254,7 +326,7 @@ public class JGameObject extends BaseObject
     public <C extends JComponent> C AddComponent(Class<C> type)
     {
         C comp = JComponent.CreateComponent(type, this);
-        JComponents.add(comp);
+        AttachComponent(comp);
         return comp;
     }
     /**
@@ -267,9 +339,27 @@ public class JGameObject extends BaseObject
     public JComponent CopyAddComponent(JComponent component)
     {
         JComponent comp = JComponent.DuplicateComponent(component, this);
-        JComponents.add(comp);
+        AttachComponent(comp);
         return comp;
     }
+
+    /**
+     * Adds a created component to the component list of the object
+     */
+    void AttachComponent(JComponent component)
+    {
+        JComponents.add(component);
+        componentCache = null;
+    }
+
+    /**
+     * Removes a component from the component list of the object
+     */
+    void DetachComponent(JComponent component)
+    {
+        JComponents.remove(component);
+        componentCache = null;
+    }
     //------ Getter Functions ------
 
     public Transform transform()
@@ -296,6 +386,9 @@ public class JGameObject extends BaseObject
 
         for(Transform child : transform().GetChildren())
         {
+            if(child.IsDestroyed())
+                continue;
+
             comp = child.object().GetComponentInChildren(type);
             if(comp != null)
                 return comp;
@@ -314,7 +407,30 @@ public class JGameObject extends BaseObject
      */
     public <C extends JComponent> C GetComponent(Class<C> type)
     {
-        return type.cast(JComponents.stream().filter(type::isInstance).findFirst().orElse(null));
+        //Parallel updates only read the cache, several of them can look up components of the same object at once
+        boolean canCache = JobScheduler.IsMainThread();
+
+        if(componentCache == null && canCache)
+            componentCache = new HashMap<>();
+
+        JComponent comp = componentCache == null ? null : componentCache.get(type);
+
+        if(comp == null && (componentCache == null || !componentCache.containsKey(type)))
+        {
+            for(int i = 0; i < JComponents.size(); i++)
+            {
+                if(type.isInstance(JComponents.get(i)))
+                {
+                    comp = JComponents.get(i);
+                    break;
+                }
+            }
+
+            if(canCache)
+                componentCache.put(type, comp);
+        }
+
+        return type.cast(comp);
     }
 
     /**
@@ -356,7 +472,8 @@ public class JGameObject extends BaseObject
 
         for(Transform child : transform().GetChildren())
         {
-            allcomps.addAll(child.object().GetComponentsInChildren(type));
+            if(!child.IsDestroyed())
+                allcomps.addAll(child.object().GetComponentsInChildren(type));
         }
 
         return allcomps;
@@ -372,10 +489,15 @@ public class JGameObject extends BaseObject
      */
     public <C extends JComponent> ArrayList<C> GetComponents(Class<C> type)
     {
-        return JComponents.stream()
-                .filter(type::isInstance)
-                .map(type::cast)
-                .collect(Collectors.toCollection(ArrayList::new));
+        ArrayList<C> comps = new ArrayList<>();
+
+        for(int i = 0; i < JComponents.size(); i++)
+        {
+            if(type.isInstance(JComponents.get(i)))
+                comps.add(type.cast(JComponents.get(i)));
+        }
+
+        return comps;
     }
     /**
      * Gets the first component of type associated with the object or one of its parents
@@ -395,23 +517,46 @@ public class JGameObject extends BaseObject
             ArrayList<C> comps = current.object().GetComponents(type);
             allcomps.addAll(comps);
 
-            current = transform.GetParent();
+            current = current.GetParent();
         } while(current != null);
 
         return allcomps;
     }
+    //------ Trigger Events ------
+
     /**
-     * Called when closing the application, destroys all objects
+     * Internal call for trigger events, forwards the event to every available component of the object
+     * @param event
+     * The trigger event
+     * @param other
+     * The collider of the other object
      */
-    public static void Terminate()
+    public final void _internalTriggerEvent(TriggerDetection.TriggerEvent event, Collider other)
     {
-
-        for(JGameObject object : new ArrayList<>(allObjects))
+        //Callbacks may add or remove components
+        for(int i = 0; i < JComponents.size(); i++)
         {
-            object.Destroy();
+            JComponent component = JComponents.get(i);
+            if(!component.IsAvailable())
+                continue;
+
+            switch (event)
+            {
+                case Enter -> component.OnTriggerEnter(other);
+                case Stay -> component.OnTriggerStay(other);
+                case Exit -> component.OnTriggerExit(other);
+            }
         }
     }
 
+    /**
+     * Called when closing the application, destroys all objects
+     */
+    public static void Terminate()
+    {
+        DestroyAll();
+    }
+
     @Override
     protected final boolean CalculateAvailability()
     {
@@ -0,0 +1,16 @@
+package JGame.Engine.Basic;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a field of a component holding runtime state, like GPU handles, simulation data or caches, which isn't copied by
+ * JComponent.DuplicateComponent or captured by prefabs. The copies keep the value the field got when they were constructed
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.FIELD)
+public @interface NotCopied
+{
+}
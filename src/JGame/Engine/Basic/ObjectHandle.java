@@ -0,0 +1,61 @@
+package JGame.Engine.Basic;
+
+/**
+ * Reference to an object that stops resolving once the object is destroyed or recycled, checked in constant time through the generation
+ * of the object. Use it to keep references that outlive the objects they point to without waiting for the end of frame sweep
+ * @param <T>
+ * The type of the object
+ */
+public final class ObjectHandle<T extends BaseObject>
+{
+    private T target;
+    private final int generation;
+
+    private ObjectHandle(T target)
+    {
+        this.target = target;
+        this.generation = target == null ? 0 : target.GetGeneration();
+    }
+
+    /**
+     * Creates a handle to an object
+     * @param target
+     * The object, can be null to create an empty handle
+     * @return
+     * The handle to the object in its current generation
+     */
+    public static <T extends BaseObject> ObjectHandle<T> Of(T target)
+    {
+        return new ObjectHandle<>(target);
+    }
+
+    /**
+     * Gets the object the handle points to
+     * @return
+     * The object, or null if it was destroyed or recycled since the handle was created
+     */
+    public T Get()
+    {
+        if(target != null && (target.IsDestroyed() || target.GetGeneration() != generation))
+            target = null;
+
+        return target;
+    }
+
+    /**
+     * Checks if the object the handle points to is still alive
+     * @return
+     * True if Get returns the object
+     */
+    public boolean IsValid()
+    {
+        return Get() != null;
+    }
+
+    @Override
+    public String toString()
+    {
+        T current = Get();
+        return "Handle(" + (current == null ? "destroyed" : current.toString()) + ")";
+    }
+}
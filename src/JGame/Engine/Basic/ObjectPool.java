@@ -0,0 +1,323 @@
+package JGame.Engine.Basic;
+
+import JGame.Engine.Interfaces.Basic.IPoolable;
+import JGame.Engine.Structures.Quaternion;
+import JGame.Engine.Structures.Vector3D;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.function.Supplier;
+
+/**
+ * Keeps a set of prebuilt JGameObjects to reuse them instead of creating and destroying them, like bullets or effects spawned every frame.
+ * Spawning an object only places it and enables it, despawning it disables it and gives it back to the pool, so neither of them
+ * allocates objects, builds components through reflection, creates OpenGL resources or touches the object registries.
+ * Pooled objects are suspended: their physics objects and colliders stay registered and the physics pipeline skips them while they're unavailable.
+ * Components implementing IPoolable are notified so they can reset their state, handles pointing to an object stop resolving once it's despawned
+ * @param <T>
+ * The type of the main component of the pooled objects, the one returned by Spawn
+ */
+public class ObjectPool<T extends JComponent>
+{
+    private final Supplier<JGameObject> template;
+    private final Class<T> type;
+
+    private final ArrayList<T> inactive = new ArrayList<>();
+    private final HashSet<T> members = new HashSet<>();
+
+    /**
+     * If true the pool creates new objects when all of them are spawned, if false Spawn returns null instead
+     */
+    public boolean canGrow = true;
+
+    /**
+     * Creates a pool and fills it with inactive objects
+     * @param template
+     * Function building one new object with all its components, called on pre warm and whenever the pool has to grow
+     * @param type
+     * The type of the main component, every object built by the template must have it
+     * @param prewarmCount
+     * The number of objects to create right away
+     */
+    public ObjectPool(Supplier<JGameObject> template, Class<T> type, int prewarmCount)
+    {
+        if(template == null || type == null)
+            throw new IllegalArgumentException("The template and the type of an ObjectPool can't be null!");
+
+        this.template = template;
+        this.type = type;
+
+        Prewarm(prewarmCount);
+    }
+
+    /**
+     * Creates a pool of instances of a prefab and fills it with inactive objects
+     * @param prefab
+     * The prefab instantiated by the pool
+     * @param type
+     * The type of the main component, the root object of the prefab must have it
+     * @param prewarmCount
+     * The number of objects to create right away
+     */
+    public ObjectPool(Prefab prefab, Class<T> type, int prewarmCount)
+    {
+        this(prefab == null ? null : prefab::Instantiate, type, prewarmCount);
+    }
+
+    /**
+     * Creates inactive objects until the pool has at least a number of them ready to spawn
+     * @param count
+     * The number of objects ready to spawn
+     */
+    public void Prewarm(int count)
+    {
+        if(count < 0)
+            throw new IllegalArgumentException("Can't prewarm a negative number of objects!");
+
+        inactive.ensureCapacity(count);
+
+        while(inactive.size() < count)
+        {
+            T instance = CreateInstance();
+            Deactivate(instance.object());
+            inactive.add(instance);
+        }
+    }
+
+    //------Spawning------
+
+    /**
+     * Takes an object from the pool, without changing its placement
+     * @return
+     * The main component of the spawned object, or null if the pool is empty and can't grow
+     */
+    public T Spawn()
+    {
+        T instance = TakeInstance();
+
+        if(instance != null)
+            Activate(instance);
+
+        return instance;
+    }
+
+    /**
+     * Takes an object from the pool and places it at position
+     * @param position
+     * The global position of the object
+     * @return
+     * The main component of the spawned object, or null if the pool is empty and can't grow
+     */
+    public T Spawn(Vector3D position)
+    {
+        return Spawn(position, Quaternion.Identity);
+    }
+
+    /**
+     * Takes an object from the pool and places it at position with rotation
+     * @param position
+     * The global position of the object
+     * @param rotation
+     * The global rotation of the object
+     * @return
+     * The main component of the spawned object, or null if the pool is empty and can't grow
+     */
+    public T Spawn(Vector3D position, Quaternion rotation)
+    {
+        T instance = TakeInstance();
+
+        if(instance == null)
+            return null;
+
+        Transform transform = instance.transform();
+        transform.SetGlobalPosition(position);
+        transform.SetGlobalRotation(rotation);
+
+        Activate(instance);
+
+        return instance;
+    }
+
+    /**
+     * Gives an object back to the pool, it's disabled until it's spawned again. Despawning an object that is already in the pool does nothing
+     * @param instance
+     * The main component of an object spawned by this pool
+     */
+    public void Despawn(T instance)
+    {
+        if(!members.contains(instance))
+            throw new IllegalArgumentException(instance + " doesn't belong to this ObjectPool!");
+
+        JGameObject object = instance.object();
+
+        if(instance.IsDestroyed() || !object.GetActive())
+            return;
+
+        NotifyDespawn(object);
+        Deactivate(object);
+
+        RecycleObject(object);
+        inactive.add(instance);
+    }
+
+    /**
+     * Destroys every object created by the pool, including the spawned ones, the pool can be used again afterwards
+     */
+    public void Clear()
+    {
+        for(T instance : members)
+        {
+            if(!instance.IsDestroyed())
+                instance.object().Destroy();
+        }
+
+        members.clear();
+        inactive.clear();
+    }
+
+    //------Getters------
+
+    /**
+     * Gets the number of objects ready to spawn
+     * @return
+     * The number of inactive objects in the pool
+     */
+    public int GetInactiveCount()
+    {
+        return inactive.size();
+    }
+
+    /**
+     * Gets the number of objects created by the pool and not destroyed, spawned or not
+     * @return
+     * The number of objects of the pool
+     */
+    public int GetSize()
+    {
+        return members.size();
+    }
+
+    public Class<T> GetType()
+    {
+        return type;
+    }
+
+    //------Internal------
+
+    private T TakeInstance()
+    {
+        //Objects destroyed from outside the pool are dropped
+        while(!inactive.isEmpty())
+        {
+            T instance = inactive.remove(inactive.size() - 1);
+
+            if(!instance.IsDestroyed())
+                return instance;
+
+            members.remove(instance);
+        }
+
+        return canGrow ? CreateInstance() : null;
+    }
+
+    private T CreateInstance()
+    {
+        JGameObject object = template.get();
+        T instance = object == null ? null : object.GetComponent(type);
+
+        if(instance == null)
+            throw new IllegalStateException("The template of the ObjectPool didn't create an object with a " + type.getSimpleName() + " component!");
+
+        members.add(instance);
+
+        return instance;
+    }
+
+    private void Activate(T instance)
+    {
+        JGameObject object = instance.object();
+
+        object.SetActive(true);
+        SetSuspended(object, false);
+        NotifySpawn(object);
+    }
+
+    /**
+     * Suspends the object before disabling it, so its components keep their registrations while it's in the pool
+     */
+    private static void Deactivate(JGameObject object)
+    {
+        SetSuspended(object, true);
+        object.SetActive(false);
+    }
+
+    /**
+     * Suspends or resumes the object, its components and its children. Only the available ones are suspended, the others aren't registered anywhere
+     */
+    private static void SetSuspended(JGameObject object, boolean value)
+    {
+        if(!value || object.IsAvailable())
+            object.SetSuspended(value);
+
+        for(int i = 0; i < object.JComponents.size(); i++)
+        {
+            JComponent component = object.JComponents.get(i);
+
+            if(!value || component.IsAvailable())
+                component.SetSuspended(value);
+        }
+
+        for(Transform child : object.transform().GetChildren())
+        {
+            if(!child.IsDestroyed())
+                SetSuspended(child.object(), value);
+        }
+    }
+
+    private static void NotifySpawn(JGameObject object)
+    {
+        for(int i = 0; i < object.JComponents.size(); i++)
+        {
+            if(object.JComponents.get(i) instanceof IPoolable poolable)
+                poolable.OnSpawn();
+        }
+
+        for(Transform child : object.transform().GetChildren())
+        {
+            if(!child.IsDestroyed())
+                NotifySpawn(child.object());
+        }
+    }
+
+    private static void NotifyDespawn(JGameObject object)
+    {
+        for(int i = 0; i < object.JComponents.size(); i++)
+        {
+            if(object.JComponents.get(i) instanceof IPoolable poolable)
+                poolable.OnDespawn();
+        }
+
+        for(Transform child : object.transform().GetChildren())
+        {
+            if(!child.IsDestroyed())
+                NotifyDespawn(child.object());
+        }
+    }
+
+    /**
+     * Invalidates the handles to the object, its components and its children
+     */
+    private static void RecycleObject(JGameObject object)
+    {
+        object.Recycle();
+
+        for(int i = 0; i < object.JComponents.size(); i++)
+            object.JComponents.get(i).Recycle();
+
+        for(Transform child : object.transform().GetChildren())
+        {
+            if(!child.IsDestroyed())
+                RecycleObject(child.object());
+        }
+    }
+}
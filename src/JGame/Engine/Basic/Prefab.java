@@ -0,0 +1,361 @@
+package JGame.Engine.Basic;
+
+import JGame.Engine.Structures.Quaternion;
+import JGame.Engine.Structures.Vector3D;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+
+/**
+ * Snapshot of a JGameObject, its children and their components, that can be instantiated any number of times.
+ * The object tree is captured once when the prefab is created, later changes to the source aren't reflected and the source can be destroyed.
+ * Components are built with generated constructors and their fields are filled before they are initialized, so instantiating a prefab
+ * doesn't go through reflection. Fields referencing objects of the captured tree, directly or through an array, point to the matching
+ * objects of every instance, the rest of the references are shared by every instance, components copy the mutable values they hold in OnCopied.
+ * Static, final and NotCopied fields aren't captured
+ */
+public final class Prefab
+{
+    private final String name;
+    /**
+     * Objects of the tree in depth first order, the root is the first one
+     */
+    private final Node[] nodes;
+
+    private final Vector3D position;
+    private final Quaternion rotation;
+    private final Vector3D scale;
+
+    private record Node(String name, int parent, boolean active, Vector3D localPosition, Quaternion localRotation, Vector3D localScale, ComponentData[] components) { }
+
+    private record ComponentData(InstanceFactory<? extends JComponent> factory, boolean active, Object[] values) { }
+
+    /**
+     * Reference to an object of the captured tree, component is the index of the component in the node, or OBJECT or TRANSFORM
+     */
+    private record LocalReference(int node, int component) { }
+
+    /**
+     * Array of objects with some elements in the captured tree, references holds their local references and null for the rest
+     */
+    private record LocalArray(BaseObject[] template, LocalReference[] references) { }
+
+    private static final int OBJECT = -1;
+    private static final int TRANSFORM = -2;
+
+    private Prefab(JGameObject source, Node[] nodes)
+    {
+        this.name = source.name;
+        this.nodes = nodes;
+
+        position = source.transform().GetGlobalPosition();
+        rotation = source.transform().GetGlobalRotation();
+        scale = source.transform().GetGlobalScale();
+    }
+
+    /**
+     * Captures an object, its children and all their components into a prefab
+     * @param source
+     * The root object of the prefab
+     * @return
+     * The prefab
+     */
+    public static Prefab Create(JGameObject source)
+    {
+        if(source == null || source.IsDestroyed())
+            throw new IllegalArgumentException("Can't create a prefab from a null or destroyed object!");
+
+        ArrayList<JGameObject> objects = new ArrayList<>();
+        ArrayList<Integer> parents = new ArrayList<>();
+        CollectObjects(source, -1, objects, parents);
+
+        //Every object, transform and component of the tree, to store the references between them as local references
+        IdentityHashMap<BaseObject, LocalReference> references = new IdentityHashMap<>();
+        ArrayList<ArrayList<JComponent>> components = new ArrayList<>(objects.size());
+
+        for(int i = 0; i < objects.size(); i++)
+        {
+            JGameObject object = objects.get(i);
+
+            references.put(object, new LocalReference(i, OBJECT));
+            references.put(object.transform(), new LocalReference(i, TRANSFORM));
+
+            ArrayList<JComponent> objectComponents = GetCapturedComponents(object);
+            components.add(objectComponents);
+
+            for(int j = 0; j < objectComponents.size(); j++)
+                references.put(objectComponents.get(j), new LocalReference(i, j));
+        }
+
+        Node[] nodes = new Node[objects.size()];
+
+        for(int i = 0; i < nodes.length; i++)
+        {
+            JGameObject object = objects.get(i);
+            ArrayList<JComponent> objectComponents = components.get(i);
+            ComponentData[] componentData = new ComponentData[objectComponents.size()];
+
+            for(int j = 0; j < componentData.length; j++)
+                componentData[j] = CaptureComponent(objectComponents.get(j), references);
+
+            Transform transform = object.transform();
+            nodes[i] = new Node(object.name, parents.get(i), object.GetActive(), transform.GetLocalPosition(), transform.GetLocalRotation(),
+                    transform.GetLocalScale(), componentData);
+        }
+
+        return new Prefab(source, nodes);
+    }
+
+    //------Instantiation------
+
+    /**
+     * Instantiates the prefab where the source object was when it was captured
+     * @return
+     * The root object of the instance
+     */
+    public JGameObject Instantiate()
+    {
+        return Instantiate(position, rotation, null);
+    }
+
+    /**
+     * Instantiates the prefab at position, with the rotation the source object had
+     * @param position
+     * The global position of the instance
+     * @return
+     * The root object of the instance
+     */
+    public JGameObject Instantiate(Vector3D position)
+    {
+        return Instantiate(position, rotation, null);
+    }
+
+    /**
+     * Instantiates the prefab at position with rotation
+     * @param position
+     * The global position of the instance
+     * @param rotation
+     * The global rotation of the instance
+     * @return
+     * The root object of the instance
+     */
+    public JGameObject Instantiate(Vector3D position, Quaternion rotation)
+    {
+        return Instantiate(position, rotation, null);
+    }
+
+    /**
+     * Instantiates the prefab at position with rotation, as a child of parent
+     * @param position
+     * The global position of the instance
+     * @param rotation
+     * The global rotation of the instance
+     * @param parent
+     * The parent of the instance, or null
+     * @return
+     * The root object of the instance
+     */
+    public JGameObject Instantiate(Vector3D position, Quaternion rotation, Transform parent)
+    {
+        JGameObject[] objects = new JGameObject[nodes.length];
+        JComponent[][] components = new JComponent[nodes.length][];
+
+        //Build the whole tree first, so the references between its objects can be resolved
+        for(int i = 0; i < nodes.length; i++)
+        {
+            Node node = nodes[i];
+            JGameObject object = JGameObject.CreateEmpty(node.name);
+            Transform transform = object.transform();
+
+            if(i == 0)
+            {
+                transform.SetParent(parent);
+                transform.SetGlobalPositionAndRotation(position, rotation);
+                transform.SetGlobalScale(scale);
+            }
+            else
+            {
+                transform.SetParent(objects[node.parent].transform());
+                transform.SetLocalPositionAndRotation(node.localPosition, node.localRotation);
+                transform.SetLocalScale(node.localScale);
+            }
+
+            components[i] = new JComponent[node.components.length];
+
+            for(int j = 0; j < node.components.length; j++)
+            {
+                JComponent component = JComponent.CreateUninitializedComponent(node.components[j].factory, object);
+                object.AttachComponent(component);
+                components[i][j] = component;
+            }
+
+            objects[i] = object;
+        }
+
+        for(int i = 0; i < nodes.length; i++)
+        {
+            for(int j = 0; j < components[i].length; j++)
+            {
+                RestoreComponent(components[i][j], nodes[i].components[j], objects, components);
+                components[i][j].OnCopied();
+            }
+        }
+
+        for(JComponent[] objectComponents : components)
+        {
+            for(JComponent component : objectComponents)
+                component.InitializeCreatedComponent();
+        }
+
+        for(int i = 0; i < nodes.length; i++)
+        {
+            for(int j = 0; j < components[i].length; j++)
+            {
+                if(!nodes[i].components[j].active)
+                    components[i][j].SetActive(false);
+            }
+
+            if(!nodes[i].active)
+                objects[i].SetActive(false);
+        }
+
+        return objects[0];
+    }
+
+    public String GetName()
+    {
+        return name;
+    }
+
+    /**
+     * Gets the number of objects in the prefab
+     * @return
+     * The number of objects, including the root
+     */
+    public int GetObjectCount()
+    {
+        return nodes.length;
+    }
+
+    //------Internal------
+
+    private static void CollectObjects(JGameObject object, int parent, ArrayList<JGameObject> objects, ArrayList<Integer> parents)
+    {
+        int index = objects.size();
+
+        objects.add(object);
+        parents.add(parent);
+
+        for(Transform child : object.transform().GetChildren())
+        {
+            if(!child.IsDestroyed())
+                CollectObjects(child.object(), index, objects, parents);
+        }
+    }
+
+    /**
+     * Gets the components of an object, skipping the debug icons which are created by the components themselves
+     */
+    private static ArrayList<JComponent> GetCapturedComponents(JGameObject object)
+    {
+        ArrayList<JComponent> components = new ArrayList<>(object.JComponents);
+
+        for(JComponent component : object.JComponents)
+        {
+            if(component.GetIconRenderer() != null)
+                components.remove(component.GetIconRenderer());
+        }
+
+        return components;
+    }
+
+    private static ComponentData CaptureComponent(JComponent component, IdentityHashMap<BaseObject, LocalReference> references)
+    {
+        InstanceFactory<? extends JComponent> factory = InstanceFactory.Of(component.getClass());
+        InstanceFactory.FieldAccessor[] fields = factory.GetFields();
+        Object[] values = new Object[fields.length];
+
+        for(int i = 0; i < fields.length; i++)
+        {
+            Object value = fields[i].Get(component);
+
+            if(value instanceof BaseObject baseObject && references.containsKey(baseObject))
+                value = references.get(baseObject);
+            else if(value instanceof BaseObject[] array)
+                value = CaptureArray(array, references);
+
+            values[i] = value;
+        }
+
+        return new ComponentData(factory, component.GetActive(), values);
+    }
+
+    private static void RestoreComponent(JComponent component, ComponentData data, JGameObject[] objects, JComponent[][] components)
+    {
+        InstanceFactory.FieldAccessor[] fields = data.factory.GetFields();
+
+        for(int i = 0; i < fields.length; i++)
+        {
+            Object value = data.values[i];
+
+            if(value instanceof LocalReference reference)
+                value = Resolve(reference, objects, components);
+            else if(value instanceof LocalArray array)
+                value = RestoreArray(array, objects, components);
+
+            fields[i].Set(component, value);
+        }
+    }
+
+    /**
+     * Captures an array of objects, as a LocalArray if some of its elements are in the captured tree
+     */
+    private static Object CaptureArray(BaseObject[] array, IdentityHashMap<BaseObject, LocalReference> references)
+    {
+        LocalReference[] localReferences = null;
+
+        for(int i = 0; i < array.length; i++)
+        {
+            LocalReference reference = array[i] == null ? null : references.get(array[i]);
+
+            if(reference == null)
+                continue;
+
+            if(localReferences == null)
+                localReferences = new LocalReference[array.length];
+
+            localReferences[i] = reference;
+        }
+
+        return localReferences == null ? array : new LocalArray(array.clone(), localReferences);
+    }
+
+    private static BaseObject[] RestoreArray(LocalArray array, JGameObject[] objects, JComponent[][] components)
+    {
+        BaseObject[] restored = array.template.clone();
+
+        for(int i = 0; i < restored.length; i++)
+        {
+            if(array.references[i] != null)
+                restored[i] = Resolve(array.references[i], objects, components);
+        }
+
+        return restored;
+    }
+
+    private static BaseObject Resolve(LocalReference reference, JGameObject[] objects, JComponent[][] components)
+    {
+        return switch(reference.component)
+        {
+            case OBJECT -> objects[reference.node];
+            case TRANSFORM -> objects[reference.node].transform();
+            default -> components[reference.node][reference.component];
+        };
+    }
+
+    @Override
+    public String toString()
+    {
+        return "Prefab(" + name + ", " + nodes.length + " objects)";
+    }
+}
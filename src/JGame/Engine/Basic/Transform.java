@@ -2,12 +2,15 @@ package JGame.Engine.Basic;
 
 import JGame.Engine.EventSystem.EventHandler;
 import JGame.Engine.Internal.Logger;
+import JGame.Engine.Jobs.JobScheduler;
+import JGame.Engine.Settings;
 import JGame.Engine.Structures.Matrix4x4;
 import JGame.Engine.Structures.Quaternion;
 import JGame.Engine.Structures.Vector3D;
 import JGame.Engine.Utilities.MathUtilities;
 
 import java.util.ArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Class representing an object's transform, containing information about position, rotation, scale and hierarchy
@@ -48,6 +51,16 @@ public class Transform extends BaseObject
      */
     public final EventHandler OnChangeTransformation = new EventHandler();
 
+    private static final int POSITION_CHANGED = 1;
+    private static final int ROTATION_CHANGED = 1 << 1;
+    private static final int SCALE_CHANGED = 1 << 2;
+    private static final int TRANSFORMATION_CHANGED = 1 << 3;
+
+    /**
+     * The changes done by jobs since the last sync point, the transform is queued on the main thread once when the first one is set
+     */
+    private final AtomicInteger pendingChanges = new AtomicInteger();
+
     /**
      * Sets the object to which this transform is attached to
      * @param object
@@ -59,6 +72,22 @@ public class Transform extends BaseObject
     }
 
 
+    /**
+     * Removes the destroyed transforms from the children lists of the whole hierarchy, called by the destroyed objects sweep
+     */
+    static void RemoveDestroyedChildren()
+    {
+        RemoveDestroyedChildren(worldParent);
+    }
+
+    private static void RemoveDestroyedChildren(Transform transform)
+    {
+        transform.children.removeIf(IS_DESTROYED);
+
+        for(Transform child : transform.children)
+            RemoveDestroyedChildren(child);
+    }
+
     //----- Callbacks -----
     @Override
     protected void Initialize()
@@ -358,8 +387,57 @@ public class Transform extends BaseObject
 
     private void UpdateTransformationMatrix()
     {
+        if(Settings.Jobs.detectRaces)
+            JobScheduler.RecordWrite(this);
+
         transformationMatrix = Matrix4x4.Transformation(globalPosition, globalScale, globalRotation);
-        OnChangeTransformation.Invoke();
+        InvokeChange(TRANSFORMATION_CHANGED);
+    }
+
+    /**
+     * Invokes a change event, the changes done by jobs are accumulated and the transform is queued once on the main thread,
+     * where every changed event is invoked once at the next sync point, so the listeners like the physics bodies never run in parallel
+     * @param change
+     * The flag of the changed component
+     */
+    private void InvokeChange(int change)
+    {
+        if(JobScheduler.IsMainThread())
+        {
+            GetChangeEvent(change).Invoke();
+            return;
+        }
+
+        if(!GetChangeEvent(change).HasListeners())
+            return;
+
+        if(pendingChanges.getAndAccumulate(change, (changes, flag) -> changes | flag) == 0)
+            JobScheduler.RunOnMainThread(this::InvokePendingChanges);
+    }
+
+    private void InvokePendingChanges()
+    {
+        int changes = pendingChanges.getAndSet(0);
+
+        if((changes & POSITION_CHANGED) != 0)
+            OnChangePosition.Invoke();
+        if((changes & ROTATION_CHANGED) != 0)
+            OnChangeRotation.Invoke();
+        if((changes & SCALE_CHANGED) != 0)
+            OnChangeScale.Invoke();
+        if((changes & TRANSFORMATION_CHANGED) != 0)
+            OnChangeTransformation.Invoke();
+    }
+
+    private EventHandler GetChangeEvent(int change)
+    {
+        return switch(change)
+        {
+            case POSITION_CHANGED -> OnChangePosition;
+            case ROTATION_CHANGED -> OnChangeRotation;
+            case SCALE_CHANGED -> OnChangeScale;
+            default -> OnChangeTransformation;
+        };
     }
 
     private void UpdateAllGlobalComponents()
@@ -370,9 +448,9 @@ public class Transform extends BaseObject
 
         UpdateTransformationMatrix();
 
-        OnChangePosition.Invoke();
-        OnChangeRotation.Invoke();
-        OnChangeScale.Invoke();
+        InvokeChange(POSITION_CHANGED);
+        InvokeChange(ROTATION_CHANGED);
+        InvokeChange(SCALE_CHANGED);
 
         for(Transform child : children)
         {
@@ -388,9 +466,9 @@ public class Transform extends BaseObject
 
         UpdateTransformationMatrix();
 
-        OnChangePosition.Invoke();
-        OnChangeRotation.Invoke();
-        OnChangeScale.Invoke();
+        InvokeChange(POSITION_CHANGED);
+        InvokeChange(ROTATION_CHANGED);
+        InvokeChange(SCALE_CHANGED);
 
         for(Transform child : children)
         {
@@ -407,7 +485,7 @@ public class Transform extends BaseObject
             return;
 
         globalPosition = newPosition;
-        OnChangePosition.Invoke();
+        InvokeChange(POSITION_CHANGED);
 
         for (Transform child : children)
         {
@@ -427,7 +505,7 @@ public class Transform extends BaseObject
             return;
 
         localPosition = newPosition;
-        OnChangePosition.Invoke();
+        InvokeChange(POSITION_CHANGED);
 
         for (Transform child : children)
         {
@@ -445,7 +523,7 @@ public class Transform extends BaseObject
 
         globalRotation = newRotation;
         UpdateGlobalPosition();
-        OnChangeRotation.Invoke();
+        InvokeChange(ROTATION_CHANGED);
 
         for (Transform child : children)
         {
@@ -463,7 +541,7 @@ public class Transform extends BaseObject
 
         localRotation = newRotation;
         UpdateGlobalPosition();
-        OnChangeRotation.Invoke();
+        InvokeChange(ROTATION_CHANGED);
 
         for (Transform child : children)
         {
@@ -480,7 +558,7 @@ public class Transform extends BaseObject
             return;
 
         globalScale = newScale;
-        OnChangeScale.Invoke();
+        InvokeChange(SCALE_CHANGED);
 
         for (Transform child : children)
         {
@@ -498,7 +576,7 @@ public class Transform extends BaseObject
             return;
 
         localScale = newScale;
-        OnChangeScale.Invoke();
+        InvokeChange(SCALE_CHANGED);
 
         for (Transform child : children)
         {
@@ -541,6 +619,8 @@ public class Transform extends BaseObject
      */
     public void SetParent(Transform parent)
     {
+        JobScheduler.CheckMainThread("Reparenting", this);
+
         if(parent == null)
             parent = worldParent;
 
@@ -563,9 +643,9 @@ public class Transform extends BaseObject
 
         UpdateTransformationMatrix();
 
-        OnChangePosition.Invoke();
-        OnChangeRotation.Invoke();
-        OnChangeScale.Invoke();
+        InvokeChange(POSITION_CHANGED);
+        InvokeChange(ROTATION_CHANGED);
+        InvokeChange(SCALE_CHANGED);
 
         for(Transform child : children)
         {
@@ -665,4 +745,10 @@ public class Transform extends BaseObject
         if(index == 2) return Forward();
         throw new IllegalArgumentException("Invalid axis index! Use 0, 1, and 2");
     }
+
+    @Override
+    public String toString()
+    {
+        return "Transform (" + object + ")";
+    }
 }
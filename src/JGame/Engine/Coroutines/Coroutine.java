@@ -0,0 +1,354 @@
+package JGame.Engine.Coroutines;
+
+import JGame.Engine.Basic.BaseObject;
+import JGame.Engine.Interfaces.Basic.ICoroutine;
+import JGame.Engine.Internal.Time;
+import JGame.Engine.Jobs.JobScheduler;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.PriorityQueue;
+
+/**
+ * A function run in stages spread over several frames, started with JComponent.StartCoroutine. The first stage runs right away,
+ * the following ones when the YieldInstruction returned by the previous stage is fulfilled.
+ * <p>
+ * Suspended coroutines aren't called every frame: timers wait in a queue sorted by resume time and the other coroutines in lists
+ * emptied once per frame or physics step, so waiting coroutines cost nothing until they resume.
+ * Coroutines are resumed on the main thread after the updates of the frame and after every physics step
+ */
+public final class Coroutine
+{
+    private ICoroutine body;
+    private BaseObject owner;
+    private boolean running = true;
+
+    //Set when suspended
+    private double resumeTime;
+    private long resumeStamp;
+    private long sequence;
+    private boolean inTimers = false;
+
+    //------Scheduling------
+
+    private static final PriorityQueue<Coroutine> timers = new PriorityQueue<>((c1, c2) ->
+    {
+        int comparison = Double.compare(c1.resumeTime, c2.resumeTime);
+        return comparison != 0 ? comparison : Long.compare(c1.sequence, c2.sequence);
+    });
+    private static ArrayList<Coroutine> frameWaiters = new ArrayList<>();
+    private static ArrayList<Coroutine> resumingFrameWaiters = new ArrayList<>();
+    private static ArrayList<Coroutine> physicsWaiters = new ArrayList<>();
+    private static ArrayList<Coroutine> resumingPhysicsWaiters = new ArrayList<>();
+
+    private static final IdentityHashMap<BaseObject, ArrayList<Coroutine>> coroutinesByOwner = new IdentityHashMap<>();
+
+    /**
+     * Number of stopped coroutines still in the timers queue, they're removed all at once when they reach half of the queue
+     */
+    private static int stoppedTimers = 0;
+
+    /**
+     * The game time in seconds, advanced with the scaled delta time of every frame
+     */
+    private static double time = 0;
+    private static long physicsSteps = 0;
+    private static long nextSequence = 0;
+
+    private Coroutine(ICoroutine body, BaseObject owner)
+    {
+        this.body = body;
+        this.owner = owner;
+    }
+
+    //------Starting and stopping------
+
+    /**
+     * Starts a coroutine not bound to any object, it runs until it's done or stopped
+     * @param body
+     * The body of the coroutine
+     * @return
+     * The coroutine
+     */
+    public static Coroutine Start(ICoroutine body)
+    {
+        return Start(body, null);
+    }
+
+    /**
+     * Starts a coroutine bound to an object, it's stopped when the object is disabled or destroyed
+     * @param body
+     * The body of the coroutine
+     * @param owner
+     * The object, or null for a coroutine not bound to any object
+     * @return
+     * The coroutine
+     */
+    public static Coroutine Start(ICoroutine body, BaseObject owner)
+    {
+        if(body == null)
+            throw new IllegalArgumentException("The coroutine body can't be null!");
+
+        JobScheduler.CheckMainThread("Starting a coroutine of", owner);
+
+        if(owner != null && !owner.IsAvailable())
+            throw new IllegalStateException("Can't start a coroutine on " + owner + ", it isn't available!");
+
+        Coroutine coroutine = new Coroutine(body, owner);
+
+        if(owner != null)
+            coroutinesByOwner.computeIfAbsent(owner, o -> new ArrayList<>()).add(coroutine);
+
+        coroutine.Resume();
+
+        return coroutine;
+    }
+
+    /**
+     * Starts a coroutine whose stages are the elements of an iterator, every call to next runs a stage.
+     * A null element waits for the next frame
+     * @param stages
+     * The iterator
+     * @param owner
+     * The object the coroutine is bound to, or null
+     * @return
+     * The coroutine
+     */
+    public static Coroutine Start(Iterator<? extends YieldInstruction> stages, BaseObject owner)
+    {
+        if(stages == null)
+            throw new IllegalArgumentException("The coroutine stages can't be null!");
+
+        WaitForNextFrame nextFrame = new WaitForNextFrame();
+
+        return Start(() ->
+        {
+            if(!stages.hasNext())
+                return null;
+
+            YieldInstruction instruction = stages.next();
+            return instruction == null ? nextFrame : instruction;
+        }, owner);
+    }
+
+    /**
+     * Stops the coroutine, its remaining stages aren't run
+     */
+    public void Stop()
+    {
+        if(!running)
+            return;
+
+        Finish();
+
+        if(owner != null)
+        {
+            ArrayList<Coroutine> ownerCoroutines = coroutinesByOwner.get(owner);
+
+            if(ownerCoroutines != null)
+            {
+                ownerCoroutines.remove(this);
+
+                if(ownerCoroutines.isEmpty())
+                    coroutinesByOwner.remove(owner);
+            }
+        }
+
+        owner = null;
+    }
+
+    /**
+     * Stops every coroutine bound to an object, called when the object is disabled or destroyed
+     * @param owner
+     * The object
+     */
+    public static void StopAll(BaseObject owner)
+    {
+        ArrayList<Coroutine> ownerCoroutines = coroutinesByOwner.remove(owner);
+
+        if(ownerCoroutines == null)
+            return;
+
+        for(Coroutine coroutine : ownerCoroutines)
+        {
+            coroutine.Finish();
+            coroutine.owner = null;
+        }
+    }
+
+    public boolean IsRunning()
+    {
+        return running;
+    }
+
+    /**
+     * Gets the object the coroutine is bound to
+     * @return
+     * The object, or null if the coroutine isn't bound or isn't running anymore
+     */
+    public BaseObject GetOwner()
+    {
+        return owner;
+    }
+
+    /**
+     * Gets the number of running coroutines bound to an object
+     * @param owner
+     * The object
+     * @return
+     * The number of coroutines
+     */
+    public static int GetRunningCount(BaseObject owner)
+    {
+        ArrayList<Coroutine> ownerCoroutines = coroutinesByOwner.get(owner);
+        return ownerCoroutines == null ? 0 : ownerCoroutines.size();
+    }
+
+    //------Resuming------
+
+    /**
+     * Resumes the coroutines waiting for time or for the next frame, called by the application after the updates of every frame
+     * @param deltaTime
+     * The unscaled time since the last frame
+     */
+    public static void ResumeFrame(float deltaTime)
+    {
+        time += deltaTime * Time.timeScale;
+
+        //Timers started while resuming end after the due ones, stopping there keeps zero second waits from resuming twice in a frame
+        long sequenceLimit = nextSequence;
+
+        while(!timers.isEmpty() && timers.peek().resumeTime <= time && timers.peek().sequence < sequenceLimit)
+        {
+            Coroutine coroutine = timers.poll();
+            coroutine.inTimers = false;
+
+            if(coroutine.running)
+                coroutine.Resume();
+            else
+                stoppedTimers--;
+        }
+
+        ArrayList<Coroutine> resuming = frameWaiters;
+        frameWaiters = resumingFrameWaiters;
+        resumingFrameWaiters = resuming;
+
+        ResumeWaiters(resuming, frameWaiters, Time.Frame());
+    }
+
+    /**
+     * Resumes the coroutines waiting for a physics step, called at the end of every physics step
+     */
+    public static void ResumePhysicsStep()
+    {
+        physicsSteps++;
+
+        ArrayList<Coroutine> resuming = physicsWaiters;
+        physicsWaiters = resumingPhysicsWaiters;
+        resumingPhysicsWaiters = resuming;
+
+        ResumeWaiters(resuming, physicsWaiters, physicsSteps);
+    }
+
+    /**
+     * Resumes the coroutines suspended before the current stamp, the ones suspended during the current frame or step are kept for the next one
+     */
+    private static void ResumeWaiters(ArrayList<Coroutine> resuming, ArrayList<Coroutine> waiters, long stamp)
+    {
+        int i = 0;
+
+        try
+        {
+            for(; i < resuming.size(); i++)
+            {
+                Coroutine coroutine = resuming.get(i);
+
+                if(coroutine.resumeStamp < stamp)
+                    coroutine.Resume();
+                else if(coroutine.running)
+                    waiters.add(coroutine);
+            }
+        }
+        finally
+        {
+            //If a stage threw, the coroutines after it wait for the next call
+            for(i++; i < resuming.size(); i++)
+                waiters.add(resuming.get(i));
+
+            resuming.clear();
+        }
+    }
+
+    /**
+     * Runs the next stage and suspends the coroutine with the instruction it returns
+     */
+    private void Resume()
+    {
+        if(!running)
+            return;
+
+        if(owner != null && !owner.IsAvailable())
+        {
+            Stop();
+            return;
+        }
+
+        YieldInstruction instruction;
+
+        try
+        {
+            instruction = body.Next();
+        }
+        catch(RuntimeException | Error e)
+        {
+            Stop();
+            throw e;
+        }
+
+        //The stage can stop its own coroutine
+        if(!running)
+            return;
+
+        if(instruction == null)
+            Stop();
+        else
+            instruction.Suspend(this);
+    }
+
+    private void Finish()
+    {
+        running = false;
+        body = null;
+
+        if(!inTimers)
+            return;
+
+        //Removing a single element from the queue is a linear search, so stopped timers are compacted in bulk
+        if(++stoppedTimers * 2 > timers.size())
+        {
+            timers.removeIf(coroutine -> !coroutine.running);
+            stoppedTimers = 0;
+        }
+    }
+
+    static void SuspendForSeconds(Coroutine coroutine, float seconds)
+    {
+        coroutine.resumeTime = time + seconds;
+        coroutine.sequence = nextSequence++;
+        coroutine.inTimers = true;
+        timers.add(coroutine);
+    }
+
+    static void SuspendForFrame(Coroutine coroutine)
+    {
+        coroutine.resumeStamp = Time.Frame();
+        frameWaiters.add(coroutine);
+    }
+
+    static void SuspendForPhysicsStep(Coroutine coroutine)
+    {
+        coroutine.resumeStamp = physicsSteps;
+        physicsWaiters.add(coroutine);
+    }
+}
@@ -0,0 +1,13 @@
+package JGame.Engine.Coroutines;
+
+/**
+ * Resumes the coroutine on the next frame, after the updates of the objects
+ */
+public final class WaitForNextFrame extends YieldInstruction
+{
+    @Override
+    void Suspend(Coroutine coroutine)
+    {
+        Coroutine.SuspendForFrame(coroutine);
+    }
+}
@@ -0,0 +1,13 @@
+package JGame.Engine.Coroutines;
+
+/**
+ * Resumes the coroutine at the end of the next physics step, once the bodies are moved and the collisions resolved
+ */
+public final class WaitForPhysicsStep extends YieldInstruction
+{
+    @Override
+    void Suspend(Coroutine coroutine)
+    {
+        Coroutine.SuspendForPhysicsStep(coroutine);
+    }
+}
@@ -0,0 +1,33 @@
+package JGame.Engine.Coroutines;
+
+/**
+ * Resumes the coroutine after an amount of game time, scaled by Time.timeScale. The coroutine resumes on the first frame the time has passed
+ */
+public final class WaitForSeconds extends YieldInstruction
+{
+    private final float seconds;
+
+    /**
+     * Creates an instruction waiting an amount of seconds
+     * @param seconds
+     * The seconds to wait
+     */
+    public WaitForSeconds(float seconds)
+    {
+        if(seconds < 0 || Float.isNaN(seconds))
+            throw new IllegalArgumentException("Can't wait " + seconds + " seconds!");
+
+        this.seconds = seconds;
+    }
+
+    public float GetSeconds()
+    {
+        return seconds;
+    }
+
+    @Override
+    void Suspend(Coroutine coroutine)
+    {
+        Coroutine.SuspendForSeconds(coroutine, seconds);
+    }
+}
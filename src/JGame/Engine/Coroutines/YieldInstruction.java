@@ -0,0 +1,15 @@
+package JGame.Engine.Coroutines;
+
+/**
+ * Something a coroutine waits for before resuming, returned by the coroutine at the end of every stage.
+ * Instructions don't keep state, the same instance can be returned by any number of coroutines
+ */
+public abstract class YieldInstruction
+{
+    YieldInstruction() { }
+
+    /**
+     * Adds the coroutine to the wait list the instruction resumes it from
+     */
+    abstract void Suspend(Coroutine coroutine);
+}
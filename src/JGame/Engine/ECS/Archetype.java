@@ -0,0 +1,222 @@
+package JGame.Engine.ECS;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Set of entities with exactly the same component types. Its entities are packed in chunks: every chunk but the last one is full,
+ * removing an entity moves the last entity of the archetype into its place
+ */
+public final class Archetype
+{
+    final EntityWorld world;
+
+    private final long mask;
+    private final ComponentType[] types;
+    /**
+     * Index of the first lane of every component type in the lane arrays of its kind, -1 for the types the archetype doesn't have
+     */
+    private final int[] laneStart = new int[ComponentType.MAX_TYPES];
+
+    final int floatLaneCount;
+    final int intLaneCount;
+    final int objectLaneCount;
+
+    private final ArrayList<Chunk> chunks = new ArrayList<>();
+    private final List<Chunk> readOnlyChunks = Collections.unmodifiableList(chunks);
+    private int count = 0;
+
+    Archetype(EntityWorld world, long mask)
+    {
+        this.world = world;
+        this.mask = mask;
+
+        ArrayList<ComponentType> typeList = new ArrayList<>();
+        for(ComponentType type : ComponentType.GetAllTypes())
+        {
+            if((mask & type.GetMask()) != 0)
+                typeList.add(type);
+        }
+        types = typeList.toArray(new ComponentType[0]);
+
+        Arrays.fill(laneStart, -1);
+
+        int floatLanes = 0, intLanes = 0, objectLanes = 0;
+
+        for(ComponentType type : types)
+        {
+            switch(type.GetKind())
+            {
+                case Float ->
+                {
+                    laneStart[type.GetId()] = floatLanes;
+                    floatLanes += type.GetLanes();
+                }
+                case Int ->
+                {
+                    laneStart[type.GetId()] = intLanes;
+                    intLanes += type.GetLanes();
+                }
+                case Object ->
+                {
+                    laneStart[type.GetId()] = objectLanes;
+                    objectLanes += type.GetLanes();
+                }
+                case Tag -> laneStart[type.GetId()] = 0;
+            }
+        }
+
+        floatLaneCount = floatLanes;
+        intLaneCount = intLanes;
+        objectLaneCount = objectLanes;
+    }
+
+    public long GetMask()
+    {
+        return mask;
+    }
+
+    public boolean Has(ComponentType type)
+    {
+        return (mask & type.GetMask()) != 0;
+    }
+
+    /**
+     * Gets the component types of the archetype
+     * @return
+     * The types ordered by index, don't modify the array
+     */
+    public ComponentType[] GetTypes()
+    {
+        return types;
+    }
+
+    /**
+     * Gets the chunks of the archetype
+     * @return
+     * A read only view of the chunks, every one of them but the last is full
+     */
+    public List<Chunk> GetChunks()
+    {
+        return readOnlyChunks;
+    }
+
+    /**
+     * Gets the number of entities of the archetype
+     * @return
+     * The number of entities
+     */
+    public int Count()
+    {
+        return count;
+    }
+
+    //------Internal------
+
+    int LaneIndex(ComponentType type, ComponentType.Kind kind, int lane)
+    {
+        if(!Has(type))
+            throw new IllegalArgumentException("The archetype " + this + " doesn't have the component " + type + "!");
+
+        if(type.GetKind() != kind)
+            throw new IllegalArgumentException("The component " + type + " is stored as " + type.GetKind() + ", not " + kind + "!");
+
+        if(lane < 0 || lane >= type.GetLanes())
+            throw new IndexOutOfBoundsException("Lane " + lane + " out of the " + type.GetLanes() + " lanes of " + type);
+
+        return laneStart[type.GetId()] + lane;
+    }
+
+    /**
+     * Adds an entity at the end of the archetype
+     * @return
+     * The chunk holding the entity, the entity is in its last row
+     */
+    Chunk Allocate(int entityIndex)
+    {
+        Chunk chunk = chunks.isEmpty() ? null : chunks.get(chunks.size() - 1);
+
+        if(chunk == null || chunk.IsFull())
+        {
+            chunk = new Chunk(this);
+            chunks.add(chunk);
+        }
+
+        chunk.Append(entityIndex);
+        count++;
+
+        return chunk;
+    }
+
+    /**
+     * Removes the entity stored at a row, the last entity of the archetype is moved into the row
+     * @return
+     * The index of the entity moved into the row, or -1 if the removed entity was the last one
+     */
+    int Remove(Chunk chunk, int row)
+    {
+        Chunk lastChunk = chunks.get(chunks.size() - 1);
+        int lastRow = lastChunk.count - 1;
+        int movedEntity = -1;
+
+        if(lastChunk != chunk || lastRow != row)
+        {
+            lastChunk.CopyRow(lastRow, chunk, row);
+            movedEntity = chunk.entities[row];
+        }
+
+        lastChunk.RemoveLast();
+        count--;
+
+        if(lastChunk.count == 0)
+            chunks.remove(chunks.size() - 1);
+
+        return movedEntity;
+    }
+
+    /**
+     * Copies the lanes of the component types shared by two archetypes from a row to another
+     */
+    static void CopySharedLanes(Chunk source, int sourceRow, Chunk destination, int destinationRow)
+    {
+        Archetype from = source.GetArchetype();
+        Archetype to = destination.GetArchetype();
+
+        for(ComponentType type : from.types)
+        {
+            if(!to.Has(type))
+                continue;
+
+            int fromLane = from.laneStart[type.GetId()];
+            int toLane = to.laneStart[type.GetId()];
+
+            for(int lane = 0; lane < type.GetLanes(); lane++)
+            {
+                switch(type.GetKind())
+                {
+                    case Float -> destination.floats[toLane + lane][destinationRow] = source.floats[fromLane + lane][sourceRow];
+                    case Int -> destination.ints[toLane + lane][destinationRow] = source.ints[fromLane + lane][sourceRow];
+                    case Object -> destination.objects[toLane + lane][destinationRow] = source.objects[fromLane + lane][sourceRow];
+                    case Tag -> { }
+                }
+            }
+        }
+    }
+
+    void Clear()
+    {
+        for(Chunk chunk : chunks)
+            chunk.Clear();
+
+        chunks.clear();
+        count = 0;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "Archetype" + Arrays.toString(types);
+    }
+}
@@ -0,0 +1,180 @@
+package JGame.Engine.ECS;
+
+import java.util.Arrays;
+
+/**
+ * Fixed size block of entities of the same archetype, stored as structure of arrays: every lane of every component type of the archetype
+ * is a separate array, and the entities are packed at the beginning of them. Systems read the arrays of the lanes they need and
+ * go through the first Count() elements linearly
+ */
+public final class Chunk
+{
+    /**
+     * Number of entities stored in every chunk
+     */
+    public static final int CAPACITY = 4096;
+
+    private final Archetype archetype;
+
+    final float[][] floats;
+    final int[][] ints;
+    final Object[][] objects;
+    /**
+     * Index of the entity stored in every row
+     */
+    final int[] entities = new int[CAPACITY];
+
+    int count = 0;
+
+    Chunk(Archetype archetype)
+    {
+        this.archetype = archetype;
+
+        floats = new float[archetype.floatLaneCount][CAPACITY];
+        ints = new int[archetype.intLaneCount][CAPACITY];
+        objects = new Object[archetype.objectLaneCount][CAPACITY];
+    }
+
+    /**
+     * Gets the number of entities in the chunk, the rows between 0 and Count() - 1 of every array are used
+     * @return
+     * The number of entities
+     */
+    public int Count()
+    {
+        return count;
+    }
+
+    public Archetype GetArchetype()
+    {
+        return archetype;
+    }
+
+    /**
+     * Checks if the entities of the chunk have a component type
+     * @param type
+     * The component type
+     * @return
+     * True if the archetype of the chunk has the type
+     */
+    public boolean Has(ComponentType type)
+    {
+        return archetype.Has(type);
+    }
+
+    /**
+     * Gets the array of a float lane
+     * @param type
+     * The component type, must be a float type of the archetype
+     * @param lane
+     * The lane of the component
+     * @return
+     * The array with the lane of every entity of the chunk
+     */
+    public float[] GetFloats(ComponentType type, int lane)
+    {
+        return floats[archetype.LaneIndex(type, ComponentType.Kind.Float, lane)];
+    }
+
+    /**
+     * Gets the array of an int lane
+     * @param type
+     * The component type, must be an int type of the archetype
+     * @param lane
+     * The lane of the component
+     * @return
+     * The array with the lane of every entity of the chunk
+     */
+    public int[] GetInts(ComponentType type, int lane)
+    {
+        return ints[archetype.LaneIndex(type, ComponentType.Kind.Int, lane)];
+    }
+
+    /**
+     * Gets the array of an object component
+     * @param type
+     * The component type, must be an object type of the archetype
+     * @return
+     * The array with the reference of every entity of the chunk
+     */
+    public Object[] GetObjects(ComponentType type)
+    {
+        return objects[archetype.LaneIndex(type, ComponentType.Kind.Object, 0)];
+    }
+
+    /**
+     * Gets the entity stored in a row
+     * @param row
+     * The row, between 0 and Count() - 1
+     * @return
+     * The entity
+     */
+    public long GetEntity(int row)
+    {
+        if(row < 0 || row >= count)
+            throw new IndexOutOfBoundsException("Row " + row + " out of " + count + " entities");
+
+        return archetype.world.EntityAt(entities[row]);
+    }
+
+    //------Internal------
+
+    boolean IsFull()
+    {
+        return count == CAPACITY;
+    }
+
+    /**
+     * Adds an entity at the end of the chunk with every lane set to zero
+     * @return
+     * The row of the entity
+     */
+    int Append(int entityIndex)
+    {
+        int row = count++;
+        entities[row] = entityIndex;
+
+        for(float[] lane : floats)
+            lane[row] = 0f;
+        for(int[] lane : ints)
+            lane[row] = 0;
+        for(Object[] lane : objects)
+            lane[row] = null;
+
+        return row;
+    }
+
+    /**
+     * Copies every lane of a row into a row of another chunk of the same archetype
+     */
+    void CopyRow(int row, Chunk destination, int destinationRow)
+    {
+        for(int i = 0; i < floats.length; i++)
+            destination.floats[i][destinationRow] = floats[i][row];
+        for(int i = 0; i < ints.length; i++)
+            destination.ints[i][destinationRow] = ints[i][row];
+        for(int i = 0; i < objects.length; i++)
+            destination.objects[i][destinationRow] = objects[i][row];
+
+        destination.entities[destinationRow] = entities[row];
+    }
+
+    /**
+     * Removes the last row, releasing its references
+     */
+    void RemoveLast()
+    {
+        count--;
+
+        for(Object[] lane : objects)
+            lane[count] = null;
+    }
+
+    void Clear()
+    {
+        for(Object[] lane : objects)
+            Arrays.fill(lane, 0, count, null);
+
+        count = 0;
+    }
+}
@@ -0,0 +1,190 @@
+package JGame.Engine.ECS;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Describes a kind of entity component. Component data isn't stored in objects, every component type is split into lanes:
+ * a Position type with 3 float lanes is stored as three float arrays (x, y and z) in every chunk holding it.
+ * Types are global to every EntityWorld and there can be up to MAX_TYPES of them, declare them once in static final fields
+ */
+public final class ComponentType
+{
+    public enum Kind
+    {
+        /**
+         * Lanes stored in float arrays
+         */
+        Float,
+        /**
+         * Lanes stored in int arrays
+         */
+        Int,
+        /**
+         * A single lane of references, used to link entities to regular objects
+         */
+        Object,
+        /**
+         * No data, only marks the entities that have it
+         */
+        Tag
+    }
+
+    /**
+     * Maximum number of component types, entity signatures are stored as a 64 bit mask
+     */
+    public static final int MAX_TYPES = 64;
+
+    private static final ArrayList<ComponentType> allTypes = new ArrayList<>();
+
+    private final String name;
+    private final Kind kind;
+    private final int lanes;
+    private final int id;
+
+    private ComponentType(String name, Kind kind, int lanes)
+    {
+        synchronized(allTypes)
+        {
+            if(allTypes.size() == MAX_TYPES)
+                throw new IllegalStateException("Can't declare more than " + MAX_TYPES + " component types!");
+
+            this.name = name;
+            this.kind = kind;
+            this.lanes = lanes;
+            this.id = allTypes.size();
+
+            allTypes.add(this);
+        }
+    }
+
+    /**
+     * Declares a component type stored as float lanes
+     * @param name
+     * The name of the type, used for debugging
+     * @param lanes
+     * The number of floats of the component, like 3 for a position
+     * @return
+     * The new type
+     */
+    public static ComponentType Floats(String name, int lanes)
+    {
+        if(lanes <= 0)
+            throw new IllegalArgumentException("A float component needs at least one lane!");
+
+        return new ComponentType(name, Kind.Float, lanes);
+    }
+
+    /**
+     * Declares a component type stored as int lanes
+     * @param name
+     * The name of the type, used for debugging
+     * @param lanes
+     * The number of ints of the component
+     * @return
+     * The new type
+     */
+    public static ComponentType Ints(String name, int lanes)
+    {
+        if(lanes <= 0)
+            throw new IllegalArgumentException("An int component needs at least one lane!");
+
+        return new ComponentType(name, Kind.Int, lanes);
+    }
+
+    /**
+     * Declares a component type holding one reference per entity
+     * @param name
+     * The name of the type, used for debugging
+     * @return
+     * The new type
+     */
+    public static ComponentType Object(String name)
+    {
+        return new ComponentType(name, Kind.Object, 1);
+    }
+
+    /**
+     * Declares a component type without data, used to filter entities in queries
+     * @param name
+     * The name of the type, used for debugging
+     * @return
+     * The new type
+     */
+    public static ComponentType Tag(String name)
+    {
+        return new ComponentType(name, Kind.Tag, 0);
+    }
+
+    public String GetName()
+    {
+        return name;
+    }
+
+    public Kind GetKind()
+    {
+        return kind;
+    }
+
+    public int GetLanes()
+    {
+        return lanes;
+    }
+
+    /**
+     * Gets the index of the type, between 0 and MAX_TYPES - 1
+     * @return
+     * The index of the type
+     */
+    public int GetId()
+    {
+        return id;
+    }
+
+    /**
+     * Gets the bit of the type in entity signatures
+     * @return
+     * The bit of the type
+     */
+    public long GetMask()
+    {
+        return 1L << id;
+    }
+
+    /**
+     * Gets every type declared so far, ordered by index
+     * @return
+     * The declared types
+     */
+    public static List<ComponentType> GetAllTypes()
+    {
+        synchronized(allTypes)
+        {
+            return Collections.unmodifiableList(new ArrayList<>(allTypes));
+        }
+    }
+
+    /**
+     * Gets the signature of a set of types
+     * @param types
+     * The types
+     * @return
+     * The mask with the bits of every type
+     */
+    public static long MaskOf(ComponentType... types)
+    {
+        long mask = 0;
+
+        for(ComponentType type : types)
+            mask |= type.GetMask();
+
+        return mask;
+    }
+
+    @Override
+    public String toString()
+    {
+        return name;
+    }
+}
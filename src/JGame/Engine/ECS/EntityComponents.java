@@ -0,0 +1,35 @@
+package JGame.Engine.ECS;
+
+/**
+ * Component types used by the built in systems and the bridges to the regular objects
+ */
+public final class EntityComponents
+{
+    /**
+     * Global position, lanes X, Y and Z
+     */
+    public static final ComponentType Position = ComponentType.Floats("Position", 3);
+    /**
+     * Global rotation as a quaternion, lanes X, Y, Z and W
+     */
+    public static final ComponentType Rotation = ComponentType.Floats("Rotation", 4);
+    /**
+     * Uniform scale, lane X
+     */
+    public static final ComponentType Scale = ComponentType.Floats("Scale", 1);
+    /**
+     * Linear velocity in units per second, lanes X, Y and Z
+     */
+    public static final ComponentType Velocity = ComponentType.Floats("Velocity", 3);
+    /**
+     * Transform driven by the entity, see EntityLink
+     */
+    public static final ComponentType LinkedTransform = ComponentType.Object("LinkedTransform");
+
+    public static final int X = 0;
+    public static final int Y = 1;
+    public static final int Z = 2;
+    public static final int W = 3;
+
+    private EntityComponents() { }
+}
@@ -0,0 +1,105 @@
+package JGame.Engine.ECS;
+
+import JGame.Engine.Basic.JComponent;
+
+import java.util.function.Consumer;
+
+/**
+ * Links the JGameObject to an entity, the entity gets a LinkedTransform pointing to the transform of the object
+ * so the TransformSyncSystem moves the object with the entity, while the object keeps its regular components like renderers or colliders
+ */
+public class EntityLink extends JComponent
+{
+    private EntityWorld world;
+    private long entity = EntityWorld.NO_ENTITY;
+
+    /**
+     * If true the entity is destroyed with the object, otherwise it's only unlinked
+     */
+    public boolean destroyEntityWithObject = true;
+
+    /**
+     * Links the object to an entity, unlinking the previous one
+     * @param world
+     * The world of the entity
+     * @param entity
+     * The entity, must be alive
+     */
+    public void Link(EntityWorld world, long entity)
+    {
+        if(!world.IsAlive(entity))
+            throw new IllegalArgumentException("Can't link an object to an entity that isn't alive!");
+
+        Unlink();
+
+        this.world = world;
+        this.entity = entity;
+
+        world.Defer(w ->
+        {
+            if(!w.IsAlive(entity))
+                return;
+
+            w.AddComponent(entity, EntityComponents.LinkedTransform);
+            w.SetObject(entity, EntityComponents.LinkedTransform, transform());
+        });
+    }
+
+    /**
+     * Removes the link between the object and its entity, the entity stays alive
+     */
+    public void Unlink()
+    {
+        if(world == null)
+            return;
+
+        long linkedEntity = entity;
+        ReleaseEntity(w -> w.RemoveComponent(linkedEntity, EntityComponents.LinkedTransform), linkedEntity);
+    }
+
+    public EntityWorld GetWorld()
+    {
+        return world;
+    }
+
+    /**
+     * Gets the linked entity
+     * @return
+     * The entity, or EntityWorld.NO_ENTITY if the object isn't linked
+     */
+    public long GetEntity()
+    {
+        return entity;
+    }
+
+    @Override
+    protected void OnDestroy()
+    {
+        if(world == null)
+            return;
+
+        long linkedEntity = entity;
+
+        if(destroyEntityWithObject)
+            ReleaseEntity(w -> w.DestroyEntity(linkedEntity), linkedEntity);
+        else
+            Unlink();
+    }
+
+    private void ReleaseEntity(Consumer<EntityWorld> change, long linkedEntity)
+    {
+        EntityWorld linkedWorld = world;
+
+        world = null;
+        entity = EntityWorld.NO_ENTITY;
+
+        if(linkedWorld.IsDestroyed())
+            return;
+
+        linkedWorld.Defer(w ->
+        {
+            if(w.IsAlive(linkedEntity))
+                change.accept(w);
+        });
+    }
+}
@@ -0,0 +1,126 @@
+package JGame.Engine.ECS;
+
+import java.util.ArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Selects the entities of a world having a set of component types and none of an excluded set.
+ * The matching archetypes are cached and refreshed only when the world creates new archetypes, so running a query every frame is cheap
+ */
+public final class EntityQuery
+{
+    private final EntityWorld world;
+    private final long required;
+    private long excluded = 0;
+
+    private final ArrayList<Archetype> archetypes = new ArrayList<>();
+    private int archetypeVersion = -1;
+    private final ArrayList<Chunk> chunks = new ArrayList<>();
+
+    EntityQuery(EntityWorld world, long required, long excluded)
+    {
+        this.world = world;
+        this.required = required;
+        this.excluded = excluded;
+    }
+
+    /**
+     * Excludes the entities having any of the types
+     * @param types
+     * The excluded types
+     * @return
+     * This query
+     */
+    public EntityQuery Without(ComponentType... types)
+    {
+        excluded |= ComponentType.MaskOf(types);
+        archetypeVersion = -1;
+
+        return this;
+    }
+
+    /**
+     * Checks if the entities of an archetype are selected by the query
+     * @param archetype
+     * The archetype
+     * @return
+     * True if the archetype has every required type and no excluded type
+     */
+    public boolean Matches(Archetype archetype)
+    {
+        long mask = archetype.GetMask();
+        return (mask & required) == required && (mask & excluded) == 0;
+    }
+
+    /**
+     * Gets the archetypes selected by the query
+     * @return
+     * The archetypes, the list is reused by the query
+     */
+    public ArrayList<Archetype> GetArchetypes()
+    {
+        if(archetypeVersion != world.archetypeVersion)
+        {
+            archetypes.clear();
+
+            for(Archetype archetype : world.GetArchetypeList())
+            {
+                if(Matches(archetype))
+                    archetypes.add(archetype);
+            }
+
+            archetypeVersion = world.archetypeVersion;
+        }
+
+        return archetypes;
+    }
+
+    /**
+     * Gets the non empty chunks selected by the query
+     * @return
+     * The chunks, the list is reused by the query and only valid until the next structural change
+     */
+    public ArrayList<Chunk> GetChunks()
+    {
+        chunks.clear();
+
+        for(Archetype archetype : GetArchetypes())
+            chunks.addAll(archetype.GetChunks());
+
+        return chunks;
+    }
+
+    /**
+     * Calls a function with every non empty chunk selected by the query
+     * @param action
+     * The function
+     */
+    public void ForEachChunk(Consumer<Chunk> action)
+    {
+        for(Archetype archetype : GetArchetypes())
+        {
+            for(Chunk chunk : archetype.GetChunks())
+                action.accept(chunk);
+        }
+    }
+
+    /**
+     * Gets the number of entities selected by the query
+     * @return
+     * The number of entities
+     */
+    public int Count()
+    {
+        int count = 0;
+
+        for(Archetype archetype : GetArchetypes())
+            count += archetype.Count();
+
+        return count;
+    }
+
+    public EntityWorld GetWorld()
+    {
+        return world;
+    }
+}
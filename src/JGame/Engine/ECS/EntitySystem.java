@@ -0,0 +1,177 @@
+package JGame.Engine.ECS;
+
+import java.util.ArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Logic running every frame over the entities of a world having a set of component types. Extend it and implement Update,
+ * which receives one chunk at a time. Parallel systems update their chunks in the common ForkJoinPool, so their Update can only
+ * write the lanes of the chunk it receives and must queue structural changes with EntityWorld.Defer
+ */
+public abstract class EntitySystem
+{
+    EntityWorld world;
+    private EntityQuery query;
+
+    private final long required;
+    private final long excluded;
+    private final boolean parallel;
+
+    public boolean enabled = true;
+
+    /**
+     * Chunks updated by each parallel task
+     */
+    public static int chunksPerTask = 1;
+
+    /**
+     * Creates a system running over the entities having every type
+     * @param parallel
+     * If true the chunks are updated in parallel
+     * @param required
+     * The types the entities must have
+     */
+    protected EntitySystem(boolean parallel, ComponentType... required)
+    {
+        this(parallel, required, new ComponentType[0]);
+    }
+
+    /**
+     * Creates a system running over the entities having every required type and none of the excluded ones
+     * @param parallel
+     * If true the chunks are updated in parallel
+     * @param required
+     * The types the entities must have
+     * @param excluded
+     * The types the entities can't have
+     */
+    protected EntitySystem(boolean parallel, ComponentType[] required, ComponentType[] excluded)
+    {
+        this.parallel = parallel;
+        this.required = ComponentType.MaskOf(required);
+        this.excluded = ComponentType.MaskOf(excluded);
+    }
+
+    //------Callbacks------
+
+    /**
+     * Called when the system is added to a world
+     */
+    protected void OnCreate() { }
+
+    /**
+     * Called on the main thread every frame before the chunks are updated
+     * @param deltaTime
+     * The time since the last update
+     */
+    protected void BeforeUpdate(float deltaTime) { }
+
+    /**
+     * Updates the entities of a chunk, called once per chunk every frame
+     * @param chunk
+     * The chunk
+     * @param deltaTime
+     * The time since the last update
+     */
+    protected abstract void Update(Chunk chunk, float deltaTime);
+
+    /**
+     * Called on the main thread every frame after every chunk is updated
+     * @param deltaTime
+     * The time since the last update
+     */
+    protected void AfterUpdate(float deltaTime) { }
+
+    /**
+     * Called when the system is removed from its world or the world is destroyed
+     */
+    protected void OnDestroy() { }
+
+    //------Getters------
+
+    public EntityWorld GetWorld()
+    {
+        return world;
+    }
+
+    public EntityQuery GetQuery()
+    {
+        return query;
+    }
+
+    public boolean IsParallel()
+    {
+        return parallel;
+    }
+
+    //------Internal------
+
+    void Attach(EntityWorld world)
+    {
+        this.world = world;
+        query = new EntityQuery(world, required, excluded);
+
+        OnCreate();
+    }
+
+    void Run(float deltaTime)
+    {
+        BeforeUpdate(deltaTime);
+
+        ArrayList<Chunk> chunks = query.GetChunks();
+
+        if(parallel && chunks.size() > Math.max(1, chunksPerTask))
+        {
+            ForkJoinPool.commonPool().invoke(new ChunkTask(chunks, 0, chunks.size(), deltaTime));
+        }
+        else
+        {
+            for(int i = 0; i < chunks.size(); i++)
+                Update(chunks.get(i), deltaTime);
+        }
+
+        AfterUpdate(deltaTime);
+    }
+
+    /**
+     * Splits a range of chunks in halves until every task has at most chunksPerTask chunks
+     */
+    private final class ChunkTask extends RecursiveAction
+    {
+        private static final long serialVersionUID = 1L;
+
+        private final ArrayList<Chunk> chunks;
+        private final int start;
+        private final int end;
+        private final float deltaTime;
+
+        private ChunkTask(ArrayList<Chunk> chunks, int start, int end, float deltaTime)
+        {
+            this.chunks = chunks;
+            this.start = start;
+            this.end = end;
+            this.deltaTime = deltaTime;
+        }
+
+        @Override
+        protected void compute()
+        {
+            if(end - start <= Math.max(1, chunksPerTask))
+            {
+                for(int i = start; i < end; i++)
+                    Update(chunks.get(i), deltaTime);
+                return;
+            }
+
+            int middle = (start + end) >>> 1;
+            invokeAll(new ChunkTask(chunks, start, middle, deltaTime), new ChunkTask(chunks, middle, end, deltaTime));
+        }
+    }
+
+    @Override
+    public String toString()
+    {
+        return getClass().getSimpleName();
+    }
+}
@@ -0,0 +1,570 @@
+package JGame.Engine.ECS;
+
+import JGame.Engine.Structures.DeferredList;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
+
+/**
+ * Opt in entity component system living alongside the JGameObjects. Entities are plain ids grouped by their set of component types in archetypes,
+ * whose data is stored in chunked structure of arrays so systems go through it linearly, in parallel if they are declared so.
+ * Every world is updated by the application after the Update of the objects, running its systems in the order they were added.
+ * Entities are longs holding an index and a generation, so ids of destroyed entities never resolve to a new entity.
+ * Structural changes, creating or destroying entities and adding or removing components, can't be made directly while the systems run,
+ * use Defer to queue them until the running system ends
+ */
+public class EntityWorld
+{
+    /**
+     * Id that never belongs to an entity
+     */
+    public static final long NO_ENTITY = 0L;
+
+    private static final DeferredList<EntityWorld> worlds = new DeferredList<>();
+
+    //------Entities------
+
+    private int[] generations = new int[1024];
+    private Chunk[] entityChunks = new Chunk[1024];
+    private int[] entityRows = new int[1024];
+    private int nextIndex = 0;
+    private int[] freeIndices = new int[64];
+    private int freeCount = 0;
+    private int entityCount = 0;
+
+    //------Archetypes & systems------
+
+    private final HashMap<Long, Archetype> archetypesByMask = new HashMap<>();
+    private final ArrayList<Archetype> archetypes = new ArrayList<>();
+    /**
+     * Increased every time an archetype is created, queries refresh their archetypes when it changes
+     */
+    int archetypeVersion = 0;
+
+    private final ArrayList<EntitySystem> systems = new ArrayList<>();
+    private final ConcurrentLinkedQueue<Consumer<EntityWorld>> deferred = new ConcurrentLinkedQueue<>();
+    private boolean updating = false;
+    private boolean destroyed = false;
+
+    /**
+     * Creates a world, it's updated every frame until it's destroyed
+     */
+    public EntityWorld()
+    {
+        worlds.Add(this);
+    }
+
+    /**
+     * Updates every world, called by the application every frame after the objects update
+     * @param deltaTime
+     * The time since the last update
+     */
+    public static void UpdateWorlds(float deltaTime)
+    {
+        worlds.BeginIteration();
+
+        try
+        {
+            for(int i = 0; i < worlds.Size(); i++)
+            {
+                EntityWorld world = worlds.Get(i);
+
+                if(world != null)
+                    world.Update(deltaTime);
+            }
+        }
+        finally
+        {
+            worlds.EndIteration();
+        }
+    }
+
+    /**
+     * Runs every enabled system of the world in order, applying the deferred changes after each one
+     * @param deltaTime
+     * The time since the last update
+     */
+    public void Update(float deltaTime)
+    {
+        if(updating)
+            throw new IllegalStateException("The world is already being updated!");
+
+        updating = true;
+
+        try
+        {
+            ApplyDeferred();
+
+            for(int i = 0; i < systems.size(); i++)
+            {
+                EntitySystem system = systems.get(i);
+
+                if(system.enabled)
+                    system.Run(deltaTime);
+
+                ApplyDeferred();
+            }
+        }
+        finally
+        {
+            updating = false;
+        }
+    }
+
+    /**
+     * Destroys every entity and system of the world and stops updating it
+     */
+    public void Destroy()
+    {
+        if(destroyed)
+            return;
+
+        destroyed = true;
+        worlds.Remove(this);
+
+        for(EntitySystem system : systems)
+            system.OnDestroy();
+
+        systems.clear();
+        deferred.clear();
+
+        for(Archetype archetype : archetypes)
+            archetype.Clear();
+
+        Arrays.fill(entityChunks, null);
+        entityCount = 0;
+    }
+
+    public boolean IsDestroyed()
+    {
+        return destroyed;
+    }
+
+    //------Systems------
+
+    /**
+     * Adds a system, it runs after the systems added before it
+     * @param system
+     * The system, can only belong to one world
+     * @return
+     * The system
+     */
+    public <S extends EntitySystem> S AddSystem(S system)
+    {
+        if(system.world != null)
+            throw new IllegalArgumentException(system + " already belongs to a world!");
+
+        system.Attach(this);
+        systems.add(system);
+
+        return system;
+    }
+
+    public void RemoveSystem(EntitySystem system)
+    {
+        if(systems.remove(system))
+        {
+            system.OnDestroy();
+            system.world = null;
+        }
+    }
+
+    /**
+     * Gets the first system of type
+     * @param type
+     * The type of the system
+     * @return
+     * The system, or null if the world doesn't have any
+     */
+    public <S extends EntitySystem> S GetSystem(Class<S> type)
+    {
+        for(EntitySystem system : systems)
+        {
+            if(type.isInstance(system))
+                return type.cast(system);
+        }
+
+        return null;
+    }
+
+    /**
+     * Runs a structural change right away, or queues it until the running system ends if the systems are running.
+     * Can be called from the worker threads of parallel systems
+     * @param change
+     * The change, receives this world
+     */
+    public void Defer(Consumer<EntityWorld> change)
+    {
+        if(updating)
+            deferred.add(change);
+        else
+            change.accept(this);
+    }
+
+    public boolean IsUpdating()
+    {
+        return updating;
+    }
+
+    //------Archetypes & queries------
+
+    /**
+     * Gets the archetype of a set of component types, creating it if it doesn't exist
+     * @param types
+     * The component types
+     * @return
+     * The archetype
+     */
+    public Archetype GetArchetype(ComponentType... types)
+    {
+        return GetArchetype(ComponentType.MaskOf(types));
+    }
+
+    /**
+     * Creates a query for the entities having every type
+     * @param types
+     * The types the entities must have
+     * @return
+     * The query, use Without to exclude types
+     */
+    public EntityQuery Query(ComponentType... types)
+    {
+        return new EntityQuery(this, ComponentType.MaskOf(types), 0);
+    }
+
+    /**
+     * Gets every archetype of the world
+     * @return
+     * A read only view of the archetypes, in creation order
+     */
+    public List<Archetype> GetArchetypes()
+    {
+        return Collections.unmodifiableList(archetypes);
+    }
+
+    //------Entities------
+
+    /**
+     * Creates an entity with some component types, with all their lanes set to zero
+     * @param types
+     * The component types of the entity
+     * @return
+     * The entity
+     */
+    public long CreateEntity(ComponentType... types)
+    {
+        return CreateEntity(GetArchetype(types));
+    }
+
+    /**
+     * Creates an entity of an archetype, with all its lanes set to zero
+     * @param archetype
+     * The archetype of the entity, from this world
+     * @return
+     * The entity
+     */
+    public long CreateEntity(Archetype archetype)
+    {
+        CheckStructuralChange();
+
+        if(archetype.world != this)
+            throw new IllegalArgumentException(archetype + " belongs to another world!");
+
+        int index = freeCount > 0 ? freeIndices[--freeCount] : NewIndex();
+
+        Chunk chunk = archetype.Allocate(index);
+        entityChunks[index] = chunk;
+        entityRows[index] = chunk.count - 1;
+        entityCount++;
+
+        return EntityAt(index);
+    }
+
+    /**
+     * Creates many entities of an archetype at once
+     * @param archetype
+     * The archetype of the entities, from this world
+     * @param count
+     * The number of entities
+     * @return
+     * The entities
+     */
+    public long[] CreateEntities(Archetype archetype, int count)
+    {
+        long[] entities = new long[count];
+
+        for(int i = 0; i < count; i++)
+            entities[i] = CreateEntity(archetype);
+
+        return entities;
+    }
+
+    /**
+     * Destroys an entity, its id stops being valid. Destroying an entity that isn't alive does nothing
+     * @param entity
+     * The entity
+     */
+    public void DestroyEntity(long entity)
+    {
+        CheckStructuralChange();
+
+        if(!IsAlive(entity))
+            return;
+
+        int index = IndexOf(entity);
+        RemoveFromChunk(index);
+
+        entityChunks[index] = null;
+        entityCount--;
+
+        //Generation 0 is skipped so an entity id is never NO_ENTITY
+        if(++generations[index] == 0)
+            generations[index] = 1;
+
+        if(freeCount == freeIndices.length)
+            freeIndices = Arrays.copyOf(freeIndices, freeCount * 2);
+
+        freeIndices[freeCount++] = index;
+    }
+
+    /**
+     * Checks if an entity exists
+     * @param entity
+     * The entity
+     * @return
+     * True if the entity was created by this world and isn't destroyed
+     */
+    public boolean IsAlive(long entity)
+    {
+        int index = IndexOf(entity);
+
+        return index >= 0 && index < nextIndex && entityChunks[index] != null && generations[index] == (int) (entity >>> 32);
+    }
+
+    /**
+     * Gets the number of alive entities
+     * @return
+     * The number of entities
+     */
+    public int GetEntityCount()
+    {
+        return entityCount;
+    }
+
+    //------Components------
+
+    public boolean Has(long entity, ComponentType type)
+    {
+        return GetChunk(entity).Has(type);
+    }
+
+    public Archetype GetArchetypeOf(long entity)
+    {
+        return GetChunk(entity).GetArchetype();
+    }
+
+    /**
+     * Adds a component type to an entity, moving it to the matching archetype. Its lanes start at zero
+     * @param entity
+     * The entity
+     * @param type
+     * The component type, adding a type the entity already has does nothing
+     */
+    public void AddComponent(long entity, ComponentType type)
+    {
+        Archetype archetype = GetArchetypeOf(entity);
+
+        if(!archetype.Has(type))
+            MoveEntity(IndexOf(entity), GetArchetype(archetype.GetMask() | type.GetMask()));
+    }
+
+    /**
+     * Removes a component type from an entity, moving it to the matching archetype
+     * @param entity
+     * The entity
+     * @param type
+     * The component type, removing a type the entity doesn't have does nothing
+     */
+    public void RemoveComponent(long entity, ComponentType type)
+    {
+        Archetype archetype = GetArchetypeOf(entity);
+
+        if(archetype.Has(type))
+            MoveEntity(IndexOf(entity), GetArchetype(archetype.GetMask() & ~type.GetMask()));
+    }
+
+    public float GetFloat(long entity, ComponentType type, int lane)
+    {
+        int index = IndexOf(entity);
+        return GetChunk(entity).GetFloats(type, lane)[entityRows[index]];
+    }
+
+    public void SetFloat(long entity, ComponentType type, int lane, float value)
+    {
+        int index = IndexOf(entity);
+        GetChunk(entity).GetFloats(type, lane)[entityRows[index]] = value;
+    }
+
+    /**
+     * Sets the first lanes of a float component of an entity
+     * @param entity
+     * The entity
+     * @param type
+     * The component type
+     * @param values
+     * The values of the lanes, starting from lane 0
+     */
+    public void SetFloats(long entity, ComponentType type, float... values)
+    {
+        Chunk chunk = GetChunk(entity);
+        int row = entityRows[IndexOf(entity)];
+
+        for(int lane = 0; lane < values.length; lane++)
+            chunk.GetFloats(type, lane)[row] = values[lane];
+    }
+
+    public int GetInt(long entity, ComponentType type, int lane)
+    {
+        int index = IndexOf(entity);
+        return GetChunk(entity).GetInts(type, lane)[entityRows[index]];
+    }
+
+    public void SetInt(long entity, ComponentType type, int lane, int value)
+    {
+        int index = IndexOf(entity);
+        GetChunk(entity).GetInts(type, lane)[entityRows[index]] = value;
+    }
+
+    public Object GetObject(long entity, ComponentType type)
+    {
+        int index = IndexOf(entity);
+        return GetChunk(entity).GetObjects(type)[entityRows[index]];
+    }
+
+    public void SetObject(long entity, ComponentType type, Object value)
+    {
+        int index = IndexOf(entity);
+        GetChunk(entity).GetObjects(type)[entityRows[index]] = value;
+    }
+
+    //------Internal------
+
+    long EntityAt(int index)
+    {
+        return ((long) generations[index] << 32) | index;
+    }
+
+    private static int IndexOf(long entity)
+    {
+        return (int) entity;
+    }
+
+    Archetype GetArchetype(long mask)
+    {
+        Archetype archetype = archetypesByMask.get(mask);
+
+        if(archetype == null)
+        {
+            archetype = new Archetype(this, mask);
+            archetypesByMask.put(mask, archetype);
+            archetypes.add(archetype);
+            archetypeVersion++;
+        }
+
+        return archetype;
+    }
+
+    ArrayList<Archetype> GetArchetypeList()
+    {
+        return archetypes;
+    }
+
+    private Chunk GetChunk(long entity)
+    {
+        if(!IsAlive(entity))
+            throw new IllegalArgumentException("The entity " + entity + " isn't alive in this world!");
+
+        return entityChunks[IndexOf(entity)];
+    }
+
+    private int NewIndex()
+    {
+        if(nextIndex == Integer.MAX_VALUE)
+            throw new IllegalStateException("The world ran out of entity indices!");
+
+        if(nextIndex == generations.length)
+        {
+            int capacity = generations.length * 2;
+            generations = Arrays.copyOf(generations, capacity);
+            entityChunks = Arrays.copyOf(entityChunks, capacity);
+            entityRows = Arrays.copyOf(entityRows, capacity);
+        }
+
+        generations[nextIndex] = 1;
+        return nextIndex++;
+    }
+
+    private void RemoveFromChunk(int index)
+    {
+        Chunk chunk = entityChunks[index];
+        int row = entityRows[index];
+
+        int moved = chunk.GetArchetype().Remove(chunk, row);
+
+        if(moved >= 0)
+        {
+            entityChunks[moved] = chunk;
+            entityRows[moved] = row;
+        }
+    }
+
+    private void MoveEntity(int index, Archetype destination)
+    {
+        CheckStructuralChange();
+
+        Chunk source = entityChunks[index];
+        int sourceRow = entityRows[index];
+
+        Chunk chunk = destination.Allocate(index);
+        int row = chunk.count - 1;
+
+        Archetype.CopySharedLanes(source, sourceRow, chunk, row);
+        RemoveFromChunk(index);
+
+        entityChunks[index] = chunk;
+        entityRows[index] = row;
+    }
+
+    private void CheckStructuralChange()
+    {
+        if(destroyed)
+            throw new IllegalStateException("The world is destroyed!");
+
+        if(updating)
+            throw new IllegalStateException("Entities can't be created, destroyed or change their components while the systems run, use Defer instead!");
+    }
+
+    private void ApplyDeferred()
+    {
+        if(deferred.isEmpty())
+            return;
+
+        updating = false;
+
+        try
+        {
+            Consumer<EntityWorld> change;
+            while((change = deferred.poll()) != null)
+                change.accept(this);
+        }
+        finally
+        {
+            updating = true;
+        }
+    }
+}
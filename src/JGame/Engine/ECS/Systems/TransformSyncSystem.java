@@ -0,0 +1,51 @@
+package JGame.Engine.ECS.Systems;
+
+import JGame.Engine.Basic.Transform;
+import JGame.Engine.ECS.Chunk;
+import JGame.Engine.ECS.EntitySystem;
+import JGame.Engine.Structures.Quaternion;
+import JGame.Engine.Structures.Vector3D;
+
+import static JGame.Engine.ECS.EntityComponents.*;
+
+/**
+ * Copies the Position, and the Rotation if the entity has one, of the linked entities into their Transform.
+ * Runs on the main thread, as transforms notify their listeners when they change. Add it after the systems moving the entities
+ */
+public class TransformSyncSystem extends EntitySystem
+{
+    public TransformSyncSystem()
+    {
+        super(false, Position, LinkedTransform);
+    }
+
+    @Override
+    protected void Update(Chunk chunk, float deltaTime)
+    {
+        int count = chunk.Count();
+
+        Object[] transforms = chunk.GetObjects(LinkedTransform);
+        float[] positionX = chunk.GetFloats(Position, X);
+        float[] positionY = chunk.GetFloats(Position, Y);
+        float[] positionZ = chunk.GetFloats(Position, Z);
+
+        boolean hasRotation = chunk.Has(Rotation);
+        float[] rotationX = hasRotation ? chunk.GetFloats(Rotation, X) : null;
+        float[] rotationY = hasRotation ? chunk.GetFloats(Rotation, Y) : null;
+        float[] rotationZ = hasRotation ? chunk.GetFloats(Rotation, Z) : null;
+        float[] rotationW = hasRotation ? chunk.GetFloats(Rotation, W) : null;
+
+        for(int i = 0; i < count; i++)
+        {
+            if(!(transforms[i] instanceof Transform transform) || transform.IsDestroyed())
+                continue;
+
+            Vector3D position = new Vector3D(positionX[i], positionY[i], positionZ[i]);
+
+            if(hasRotation)
+                transform.SetGlobalPositionAndRotation(position, new Quaternion(rotationW[i], rotationX[i], rotationY[i], rotationZ[i]));
+            else
+                transform.SetGlobalPosition(position);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package JGame.Engine.ECS.Systems;
+
+import JGame.Engine.ECS.Chunk;
+import JGame.Engine.ECS.EntitySystem;
+
+import static JGame.Engine.ECS.EntityComponents.*;
+
+/**
+ * Moves the entities with a Position by their Velocity, in parallel
+ */
+public class VelocitySystem extends EntitySystem
+{
+    public VelocitySystem()
+    {
+        super(true, Position, Velocity);
+    }
+
+    @Override
+    protected void Update(Chunk chunk, float deltaTime)
+    {
+        int count = chunk.Count();
+
+        float[] positionX = chunk.GetFloats(Position, X);
+        float[] positionY = chunk.GetFloats(Position, Y);
+        float[] positionZ = chunk.GetFloats(Position, Z);
+        float[] velocityX = chunk.GetFloats(Velocity, X);
+        float[] velocityY = chunk.GetFloats(Velocity, Y);
+        float[] velocityZ = chunk.GetFloats(Velocity, Z);
+
+        for(int i = 0; i < count; i++)
+        {
+            positionX[i] += velocityX[i] * deltaTime;
+            positionY[i] += velocityY[i] * deltaTime;
+            positionZ[i] += velocityZ[i] * deltaTime;
+        }
+    }
+}
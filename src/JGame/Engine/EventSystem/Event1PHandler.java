@@ -1,9 +1,6 @@
 package JGame.Engine.EventSystem;
 
-import JGame.Engine.Internal.Logger;
-
-import java.util.ArrayList;
-import java.util.List;
+import JGame.Engine.Structures.DeferredList;
 
 /**
  * Class used to handle invoking single parameter events
@@ -15,21 +12,29 @@ public class Event1PHandler<T>
     /**
      * The listeners to be called when the event handler gets fired
      */
-    private final List<Event1P<T>> listeners = new ArrayList<>();
+    private final DeferredList<Event1P<T>> listeners = new DeferredList<>();
 
+    /**
+     * Calls every listener, listeners subscribed during the call are first called on the next one and unsubscribed ones aren't called anymore
+     */
     public void Invoke(T param)
     {
-        List<Integer> nullListeners = new ArrayList<>();
-        for(Event1P<T> listener : new ArrayList<>(listeners))
+        listeners.BeginIteration();
+
+        try
         {
-            if(listener != null)
-                listener.OnInvoke(param);
-            else
+            for(int i = 0; i < listeners.Size(); i++)
             {
-                Logger.DebugWarning("Null listener found, deleting from list!");
-                listeners.remove(listener);
+                Event1P<T> listener = listeners.Get(i);
+
+                if(listener != null)
+                    listener.OnInvoke(param);
             }
         }
+        finally
+        {
+            listeners.EndIteration();
+        }
     }
 
     /**
@@ -42,7 +47,7 @@ public class Event1PHandler<T>
         if(listener == null)
             throw new IllegalArgumentException("Listener can't be null!");
         else
-            listeners.add(listener);
+            listeners.Add(listener);
     }
     /**
      * Remove the event listener from this event's listener lists
@@ -51,6 +56,6 @@ public class Event1PHandler<T>
      */
     public void Unsubscribe(Event1P<T> listener)
     {
-        listeners.remove(listener);
+        listeners.Remove(listener);
     }
 }
\ No newline at end of file
@@ -1,9 +1,6 @@
 package JGame.Engine.EventSystem;
 
-import JGame.Engine.Internal.Logger;
-
-import java.util.ArrayList;
-import java.util.List;
+import JGame.Engine.Structures.DeferredList;
 
 /**
  * Class used to handle invoking two parameter events
@@ -17,21 +14,29 @@ public class Event2PHandler<T1, T2>
     /**
      * The listeners to be called when the event handler gets fired
      */
-    private final List<Event2P<T1, T2>> listeners = new ArrayList<>();
+    private final DeferredList<Event2P<T1, T2>> listeners = new DeferredList<>();
 
+    /**
+     * Calls every listener, listeners subscribed during the call are first called on the next one and unsubscribed ones aren't called anymore
+     */
     public void Invoke(T1 param1, T2 param2)
     {
-        for(Event2P<T1, T2> listener : new ArrayList<>(listeners))
+        listeners.BeginIteration();
+
+        try
         {
-            if(listener != null)
-                listener.OnInvoke(param1, param2);
-            else
+            for(int i = 0; i < listeners.Size(); i++)
             {
-                Logger.DebugWarning("Null listener found, deleting from list!");
-                listeners.remove(listener);
+                Event2P<T1, T2> listener = listeners.Get(i);
+
+                if(listener != null)
+                    listener.OnInvoke(param1, param2);
             }
         }
-
+        finally
+        {
+            listeners.EndIteration();
+        }
     }
 
     /**
@@ -44,7 +49,7 @@ public class Event2PHandler<T1, T2>
         if(listener == null)
             throw new IllegalArgumentException("Listener can't be null!");
         else
-            listeners.add(listener);
+            listeners.Add(listener);
     }
     /**
      * Remove the event listener from this event's listener lists
@@ -53,6 +58,6 @@ public class Event2PHandler<T1, T2>
      */
     public void Unsubscribe(Event2P<T1, T2> listener)
     {
-        listeners.remove(listener);
+        listeners.Remove(listener);
     }
 }
\ No newline at end of file
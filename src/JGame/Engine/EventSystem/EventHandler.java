@@ -1,10 +1,6 @@
 package JGame.Engine.EventSystem;
 
-import JGame.Engine.Internal.Logger;
-import jdk.jshell.spi.ExecutionControl;
-
-import java.util.ArrayList;
-import java.util.List;
+import JGame.Engine.Structures.DeferredList;
 
 /**
  * Class used to handle invoking parameterless events
@@ -14,20 +10,29 @@ public class EventHandler
     /**
      * The listeners to be called when the event handler gets fired
      */
-    private final List<Event> listeners = new ArrayList<>();
+    private final DeferredList<Event> listeners = new DeferredList<>();
 
+    /**
+     * Calls every listener, listeners subscribed during the call are first called on the next one and unsubscribed ones aren't called anymore
+     */
     public void Invoke()
     {
-        for(Event listener : new ArrayList<>(listeners))
+        listeners.BeginIteration();
+
+        try
         {
-            if(listener != null)
-                listener.OnInvoke();
-            else
+            for(int i = 0; i < listeners.Size(); i++)
             {
-                Logger.DebugWarning("Null listener found, deleting from list!");
-                listeners.remove(listener);
+                Event listener = listeners.Get(i);
+
+                if(listener != null)
+                    listener.OnInvoke();
             }
         }
+        finally
+        {
+            listeners.EndIteration();
+        }
     }
 
     /**
@@ -40,7 +45,7 @@ public class EventHandler
         if(listener == null)
             throw new IllegalArgumentException("Listener can't be null!");
         else
-            listeners.add(listener);
+            listeners.Add(listener);
     }
     /**
      * Remove the event listener from this event's listener lists
@@ -49,6 +54,16 @@ public class EventHandler
      */
     public void Unsubscribe(Event listener)
     {
-        listeners.remove(listener);
+        listeners.Remove(listener);
+    }
+
+    /**
+     * Checks if the event has any listener
+     * @return
+     * True if a listener is subscribed, listeners subscribed during an invocation are counted once it ends
+     */
+    public boolean HasListeners()
+    {
+        return !listeners.IsEmpty();
     }
 }
\ No newline at end of file
@@ -7,13 +7,14 @@ import JGame.Engine.Graphics.Renderers.MeshRenderer;
 import JGame.Engine.Graphics.Renderers.Renderer;
 import JGame.Engine.Graphics.Textures.ShadowMap;
 import JGame.Engine.Interfaces.Graphics.ILightHandler;
+import JGame.Engine.Interfaces.Graphics.IRenderOnly;
 import JGame.Engine.Settings;
 import JGame.Engine.Structures.ColorRGB;
 import JGame.Engine.Structures.Matrix4x4;
 
 import static org.lwjgl.opengl.GL46.*;
 
-public abstract class Light extends JComponent
+public abstract class Light extends JComponent implements IRenderOnly
 {
     public static final int LIGHT_TYPE_DIRECTIONAL = 0;
     public static final int LIGHT_TYPE_POINT = 1;
@@ -75,7 +76,10 @@ public abstract class Light extends JComponent
 
 
     //-----Shadow Casting-----
-    protected static Shader OverrideShader = new Shader("/Shaders/Internal/Default/defaultVertShader.glsl", "/Shaders/Internal/DepthOnly/depthOnlyFragShader.glsl");
+    /**
+     * Shader used to render the shadowmaps, created the first time a light needs it instead of when the class is loaded
+     */
+    protected static Shader OverrideShader;
 
     public ShadowMap shadowMap;
     Matrix4x4 lightProjectionMatrix;
@@ -144,6 +148,9 @@ public abstract class Light extends JComponent
      */
     public void RenderMeshesDepth()
     {
+        if(OverrideShader == null)
+            OverrideShader = new Shader("/Shaders/Internal/Default/defaultVertShader.glsl", "/Shaders/Internal/DepthOnly/depthOnlyFragShader.glsl");
+
         for(Renderer renderer : MeshRenderer.allRenderers)
         {
             if(renderer instanceof MeshRenderer meshRenderer && meshRenderer.castShadows)
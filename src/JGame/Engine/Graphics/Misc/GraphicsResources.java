@@ -0,0 +1,145 @@
+package JGame.Engine.Graphics.Misc;
+
+import java.util.Arrays;
+
+import static org.lwjgl.opengl.GL46.*;
+
+/**
+ * Releases OpenGL objects. Outside of a batch every object is deleted right away, inside a batch the names are queued
+ * and deleted with one call per object type when the batch ends, used when destroying whole scenes.
+ * Names of 0 or lower are ignored, so resources that were never created (like in headless mode) can be released safely
+ */
+public final class GraphicsResources
+{
+    private static int batchDepth = 0;
+
+    private static final NameQueue buffers = new NameQueue();
+    private static final NameQueue vertexArrays = new NameQueue();
+    private static final NameQueue textures = new NameQueue();
+    private static final NameQueue framebuffers = new NameQueue();
+    private static final NameQueue programs = new NameQueue();
+
+    private GraphicsResources() { }
+
+    /**
+     * Starts queueing the deletions until the matching EndBatch
+     */
+    public static void BeginBatch()
+    {
+        batchDepth++;
+    }
+
+    /**
+     * Deletes every object queued since BeginBatch, if it was the outermost batch
+     */
+    public static void EndBatch()
+    {
+        if(batchDepth == 0)
+            throw new IllegalStateException("EndBatch called without a matching BeginBatch!");
+
+        if(--batchDepth > 0)
+            return;
+
+        if(buffers.count > 0)
+            glDeleteBuffers(buffers.Drain());
+
+        if(vertexArrays.count > 0)
+            glDeleteVertexArrays(vertexArrays.Drain());
+
+        if(textures.count > 0)
+            glDeleteTextures(textures.Drain());
+
+        if(framebuffers.count > 0)
+            glDeleteFramebuffers(framebuffers.Drain());
+
+        //Programs can't be deleted in a single call
+        for(int program : programs.Drain())
+            glDeleteProgram(program);
+    }
+
+    public static boolean IsBatching()
+    {
+        return batchDepth > 0;
+    }
+
+    //------Deletion------
+
+    public static void DeleteBuffer(int buffer)
+    {
+        if(buffer <= 0)
+            return;
+
+        if(batchDepth > 0)
+            buffers.Add(buffer);
+        else
+            glDeleteBuffers(buffer);
+    }
+
+    public static void DeleteVertexArray(int vertexArray)
+    {
+        if(vertexArray <= 0)
+            return;
+
+        if(batchDepth > 0)
+            vertexArrays.Add(vertexArray);
+        else
+            glDeleteVertexArrays(vertexArray);
+    }
+
+    public static void DeleteTexture(int texture)
+    {
+        if(texture <= 0)
+            return;
+
+        if(batchDepth > 0)
+            textures.Add(texture);
+        else
+            glDeleteTextures(texture);
+    }
+
+    public static void DeleteFramebuffer(int framebuffer)
+    {
+        if(framebuffer <= 0)
+            return;
+
+        if(batchDepth > 0)
+            framebuffers.Add(framebuffer);
+        else
+            glDeleteFramebuffers(framebuffer);
+    }
+
+    public static void DeleteProgram(int program)
+    {
+        if(program <= 0)
+            return;
+
+        if(batchDepth > 0)
+            programs.Add(program);
+        else
+            glDeleteProgram(program);
+    }
+
+    /**
+     * Growable list of object names
+     */
+    private static final class NameQueue
+    {
+        private int[] names = new int[64];
+        private int count = 0;
+
+        private void Add(int name)
+        {
+            if(count == names.length)
+                names = Arrays.copyOf(names, count * 2);
+
+            names[count++] = name;
+        }
+
+        private int[] Drain()
+        {
+            int[] drained = Arrays.copyOf(names, count);
+            count = 0;
+            return drained;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package JGame.Engine.Graphics.Misc;
 
+import JGame.Application.Application;
 import JGame.Engine.Internal.Logger;
 import JGame.Engine.Graphics.Textures.BaseTexture;
 import JGame.Engine.Graphics.Textures.Texture;
@@ -120,10 +121,17 @@ public class Shader
     }
 
     /**
-     * Initializes the shader, including shader compilation, program linking and verification
+     * Initializes the shader, including shader compilation, program linking and verification.
+     * When the application is headless nothing is compiled and the shader is left without a program
      */
     public void Init(BaseTexture texture)
     {
+        if(Application.IsHeadless())
+        {
+            mainTex = texture;
+            return;
+        }
+
         programID = glCreateProgram();
 
         vertID = glCreateShader(GL_VERTEX_SHADER);
@@ -198,6 +206,9 @@ public class Shader
      */
     public void Bind()
     {
+        if(programID == 0)
+            return;
+
         glUseProgram(programID);
         if(mainTex != null)
             mainTex.Bind();
@@ -208,6 +219,9 @@ public class Shader
      */
     public void Unbind()
     {
+        if(programID == 0)
+            return;
+
         if(mainTex != null)
             mainTex.Unbind();
         glUseProgram(0);
@@ -220,7 +234,8 @@ public class Shader
     {
         if(mainTex != null)
             mainTex.Destroy();
-        glDeleteProgram(programID);
+
+        GraphicsResources.DeleteProgram(programID);
     }
     /**
      * Compiles the shader and handles possible errors, if there's a shader error it will set the shader to a fallback shader.
@@ -294,6 +309,9 @@ public class Shader
      */
     public <T> void SetUniformProperty(String name, T value, boolean logErrors, boolean disableBinding)
     {
+        if(programID == 0)
+            return;
+
         if(value == null)
         {
             if(logErrors)
@@ -1,5 +1,7 @@
 package JGame.Engine.Graphics.Models;
 
+import JGame.Application.Application;
+import JGame.Engine.Graphics.Misc.GraphicsResources;
 import JGame.Engine.Interfaces.Graphics.IMeshOpenGLHandler;
 import JGame.Engine.Structures.Vector3D;
 import JGame.Engine.Utilities.FileUtilities;
@@ -19,6 +21,9 @@ public class Mesh implements IMeshOpenGLHandler
     final Vertex[] vertices;
     public final Triangle[] tris;
 
+    /**
+     * The vertex array object, 0 when the application is headless as the mesh only keeps its vertex data
+     */
     public final int VAO;
     //Buffers
     public final int[] buffers = new int[5];
@@ -42,8 +47,10 @@ public class Mesh implements IMeshOpenGLHandler
         if(recalculateNormals)
             RecalculateNormals();
 
-        VAO = glGenVertexArrays();
-        GenerateVAO();
+        VAO = Application.IsHeadless() ? 0 : glGenVertexArrays();
+
+        if(VAO != 0)
+            GenerateVAO();
     }
 
     /**
@@ -75,15 +82,28 @@ public class Mesh implements IMeshOpenGLHandler
         buffers[IBO] = LinkBufferToAttribute(indicesBuffer, GL_ELEMENT_ARRAY_BUFFER, GL_STATIC_DRAW);
     }
 
+    /**
+     * Gets the vertices of the mesh
+     * @return
+     * The vertices of the mesh
+     */
+    public Vertex[] GetVertices()
+    {
+        return vertices;
+    }
+
     /**
      * Destroys the different mesh buffers and VAO from OpenGL
      */
     public void Destroy()
     {
+        if(VAO == 0)
+            return;
+
         for(int buffer : buffers)
-            glDeleteBuffers(buffer);
+            GraphicsResources.DeleteBuffer(buffer);
 
-        glDeleteVertexArrays(VAO);
+        GraphicsResources.DeleteVertexArray(VAO);
     }
 
 
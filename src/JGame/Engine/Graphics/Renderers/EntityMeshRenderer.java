@@ -0,0 +1,269 @@
+package JGame.Engine.Graphics.Renderers;
+
+import JGame.Engine.Basic.NotCopied;
+import JGame.Engine.ECS.Chunk;
+import JGame.Engine.ECS.EntityQuery;
+import JGame.Engine.ECS.EntityWorld;
+import JGame.Engine.Graphics.Misc.Camera;
+import JGame.Engine.Graphics.Misc.GraphicsResources;
+import JGame.Engine.Graphics.Misc.Shader;
+import JGame.Engine.Graphics.Models.Mesh;
+import JGame.Engine.Structures.ColorRGBA;
+import JGame.Engine.Structures.Vector3D;
+import org.lwjgl.system.MemoryUtil;
+
+import java.nio.FloatBuffer;
+import java.util.ArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import static JGame.Engine.ECS.EntityComponents.*;
+import static org.lwjgl.opengl.GL46.*;
+
+/**
+ * Draws a mesh at every entity with a Position of a world with a single instanced draw call, scaled by the Scale of the entity if it has one.
+ * The bridge between the entity worlds and the render pipeline, the instance data is gathered from the chunks in parallel every frame
+ */
+public class EntityMeshRenderer extends Renderer
+{
+    public ColorRGBA color = ColorRGBA.White;
+    /**
+     * Direction of the light used to shade the meshes
+     */
+    public Vector3D lightDirection = new Vector3D(-0.3f, -1f, -0.5f);
+    /**
+     * Light received by the faces facing away from the light, between 0 and 1
+     */
+    public float ambient = 0.3f;
+
+    private static final int INSTANCE_FLOATS = 4;
+
+    private Mesh mesh;
+    private EntityQuery query;
+
+    private final Shader shader = new Shader
+    (
+            "/Shaders/Internal/Entities/entityVertShader.glsl",
+            "/Shaders/Internal/Entities/entityFragShader.glsl"
+    );
+
+    @NotCopied
+    private int VAO, instanceVBO;
+    @NotCopied
+    private FloatBuffer instanceData;
+    @NotCopied
+    private int instanceCapacity = 0;
+
+    //Chunks gathered every frame, with the first instance of every chunk
+    private final ArrayList<Chunk> chunks = new ArrayList<>();
+    @NotCopied
+    private int[] chunkOffsets = new int[16];
+
+    @Override
+    protected void Initialize()
+    {
+        super.Initialize();
+
+        VAO = glGenVertexArrays();
+        instanceVBO = glGenBuffers();
+
+        SetMesh(mesh == null ? Mesh.Cube() : mesh);
+    }
+
+    /**
+     * Sets the entities drawn by the renderer
+     * @param world
+     * The world, every entity with a Position is drawn
+     */
+    public void SetWorld(EntityWorld world)
+    {
+        SetQuery(world.Query(Position));
+    }
+
+    /**
+     * Sets the entities drawn by the renderer
+     * @param query
+     * The query selecting the entities, they must have a Position
+     */
+    public void SetQuery(EntityQuery query)
+    {
+        this.query = query;
+    }
+
+    /**
+     * Sets the mesh drawn for every entity
+     * @param mesh
+     * The mesh
+     */
+    public void SetMesh(Mesh mesh)
+    {
+        this.mesh = mesh;
+
+        if(VAO == 0 || mesh == null)
+            return;
+
+        //The vertex buffers of the mesh are shared, only the vertex array of this renderer has the instance attribute
+        glBindVertexArray(VAO);
+
+        BindMeshAttribute(mesh.buffers[Mesh.PBO], 0, 3);
+        BindMeshAttribute(mesh.buffers[Mesh.CBO], 1, 4);
+        BindMeshAttribute(mesh.buffers[Mesh.NBO], 3, 3);
+        glBindBuffer(GL_ELEMENT_ARRAY_BUFFER, mesh.buffers[Mesh.IBO]);
+
+        glBindBuffer(GL_ARRAY_BUFFER, instanceVBO);
+        glVertexAttribPointer(4, INSTANCE_FLOATS, GL_FLOAT, false, INSTANCE_FLOATS * Float.BYTES, 0);
+        glVertexAttribDivisor(4, 1);
+        glEnableVertexAttribArray(4);
+
+        glBindVertexArray(0);
+        glBindBuffer(GL_ARRAY_BUFFER, 0);
+    }
+
+    public Mesh GetMesh()
+    {
+        return mesh;
+    }
+
+    private static void BindMeshAttribute(int buffer, int index, int size)
+    {
+        glBindBuffer(GL_ARRAY_BUFFER, buffer);
+        glVertexAttribPointer(index, size, GL_FLOAT, false, 0, 0);
+        glEnableVertexAttribArray(index);
+    }
+
+    @Override
+    protected void Render()
+    {
+        if(mesh == null || query == null || query.GetWorld().IsDestroyed())
+            return;
+
+        int count = GatherInstances();
+
+        if(count == 0)
+            return;
+
+        glBindBuffer(GL_ARRAY_BUFFER, instanceVBO);
+        glBufferData(GL_ARRAY_BUFFER, (long) instanceCapacity * INSTANCE_FLOATS * Float.BYTES, GL_STREAM_DRAW);
+        nglBufferSubData(GL_ARRAY_BUFFER, 0, (long) count * INSTANCE_FLOATS * Float.BYTES, MemoryUtil.memAddress(instanceData));
+        glBindBuffer(GL_ARRAY_BUFFER, 0);
+
+        shader.Bind();
+
+        shader.SetUniformProperty("uView", Camera.GetViewMatrix(), true);
+        shader.SetUniformProperty("uProjection", Camera.GetProjectionMatrix(), true);
+        shader.SetUniformProperty("color", color, true);
+        shader.SetUniformProperty("lightDirection", lightDirection, true);
+        shader.SetUniformProperty("ambient", ambient, true);
+
+        if(!isBackfaceCullingEnabled)
+        {
+            glEnable(GL_CULL_FACE);
+            isBackfaceCullingEnabled = true;
+        }
+
+        glBindVertexArray(VAO);
+        glDrawElementsInstanced(GL_TRIANGLES, mesh.tris.length * 3, GL_UNSIGNED_INT, 0, count);
+        glBindVertexArray(0);
+
+        shader.Unbind();
+    }
+
+    /**
+     * Writes the position and scale of every entity to the instance buffer, every chunk is written by a separate task
+     * @return
+     * The number of instances
+     */
+    private int GatherInstances()
+    {
+        chunks.clear();
+        chunks.addAll(query.GetChunks());
+
+        if(chunkOffsets.length < chunks.size() + 1)
+            chunkOffsets = new int[Math.max(chunks.size() + 1, chunkOffsets.length * 2)];
+
+        int count = 0;
+        for(int i = 0; i < chunks.size(); i++)
+        {
+            chunkOffsets[i] = count;
+            count += chunks.get(i).Count();
+        }
+
+        if(count > instanceCapacity)
+        {
+            if(instanceData != null)
+                MemoryUtil.memFree(instanceData);
+
+            instanceCapacity = Math.max(count, instanceCapacity * 2);
+            instanceData = MemoryUtil.memAllocFloat(instanceCapacity * INSTANCE_FLOATS);
+        }
+
+        if(chunks.size() > 1)
+            ForkJoinPool.commonPool().invoke(new GatherTask(0, chunks.size()));
+        else if(chunks.size() == 1)
+            WriteChunk(0);
+
+        return count;
+    }
+
+    private void WriteChunk(int chunkIndex)
+    {
+        Chunk chunk = chunks.get(chunkIndex);
+        int count = chunk.Count();
+
+        float[] positionX = chunk.GetFloats(Position, X);
+        float[] positionY = chunk.GetFloats(Position, Y);
+        float[] positionZ = chunk.GetFloats(Position, Z);
+        float[] scale = chunk.Has(Scale) ? chunk.GetFloats(Scale, X) : null;
+
+        long address = MemoryUtil.memAddress(instanceData) + (long) chunkOffsets[chunkIndex] * INSTANCE_FLOATS * Float.BYTES;
+
+        for(int i = 0; i < count; i++, address += INSTANCE_FLOATS * Float.BYTES)
+        {
+            MemoryUtil.memPutFloat(address, positionX[i]);
+            MemoryUtil.memPutFloat(address + 4, positionY[i]);
+            MemoryUtil.memPutFloat(address + 8, positionZ[i]);
+            MemoryUtil.memPutFloat(address + 12, scale == null ? 1f : scale[i]);
+        }
+    }
+
+    private final class GatherTask extends RecursiveAction
+    {
+        private static final long serialVersionUID = 1L;
+
+        private final int start;
+        private final int end;
+
+        private GatherTask(int start, int end)
+        {
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected void compute()
+        {
+            if(end - start == 1)
+            {
+                WriteChunk(start);
+                return;
+            }
+
+            int middle = (start + end) >>> 1;
+            invokeAll(new GatherTask(start, middle), new GatherTask(middle, end));
+        }
+    }
+
+    @Override
+    protected void OnDestroy()
+    {
+        GraphicsResources.DeleteBuffer(instanceVBO);
+        GraphicsResources.DeleteVertexArray(VAO);
+
+        if(instanceData != null)
+            MemoryUtil.memFree(instanceData);
+
+        shader.Destroy();
+
+        super.OnDestroy();
+    }
+}
@@ -0,0 +1,756 @@
+package JGame.Engine.Graphics.Renderers.Particles;
+
+import JGame.Engine.Basic.NotCopied;
+import JGame.Engine.Graphics.Misc.Camera;
+import JGame.Engine.Graphics.Misc.GraphicsResources;
+import JGame.Engine.Graphics.Misc.Shader;
+import JGame.Engine.Graphics.Renderers.Renderer;
+import JGame.Engine.Graphics.Textures.BaseTexture;
+import JGame.Engine.Graphics.Textures.Texture;
+import JGame.Engine.Internal.Time;
+import JGame.Engine.Physics.General.Physics;
+import JGame.Engine.Settings;
+import JGame.Engine.Structures.ColorRGBA;
+import JGame.Engine.Structures.Vector3D;
+import org.lwjgl.system.MemoryUtil;
+
+import java.nio.FloatBuffer;
+import java.util.Arrays;
+import java.util.concurrent.RecursiveAction;
+
+import static org.lwjgl.opengl.GL46.*;
+
+/**
+ * CPU particle system for effects like sparks, smoke or debris. The particles aren't objects, their state is stored in
+ * primitive arrays (one per attribute) packed so the alive particles are always the first ones, the update runs in parallel chunks
+ * without allocating, and the whole system is drawn with a single instanced draw call of camera facing quads.
+ * Particles are simulated in world space, so moving the emitter doesn't move the particles already emitted
+ */
+public class ParticleSystem extends Renderer
+{
+    public enum EmitterShape
+    {
+        /**
+         * Particles are emitted from the position of the object in any direction
+         */
+        Point,
+        /**
+         * Particles are emitted from inside a sphere of emitterRadius, moving away from its center
+         */
+        Sphere,
+        /**
+         * Particles are emitted from a disc of emitterRadius facing the up vector of the object, in directions up to coneAngle away from it
+         */
+        Cone
+    }
+
+    //------Emission------
+
+    public EmitterShape shape = EmitterShape.Point;
+    /**
+     * Particles emitted per second, on top of the bursts
+     */
+    public float emissionRate = 50f;
+    public float emitterRadius = 0.5f;
+    /**
+     * Half angle of the cone, in degrees
+     */
+    public float coneAngle = 25f;
+    public float minSpeed = 1f;
+    public float maxSpeed = 3f;
+    public float minLifetime = 1f;
+    public float maxLifetime = 2f;
+
+    //------Appearance------
+
+    public float startSize = 0.2f;
+    public float endSize = 0.05f;
+    public ColorRGBA startColor = ColorRGBA.White;
+    public ColorRGBA endColor = new ColorRGBA(1f, 1f, 1f, 0f);
+    /**
+     * Fades the corners of the quads so every particle is drawn as a circle
+     */
+    public boolean roundParticles = true;
+
+    //------Forces------
+
+    /**
+     * Multiplier of the gravity of the physics engine, which uses Physics.gravityDirection
+     */
+    public float gravityScale = 1f;
+    /**
+     * Linear drag, the fraction of the velocity lost every second
+     */
+    public float drag = 0.1f;
+
+    //------Collision------
+
+    /**
+     * Distance from the center of a particle at which it collides with the planes and spheres
+     */
+    public float collisionRadius = 0.05f;
+    /**
+     * Fraction of the normal velocity kept after a collision
+     */
+    public float bounciness = 0.4f;
+    /**
+     * Fraction of the tangential velocity lost after a collision
+     */
+    public float collisionFriction = 0.2f;
+
+    //------Performance------
+
+    /**
+     * Particles updated by each parallel task. Systems with fewer alive particles than this are updated on the calling thread
+     */
+    public static int particlesPerTask = 4096;
+
+    //------Particle data------
+
+    private int maxParticles;
+    //The live simulation state isn't copied, so copies of the system like prefab instances start empty
+    @NotCopied
+    private int count = 0;
+
+    @NotCopied
+    private float[] positionsX, positionsY, positionsZ;
+    @NotCopied
+    private float[] velocitiesX, velocitiesY, velocitiesZ;
+    @NotCopied
+    private float[] ages, lifetimes;
+
+    private float[] planes = new float[0];
+    private int planeCount = 0;
+    private float[] spheres = new float[0];
+    private int sphereCount = 0;
+
+    @NotCopied
+    private float emissionAccumulator = 0f;
+    private long randomState = 0x9E3779B97F4A7C15L;
+
+    //------Parallel update------
+
+    @NotCopied
+    private UpdateTask[] tasks = new UpdateTask[0];
+    @NotCopied
+    private float stepDeltaTime;
+    @NotCopied
+    private float stepGravityX, stepGravityY, stepGravityZ;
+    @NotCopied
+    private float stepDragFactor;
+
+    //------Rendering------
+
+    private static final int INSTANCE_FLOATS = 4;
+
+    private final Shader shader = new Shader
+    (
+            "/Shaders/Internal/Particles/particleVertShader.glsl",
+            "/Shaders/Internal/Particles/particleFragShader.glsl",
+            new Texture("/Textures/Internal/white.png")
+    );
+
+    @NotCopied
+    private int VAO, cornerVBO, EBO, instanceVBO;
+    @NotCopied
+    private FloatBuffer instanceData;
+
+    public ParticleSystem()
+    {
+        AllocateParticles(10000);
+    }
+
+    @Override
+    protected void Initialize()
+    {
+        super.Initialize();
+        opaque = false;
+
+        VAO = glGenVertexArrays();
+        cornerVBO = glGenBuffers();
+        EBO = glGenBuffers();
+
+        glBindVertexArray(VAO);
+
+        glBindBuffer(GL_ARRAY_BUFFER, cornerVBO);
+        glBufferData(GL_ARRAY_BUFFER, new float[] { -0.5f, -0.5f, 0.5f, -0.5f, 0.5f, 0.5f, -0.5f, 0.5f }, GL_STATIC_DRAW);
+        glVertexAttribPointer(0, 2, GL_FLOAT, false, 2 * Float.BYTES, 0);
+        glEnableVertexAttribArray(0);
+
+        glBindBuffer(GL_ELEMENT_ARRAY_BUFFER, EBO);
+        glBufferData(GL_ELEMENT_ARRAY_BUFFER, new int[] { 0, 1, 2, 2, 3, 0 }, GL_STATIC_DRAW);
+
+        glBindVertexArray(0);
+        glBindBuffer(GL_ARRAY_BUFFER, 0);
+
+        AllocateInstanceBuffer();
+    }
+
+    //------Simulation------
+
+    @Override
+    protected void Update()
+    {
+        float deltaTime = (float) Time.DeltaTime() * Time.timeScale;
+
+        if(deltaTime <= 0)
+            return;
+
+        Simulate(deltaTime);
+    }
+
+    /**
+     * Advances the system, emitting the particles of this frame, moving the alive ones and removing the dead ones.
+     * Called every frame by Update, but can be called manually to prewarm an effect
+     * @param deltaTime
+     * The time to advance, in seconds
+     */
+    public void Simulate(float deltaTime)
+    {
+        emissionAccumulator += emissionRate * deltaTime;
+        int toEmit = (int) emissionAccumulator;
+        emissionAccumulator -= toEmit;
+
+        if(toEmit > 0)
+            Emit(toEmit);
+
+        if(count == 0)
+            return;
+
+        float gravity = Settings.Physics.gravityForce * gravityScale * deltaTime;
+        stepDeltaTime = deltaTime;
+        stepGravityX = Physics.gravityDirection.x * gravity;
+        stepGravityY = Physics.gravityDirection.y * gravity;
+        stepGravityZ = Physics.gravityDirection.z * gravity;
+        stepDragFactor = 1f / (1f + drag * deltaTime);
+
+        int taskCount = (count + particlesPerTask - 1) / particlesPerTask;
+
+        if(taskCount <= 1)
+        {
+            SimulateRange(0, count);
+        }
+        else
+        {
+            if(tasks.length < taskCount)
+            {
+                int previous = tasks.length;
+                tasks = Arrays.copyOf(tasks, taskCount);
+
+                for(int i = previous; i < taskCount; i++)
+                    tasks[i] = new UpdateTask();
+            }
+
+            for(int i = 0; i < taskCount; i++)
+            {
+                tasks[i].reinitialize();
+                tasks[i].start = i * particlesPerTask;
+                tasks[i].end = Math.min(count, (i + 1) * particlesPerTask);
+            }
+
+            //The calling thread works on the first chunk while the pool runs the rest
+            for(int i = 1; i < taskCount; i++)
+                tasks[i].fork();
+
+            tasks[0].invoke();
+
+            for(int i = 1; i < taskCount; i++)
+                tasks[i].join();
+        }
+
+        RemoveDeadParticles();
+    }
+
+    /**
+     * Integrates and collides a range of particles, only touches the indices of the range so ranges can run in parallel
+     */
+    private void SimulateRange(int start, int end)
+    {
+        float deltaTime = stepDeltaTime;
+        float dragFactor = stepDragFactor;
+
+        for(int i = start; i < end; i++)
+        {
+            ages[i] += deltaTime;
+
+            float vx = (velocitiesX[i] + stepGravityX) * dragFactor;
+            float vy = (velocitiesY[i] + stepGravityY) * dragFactor;
+            float vz = (velocitiesZ[i] + stepGravityZ) * dragFactor;
+
+            float px = positionsX[i] + vx * deltaTime;
+            float py = positionsY[i] + vy * deltaTime;
+            float pz = positionsZ[i] + vz * deltaTime;
+
+            for(int p = 0; p < planeCount; p++)
+            {
+                int offset = p * 4;
+                float nx = planes[offset], ny = planes[offset + 1], nz = planes[offset + 2];
+                float penetration = collisionRadius - (px * nx + py * ny + pz * nz - planes[offset + 3]);
+
+                if(penetration <= 0)
+                    continue;
+
+                px += nx * penetration;
+                py += ny * penetration;
+                pz += nz * penetration;
+
+                float normalVelocity = vx * nx + vy * ny + vz * nz;
+
+                if(normalVelocity < 0)
+                {
+                    float tangentFactor = 1f - collisionFriction;
+                    float tx = (vx - nx * normalVelocity) * tangentFactor;
+                    float ty = (vy - ny * normalVelocity) * tangentFactor;
+                    float tz = (vz - nz * normalVelocity) * tangentFactor;
+
+                    vx = tx - nx * normalVelocity * bounciness;
+                    vy = ty - ny * normalVelocity * bounciness;
+                    vz = tz - nz * normalVelocity * bounciness;
+                }
+            }
+
+            for(int s = 0; s < sphereCount; s++)
+            {
+                int offset = s * 4;
+                float dx = px - spheres[offset], dy = py - spheres[offset + 1], dz = pz - spheres[offset + 2];
+                float radius = spheres[offset + 3] + collisionRadius;
+                float distanceSquared = dx * dx + dy * dy + dz * dz;
+
+                if(distanceSquared >= radius * radius || distanceSquared == 0)
+                    continue;
+
+                float distance = (float) Math.sqrt(distanceSquared);
+                float nx = dx / distance, ny = dy / distance, nz = dz / distance;
+                float penetration = radius - distance;
+
+                px += nx * penetration;
+                py += ny * penetration;
+                pz += nz * penetration;
+
+                float normalVelocity = vx * nx + vy * ny + vz * nz;
+
+                if(normalVelocity < 0)
+                {
+                    float tangentFactor = 1f - collisionFriction;
+                    float tx = (vx - nx * normalVelocity) * tangentFactor;
+                    float ty = (vy - ny * normalVelocity) * tangentFactor;
+                    float tz = (vz - nz * normalVelocity) * tangentFactor;
+
+                    vx = tx - nx * normalVelocity * bounciness;
+                    vy = ty - ny * normalVelocity * bounciness;
+                    vz = tz - nz * normalVelocity * bounciness;
+                }
+            }
+
+            velocitiesX[i] = vx;
+            velocitiesY[i] = vy;
+            velocitiesZ[i] = vz;
+            positionsX[i] = px;
+            positionsY[i] = py;
+            positionsZ[i] = pz;
+        }
+    }
+
+    /**
+     * Swaps the dead particles with the last alive ones, keeping the alive particles packed at the start of the arrays
+     */
+    private void RemoveDeadParticles()
+    {
+        int i = 0;
+        while(i < count)
+        {
+            if(ages[i] < lifetimes[i])
+            {
+                i++;
+                continue;
+            }
+
+            int last = --count;
+
+            positionsX[i] = positionsX[last];
+            positionsY[i] = positionsY[last];
+            positionsZ[i] = positionsZ[last];
+            velocitiesX[i] = velocitiesX[last];
+            velocitiesY[i] = velocitiesY[last];
+            velocitiesZ[i] = velocitiesZ[last];
+            ages[i] = ages[last];
+            lifetimes[i] = lifetimes[last];
+        }
+    }
+
+    private final class UpdateTask extends RecursiveAction
+    {
+        private static final long serialVersionUID = 1L;
+
+        private int start, end;
+
+        @Override
+        protected void compute()
+        {
+            SimulateRange(start, end);
+        }
+    }
+
+    //------Emission------
+
+    /**
+     * Emits particles from the emitter right away, particles over the maximum are discarded
+     * @param amount
+     * The number of particles to emit
+     */
+    public void Burst(int amount)
+    {
+        Emit(amount);
+    }
+
+    /**
+     * Emits a single particle with a given position and velocity, ignoring the shape of the emitter
+     * @param position
+     * The position in world space
+     * @param velocity
+     * The velocity in world space
+     * @param lifetime
+     * The lifetime, in seconds
+     */
+    public void Emit(Vector3D position, Vector3D velocity, float lifetime)
+    {
+        if(count >= maxParticles)
+            return;
+
+        int i = count++;
+        positionsX[i] = position.x;
+        positionsY[i] = position.y;
+        positionsZ[i] = position.z;
+        velocitiesX[i] = velocity.x;
+        velocitiesY[i] = velocity.y;
+        velocitiesZ[i] = velocity.z;
+        ages[i] = 0;
+        lifetimes[i] = lifetime;
+    }
+
+    private void Emit(int amount)
+    {
+        amount = Math.min(amount, maxParticles - count);
+
+        if(amount <= 0)
+            return;
+
+        Vector3D origin = transform().GetGlobalPosition();
+        Vector3D axis = transform().Up();
+
+        //Basis around the up vector of the emitter, for cones
+        Vector3D tangent = axis.CrossProduct(Math.abs(axis.x) < 0.9f ? Vector3D.Right : Vector3D.Forward).Normalized();
+        Vector3D bitangent = axis.CrossProduct(tangent);
+        float minCos = (float) Math.cos(Math.toRadians(coneAngle));
+
+        for(int n = 0; n < amount; n++)
+        {
+            int i = count++;
+            float dx, dy, dz;
+            float ox = 0, oy = 0, oz = 0;
+
+            switch(shape)
+            {
+                case Sphere ->
+                {
+                    float cosTheta = 1f - 2f * NextFloat();
+                    float sinTheta = (float) Math.sqrt(1f - cosTheta * cosTheta);
+                    float phi = NextFloat() * 2f * (float) Math.PI;
+                    dx = sinTheta * (float) Math.cos(phi);
+                    dy = cosTheta;
+                    dz = sinTheta * (float) Math.sin(phi);
+
+                    float radius = emitterRadius * (float) Math.cbrt(NextFloat());
+                    ox = dx * radius;
+                    oy = dy * radius;
+                    oz = dz * radius;
+                }
+                case Cone ->
+                {
+                    float cosTheta = 1f - NextFloat() * (1f - minCos);
+                    float sinTheta = (float) Math.sqrt(1f - cosTheta * cosTheta);
+                    float phi = NextFloat() * 2f * (float) Math.PI;
+                    float a = sinTheta * (float) Math.cos(phi);
+                    float b = sinTheta * (float) Math.sin(phi);
+                    dx = tangent.x * a + axis.x * cosTheta + bitangent.x * b;
+                    dy = tangent.y * a + axis.y * cosTheta + bitangent.y * b;
+                    dz = tangent.z * a + axis.z * cosTheta + bitangent.z * b;
+
+                    float radius = emitterRadius * (float) Math.sqrt(NextFloat());
+                    float angle = NextFloat() * 2f * (float) Math.PI;
+                    float c = radius * (float) Math.cos(angle);
+                    float d = radius * (float) Math.sin(angle);
+                    ox = tangent.x * c + bitangent.x * d;
+                    oy = tangent.y * c + bitangent.y * d;
+                    oz = tangent.z * c + bitangent.z * d;
+                }
+                default ->
+                {
+                    float cosTheta = 1f - 2f * NextFloat();
+                    float sinTheta = (float) Math.sqrt(1f - cosTheta * cosTheta);
+                    float phi = NextFloat() * 2f * (float) Math.PI;
+                    dx = sinTheta * (float) Math.cos(phi);
+                    dy = cosTheta;
+                    dz = sinTheta * (float) Math.sin(phi);
+                }
+            }
+
+            float speed = minSpeed + (maxSpeed - minSpeed) * NextFloat();
+
+            positionsX[i] = origin.x + ox;
+            positionsY[i] = origin.y + oy;
+            positionsZ[i] = origin.z + oz;
+            velocitiesX[i] = dx * speed;
+            velocitiesY[i] = dy * speed;
+            velocitiesZ[i] = dz * speed;
+            ages[i] = 0;
+            lifetimes[i] = minLifetime + (maxLifetime - minLifetime) * NextFloat();
+        }
+    }
+
+    /**
+     * Xorshift generator, faster than Random and without its synchronization
+     */
+    private float NextFloat()
+    {
+        randomState ^= randomState << 13;
+        randomState ^= randomState >>> 7;
+        randomState ^= randomState << 17;
+        return (randomState >>> 40) * 0x1.0p-24f;
+    }
+
+    /**
+     * Removes every alive particle
+     */
+    public void Clear()
+    {
+        count = 0;
+        emissionAccumulator = 0;
+    }
+
+    //------Colliders------
+
+    /**
+     * Adds an infinite plane the particles collide with, the particles are kept on the side the normal points to
+     * @param normal
+     * The normal of the plane
+     * @param distance
+     * The distance of the plane from the origin along its normal
+     */
+    public void AddCollisionPlane(Vector3D normal, float distance)
+    {
+        Vector3D n = normal.Normalized();
+
+        if(planes.length < (planeCount + 1) * 4)
+            planes = Arrays.copyOf(planes, (planeCount + 1) * 8);
+
+        int offset = planeCount++ * 4;
+        planes[offset] = n.x;
+        planes[offset + 1] = n.y;
+        planes[offset + 2] = n.z;
+        planes[offset + 3] = distance;
+    }
+
+    /**
+     * Adds a sphere the particles collide with, the particles are kept outside of it
+     * @param center
+     * The center of the sphere, in world space
+     * @param radius
+     * The radius of the sphere
+     */
+    public void AddCollisionSphere(Vector3D center, float radius)
+    {
+        if(spheres.length < (sphereCount + 1) * 4)
+            spheres = Arrays.copyOf(spheres, (sphereCount + 1) * 8);
+
+        int offset = sphereCount++ * 4;
+        spheres[offset] = center.x;
+        spheres[offset + 1] = center.y;
+        spheres[offset + 2] = center.z;
+        spheres[offset + 3] = radius;
+    }
+
+    /**
+     * Removes every collision plane and sphere
+     */
+    public void ClearColliders()
+    {
+        planeCount = 0;
+        sphereCount = 0;
+    }
+
+    //------Capacity------
+
+    /**
+     * Sets the maximum number of particles alive at the same time, the particles over the new maximum are removed
+     * @param maxParticles
+     * The maximum number of particles
+     */
+    public void SetMaxParticles(int maxParticles)
+    {
+        if(maxParticles <= 0)
+            throw new IllegalArgumentException("The maximum number of particles must be positive!");
+
+        AllocateParticles(maxParticles);
+
+        if(instanceVBO != 0)
+        {
+            GraphicsResources.DeleteBuffer(instanceVBO);
+            MemoryUtil.memFree(instanceData);
+            AllocateInstanceBuffer();
+        }
+    }
+
+    public int GetMaxParticles()
+    {
+        return maxParticles;
+    }
+
+    @Override
+    protected void OnCopied()
+    {
+        super.OnCopied();
+
+        planes = planes.clone();
+        spheres = spheres.clone();
+
+        //The particle arrays aren't copied, so they still have the capacity the constructor gave them
+        if(positionsX.length != maxParticles)
+            SetMaxParticles(maxParticles);
+    }
+
+    /**
+     * Gets the number of alive particles
+     * @return
+     * The number of alive particles
+     */
+    public int GetParticleCount()
+    {
+        return count;
+    }
+
+    /**
+     * Gets the position of an alive particle
+     * @param index
+     * The index of the particle, between 0 and the particle count
+     * @return
+     * The position in world space
+     */
+    public Vector3D GetParticlePosition(int index)
+    {
+        if(index < 0 || index >= count)
+            throw new IndexOutOfBoundsException("Particle " + index + " out of " + count + " alive particles");
+
+        return new Vector3D(positionsX[index], positionsY[index], positionsZ[index]);
+    }
+
+    private void AllocateParticles(int maxParticles)
+    {
+        this.maxParticles = maxParticles;
+        count = Math.min(count, maxParticles);
+
+        positionsX = Resize(positionsX, maxParticles);
+        positionsY = Resize(positionsY, maxParticles);
+        positionsZ = Resize(positionsZ, maxParticles);
+        velocitiesX = Resize(velocitiesX, maxParticles);
+        velocitiesY = Resize(velocitiesY, maxParticles);
+        velocitiesZ = Resize(velocitiesZ, maxParticles);
+        ages = Resize(ages, maxParticles);
+        lifetimes = Resize(lifetimes, maxParticles);
+    }
+
+    private static float[] Resize(float[] array, int size)
+    {
+        return array == null ? new float[size] : Arrays.copyOf(array, size);
+    }
+
+    //------Rendering------
+
+    private void AllocateInstanceBuffer()
+    {
+        instanceData = MemoryUtil.memAllocFloat(maxParticles * INSTANCE_FLOATS);
+        instanceVBO = glGenBuffers();
+
+        glBindVertexArray(VAO);
+        glBindBuffer(GL_ARRAY_BUFFER, instanceVBO);
+        glBufferData(GL_ARRAY_BUFFER, (long) maxParticles * INSTANCE_FLOATS * Float.BYTES, GL_STREAM_DRAW);
+
+        glVertexAttribPointer(1, INSTANCE_FLOATS, GL_FLOAT, false, INSTANCE_FLOATS * Float.BYTES, 0);
+        glVertexAttribDivisor(1, 1);
+        glEnableVertexAttribArray(1);
+
+        glBindVertexArray(0);
+        glBindBuffer(GL_ARRAY_BUFFER, 0);
+    }
+
+    @Override
+    protected void Render()
+    {
+        if(count == 0)
+            return;
+
+        //Position and normalized age of every particle, the shader interpolates the size and color from the age
+        instanceData.clear();
+        for(int i = 0; i < count; i++)
+        {
+            instanceData.put(positionsX[i]);
+            instanceData.put(positionsY[i]);
+            instanceData.put(positionsZ[i]);
+            instanceData.put(Math.min(ages[i] / lifetimes[i], 1f));
+        }
+        instanceData.flip();
+
+        glBindBuffer(GL_ARRAY_BUFFER, instanceVBO);
+        glBufferData(GL_ARRAY_BUFFER, (long) maxParticles * INSTANCE_FLOATS * Float.BYTES, GL_STREAM_DRAW);
+        glBufferSubData(GL_ARRAY_BUFFER, 0, instanceData);
+        glBindBuffer(GL_ARRAY_BUFFER, 0);
+
+        shader.Bind();
+
+        shader.SetUniformProperty("uView", Camera.GetViewMatrix(), true);
+        shader.SetUniformProperty("uProjection", Camera.GetProjectionMatrix(), true);
+        shader.SetUniformProperty("startColor", startColor, true);
+        shader.SetUniformProperty("endColor", endColor, true);
+        shader.SetUniformProperty("startSize", startSize, true);
+        shader.SetUniformProperty("endSize", endSize, true);
+        shader.SetUniformProperty("roundParticles", roundParticles, true);
+
+        if (isBackfaceCullingEnabled)
+        {
+            glDisable(GL_CULL_FACE);
+            isBackfaceCullingEnabled = false;
+        }
+
+        glBindVertexArray(VAO);
+        glDrawElementsInstanced(GL_TRIANGLES, 6, GL_UNSIGNED_INT, 0, count);
+        glBindVertexArray(0);
+
+        shader.Unbind();
+    }
+
+    /**
+     * Sets the image drawn by every particle, tinted by their color
+     * @param image
+     * The image
+     */
+    public void SetImage(BaseTexture image)
+    {
+        shader.SetTexture(image);
+    }
+
+    @Override
+    protected void OnDestroy()
+    {
+        GraphicsResources.DeleteBuffer(cornerVBO);
+        GraphicsResources.DeleteBuffer(EBO);
+        GraphicsResources.DeleteBuffer(instanceVBO);
+        GraphicsResources.DeleteVertexArray(VAO);
+
+        if(instanceData != null)
+            MemoryUtil.memFree(instanceData);
+
+        shader.Destroy();
+
+        super.OnDestroy();
+    }
+}
@@ -19,6 +19,7 @@ public class RayTracedBoxRenderer extends RayTracingRenderer
     @Override
     protected void OnDestroy()
     {
-        allRayTracedBoxes.remove(this);
+        if(!IsBulkDestroying())
+            allRayTracedBoxes.remove(this);
     }
 }
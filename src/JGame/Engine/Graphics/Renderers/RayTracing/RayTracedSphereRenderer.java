@@ -22,6 +22,7 @@ public class RayTracedSphereRenderer extends RayTracingRenderer
     @Override
     protected void OnDestroy()
     {
-        allRayTracedSpheres.remove(this);
+        if(!IsBulkDestroying())
+            allRayTracedSpheres.remove(this);
     }
 }
@@ -1,5 +1,6 @@
 package JGame.Engine.Graphics.Renderers.RayTracing;
 
+import JGame.Application.Application;
 import JGame.Application.Window;
 import JGame.Engine.Basic.JComponent;
 import JGame.Engine.EventSystem.Event;
@@ -13,6 +14,7 @@ import JGame.Engine.Graphics.Models.Vertex;
 import JGame.Engine.Graphics.Textures.BaseTexture;
 import JGame.Engine.Graphics.Textures.CubemapTexture;
 import JGame.Engine.Graphics.Textures.FrameBufferTexture;
+import JGame.Engine.Interfaces.Graphics.IRenderOnly;
 import JGame.Engine.Internal.Time;
 import JGame.Engine.Structures.*;
 import org.lwjgl.BufferUtils;
@@ -22,9 +24,10 @@ import java.nio.FloatBuffer;
 import static org.lwjgl.opengl.GL46.*;
 
 /**
- * Base class for all renderers using RayTracing
+ * Base class for all renderers using RayTracing. The shared OpenGL resources are created by InitializeRenderer the first time ray tracing
+ * is enabled, never when the class is loaded
  */
-public abstract class RayTracingRenderer extends JComponent
+public abstract class RayTracingRenderer extends JComponent implements IRenderOnly
 {
     public RayTracingMaterial material = RayTracingMaterial.Default();
 
@@ -34,19 +37,7 @@ public abstract class RayTracingRenderer extends JComponent
 
     private static long frameCount = 0;
 
-    private static CubemapTexture skyboxTexture = new CubemapTexture
-        (
-            new String[]
-            {
-                "/Textures/Internal/DefaultSkybox/right.png",
-                "/Textures/Internal/DefaultSkybox/left.png",
-                "/Textures/Internal/DefaultSkybox/top.png",
-                "/Textures/Internal/DefaultSkybox/bottom.png",
-                "/Textures/Internal/DefaultSkybox/front.png",
-                "/Textures/Internal/DefaultSkybox/back.png",
-            },
-            BaseTexture.TextureFilteringType.LINEAR
-        );
+    private static CubemapTexture skyboxTexture;
 
     private static final Event WindowResizedEvent = new Event()
     {
@@ -57,12 +48,36 @@ public abstract class RayTracingRenderer extends JComponent
         }
     };
 
-    protected static final Shader rayTracingShader = new Shader("/Shaders/Internal/Misc/fullscreen_vert.glsl", "/Shaders/Internal/RayTracing/Rendering/ray_tracing_render_frag.glsl");
-    protected static final Shader accumShader = new Shader("/Shaders/Internal/Misc/fullscreen_vert.glsl", "/Shaders/Internal/RayTracing/Accumulation/accumulation_frag.glsl");
-    protected static final Shader blitShader = new Shader("/Shaders/Internal/Misc/fullscreen_vert.glsl", "/Shaders/Internal/RayTracing/Blit/ray_tracing_blit_frag.glsl");
+    protected static Shader rayTracingShader;
+    protected static Shader accumShader;
+    protected static Shader blitShader;
 
-    static
+    /**
+     * Creates the shaders, buffers, skybox and quad shared by all ray tracing renderers, only once
+     */
+    private static void InitResources()
     {
+        if(rayTracingShader != null)
+            return;
+
+        skyboxTexture = new CubemapTexture
+            (
+                new String[]
+                {
+                    "/Textures/Internal/DefaultSkybox/right.png",
+                    "/Textures/Internal/DefaultSkybox/left.png",
+                    "/Textures/Internal/DefaultSkybox/top.png",
+                    "/Textures/Internal/DefaultSkybox/bottom.png",
+                    "/Textures/Internal/DefaultSkybox/front.png",
+                    "/Textures/Internal/DefaultSkybox/back.png",
+                },
+                BaseTexture.TextureFilteringType.LINEAR
+            );
+
+        rayTracingShader = new Shader("/Shaders/Internal/Misc/fullscreen_vert.glsl", "/Shaders/Internal/RayTracing/Rendering/ray_tracing_render_frag.glsl");
+        accumShader = new Shader("/Shaders/Internal/Misc/fullscreen_vert.glsl", "/Shaders/Internal/RayTracing/Accumulation/accumulation_frag.glsl");
+        blitShader = new Shader("/Shaders/Internal/Misc/fullscreen_vert.glsl", "/Shaders/Internal/RayTracing/Blit/ray_tracing_blit_frag.glsl");
+
         accumShader.Bind();
         accumShader.SetUniformProperty("lastAccumTex", 0, true);
         accumShader.SetUniformProperty("currentRadiance", 1, true);
@@ -71,6 +86,25 @@ public abstract class RayTracingRenderer extends JComponent
         blitShader.SetUniformProperty("screenTex", 0);
 
         rayTracingShader.SetUniformProperty("skyboxTex", 0);
+
+        Quad = new Mesh(
+            new Vertex[]
+            {
+                new Vertex(new Vector3D(-1, -1, 0), new Vector2D(0, 1)),
+                new Vertex(new Vector3D( 1, -1, 0), new Vector2D(1, 1)),
+                new Vertex(new Vector3D( 1,  1, 0), new Vector2D(1, 0)),
+                new Vertex(new Vector3D(-1,  1, 0), new Vector2D(0, 0))
+            },
+            new Triangle[]
+            {
+                new Triangle(0, 1, 2),
+                new Triangle(2, 3, 0)
+            }
+        );
+
+        spheresBuffer = glGenBuffers();
+        boxesBuffer = glGenBuffers();
+        dirLightBuffer = glGenBuffers();
     }
 
     private static void InitTex()
@@ -88,20 +122,7 @@ public abstract class RayTracingRenderer extends JComponent
         ResetAccumulation();
     }
 
-    protected static final Mesh Quad = new Mesh(
-        new Vertex[]
-        {
-            new Vertex(new Vector3D(-1, -1, 0), new Vector2D(0, 1)),
-            new Vertex(new Vector3D( 1, -1, 0), new Vector2D(1, 1)),
-            new Vertex(new Vector3D( 1,  1, 0), new Vector2D(1, 0)),
-            new Vertex(new Vector3D(-1,  1, 0), new Vector2D(0, 0))
-        },
-        new Triangle[]
-        {
-            new Triangle(0, 1, 2),
-            new Triangle(2, 3, 0)
-        }
-    );
+    protected static Mesh Quad;
 
     /**
      * Enables the Vertex Attribute Arrays corresponding to the vertex position and vertex colors
@@ -120,9 +141,9 @@ public abstract class RayTracingRenderer extends JComponent
         glDisableVertexAttribArray(2);
     }
 
-    private static final int spheresBuffer = glGenBuffers();
-    private static final int boxesBuffer = glGenBuffers();
-    private static final int dirLightBuffer = glGenBuffers();
+    private static int spheresBuffer;
+    private static int boxesBuffer;
+    private static int dirLightBuffer;
 
     private static void PutMaterial(FloatBuffer floatBuffer, RayTracingMaterial material)
     {
@@ -345,10 +366,13 @@ public abstract class RayTracingRenderer extends JComponent
     }
 
     /**
-     * Resets the frame accumulation
+     * Resets the frame accumulation, does nothing if the renderer hasn't been initialized
      */
     public static void ResetAccumulation()
     {
+        if(previousFrame == null)
+            return;
+
         glClearColor(0, 0, 0, 0);
 
         previousFrame.BindFramebuffer();
@@ -364,6 +388,10 @@ public abstract class RayTracingRenderer extends JComponent
 
     public static void InitializeRenderer()
     {
+        if(Application.IsHeadless())
+            return;
+
+        InitResources();
         Window.OnChangeWindowSize.Subscribe(WindowResizedEvent);
         InitTex();
     }
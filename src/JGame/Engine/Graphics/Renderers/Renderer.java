@@ -1,7 +1,11 @@
 package JGame.Engine.Graphics.Renderers;
 
+import JGame.Engine.Basic.BaseObject;
 import JGame.Engine.Basic.JComponent;
 import JGame.Engine.Graphics.Misc.Camera;
+import JGame.Engine.Graphics.Renderers.RayTracing.RayTracedBoxRenderer;
+import JGame.Engine.Graphics.Renderers.RayTracing.RayTracedSphereRenderer;
+import JGame.Engine.Interfaces.Graphics.IRenderOnly;
 import JGame.Engine.Structures.Vector3D;
 
 import java.util.ArrayList;
@@ -12,7 +16,7 @@ import static org.lwjgl.opengl.GL46.*;
 /**
  * Base class for Renderers, used by other specialized renderers
  */
-public abstract class Renderer extends JComponent
+public abstract class Renderer extends JComponent implements IRenderOnly
 {
     public static final ArrayList<Renderer> allRenderers = new ArrayList<>();
     protected static boolean isBackfaceCullingEnabled = false;
@@ -31,7 +35,18 @@ public abstract class Renderer extends JComponent
     @Override
     protected void OnDestroy()
     {
-        allRenderers.remove(this);
+        if(!IsBulkDestroying())
+            allRenderers.remove(this);
+    }
+
+    /**
+     * Removes every destroyed renderer from the renderer lists in a single pass, used at the end of bulk destroys
+     */
+    public static void RemoveDestroyedRenderers()
+    {
+        allRenderers.removeIf(BaseObject::IsDestroyed);
+        RayTracedSphereRenderer.allRayTracedSpheres.removeIf(BaseObject::IsDestroyed);
+        RayTracedBoxRenderer.allRayTracedBoxes.removeIf(BaseObject::IsDestroyed);
     }
 
     protected float GetDistanceSquaredFromCamera()
@@ -1,6 +1,7 @@
 package JGame.Engine.Graphics.Renderers;
 
 import JGame.Engine.Basic.JGameObject;
+import JGame.Engine.Graphics.Misc.GraphicsResources;
 import JGame.Engine.Graphics.Models.Mesh;
 import JGame.Engine.Graphics.Misc.Camera;
 import JGame.Engine.Graphics.Misc.Material;
@@ -152,9 +153,9 @@ public class SkyboxRenderer extends Renderer implements IMeshOpenGLHandler
     public void OnDestroy()
     {
         for(int buffer : buffers)
-            glDeleteBuffers(buffer);
+            GraphicsResources.DeleteBuffer(buffer);
 
-        glDeleteVertexArrays(VAO);
+        GraphicsResources.DeleteVertexArray(VAO);
 
         super.OnDestroy();
     }
@@ -1,6 +1,8 @@
 package JGame.Engine.Graphics.Renderers.WireframeRenderers;
 
+import JGame.Engine.Basic.NotCopied;
 import JGame.Engine.Graphics.Misc.Camera;
+import JGame.Engine.Graphics.Misc.GraphicsResources;
 import JGame.Engine.Graphics.Misc.Shader;
 import JGame.Engine.Graphics.Renderers.Renderer;
 import JGame.Engine.Structures.ColorRGBA;
@@ -16,6 +18,7 @@ public abstract class WireshapeRenderer extends Renderer
             "/Shaders/Internal/Wireframe/wireframeFragShader.glsl"
     );
 
+    @NotCopied
     private int VAO, VBO, EBO;
 
     abstract protected float[] GetVertices();
@@ -87,9 +90,9 @@ public abstract class WireshapeRenderer extends Renderer
     @Override
     protected void OnDestroy()
     {
-        glDeleteBuffers(VBO);
-        glDeleteBuffers(EBO);
-        glDeleteVertexArrays(VAO);
+        GraphicsResources.DeleteBuffer(VBO);
+        GraphicsResources.DeleteBuffer(EBO);
+        GraphicsResources.DeleteVertexArray(VAO);
 
         shader.Destroy();
 
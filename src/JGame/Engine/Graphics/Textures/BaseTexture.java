@@ -1,5 +1,7 @@
 package JGame.Engine.Graphics.Textures;
 
+import JGame.Engine.Graphics.Misc.GraphicsResources;
+
 import static org.lwjgl.opengl.GL46.*;
 
 /**
@@ -64,6 +66,9 @@ public abstract class BaseTexture
      */
     public void Bind(int textureSlot)
     {
+        if(textureID <= 0)
+            return;
+
         glActiveTexture(textureSlot);
         glBindTexture(_textureTypeGL, textureID);
     }
@@ -78,6 +83,9 @@ public abstract class BaseTexture
      */
     public void Unbind(int textureSlot)
     {
+        if(textureID <= 0)
+            return;
+
         glActiveTexture(textureSlot);
         glBindTexture(_textureTypeGL, 0);
     }
@@ -107,6 +115,6 @@ public abstract class BaseTexture
 
     public void Destroy()
     {
-        glDeleteTextures(textureID);
+        GraphicsResources.DeleteTexture(textureID);
     }
 }
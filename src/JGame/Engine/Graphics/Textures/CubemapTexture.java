@@ -1,5 +1,6 @@
 package JGame.Engine.Graphics.Textures;
 
+import JGame.Application.Application;
 import JGame.Engine.Internal.Logger;
 import JGame.Engine.Utilities.FileUtilities;
 import org.lwjgl.stb.STBImage;
@@ -47,7 +48,8 @@ public class CubemapTexture extends BaseTexture
     {
         super(TextureType.CUBEMAP, filteringType, TextureWrapMode.CLAMP_TO_EDGE);
 
-        textureID = LoadTextures(texturePaths);
+        if(!Application.IsHeadless())
+            textureID = LoadTextures(texturePaths);
     }
 
     /**
@@ -1,5 +1,7 @@
 package JGame.Engine.Graphics.Textures;
 
+import JGame.Engine.Graphics.Misc.GraphicsResources;
+
 import static org.lwjgl.opengl.GL46.*;
 
 public class FrameBufferTexture extends BaseTexture
@@ -73,7 +75,7 @@ public class FrameBufferTexture extends BaseTexture
     public void Destroy()
     {
         super.Destroy();
-        glDeleteFramebuffers(FBO);
+        GraphicsResources.DeleteFramebuffer(FBO);
     }
 
     public int GetFramebufferID()
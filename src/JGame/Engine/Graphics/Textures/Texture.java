@@ -1,5 +1,6 @@
 package JGame.Engine.Graphics.Textures;
 
+import JGame.Application.Application;
 import JGame.Engine.Utilities.FileUtilities;
 import org.lwjgl.stb.STBImage;
 import org.lwjgl.system.MemoryStack;
@@ -43,7 +44,9 @@ public class Texture extends BaseTexture
     {
         super(textureType, filteringType, wrapMode);
 
-        textureID = LoadTexture(texturePath);
+        //Headless applications have no context to upload to, the texture is left without an ID
+        if(!Application.IsHeadless())
+            textureID = LoadTexture(texturePath);
     }
 
     /**
@@ -0,0 +1,34 @@
+package JGame.Engine.Interfaces.Basic;
+
+import JGame.Engine.Coroutines.YieldInstruction;
+
+/**
+ * Body of a coroutine, a function called every time the coroutine resumes that runs the next stage and returns what to wait for before the following one.
+ * Keep the stage and the state shared between stages in fields of the implementation, for example:
+ * <pre>
+ * StartCoroutine(new ICoroutine()
+ * {
+ *     int stage = 0;
+ *
+ *     public YieldInstruction Next()
+ *     {
+ *         switch(stage++)
+ *         {
+ *             case 0: door.Open(); return new WaitForSeconds(2f);
+ *             case 1: door.Close(); return null;
+ *         }
+ *         return null;
+ *     }
+ * });
+ * </pre>
+ */
+@FunctionalInterface
+public interface ICoroutine
+{
+    /**
+     * Runs the next stage of the coroutine
+     * @return
+     * What to wait for before running the following stage, or null if the coroutine is done
+     */
+    YieldInstruction Next();
+}
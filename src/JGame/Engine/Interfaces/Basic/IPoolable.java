@@ -0,0 +1,18 @@
+package JGame.Engine.Interfaces.Basic;
+
+/**
+ * Implement in components that keep state which has to be reset when their object is reused by an ObjectPool.
+ * Pooled objects aren't created nor destroyed again, so Initialize, Start and OnDestroy aren't called when they are reused
+ */
+public interface IPoolable
+{
+    /**
+     * Called when the object is taken from its pool, after it's placed and enabled
+     */
+    default void OnSpawn() { }
+
+    /**
+     * Called when the object is returned to its pool, before it's disabled
+     */
+    default void OnDespawn() { }
+}
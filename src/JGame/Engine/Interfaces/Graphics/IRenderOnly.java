@@ -0,0 +1,9 @@
+package JGame.Engine.Interfaces.Graphics;
+
+/**
+ * Marks components that only exist to draw, like renderers and lights. When the application is headless these components are created dormant:
+ * they're never initialized, never available and don't receive any callback, so they don't create any OpenGL resource
+ */
+public interface IRenderOnly
+{
+}
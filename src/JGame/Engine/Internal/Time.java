@@ -51,6 +51,25 @@ public class Time
         lastFrameTime = currentTime;
     }
 
+    /**
+     * Function used to update the time variables with a fixed delta time instead of the measured one, used by the headless loop
+     * so the simulation doesn't depend on the scheduling of the machine
+     * @param fixedDeltaTime
+     * The time in seconds advanced by this frame
+     */
+    public static void UpdateFixedTime(double fixedDeltaTime)
+    {
+        frame++;
+        deltaTime = fixedDeltaTime;
+
+        if(calculateFramerate)
+        {
+            UpdateFramerate();
+        }
+
+        lastFrameTime = Current();
+    }
+
     /**
      * Function used to update the physics delta time. In practical cases this should always return the same value,
      * but if the framerate goes below 60 it may change.
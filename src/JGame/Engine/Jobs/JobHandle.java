@@ -0,0 +1,59 @@
+package JGame.Engine.Jobs;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Handle to a job scheduled with the JobScheduler, used to declare it as a dependency of other jobs or to wait for it
+ */
+public final class JobHandle
+{
+    final CompletableFuture<Void> future;
+
+    JobHandle(CompletableFuture<Void> future)
+    {
+        this.future = future;
+    }
+
+    /**
+     * Waits until the job and all of its dependencies are done, rethrowing the exception of the job if it failed
+     */
+    public void Complete()
+    {
+        try
+        {
+            future.join();
+        }
+        catch(CompletionException e)
+        {
+            if(e.getCause() instanceof RuntimeException runtimeException)
+                throw runtimeException;
+            if(e.getCause() instanceof Error error)
+                throw error;
+
+            throw e;
+        }
+    }
+
+    /**
+     * Checks if the job is done, without waiting for it
+     * @return
+     * True if the job finished or failed
+     */
+    public boolean IsCompleted()
+    {
+        return future.isDone();
+    }
+
+    /**
+     * Creates a handle completed once every one of the jobs is done, used to depend on a group of jobs
+     * @param handles
+     * The jobs
+     * @return
+     * The combined handle
+     */
+    public static JobHandle Combine(JobHandle... handles)
+    {
+        return new JobHandle(JobScheduler.AllOf(handles));
+    }
+}
@@ -0,0 +1,338 @@
+package JGame.Engine.Jobs;
+
+import JGame.Engine.Settings;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+
+/**
+ * Runs jobs in the work stealing threads of the common ForkJoinPool. Jobs start once the jobs they depend on are done,
+ * every job scheduled during a frame is completed at the sync point before rendering, where the actions queued for the main thread also run.
+ * Jobs shouldn't create, destroy or change objects, they're meant for computations over data owned by the job
+ */
+public final class JobScheduler
+{
+    private static final ForkJoinPool pool = ForkJoinPool.commonPool();
+
+    private static volatile Thread mainThread = Thread.currentThread();
+
+    private static final ConcurrentLinkedQueue<JobHandle> pendingJobs = new ConcurrentLinkedQueue<>();
+    private static final ConcurrentLinkedQueue<Runnable> mainThreadActions = new ConcurrentLinkedQueue<>();
+
+    //------Race detection------
+
+    /**
+     * The object whose work the current thread is doing, writes are attributed to it
+     */
+    private static final ThreadLocal<Object> currentOwner = new ThreadLocal<>();
+    private static final ConcurrentHashMap<Object, Object> writers = new ConcurrentHashMap<>();
+    private static final AtomicInteger runningJobs = new AtomicInteger();
+
+    private JobScheduler() { }
+
+    /**
+     * Sets the current thread as the main thread, called by the application before the main loop starts
+     */
+    public static void Initialize()
+    {
+        mainThread = Thread.currentThread();
+    }
+
+    public static boolean IsMainThread()
+    {
+        return Thread.currentThread() == mainThread;
+    }
+
+    /**
+     * Throws if race detection is on and the current thread isn't the main thread
+     * @param action
+     * The action being done, used in the error message
+     * @param target
+     * The object the action is done to, used in the error message
+     */
+    public static void CheckMainThread(String action, Object target)
+    {
+        if(Settings.Jobs.detectRaces && !IsMainThread())
+            throw new IllegalStateException(action + " " + target + " can only be done on the main thread, not from " + Thread.currentThread().getName() + "!");
+    }
+
+    //------Scheduling------
+
+    /**
+     * Schedules a job
+     * @param job
+     * The job
+     * @param dependencies
+     * The jobs that must be done before this one starts
+     * @return
+     * The handle of the job
+     */
+    public static JobHandle Schedule(Runnable job, JobHandle... dependencies)
+    {
+        Object owner = new Object();
+
+        return Start(() -> RunOwned(owner, job), dependencies);
+    }
+
+    /**
+     * Schedules a job called once for every index in a range, the indices are split in batches run in parallel.
+     * The writes done by every call are attributed to its index, so two indices writing the same Transform are reported as a race
+     * @param count
+     * The number of indices, the job receives the indices from 0 to count - 1
+     * @param batchSize
+     * The number of indices run by every task
+     * @param job
+     * The job
+     * @param dependencies
+     * The jobs that must be done before this one starts
+     * @return
+     * The handle of the job
+     */
+    public static JobHandle ScheduleParallelFor(int count, int batchSize, IntConsumer job, JobHandle... dependencies)
+    {
+        if(batchSize < 1)
+            throw new IllegalArgumentException("The batch size must be at least 1!");
+
+        return Start(() -> new RangeTask(0, count, batchSize, index ->
+        {
+            if(Settings.Jobs.detectRaces)
+                RunOwned(new ParallelForIndex(job, index), () -> job.accept(index));
+            else
+                job.accept(index);
+        }).invoke(), dependencies);
+    }
+
+    /**
+     * Schedules a job called once for every item of a list, the items are split in batches run in parallel.
+     * The writes done by every call are attributed to its item, so two items writing the same Transform are reported as a race
+     * @param items
+     * The items, the list can't change until the job is done
+     * @param batchSize
+     * The number of items run by every task
+     * @param job
+     * The job
+     * @param dependencies
+     * The jobs that must be done before this one starts
+     * @return
+     * The handle of the job
+     * @param <T>
+     * The type of the items
+     */
+    public static <T> JobHandle ScheduleForEach(List<T> items, int batchSize, Consumer<T> job, JobHandle... dependencies)
+    {
+        if(batchSize < 1)
+            throw new IllegalArgumentException("The batch size must be at least 1!");
+
+        return Start(() -> new RangeTask(0, items.size(), batchSize, index ->
+        {
+            T item = items.get(index);
+
+            if(Settings.Jobs.detectRaces)
+                RunOwned(item, () -> job.accept(item));
+            else
+                job.accept(item);
+        }).invoke(), dependencies);
+    }
+
+    /**
+     * Queues an action to run on the main thread at the next sync point, used by jobs to apply changes to shared state
+     * @param action
+     * The action
+     */
+    public static void RunOnMainThread(Runnable action)
+    {
+        mainThreadActions.add(action);
+    }
+
+    //------Sync------
+
+    /**
+     * Waits for every scheduled job and runs the actions queued for the main thread, called by the application before rendering.
+     * If jobs failed the exception of the first one is rethrown once every job is done
+     */
+    public static void CompleteAll()
+    {
+        RuntimeException failure = null;
+        JobHandle handle;
+
+        while((handle = pendingJobs.poll()) != null)
+        {
+            try
+            {
+                handle.Complete();
+            }
+            catch(RuntimeException e)
+            {
+                if(failure == null)
+                    failure = e;
+            }
+        }
+
+        RunMainThreadActions();
+
+        if(failure != null)
+            throw failure;
+    }
+
+    /**
+     * Runs the actions queued for the main thread and forgets the writes recorded by the race detection
+     */
+    public static void RunMainThreadActions()
+    {
+        Runnable action;
+
+        while((action = mainThreadActions.poll()) != null)
+            action.run();
+
+        if(runningJobs.get() == 0)
+            writers.clear();
+    }
+
+    /**
+     * Records a write to an object shared by the jobs, throws if another job already wrote it since the last sync point.
+     * Called by the engine on Transform writes when Settings.Jobs.detectRaces is on
+     * @param target
+     * The written object
+     */
+    public static void RecordWrite(Object target)
+    {
+        Object owner = currentOwner.get();
+
+        if(owner == null)
+        {
+            //Writes from the main thread only race with jobs running at the same time
+            if(IsMainThread() && runningJobs.get() == 0)
+                return;
+
+            owner = Thread.currentThread();
+        }
+
+        Object previousOwner = writers.putIfAbsent(target, owner);
+
+        if(previousOwner != null && previousOwner != owner)
+            throw new IllegalStateException("Race detected, " + target + " was written by " + previousOwner + " and " + owner + " without a sync point in between!");
+    }
+
+    //------Internal------
+
+    static CompletableFuture<Void> AllOf(JobHandle[] handles)
+    {
+        if(handles == null || handles.length == 0)
+            return CompletableFuture.completedFuture(null);
+
+        if(handles.length == 1)
+            return handles[0].future;
+
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[handles.length];
+        for(int i = 0; i < handles.length; i++)
+            futures[i] = handles[i].future;
+
+        return CompletableFuture.allOf(futures);
+    }
+
+    /**
+     * Submits the work to the pool once the dependencies are done. The pool is used directly instead of the async methods of CompletableFuture,
+     * which start a new thread for every task when the common pool has a single thread
+     */
+    private static JobHandle Start(Runnable work, JobHandle[] dependencies)
+    {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+
+        AllOf(dependencies).whenComplete((result, dependencyFailure) ->
+        {
+            if(dependencyFailure != null)
+            {
+                future.completeExceptionally(dependencyFailure);
+                return;
+            }
+
+            pool.execute(() ->
+            {
+                try
+                {
+                    work.run();
+                    future.complete(null);
+                }
+                catch(Throwable e)
+                {
+                    future.completeExceptionally(e);
+                }
+            });
+        });
+
+        JobHandle handle = new JobHandle(future);
+        pendingJobs.add(handle);
+
+        return handle;
+    }
+
+    private static void RunOwned(Object owner, Runnable work)
+    {
+        if(!Settings.Jobs.detectRaces)
+        {
+            work.run();
+            return;
+        }
+
+        Object previousOwner = currentOwner.get();
+        currentOwner.set(owner);
+        runningJobs.incrementAndGet();
+
+        try
+        {
+            work.run();
+        }
+        finally
+        {
+            runningJobs.decrementAndGet();
+            currentOwner.set(previousOwner);
+        }
+    }
+
+    /**
+     * The owner of the writes done by an index of a parallel for, compared by identity so the same index of two jobs are different owners
+     */
+    private record ParallelForIndex(IntConsumer job, int index) { }
+
+    /**
+     * Splits a range of indices in halves until every task has at most batchSize indices
+     */
+    private static final class RangeTask extends RecursiveAction
+    {
+        private static final long serialVersionUID = 1L;
+
+        private final int start;
+        private final int end;
+        private final int batchSize;
+        private final IntConsumer body;
+
+        private RangeTask(int start, int end, int batchSize, IntConsumer body)
+        {
+            this.start = start;
+            this.end = end;
+            this.batchSize = batchSize;
+            this.body = body;
+        }
+
+        @Override
+        protected void compute()
+        {
+            if(end - start <= batchSize)
+            {
+                for(int i = start; i < end; i++)
+                    body.accept(i);
+                return;
+            }
+
+            int middle = (start + end) >>> 1;
+            invokeAll(new RangeTask(start, middle, batchSize, body), new RangeTask(middle, end, batchSize, body));
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package JGame.Engine.Jobs;
+
+import JGame.Engine.Basic.BaseObject;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a component whose Update and PhysicsUpdate only change its own state, so the updates of all of its instances can run at the same time
+ * in the worker threads of the JobScheduler. The parallel updates of a phase run before the serial ones and are all done before the phase ends.
+ * <p>
+ * Inside a parallel update the component can read other objects and write its own fields and Transform, but it can't create, destroy or reparent objects,
+ * add or remove components or write state shared with other objects. The change events of Transforms written in parallel are invoked on the main thread
+ * once the parallel updates are done. Turn on Settings.Jobs.detectRaces while developing to catch the writes that break these rules
+ */
+@Inherited
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface ParallelUpdate
+{
+    /**
+     * Classes whose parallel updates must be finished before the updates of this class start, for example the component this one reads from.
+     * Classes without parallel updates or without instances are ignored
+     */
+    Class<? extends BaseObject>[] after() default {};
+}
@@ -1,8 +1,10 @@
 package JGame.Engine.Physics.Bodies;
 
 import JGame.Engine.EventSystem.Event;
+import JGame.Engine.Interfaces.Basic.IPoolable;
 import JGame.Engine.Internal.Logger;
 import JGame.Engine.Internal.Time;
+import JGame.Engine.Physics.Collision.BoundingVolumeHierarchy.ColliderMidPhase;
 import JGame.Engine.Physics.Collision.BoundingVolumes.BoundingVolume;
 import JGame.Engine.Physics.Collision.Colliders.Collider;
 import JGame.Engine.Physics.Collision.Contact.Contact;
@@ -27,7 +29,7 @@ import java.util.List;
 /**
  * Represents a body in a physics simulation
  */
-public class Rigidbody extends PhysicsObject
+public class Rigidbody extends PhysicsObject implements IPoolable
 {
     //------Enumerators------
     public enum ForceType
@@ -60,6 +62,10 @@ public class Rigidbody extends PhysicsObject
 
     //------Variables------
     protected final List<Collider> colliders = new ArrayList<>();
+    /**
+     * Mid phase filtering the collider pairs that reach the narrow phase
+     */
+    private final ColliderMidPhase colliderMidPhase = new ColliderMidPhase(colliders);
 
     protected float inverseMass = 1.0f;
     protected float mass = 1.0f;
@@ -75,6 +81,19 @@ public class Rigidbody extends PhysicsObject
 
     public String tag = "Default";
 
+    /**
+     * The collision layer of this body, between 0 and Physics.COLLISION_LAYER_COUNT - 1
+     */
+    private int layer = 0;
+    /**
+     * Category bits of this body, derived from its layer
+     */
+    private int collisionCategory = 1;
+    /**
+     * Bitmask of the categories this body is allowed to collide with, filtered by the layer interaction matrix
+     */
+    public int collisionMask = ~0;
+
     /**
      * Defines how much this body bounces in collisions, 0 means no bounciness, 1 means no energy is lost in the collision
      */
@@ -167,7 +186,11 @@ public class Rigidbody extends PhysicsObject
         transform().OnChangeRotation.Subscribe(updateWorldSpaceInertiaTensor);
         transform().OnChangeTransformation.Subscribe(updateInBVHTree);
 
-        BroadCollisionDetection.BVHTree.Insert(this);
+        //A suspended static body is still in its tree, but it may have been moved while it was in the pool
+        if(IsSuspended() && bodyType == BodyType.Static)
+            BroadCollisionDetection.Update(this);
+        else
+            BroadCollisionDetection.Insert(this);
     }
 
     @Override
@@ -177,13 +200,51 @@ public class Rigidbody extends PhysicsObject
         transform().OnChangeRotation.Unsubscribe(updateWorldSpaceInertiaTensor);
         transform().OnChangeTransformation.Unsubscribe(updateInBVHTree);
 
-        BroadCollisionDetection.BVHTree.Remove(this);
+        //Bulk destroys rebuild the trees once at the end instead, suspended static bodies stay in their tree
+        if(!IsBulkDestroying() && (!IsSuspended() || bodyType != BodyType.Static))
+            BroadCollisionDetection.Remove(this);
+    }
+
+    @Override
+    protected void OnRelease()
+    {
+        super.OnRelease();
+
+        if(!IsBulkDestroying() && bodyType == BodyType.Static)
+            BroadCollisionDetection.Remove(this);
     }
 
     @Override
     protected void OnDestroy()
     {
         colliders.clear();
+        colliderMidPhase.MarkDirty();
+    }
+
+    @Override
+    protected void OnCopied()
+    {
+        super.OnCopied();
+
+        linearDragCoefficients = new Physics.DragCoefficients(linearDragCoefficients);
+        angularDragCoefficients = new Physics.DragCoefficients(angularDragCoefficients);
+        movementConstraints = new Physics.Constraints(movementConstraints);
+        rotationConstraints = new Physics.Constraints(rotationConstraints);
+        inverseInertiaTensor = new Matrix3x3(inverseInertiaTensor);
+    }
+
+    /**
+     * Stops the body when it's returned to an ObjectPool, so it doesn't keep the motion it had when it's spawned again
+     */
+    @Override
+    public void OnDespawn()
+    {
+        linearVelocity = Vector3D.Zero;
+        linearAcceleration = Vector3D.Zero;
+        angularVelocity = Vector3D.Zero;
+        angularAcceleration = Vector3D.Zero;
+
+        ClearAccumulators();
     }
 
     @Override
@@ -438,8 +499,15 @@ public class Rigidbody extends PhysicsObject
         if(this.bodyType == bodyType)
             return;
 
+        //Static and non-static bodies live in different trees, move the body across them
+        if(IsInBroadPhase())
+            BroadCollisionDetection.Remove(this);
+
         this.bodyType = bodyType;
 
+        if(IsInBroadPhase())
+            BroadCollisionDetection.Insert(this);
+
         linearVelocity = Vector3D.Zero;
         angularVelocity = Vector3D.Zero;
 
@@ -450,6 +518,60 @@ public class Rigidbody extends PhysicsObject
         return bodyType;
     }
 
+    /**
+     * Returns true if the body belongs in a broad phase tree. Static bodies suspended in an ObjectPool stay in the static tree,
+     * which is only rebuilt when it changes, while suspended dynamic bodies leave the dynamic tree, which is traversed against itself every step
+     * @return
+     * True if the body should be in a tree
+     */
+    public boolean IsInBroadPhase()
+    {
+        return IsAvailable() || (IsSuspended() && bodyType == BodyType.Static);
+    }
+
+    /**
+     * Sets the collision layer of the body
+     * @param layer
+     * The layer, between 0 and Physics.COLLISION_LAYER_COUNT - 1
+     */
+    public void SetLayer(int layer)
+    {
+        Physics.CheckLayer(layer);
+
+        this.layer = layer;
+        collisionCategory = 1 << layer;
+    }
+    public int GetLayer()
+    {
+        return layer;
+    }
+    public int GetCollisionCategory()
+    {
+        return collisionCategory;
+    }
+
+    /**
+     * Checks the layer and mask filters, and skips static-static pairs, before any contact is generated
+     * @param other
+     * The other body
+     * @return
+     * True if both bodies are allowed to collide
+     */
+    public boolean CanCollideWith(Rigidbody other)
+    {
+        //Bodies suspended in an ObjectPool stay in the trees while they're unavailable
+        if(!IsAvailable() || !other.IsAvailable())
+            return false;
+
+        if(bodyType == BodyType.Static && other.bodyType == BodyType.Static)
+            return false;
+
+        int maskA = collisionMask & Physics.GetLayerCollisionMask(layer);
+        int maskB = other.collisionMask & Physics.GetLayerCollisionMask(other.layer);
+
+        return (collisionCategory & maskB) != 0 && (other.collisionCategory & maskA) != 0;
+    }
+
     //------Miscellaneous functions------
 
     /**
@@ -541,7 +663,7 @@ public class Rigidbody extends PhysicsObject
      */
     private void UpdateInHierarchy()
     {
-        BroadCollisionDetection.BVHTree.UpdateNode(this);
+        BroadCollisionDetection.Update(this);
     }
 
     /**
@@ -561,7 +683,11 @@ public class Rigidbody extends PhysicsObject
      */
     public void AddCollider(Collider collider, boolean ignoreUpdate)
     {
+        if(colliders.contains(collider))
+            return;
+
         colliders.add(collider);
+        colliderMidPhase.MarkDirty();
         if(!ignoreUpdate)
             UpdateInHierarchy();
     }
@@ -571,7 +697,10 @@ public class Rigidbody extends PhysicsObject
      */
     public void RemoveCollider(Collider collider)
     {
-        colliders.remove(collider);
+        if(!colliders.remove(collider))
+            return;
+
+        colliderMidPhase.MarkDirty();
         UpdateInHierarchy();
     }
 
@@ -588,25 +717,35 @@ public class Rigidbody extends PhysicsObject
     {
         List<Contact> contacts = new ArrayList<>();
 
-        if(other.colliders.isEmpty() || colliders.isEmpty())
-            return contacts;
+        colliderMidPhase.GetContacts(other.colliderMidPhase, contacts, limit);
+
+        return contacts;
+    }
 
-        for(Collider col : colliders)
+    /**
+     * Records the overlaps between the trigger colliders of this Rigidbody and another, without generating contacts
+     * @param other
+     * The other Rigidbody
+     */
+    public void ReportTriggerOverlaps(Rigidbody other)
+    {
+        colliderMidPhase.ReportTriggerOverlaps(other.colliderMidPhase);
+    }
+
+    /**
+     * Checks if any collider of this Rigidbody is a trigger
+     * @return
+     * True if a collider is a trigger
+     */
+    public boolean HasTriggers()
+    {
+        for(Collider collider : colliders)
         {
-            for(Collider otherCol : other.colliders)
-            {
-                if(limit <= 0)
-                    return contacts;
-
-                Contact contact = col.GetContact(otherCol);
-                if(contact == null)
-                    continue;
-                contacts.add(contact);
-                limit -= 1;
-            }
+            if(collider.isTrigger)
+                return true;
         }
 
-        return contacts;
+        return false;
     }
 
     /**
@@ -635,6 +774,9 @@ public class Rigidbody extends PhysicsObject
 
         for(Collider collider : colliders)
         {
+            if(collider.isTrigger)
+                continue;
+
             RaycastContact contact = collider.Raycast(origin, direction, maxDistance);
 
             if(contact == null)
@@ -659,12 +801,7 @@ public class Rigidbody extends PhysicsObject
      */
     public BoundingVolume GetBoundingVolume()
     {
-        if(colliders.isEmpty())
-            return null;
-
-        List<BoundingVolume> boundingVolumes = colliders.stream().map(Collider::GetBoundingVolume).toList();
-
-        return BoundingVolume.GenerateFromBounds(boundingVolumes);
+        return colliderMidPhase.GetBoundingVolume();
     }
 
     /**
@@ -8,9 +8,11 @@ import JGame.Engine.Physics.Bodies.Rigidbody;
 import JGame.Engine.Physics.Collision.BoundingVolumes.BoundingBox;
 import JGame.Engine.Physics.Collision.BoundingVolumes.BoundingVolume;
 import JGame.Engine.Physics.Collision.Contact.PotentialContact;
+import JGame.Engine.Physics.General.PhysicsMetrics;
 import JGame.Engine.Settings;
 
 import java.util.ArrayList;
+import java.util.IdentityHashMap;
 import java.util.List;
 
 /**
@@ -19,6 +21,10 @@ import java.util.List;
 public class BVHManager extends BaseObject
 {
     private BVHNode root;
+    /**
+     * Leaf of every body in the tree, so updating or removing a body doesn't search the tree
+     */
+    private final IdentityHashMap<Rigidbody, BVHNode> leaves = new IdentityHashMap<>();
 
     private final List<WirecubeRenderer> boundVisualizersPool = new ArrayList<>();
     private final Event1P<Boolean> onChangeBHVDebug = new Event1P<Boolean>()
@@ -49,7 +55,7 @@ public class BVHManager extends BaseObject
 
     public List<PotentialContact> GetPotentialContacts()
     {
-        if(root == null) return List.of();
+        if(root == null) return new ArrayList<>();
 
         return root.GetPotentialContacts(Settings.Physics.BroadCollisionLimit());
     }
@@ -101,6 +107,8 @@ public class BVHManager extends BaseObject
      */
     public void UpdateNode(Rigidbody body)
     {
+        PhysicsMetrics.AddCounter(PhysicsMetrics.BVH_REINSERTS, 1);
+
         Remove(body);
         Insert(body);
     }
@@ -116,7 +124,7 @@ public class BVHManager extends BaseObject
 
         if (root == null)
         {
-            root = new BVHNode(null, body, volume);
+            root = new BVHNode(null, body, volume, leaves);
         }
         else
         {
@@ -133,12 +141,21 @@ public class BVHManager extends BaseObject
     {
         if(root == null) return;
 
-        BVHNode node = FindNode(body);
+        BVHNode node = leaves.remove(body);
         if(node != null) node.RemoveNode();
 
         if(node == root)
             root = null;
     }
+    /**
+     * Removes every body from the tree at once
+     */
+    public void Clear()
+    {
+        root = null;
+        leaves.clear();
+    }
+
     /**
      * Finds a node along the tree based on a rigidbody
      * @param body
@@ -148,7 +165,17 @@ public class BVHManager extends BaseObject
      */
     public BVHNode FindNode(Rigidbody body)
     {
-        return FindNode(body, root);
+        return leaves.get(body);
+    }
+
+    /**
+     * Gets the root node of the tree
+     * @return
+     * The root node, or null if the tree is empty
+     */
+    public BVHNode GetRoot()
+    {
+        return root;
     }
 
     /**
@@ -171,28 +198,6 @@ public class BVHManager extends BaseObject
         return root.TreeAsList();
     }
 
-    /**
-     * Finds a node along the tree based on a rigidbody
-     * @param body
-     * The body to find
-     * @param node
-     * The current Node
-     * @return
-     * The node that corresponds to this body, or null if it's not found
-     */
-    private static BVHNode FindNode(Rigidbody body, BVHNode node)
-    {
-        if(node == null) return null;
-        if(node.body == body) return node;
-        if(node.IsLeaf()) return null;
-
-        BVHNode child1 = FindNode(body, node.children[0]);
-        if(child1 != null)
-            return child1;
-
-        return FindNode(body, node.children[1]);
-    }
-
     @Override
     protected void OnDestroy()
     {
@@ -6,6 +6,7 @@ import JGame.Engine.Physics.Collision.Contact.PotentialContact;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Node used by the binary tree hierarchy for bounding volumes
@@ -24,12 +25,37 @@ public class BVHNode
      */
     public Rigidbody body;
 
+    /**
+     * Leaf of every body in the tree, shared by all the nodes of the tree and kept up to date when bodies move between nodes.
+     * Null if the tree doesn't track its leaves
+     */
+    private final Map<Rigidbody, BVHNode> leaves;
+
 
     public BVHNode(BVHNode parent, Rigidbody body, BoundingVolume volume)
+    {
+        this(parent, body, volume, parent != null ? parent.leaves : null);
+    }
+
+    /**
+     * Creates a node tracking the leaf of its body in a map, used for the root of trees that look up the nodes of their bodies
+     * @param parent
+     * The parent node, or null for the root
+     * @param body
+     * The body of the node
+     * @param volume
+     * The volume of the node
+     * @param leaves
+     * The map from every body of the tree to its leaf
+     */
+    public BVHNode(BVHNode parent, Rigidbody body, BoundingVolume volume, Map<Rigidbody, BVHNode> leaves)
     {
         this.parent = parent;
         this.body = body;
         this.volume = volume;
+        this.leaves = leaves;
+
+        TrackLeaf(this);
     }
 
     /**
@@ -140,7 +166,9 @@ public class BVHNode
 
         if(IsLeaf() && other.IsLeaf())
         {
-            potentialContacts.add(new PotentialContact(body, other.body));
+            //Filter by layers and body types before allocating the pair
+            if(body.CanCollideWith(other.body))
+                potentialContacts.add(new PotentialContact(body, other.body));
             return potentialContacts;
         }
 
@@ -174,6 +202,29 @@ public class BVHNode
 
     }
 
+    /**
+     * Records the trigger overlaps between a body and every body under this node, without any limit
+     * @param other
+     * The body
+     * @param otherVolume
+     * The bounding volume of the body
+     */
+    public void ReportTriggerOverlaps(Rigidbody other, BoundingVolume otherVolume)
+    {
+        if(volume == null || !volume.Overlaps(otherVolume))
+            return;
+
+        if(IsLeaf())
+        {
+            if(body != other && other.CanCollideWith(body))
+                other.ReportTriggerOverlaps(body);
+            return;
+        }
+
+        if(children[0] != null) children[0].ReportTriggerOverlaps(other, otherVolume);
+        if(children[1] != null) children[1].ReportTriggerOverlaps(other, otherVolume);
+    }
+
     /**
      * Inserts a new body with its respective volume into this node
      * @param newBody
@@ -204,6 +255,18 @@ public class BVHNode
         }
     }
 
+    /**
+     * Replaces the volume of the node and refits the volumes of its ancestors, keeping the structure of the tree
+     * @param newVolume
+     * The new volume of the node
+     */
+    public void Refit(BoundingVolume newVolume)
+    {
+        volume = newVolume;
+
+        if(parent != null) parent.RecalculateBoundingVolume();
+    }
+
     /**
      * Recalculates the bounding volume of a node
      */
@@ -229,6 +292,7 @@ public class BVHNode
             {
                 parent.volume = sibling.volume;
                 parent.body = sibling.body;
+                TrackLeaf(parent);
                 parent.children[0] = sibling.children[0];
                 parent.children[1] = sibling.children[1];
 
@@ -272,6 +336,12 @@ public class BVHNode
         parent = null;
     }
 
+    private void TrackLeaf(BVHNode node)
+    {
+        if(leaves != null && node.body != null)
+            leaves.put(node.body, node);
+    }
+
     @Override
     public String toString()
     {
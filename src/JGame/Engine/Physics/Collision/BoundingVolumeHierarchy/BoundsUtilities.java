@@ -0,0 +1,200 @@
+package JGame.Engine.Physics.Collision.BoundingVolumeHierarchy;
+
+import JGame.Engine.Physics.Collision.BoundingVolumes.BoundingBox;
+import JGame.Engine.Physics.Collision.BoundingVolumes.BoundingSphere;
+import JGame.Engine.Physics.Collision.BoundingVolumes.BoundingVolume;
+import JGame.Engine.Structures.Vector3D;
+
+/**
+ * Utilities class for axis aligned bounds stored in float arrays as [minX, minY, minZ, maxX, maxY, maxZ] at an offset,
+ * used by the trees and mid phases that keep their bounds flattened
+ */
+public class BoundsUtilities
+{
+    /**
+     * Resets bounds to an empty box, which any grow operation replaces
+     * @param bounds
+     * The array holding the bounds
+     * @param offset
+     * The offset of the bounds in the array
+     */
+    public static void Reset(float[] bounds, int offset)
+    {
+        for(int axis = 0; axis < 3; axis++)
+        {
+            bounds[offset + axis] = Float.POSITIVE_INFINITY;
+            bounds[offset + 3 + axis] = Float.NEGATIVE_INFINITY;
+        }
+    }
+
+    /**
+     * Grows bounds to enclose other bounds
+     * @param bounds
+     * The array holding the bounds to grow
+     * @param offset
+     * The offset of the bounds to grow
+     * @param other
+     * The array holding the bounds to enclose
+     * @param otherOffset
+     * The offset of the bounds to enclose
+     */
+    public static void Grow(float[] bounds, int offset, float[] other, int otherOffset)
+    {
+        for(int axis = 0; axis < 3; axis++)
+        {
+            bounds[offset + axis] = Math.min(bounds[offset + axis], other[otherOffset + axis]);
+            bounds[offset + 3 + axis] = Math.max(bounds[offset + 3 + axis], other[otherOffset + 3 + axis]);
+        }
+    }
+
+    /**
+     * Grows bounds to enclose the centroid of other bounds
+     * @param bounds
+     * The array holding the bounds to grow
+     * @param offset
+     * The offset of the bounds to grow
+     * @param other
+     * The array holding the bounds whose centroid is enclosed
+     * @param otherOffset
+     * The offset of the bounds whose centroid is enclosed
+     */
+    public static void GrowCentroid(float[] bounds, int offset, float[] other, int otherOffset)
+    {
+        for(int axis = 0; axis < 3; axis++)
+        {
+            float centroid = Centroid(other, otherOffset, axis);
+            bounds[offset + axis] = Math.min(bounds[offset + axis], centroid);
+            bounds[offset + 3 + axis] = Math.max(bounds[offset + 3 + axis], centroid);
+        }
+    }
+
+    /**
+     * Writes the union of two bounds, the target can be one of the inputs
+     * @param target
+     * The array the union is written to
+     * @param targetOffset
+     * The offset the union is written at
+     * @param a
+     * The array holding the first bounds
+     * @param offsetA
+     * The offset of the first bounds
+     * @param b
+     * The array holding the second bounds
+     * @param offsetB
+     * The offset of the second bounds
+     */
+    public static void Merge(float[] target, int targetOffset, float[] a, int offsetA, float[] b, int offsetB)
+    {
+        for(int axis = 0; axis < 3; axis++)
+        {
+            target[targetOffset + axis] = Math.min(a[offsetA + axis], b[offsetB + axis]);
+            target[targetOffset + 3 + axis] = Math.max(a[offsetA + 3 + axis], b[offsetB + 3 + axis]);
+        }
+    }
+
+    /**
+     * Checks if two bounds overlap, touching bounds count as overlapping
+     * @param a
+     * The array holding the first bounds
+     * @param offsetA
+     * The offset of the first bounds
+     * @param b
+     * The array holding the second bounds
+     * @param offsetB
+     * The offset of the second bounds
+     * @return
+     * True if the bounds overlap
+     */
+    public static boolean Overlaps(float[] a, int offsetA, float[] b, int offsetB)
+    {
+        return a[offsetA] <= b[offsetB + 3] && a[offsetA + 3] >= b[offsetB] &&
+               a[offsetA + 1] <= b[offsetB + 4] && a[offsetA + 4] >= b[offsetB + 1] &&
+               a[offsetA + 2] <= b[offsetB + 5] && a[offsetA + 5] >= b[offsetB + 2];
+    }
+
+    /**
+     * Gets the centroid of bounds along an axis
+     * @param bounds
+     * The array holding the bounds
+     * @param offset
+     * The offset of the bounds
+     * @param axis
+     * 0 for X, 1 for Y and 2 for Z
+     * @return
+     * The centroid along the axis
+     */
+    public static float Centroid(float[] bounds, int offset, int axis)
+    {
+        return (bounds[offset + axis] + bounds[offset + 3 + axis]) * 0.5f;
+    }
+
+    /**
+     * Gets the surface area of bounds, used by the Surface Area Heuristic
+     * @param bounds
+     * The array holding the bounds
+     * @param offset
+     * The offset of the bounds
+     * @return
+     * The surface area, 0 for empty bounds
+     */
+    public static float SurfaceArea(float[] bounds, int offset)
+    {
+        float x = bounds[offset + 3] - bounds[offset];
+        float y = bounds[offset + 4] - bounds[offset + 1];
+        float z = bounds[offset + 5] - bounds[offset + 2];
+
+        if(x < 0 || y < 0 || z < 0)
+            return 0;
+
+        return 2 * (x * y + y * z + z * x);
+    }
+
+    /**
+     * Writes the axis aligned bounds of a bounding volume
+     * @param volume
+     * The bounding volume
+     * @param target
+     * The array the bounds are written to
+     * @param offset
+     * The offset the bounds are written at
+     */
+    public static void Write(BoundingVolume volume, float[] target, int offset)
+    {
+        Vector3D center = volume.GetCenter();
+        Vector3D extents;
+
+        if(volume instanceof BoundingBox box)
+        {
+            extents = box.GetHalfSize();
+        }
+        else
+        {
+            float radius = volume instanceof BoundingSphere sphere ? sphere.GetRadius() : 0;
+            extents = new Vector3D(radius, radius, radius);
+        }
+
+        target[offset] = center.x - extents.x;
+        target[offset + 1] = center.y - extents.y;
+        target[offset + 2] = center.z - extents.z;
+        target[offset + 3] = center.x + extents.x;
+        target[offset + 4] = center.y + extents.y;
+        target[offset + 5] = center.z + extents.z;
+    }
+
+    /**
+     * Creates a bounding box from bounds
+     * @param bounds
+     * The array holding the bounds
+     * @param offset
+     * The offset of the bounds
+     * @return
+     * The bounding box
+     */
+    public static BoundingBox ToBox(float[] bounds, int offset)
+    {
+        Vector3D min = new Vector3D(bounds[offset], bounds[offset + 1], bounds[offset + 2]);
+        Vector3D max = new Vector3D(bounds[offset + 3], bounds[offset + 4], bounds[offset + 5]);
+
+        return new BoundingBox(min.Add(max).Scale(0.5f), max.Subtract(min).Scale(0.5f));
+    }
+}
@@ -0,0 +1,443 @@
+package JGame.Engine.Physics.Collision.BoundingVolumeHierarchy;
+
+import JGame.Engine.Physics.Collision.BoundingVolumes.BoundingVolume;
+import JGame.Engine.Physics.Collision.Colliders.Collider;
+import JGame.Engine.Physics.Collision.Contact.Contact;
+import JGame.Engine.Physics.Collision.Detection.TriggerDetection;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Mid phase for the colliders of a single rigidbody, only collider pairs whose bounds overlap reach the narrow phase.
+ * Bodies with few colliders keep them in a list sorted along the X axis, bigger compound bodies build a small flattened AABB tree.
+ * The collider bounds are read from the collider world caches and only refreshed when a collider moved,
+ * the tree is rebuilt when colliders are added or removed and refitted otherwise.
+ */
+public class ColliderMidPhase
+{
+    /**
+     * Bodies with up to this many colliders use a sorted list instead of a tree
+     */
+    public static final int SORTED_LIST_THRESHOLD = 8;
+
+    /**
+     * Initial size of the traversal stack, it grows when a deeper tree needs more
+     */
+    private static final int TREE_STACK_SIZE = 64;
+
+    private final List<Collider> colliders;
+
+    private Collider[] items = new Collider[0];
+    private BoundingVolume[] itemVolumes = new BoundingVolume[0];
+    /**
+     * Bounds of every item, stored as [minX, minY, minZ, maxX, maxY, maxZ]
+     */
+    private float[] itemBounds = new float[0];
+    private int count = 0;
+
+    private final float[] bounds = new float[6];
+    private BoundingVolume boundingVolume;
+
+    private boolean structureDirty = true;
+
+    //------Flattened tree, nodes in pre-order so children always come after their parent------
+
+    private float[] nodeBounds = new float[0];
+    private int[] nodeLeft = new int[0];
+    private int[] nodeRight = new int[0];
+    private int[] nodeItem = new int[0];
+    private int nodeCount = 0;
+
+    private int[] stack = new int[TREE_STACK_SIZE];
+    private final float[] sortTemp = new float[6];
+
+    /**
+     * Creates the mid phase for a list of colliders, the list is owned by the rigidbody
+     * @param colliders
+     * The colliders of the rigidbody
+     */
+    public ColliderMidPhase(List<Collider> colliders)
+    {
+        this.colliders = colliders;
+    }
+
+    /**
+     * Flags the structure to be rebuilt, should be called whenever a collider is added or removed
+     */
+    public void MarkDirty()
+    {
+        structureDirty = true;
+    }
+
+    /**
+     * Gets the number of colliders tracked by the mid phase
+     * @return
+     * The number of colliders
+     */
+    public int Count()
+    {
+        Refresh();
+        return count;
+    }
+
+    /**
+     * Gets the bounding volume encapsulating every collider
+     * @return
+     * The bounding volume encapsulating every collider, null if there are no colliders
+     */
+    public BoundingVolume GetBoundingVolume()
+    {
+        Refresh();
+        return boundingVolume;
+    }
+
+    /**
+     * Adds the contacts between the colliders of this mid phase and the colliders of another, the colliders of this mid phase
+     * are always passed first to the narrow phase. Overlaps with trigger colliders are recorded even once the limit is reached,
+     * so the limit can't end a trigger overlap
+     * @param other
+     * The other mid phase
+     * @param contacts
+     * The list the contacts are added to
+     * @param limit
+     * The max number of contacts to add
+     * @return
+     * The number of contacts added
+     */
+    public int GetContacts(ColliderMidPhase other, List<Contact> contacts, int limit)
+    {
+        Refresh();
+        other.Refresh();
+
+        if(count == 0 || other.count == 0 || !BoundsUtilities.Overlaps(bounds, 0, other.bounds, 0))
+            return 0;
+
+        boolean triggers = HasTriggers() || other.HasTriggers();
+        if(limit <= 0 && !triggers)
+            return 0;
+
+        //Iterate the body with fewer colliders and query the structure of the other one
+        boolean iterateThis = count <= other.count;
+        ColliderMidPhase outer = iterateThis ? this : other;
+        ColliderMidPhase inner = iterateThis ? other : this;
+
+        int added = 0;
+        for(int i = 0; i < outer.count && (added < limit || triggers); i++)
+        {
+            if(!BoundsUtilities.Overlaps(outer.itemBounds, i * 6, inner.bounds, 0))
+                continue;
+
+            added += inner.Query(outer, i, iterateThis, triggers, contacts, limit - added);
+        }
+
+        return added;
+    }
+
+    /**
+     * Records the overlaps between the colliders of this mid phase and the colliders of another where at least one is a trigger, without generating contacts
+     * @param other
+     * The other mid phase
+     */
+    public void ReportTriggerOverlaps(ColliderMidPhase other)
+    {
+        GetContacts(other, null, 0);
+    }
+
+    /**
+     * Checks if any collider is a trigger, read every time since the flag can be changed at any moment
+     */
+    private boolean HasTriggers()
+    {
+        for(int i = 0; i < count; i++)
+        {
+            if(items[i].isTrigger)
+                return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * Runs the narrow phase between an item of another mid phase and every item of this one overlapping it
+     */
+    private int Query(ColliderMidPhase outer, int outerIndex, boolean outerFirst, boolean triggers, List<Contact> contacts, int limit)
+    {
+        float[] queryBounds = outer.itemBounds;
+        int queryOffset = outerIndex * 6;
+        Collider queryCollider = outer.items[outerIndex];
+
+        int added = 0;
+
+        if(nodeCount == 0)
+        {
+            //Sorted list, stop as soon as the items start past the query along X
+            for(int i = 0; i < count && (added < limit || triggers); i++)
+            {
+                if(itemBounds[i * 6] > queryBounds[queryOffset + 3])
+                    break;
+
+                if(BoundsUtilities.Overlaps(itemBounds, i * 6, queryBounds, queryOffset))
+                    added += NarrowPhase(queryCollider, items[i], outerFirst, contacts, limit - added);
+            }
+
+            return added;
+        }
+
+        int stackSize = 0;
+        stack[stackSize++] = 0;
+
+        while(stackSize > 0 && (added < limit || triggers))
+        {
+            int node = stack[--stackSize];
+
+            if(!BoundsUtilities.Overlaps(nodeBounds, node * 6, queryBounds, queryOffset))
+                continue;
+
+            if(nodeItem[node] >= 0)
+            {
+                added += NarrowPhase(queryCollider, items[nodeItem[node]], outerFirst, contacts, limit - added);
+            }
+            else
+            {
+                if(stackSize + 2 > stack.length)
+                    stack = Arrays.copyOf(stack, stack.length * 2);
+
+                stack[stackSize++] = nodeRight[node];
+                stack[stackSize++] = nodeLeft[node];
+            }
+        }
+
+        return added;
+    }
+
+    private static int NarrowPhase(Collider outer, Collider inner, boolean outerFirst, List<Contact> contacts, int limit)
+    {
+        if(outer.isTrigger || inner.isTrigger)
+        {
+            if(outer.Overlaps(inner))
+                TriggerDetection.ReportOverlap(outer, inner);
+
+            return 0;
+        }
+
+        if(limit <= 0)
+            return 0;
+
+        return outerFirst ? outer.GetContacts(inner, contacts, limit) : inner.GetContacts(outer, contacts, limit);
+    }
+
+    //------Refreshing------
+
+    /**
+     * Rebuilds the structure if colliders were added or removed, or refreshes the bounds of the colliders that moved
+     */
+    private void Refresh()
+    {
+        if(structureDirty)
+        {
+            Rebuild();
+            return;
+        }
+
+        boolean changed = false;
+        for(int i = 0; i < count; i++)
+        {
+            BoundingVolume volume = items[i].GetBoundingVolume();
+            if(volume != itemVolumes[i])
+            {
+                itemVolumes[i] = volume;
+                BoundsUtilities.Write(volume, itemBounds, i * 6);
+                changed = true;
+            }
+        }
+
+        if(!changed)
+            return;
+
+        if(nodeCount > 0)
+            Refit();
+        else
+            SortByMinX();
+
+        UpdateBoundingVolume();
+    }
+
+    private void Rebuild()
+    {
+        structureDirty = false;
+
+        int previousCount = count;
+        count = colliders.size();
+        if(items.length < count)
+        {
+            items = new Collider[count];
+            itemVolumes = new BoundingVolume[count];
+            itemBounds = new float[count * 6];
+        }
+        else if(previousCount > count)
+        {
+            //Don't keep removed colliders and their volumes alive
+            Arrays.fill(items, count, previousCount, null);
+            Arrays.fill(itemVolumes, count, previousCount, null);
+        }
+
+        for(int i = 0; i < count; i++)
+        {
+            items[i] = colliders.get(i);
+            itemVolumes[i] = items[i].GetBoundingVolume();
+            BoundsUtilities.Write(itemVolumes[i], itemBounds, i * 6);
+        }
+
+        nodeCount = 0;
+
+        if(count > SORTED_LIST_THRESHOLD)
+        {
+            int maxNodes = count * 2 - 1;
+            if(nodeItem.length < maxNodes)
+            {
+                nodeBounds = new float[maxNodes * 6];
+                nodeLeft = new int[maxNodes];
+                nodeRight = new int[maxNodes];
+                nodeItem = new int[maxNodes];
+            }
+
+            int[] order = new int[count];
+            for(int i = 0; i < count; i++)
+                order[i] = i;
+
+            BuildNode(order, 0, count);
+        }
+        else
+        {
+            SortByMinX();
+        }
+
+        UpdateBoundingVolume();
+    }
+
+    /**
+     * Builds a node for the items in the range [start, end) of the order array, splitting at the median of the widest axis
+     * @return
+     * The index of the node
+     */
+    private int BuildNode(int[] order, int start, int end)
+    {
+        int node = nodeCount++;
+
+        if(end - start == 1)
+        {
+            nodeItem[node] = order[start];
+            nodeLeft[node] = -1;
+            nodeRight[node] = -1;
+            System.arraycopy(itemBounds, order[start] * 6, nodeBounds, node * 6, 6);
+            return node;
+        }
+
+        nodeItem[node] = -1;
+
+        //Find the widest axis of the centroids
+        float[] centroidBounds = new float[6];
+        BoundsUtilities.Reset(centroidBounds, 0);
+        for(int i = start; i < end; i++)
+            BoundsUtilities.GrowCentroid(centroidBounds, 0, itemBounds, order[i] * 6);
+
+        int axis = 0;
+        for(int a = 1; a < 3; a++)
+        {
+            if(centroidBounds[3 + a] - centroidBounds[a] > centroidBounds[3 + axis] - centroidBounds[axis])
+                axis = a;
+        }
+
+        //Insertion sort along the axis, compound bodies have few colliders
+        for(int i = start + 1; i < end; i++)
+        {
+            int item = order[i];
+            float key = BoundsUtilities.Centroid(itemBounds, item * 6, axis);
+            int j = i - 1;
+            while(j >= start && BoundsUtilities.Centroid(itemBounds, order[j] * 6, axis) > key)
+            {
+                order[j + 1] = order[j];
+                j--;
+            }
+            order[j + 1] = item;
+        }
+
+        int mid = (start + end) / 2;
+        nodeLeft[node] = BuildNode(order, start, mid);
+        nodeRight[node] = BuildNode(order, mid, end);
+
+        BoundsUtilities.Merge(nodeBounds, node * 6, nodeBounds, nodeLeft[node] * 6, nodeBounds, nodeRight[node] * 6);
+
+        return node;
+    }
+
+    /**
+     * Updates the bounds of every node bottom up, keeping the topology
+     */
+    private void Refit()
+    {
+        for(int node = nodeCount - 1; node >= 0; node--)
+        {
+            if(nodeItem[node] >= 0)
+                System.arraycopy(itemBounds, nodeItem[node] * 6, nodeBounds, node * 6, 6);
+            else
+                BoundsUtilities.Merge(nodeBounds, node * 6, nodeBounds, nodeLeft[node] * 6, nodeBounds, nodeRight[node] * 6);
+        }
+    }
+
+    /**
+     * Sorts the items by their min X bound, insertion sort since the order barely changes between steps
+     */
+    private void SortByMinX()
+    {
+        float[] temp = sortTemp;
+
+        for(int i = 1; i < count; i++)
+        {
+            float key = itemBounds[i * 6];
+            if(itemBounds[(i - 1) * 6] <= key)
+                continue;
+
+            Collider item = items[i];
+            BoundingVolume volume = itemVolumes[i];
+            System.arraycopy(itemBounds, i * 6, temp, 0, 6);
+
+            int j = i - 1;
+            while(j >= 0 && itemBounds[j * 6] > key)
+            {
+                items[j + 1] = items[j];
+                itemVolumes[j + 1] = itemVolumes[j];
+                System.arraycopy(itemBounds, j * 6, itemBounds, (j + 1) * 6, 6);
+                j--;
+            }
+
+            items[j + 1] = item;
+            itemVolumes[j + 1] = volume;
+            System.arraycopy(temp, 0, itemBounds, (j + 1) * 6, 6);
+        }
+    }
+
+    private void UpdateBoundingVolume()
+    {
+        if(count == 0)
+        {
+            boundingVolume = null;
+            return;
+        }
+
+        //A single collider can share its own volume
+        if(count == 1)
+        {
+            boundingVolume = itemVolumes[0];
+            System.arraycopy(itemBounds, 0, bounds, 0, 6);
+            return;
+        }
+
+        System.arraycopy(itemBounds, 0, bounds, 0, 6);
+        for(int i = 1; i < count; i++)
+            BoundsUtilities.Merge(bounds, 0, bounds, 0, itemBounds, i * 6);
+
+        boundingVolume = BoundsUtilities.ToBox(bounds, 0);
+    }
+}
@@ -0,0 +1,425 @@
+package JGame.Engine.Physics.Collision.BoundingVolumeHierarchy;
+
+import JGame.Engine.Physics.Bodies.Rigidbody;
+import JGame.Engine.Physics.Collision.BoundingVolumes.BoundingVolume;
+import JGame.Engine.Physics.Collision.Contact.PotentialContact;
+import JGame.Engine.Physics.General.PhysicsMetrics;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+
+/**
+ * Manages a Tree structure for the static bodies of the world. Unlike the dynamic tree, the static tree is bulk built
+ * using the Surface Area Heuristic. Once built, single bodies being added, removed or moved only refit or reinsert their leaf,
+ * and the tree is built again after enough of those changes degraded it.
+ * It is never traversed against itself, only queried by the dynamic tree.
+ */
+public class StaticBVHManager
+{
+    /**
+     * Number of bins used to evaluate the Surface Area Heuristic along each axis
+     */
+    private static final int SAH_BINS = 12;
+    /**
+     * Fraction of the static bodies that can be changed incrementally before the tree is built again
+     */
+    private static final float REBUILD_RATIO = 0.25f;
+
+    private final List<Rigidbody> bodies = new ArrayList<>();
+    /**
+     * Index of every body in the bodies list, so inserting and removing doesn't search the list
+     */
+    private final IdentityHashMap<Rigidbody, Integer> slots = new IdentityHashMap<>();
+    /**
+     * Leaf of every body in the built tree, so changing a body doesn't search the tree
+     */
+    private final IdentityHashMap<Rigidbody, BVHNode> leaves = new IdentityHashMap<>();
+    private BVHNode root;
+    private boolean dirty = false;
+    private int incrementalChanges = 0;
+
+    /**
+     * Inserts a static body into the tree, it's added to the built tree or with the rest of the bodies in the next build
+     * @param body
+     * The body to insert
+     */
+    public void Insert(Rigidbody body)
+    {
+        if(slots.putIfAbsent(body, bodies.size()) != null)
+            return;
+
+        bodies.add(body);
+
+        if(!IsBuilt())
+        {
+            dirty = true;
+            return;
+        }
+
+        InsertLeaf(body);
+        CountChange();
+    }
+
+    /**
+     * Removes a static body from the tree
+     * @param body
+     * The body to remove
+     */
+    public void Remove(Rigidbody body)
+    {
+        Integer slot = slots.remove(body);
+
+        if(slot == null)
+            return;
+
+        //Swap the last body into the slot, the order doesn't matter as the tree is rebuilt
+        Rigidbody last = bodies.remove(bodies.size() - 1);
+
+        if(last != body)
+        {
+            bodies.set(slot, last);
+            slots.put(last, slot);
+        }
+
+        if(!IsBuilt())
+        {
+            dirty = true;
+            return;
+        }
+
+        RemoveLeaf(body);
+        CountChange();
+    }
+
+    /**
+     * Updates a static body after its transform or colliders changed. The leaf is refitted if the body still fits in its
+     * parent, and reinserted otherwise
+     * @param body
+     * The body to update
+     */
+    public void Update(Rigidbody body)
+    {
+        if(!slots.containsKey(body))
+            return;
+
+        if(!IsBuilt())
+        {
+            dirty = true;
+            return;
+        }
+
+        BVHNode leaf = leaves.get(body);
+        BoundingVolume volume = body.GetBoundingVolume();
+
+        if(leaf != null && volume != null && (leaf.parent == null || leaf.parent.volume.GetGrowth(volume) <= 0))
+        {
+            leaf.Refit(volume);
+        }
+        else
+        {
+            PhysicsMetrics.AddCounter(PhysicsMetrics.BVH_REINSERTS, 1);
+
+            RemoveLeaf(body);
+            InsertLeaf(body);
+        }
+
+        CountChange();
+    }
+
+    /**
+     * Removes every static body from the tree at once
+     */
+    public void Clear()
+    {
+        bodies.clear();
+        slots.clear();
+        leaves.clear();
+        root = null;
+        dirty = false;
+    }
+
+    /**
+     * Flags the whole tree to be rebuilt in the next query
+     */
+    public void MarkDirty()
+    {
+        dirty = true;
+    }
+
+    /**
+     * Gets the root of the tree, rebuilding it first if any static body changed
+     * @return
+     * The root of the tree, or null if there are no static bodies
+     */
+    public BVHNode GetRoot()
+    {
+        if(dirty)
+            Rebuild();
+
+        return root;
+    }
+
+    /**
+     * Gets the potential contacts between a dynamic tree and this static tree
+     * @param dynamicRoot
+     * The root of the dynamic tree
+     * @param potentialContacts
+     * The list the potential contacts will be added to
+     * @param limit
+     * The max number of potential contacts to add
+     */
+    public void GetPotentialContactsWith(BVHNode dynamicRoot, List<PotentialContact> potentialContacts, int limit)
+    {
+        BVHNode staticRoot = GetRoot();
+
+        if(dynamicRoot == null || staticRoot == null || limit <= 0)
+            return;
+
+        dynamicRoot.GetPotentialContactsWith(staticRoot, potentialContacts, potentialContacts.size() + limit);
+    }
+
+    /**
+     * Gets the total number of static bodies in the tree
+     * @return
+     * The total number of static bodies in the tree
+     */
+    public int BodyCount()
+    {
+        return bodies.size();
+    }
+
+    //------Incremental changes------
+
+    private boolean IsBuilt()
+    {
+        return !dirty && root != null;
+    }
+
+    private void InsertLeaf(Rigidbody body)
+    {
+        BoundingVolume volume = body.GetBoundingVolume();
+        if(volume == null)
+            return;
+
+        if(root == null)
+            root = new BVHNode(null, body, volume, leaves);
+        else
+            root.Insert(body, volume);
+    }
+
+    private void RemoveLeaf(Rigidbody body)
+    {
+        BVHNode leaf = leaves.remove(body);
+        if(leaf == null)
+            return;
+
+        if(leaf == root)
+        {
+            leaf.RemoveNode();
+            root = null;
+            return;
+        }
+
+        //The parent takes the place of the sibling, its ancestors shrink to the bodies left
+        BVHNode parent = leaf.parent;
+        leaf.RemoveNode();
+        parent.Refit(parent.volume);
+    }
+
+    /**
+     * Counts an incremental change, flagging the tree to be built again once they could have degraded it
+     */
+    private void CountChange()
+    {
+        if(++incrementalChanges > bodies.size() * REBUILD_RATIO)
+            dirty = true;
+    }
+
+    //------Building------
+
+    /**
+     * Rebuilds the whole tree from scratch using the Surface Area Heuristic
+     */
+    private void Rebuild()
+    {
+        dirty = false;
+        incrementalChanges = 0;
+        root = null;
+        leaves.clear();
+
+        int count = bodies.size();
+
+        Rigidbody[] items = new Rigidbody[count];
+        float[] bounds = new float[count * 6];
+        int valid = 0;
+
+        for(Rigidbody body : bodies)
+        {
+            BoundingVolume volume = body.GetBoundingVolume();
+            if(volume == null)
+                continue;
+
+            BoundsUtilities.Write(volume, bounds, valid * 6);
+            items[valid++] = body;
+        }
+
+        if(valid == 0)
+            return;
+
+        root = Build(null, items, bounds, 0, valid);
+    }
+
+    /**
+     * Recursively builds a subtree for the items in the range [start, end)
+     */
+    private BVHNode Build(BVHNode parent, Rigidbody[] items, float[] bounds, int start, int end)
+    {
+        if(end - start == 1)
+            return new BVHNode(parent, items[start], BoundsUtilities.ToBox(bounds, start * 6), leaves);
+
+        float[] nodeBounds = new float[6];
+        float[] centroidBounds = new float[6];
+        BoundsUtilities.Reset(nodeBounds, 0);
+        BoundsUtilities.Reset(centroidBounds, 0);
+
+        for(int i = start; i < end; i++)
+        {
+            BoundsUtilities.Grow(nodeBounds, 0, bounds, i * 6);
+            BoundsUtilities.GrowCentroid(centroidBounds, 0, bounds, i * 6);
+        }
+
+        int mid = FindSAHSplit(items, bounds, start, end, centroidBounds);
+
+        BVHNode node = new BVHNode(parent, null, BoundsUtilities.ToBox(nodeBounds, 0), leaves);
+        node.children[0] = Build(node, items, bounds, start, mid);
+        node.children[1] = Build(node, items, bounds, mid, end);
+
+        return node;
+    }
+
+    /**
+     * Finds the cheapest binned SAH split along the widest centroid axis and partitions the range accordingly
+     * @return
+     * The index of the first item of the second half
+     */
+    private static int FindSAHSplit(Rigidbody[] items, float[] bounds, int start, int end, float[] centroidBounds)
+    {
+        int axis = 0;
+        float extent = centroidBounds[3] - centroidBounds[0];
+        for(int a = 1; a < 3; a++)
+        {
+            float axisExtent = centroidBounds[3 + a] - centroidBounds[a];
+            if(axisExtent > extent)
+            {
+                extent = axisExtent;
+                axis = a;
+            }
+        }
+
+        //All centroids are in the same spot, just split in half
+        if(extent <= 1e-6f)
+            return (start + end) / 2;
+
+        int[] binCounts = new int[SAH_BINS];
+        float[] binBounds = new float[SAH_BINS * 6];
+        for(int b = 0; b < SAH_BINS; b++)
+            BoundsUtilities.Reset(binBounds, b * 6);
+
+        float binScale = SAH_BINS / extent;
+        for(int i = start; i < end; i++)
+        {
+            int bin = GetBin(bounds, i * 6, axis, centroidBounds[axis], binScale);
+            binCounts[bin]++;
+            BoundsUtilities.Grow(binBounds, bin * 6, bounds, i * 6);
+        }
+
+        //Sweep from the right to get the area of every right side
+        float[] rightAreas = new float[SAH_BINS];
+        int[] rightCounts = new int[SAH_BINS];
+        float[] accumulated = new float[6];
+        BoundsUtilities.Reset(accumulated, 0);
+        int accumulatedCount = 0;
+        for(int b = SAH_BINS - 1; b > 0; b--)
+        {
+            BoundsUtilities.Grow(accumulated, 0, binBounds, b * 6);
+            accumulatedCount += binCounts[b];
+            rightAreas[b] = BoundsUtilities.SurfaceArea(accumulated, 0);
+            rightCounts[b] = accumulatedCount;
+        }
+
+        //Sweep from the left evaluating the cost of splitting before every bin
+        float bestCost = Float.MAX_VALUE;
+        int bestSplit = -1;
+        BoundsUtilities.Reset(accumulated, 0);
+        accumulatedCount = 0;
+        for(int b = 0; b < SAH_BINS - 1; b++)
+        {
+            BoundsUtilities.Grow(accumulated, 0, binBounds, b * 6);
+            accumulatedCount += binCounts[b];
+
+            if(accumulatedCount == 0 || rightCounts[b + 1] == 0)
+                continue;
+
+            float cost = BoundsUtilities.SurfaceArea(accumulated, 0) * accumulatedCount + rightAreas[b + 1] * rightCounts[b + 1];
+            if(cost < bestCost)
+            {
+                bestCost = cost;
+                bestSplit = b;
+            }
+        }
+
+        if(bestSplit < 0)
+            return (start + end) / 2;
+
+        //Partition the items in place around the selected bin
+        int left = start;
+        int right = end - 1;
+        while(left <= right)
+        {
+            if(GetBin(bounds, left * 6, axis, centroidBounds[axis], binScale) <= bestSplit)
+            {
+                left++;
+            }
+            else
+            {
+                Swap(items, bounds, left, right);
+                right--;
+            }
+        }
+
+        if(left == start || left == end)
+            return (start + end) / 2;
+
+        return left;
+    }
+
+    private static int GetBin(float[] bounds, int offset, int axis, float minCentroid, float binScale)
+    {
+        float centroid = BoundsUtilities.Centroid(bounds, offset, axis);
+        int bin = (int) ((centroid - minCentroid) * binScale);
+
+        return Math.min(Math.max(bin, 0), SAH_BINS - 1);
+    }
+
+    private static void Swap(Rigidbody[] items, float[] bounds, int a, int b)
+    {
+        Rigidbody tempItem = items[a];
+        items[a] = items[b];
+        items[b] = tempItem;
+
+        for(int i = 0; i < 6; i++)
+        {
+            float temp = bounds[a * 6 + i];
+            bounds[a * 6 + i] = bounds[b * 6 + i];
+            bounds[b * 6 + i] = temp;
+        }
+    }
+
+    @Override
+    public String toString()
+    {
+        BVHNode currentRoot = GetRoot();
+        return currentRoot != null ? currentRoot.toString() : "Empty Tree!";
+    }
+}
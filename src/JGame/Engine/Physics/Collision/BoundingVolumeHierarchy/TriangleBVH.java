@@ -0,0 +1,856 @@
+package JGame.Engine.Physics.Collision.BoundingVolumeHierarchy;
+
+import JGame.Engine.Graphics.Models.Mesh;
+import JGame.Engine.Physics.Interfaces.ITriangleShape;
+import JGame.Engine.Structures.Vector3D;
+import JGame.Engine.Utilities.GraphicsUtilities;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Static bounding volume hierarchy over the triangles of a mesh, built once with the surface area heuristic and stored
+ * in flat arrays in depth first order, so the left child of a node is always the next node and the triangles of every leaf
+ * are contiguous. The tree is immutable once built and can be shared by any number of mesh colliders.
+ * The tree is stored without scale, every query takes the scale to apply to the vertices and node bounds
+ */
+public class TriangleBVH implements ITriangleShape
+{
+    /**
+     * Max number of triangles stored in a leaf
+     */
+    public static final int MAX_LEAF_TRIANGLES = 4;
+
+    private static final int SAH_BINS = 12;
+    /**
+     * Past this depth nodes are split at the median, which bounds the depth of the tree
+     */
+    private static final int MAX_SAH_DEPTH = 48;
+    private static final int STACK_SIZE = 128;
+
+    private static final float EPSILON = 1e-7f;
+    /**
+     * Edges between triangles whose normals are closer than this are inactive
+     */
+    private static final float COPLANAR_COSINE = 0.9995f;
+
+    private static final Map<Mesh, TriangleBVH> sharedTrees = Collections.synchronizedMap(new WeakHashMap<>());
+    private static final ThreadLocal<int[]> stacks = ThreadLocal.withInitial(() -> new int[STACK_SIZE]);
+
+    /**
+     * Vertex positions, stored as [x, y, z]
+     */
+    private final float[] positions;
+    /**
+     * Vertex indices of every triangle, sorted in leaf order
+     */
+    private final int[] indices;
+    private final int triangleCount;
+    /**
+     * Bit i is set when the edge from corner i to corner i + 1 of the triangle is active
+     */
+    private final byte[] activeEdges;
+
+    /**
+     * Bounds of every node, stored as [minX, minY, minZ, maxX, maxY, maxZ]
+     */
+    private float[] nodeBounds;
+    /**
+     * The right child of an inner node, or the first triangle of a leaf
+     */
+    private int[] nodeChild;
+    /**
+     * The number of triangles of a leaf, 0 for inner nodes
+     */
+    private int[] nodeTriangles;
+    private int nodeCount = 0;
+
+    /**
+     * Gets the tree of a mesh, building it the first time it's requested. Every collider using the same mesh shares the tree
+     * @param mesh
+     * The mesh
+     * @return
+     * The tree over the triangles of the mesh
+     */
+    public static TriangleBVH Get(Mesh mesh)
+    {
+        return sharedTrees.computeIfAbsent(mesh, TriangleBVH::new);
+    }
+
+    /**
+     * Builds the tree over the triangles of a mesh, prefer {@link #Get(Mesh)} so the tree is shared
+     * @param mesh
+     * The mesh
+     */
+    public TriangleBVH(Mesh mesh)
+    {
+        this(GraphicsUtilities.VertexPositionsAsFloatArray(mesh.GetVertices()), GraphicsUtilities.TriangleIndicesAsIntArray(mesh.tris));
+    }
+
+    /**
+     * Builds the tree over raw triangle data, doesn't need a mesh or an OpenGL context
+     * @param positions
+     * The vertex positions, stored as [x, y, z]
+     * @param indices
+     * The three vertex indices of every triangle
+     */
+    public TriangleBVH(float[] positions, int[] indices)
+    {
+        if(positions.length % 3 != 0 || indices.length % 3 != 0)
+            throw new IllegalArgumentException("Triangle mesh data must be made of triplets!");
+
+        this.positions = positions.clone();
+        this.triangleCount = indices.length / 3;
+
+        float[] centroids = new float[triangleCount * 3];
+        float[] triangleBounds = new float[triangleCount * 6];
+        for(int i = 0; i < triangleCount; i++)
+        {
+            ComputeTriangleBounds(indices, i, triangleBounds, i * 6);
+
+            for(int axis = 0; axis < 3; axis++)
+                centroids[i * 3 + axis] = BoundsUtilities.Centroid(triangleBounds, i * 6, axis);
+        }
+
+        int[] order = new int[triangleCount];
+        for(int i = 0; i < triangleCount; i++)
+            order[i] = i;
+
+        int capacity = Math.max(1, triangleCount * 2);
+        nodeBounds = new float[capacity * 6];
+        nodeChild = new int[capacity];
+        nodeTriangles = new int[capacity];
+
+        if(triangleCount > 0)
+            BuildNode(order, 0, triangleCount, 0, centroids, triangleBounds);
+        else
+            nodeCount = 1;
+
+        nodeBounds = Arrays.copyOf(nodeBounds, nodeCount * 6);
+        nodeChild = Arrays.copyOf(nodeChild, nodeCount);
+        nodeTriangles = Arrays.copyOf(nodeTriangles, nodeCount);
+
+        byte[] edges = FindActiveEdges(indices);
+
+        //Store the triangles in leaf order so every leaf reads a contiguous range
+        this.indices = new int[triangleCount * 3];
+        this.activeEdges = new byte[triangleCount];
+        for(int i = 0; i < triangleCount; i++)
+        {
+            System.arraycopy(indices, order[i] * 3, this.indices, i * 3, 3);
+            activeEdges[i] = edges[order[i]];
+        }
+    }
+
+    //------Building------
+
+    /**
+     * Flags the edges that can produce contact normals: edges on the border of the mesh or between triangles that aren't coplanar.
+     * Contacts on the inner edges of flat surfaces would push objects sideways, so those edges are left inactive
+     * @return
+     * The active edge bits of every triangle
+     */
+    private byte[] FindActiveEdges(int[] indices)
+    {
+        //Meshes usually split vertices along seams, so vertices are matched by position
+        int vertexCount = positions.length / 3;
+        Integer[] sorted = new Integer[vertexCount];
+        for(int i = 0; i < vertexCount; i++)
+            sorted[i] = i;
+
+        Arrays.sort(sorted, (a, b) ->
+        {
+            for(int axis = 0; axis < 3; axis++)
+            {
+                int comparison = Float.compare(positions[a * 3 + axis], positions[b * 3 + axis]);
+                if(comparison != 0) return comparison;
+            }
+            return 0;
+        });
+
+        int[] welded = new int[vertexCount];
+        for(int i = 0; i < vertexCount; i++)
+        {
+            int vertex = sorted[i];
+            int previous = i > 0 ? sorted[i - 1] : -1;
+
+            boolean same = previous >= 0 &&
+                    positions[vertex * 3] == positions[previous * 3] &&
+                    positions[vertex * 3 + 1] == positions[previous * 3 + 1] &&
+                    positions[vertex * 3 + 2] == positions[previous * 3 + 2];
+
+            welded[vertex] = same ? welded[previous] : vertex;
+        }
+
+        float[] normals = new float[triangleCount * 3];
+        for(int triangle = 0; triangle < triangleCount; triangle++)
+            ComputeNormal(indices, triangle, normals);
+
+        byte[] edges = new byte[triangleCount];
+        Arrays.fill(edges, (byte) 0b111);
+
+        Map<Long, Integer> openEdges = new HashMap<>();
+        for(int triangle = 0; triangle < triangleCount; triangle++)
+        {
+            for(int edge = 0; edge < 3; edge++)
+            {
+                int a = welded[indices[triangle * 3 + edge]];
+                int b = welded[indices[triangle * 3 + (edge + 1) % 3]];
+                long key = ((long) Math.min(a, b) << 32) | Math.max(a, b);
+
+                Integer other = openEdges.remove(key);
+                if(other == null)
+                {
+                    openEdges.put(key, triangle * 3 + edge);
+                    continue;
+                }
+
+                int otherTriangle = other / 3;
+                float alignment = normals[triangle * 3] * normals[otherTriangle * 3] +
+                        normals[triangle * 3 + 1] * normals[otherTriangle * 3 + 1] +
+                        normals[triangle * 3 + 2] * normals[otherTriangle * 3 + 2];
+
+                if(alignment > COPLANAR_COSINE)
+                {
+                    edges[triangle] &= (byte) ~(1 << edge);
+                    edges[otherTriangle] &= (byte) ~(1 << (other % 3));
+                }
+            }
+        }
+
+        return edges;
+    }
+
+    private void ComputeNormal(int[] indices, int triangle, float[] normals)
+    {
+        int a = indices[triangle * 3] * 3, b = indices[triangle * 3 + 1] * 3, c = indices[triangle * 3 + 2] * 3;
+
+        float e1x = positions[b] - positions[a], e1y = positions[b + 1] - positions[a + 1], e1z = positions[b + 2] - positions[a + 2];
+        float e2x = positions[c] - positions[a], e2y = positions[c + 1] - positions[a + 1], e2z = positions[c + 2] - positions[a + 2];
+
+        float x = e1y * e2z - e1z * e2y, y = e1z * e2x - e1x * e2z, z = e1x * e2y - e1y * e2x;
+        float length = (float) Math.sqrt(x * x + y * y + z * z);
+
+        //Degenerate triangles keep a zero normal, so their edges stay active
+        if(length < EPSILON) return;
+
+        normals[triangle * 3] = x / length;
+        normals[triangle * 3 + 1] = y / length;
+        normals[triangle * 3 + 2] = z / length;
+    }
+
+    private void ComputeTriangleBounds(int[] indices, int triangle, float[] bounds, int offset)
+    {
+        for(int axis = 0; axis < 3; axis++)
+        {
+            bounds[offset + axis] = Float.POSITIVE_INFINITY;
+            bounds[offset + 3 + axis] = Float.NEGATIVE_INFINITY;
+        }
+
+        for(int corner = 0; corner < 3; corner++)
+        {
+            int vertex = indices[triangle * 3 + corner] * 3;
+
+            for(int axis = 0; axis < 3; axis++)
+            {
+                bounds[offset + axis] = Math.min(bounds[offset + axis], positions[vertex + axis]);
+                bounds[offset + 3 + axis] = Math.max(bounds[offset + 3 + axis], positions[vertex + axis]);
+            }
+        }
+    }
+
+    private int BuildNode(int[] order, int start, int end, int depth, float[] centroids, float[] triangleBounds)
+    {
+        int node = nodeCount++;
+        int offset = node * 6;
+        int count = end - start;
+
+        float[] centroidBounds = new float[6];
+        BoundsUtilities.Reset(nodeBounds, offset);
+        BoundsUtilities.Reset(centroidBounds, 0);
+
+        for(int i = start; i < end; i++)
+        {
+            BoundsUtilities.Grow(nodeBounds, offset, triangleBounds, order[i] * 6);
+            BoundsUtilities.GrowCentroid(centroidBounds, 0, triangleBounds, order[i] * 6);
+        }
+
+        int splitAxis = 0;
+        for(int axis = 1; axis < 3; axis++)
+        {
+            if(centroidBounds[3 + axis] - centroidBounds[axis] > centroidBounds[3 + splitAxis] - centroidBounds[splitAxis])
+                splitAxis = axis;
+        }
+
+        float extent = centroidBounds[3 + splitAxis] - centroidBounds[splitAxis];
+
+        //Every centroid in the same spot can't be split any further
+        if(count <= MAX_LEAF_TRIANGLES || extent <= EPSILON)
+        {
+            nodeChild[node] = start;
+            nodeTriangles[node] = count;
+            return node;
+        }
+
+        int middle = depth < MAX_SAH_DEPTH ? PartitionSAH(order, start, end, splitAxis, centroidBounds[splitAxis], extent, centroids, triangleBounds, offset) : -1;
+
+        if(middle < 0)
+        {
+            //A leaf is cheaper than any split
+            if(middle == -2)
+            {
+                nodeChild[node] = start;
+                nodeTriangles[node] = count;
+                return node;
+            }
+
+            middle = PartitionMedian(order, start, end, splitAxis, centroids);
+        }
+
+        BuildNode(order, start, middle, depth + 1, centroids, triangleBounds);
+        nodeChild[node] = BuildNode(order, middle, end, depth + 1, centroids, triangleBounds);
+        nodeTriangles[node] = 0;
+
+        return node;
+    }
+
+    /**
+     * Partitions a range of triangles with the binned surface area heuristic
+     * @return
+     * The start of the right half, -1 if no split separates the triangles, or -2 if keeping a leaf is cheaper
+     */
+    private int PartitionSAH(int[] order, int start, int end, int axis, float centroidMin, float extent, float[] centroids, float[] triangleBounds, int nodeOffset)
+    {
+        int[] binCounts = new int[SAH_BINS];
+        float[] binBounds = new float[SAH_BINS * 6];
+        for(int bin = 0; bin < SAH_BINS; bin++)
+            BoundsUtilities.Reset(binBounds, bin * 6);
+
+        float binScale = SAH_BINS / extent;
+        for(int i = start; i < end; i++)
+        {
+            int triangle = order[i];
+            int bin = Math.min(SAH_BINS - 1, (int) ((centroids[triangle * 3 + axis] - centroidMin) * binScale));
+
+            binCounts[bin]++;
+            BoundsUtilities.Grow(binBounds, bin * 6, triangleBounds, triangle * 6);
+        }
+
+        //Sweep from the right to get the cost of every right half, then from the left to evaluate every split
+        float[] rightArea = new float[SAH_BINS];
+        int[] rightCount = new int[SAH_BINS];
+        float[] sweep = new float[6];
+        BoundsUtilities.Reset(sweep, 0);
+
+        int accumulated = 0;
+        for(int bin = SAH_BINS - 1; bin > 0; bin--)
+        {
+            accumulated += binCounts[bin];
+            BoundsUtilities.Grow(sweep, 0, binBounds, bin * 6);
+            rightCount[bin] = accumulated;
+            rightArea[bin] = accumulated == 0 ? 0 : BoundsUtilities.SurfaceArea(sweep, 0);
+        }
+
+        BoundsUtilities.Reset(sweep, 0);
+        accumulated = 0;
+
+        float bestCost = Float.POSITIVE_INFINITY;
+        int bestSplit = -1;
+        for(int split = 1; split < SAH_BINS; split++)
+        {
+            accumulated += binCounts[split - 1];
+            BoundsUtilities.Grow(sweep, 0, binBounds, (split - 1) * 6);
+
+            if(accumulated == 0 || rightCount[split] == 0)
+                continue;
+
+            float cost = BoundsUtilities.SurfaceArea(sweep, 0) * accumulated + rightArea[split] * rightCount[split];
+            if(cost < bestCost)
+            {
+                bestCost = cost;
+                bestSplit = split;
+            }
+        }
+
+        if(bestSplit < 0)
+            return -1;
+
+        //Both costs are relative to the area of the node, a split pays for one extra traversal step
+        float leafCost = BoundsUtilities.SurfaceArea(nodeBounds, nodeOffset) * (end - start);
+        if(end - start <= MAX_LEAF_TRIANGLES * 2 && bestCost + BoundsUtilities.SurfaceArea(nodeBounds, nodeOffset) >= leafCost)
+            return -2;
+
+        int left = start;
+        int right = end - 1;
+        while(left <= right)
+        {
+            int triangle = order[left];
+            int bin = Math.min(SAH_BINS - 1, (int) ((centroids[triangle * 3 + axis] - centroidMin) * binScale));
+
+            if(bin < bestSplit)
+                left++;
+            else
+            {
+                order[left] = order[right];
+                order[right--] = triangle;
+            }
+        }
+
+        return left;
+    }
+
+    private int PartitionMedian(int[] order, int start, int end, int axis, float[] centroids)
+    {
+        Integer[] range = new Integer[end - start];
+        for(int i = start; i < end; i++)
+            range[i - start] = order[i];
+
+        Arrays.sort(range, (a, b) -> Float.compare(centroids[a * 3 + axis], centroids[b * 3 + axis]));
+
+        for(int i = start; i < end; i++)
+            order[i] = range[i - start];
+
+        return (start + end) / 2;
+    }
+
+    //------Data------
+
+    /**
+     * Gets the number of triangles in the tree
+     * @return
+     * The number of triangles
+     */
+    public int GetTriangleCount()
+    {
+        return triangleCount;
+    }
+
+    /**
+     * Gets the number of nodes in the tree
+     * @return
+     * The number of nodes
+     */
+    public int GetNodeCount()
+    {
+        return nodeCount;
+    }
+
+    /**
+     * Gets the min corner of the bounds of the whole tree
+     * @param scale
+     * The scale to apply
+     * @return
+     * The min corner, scaled
+     */
+    public Vector3D GetMin(Vector3D scale)
+    {
+        if(triangleCount == 0) return Vector3D.Zero;
+
+        return new Vector3D(nodeBounds[0] * scale.x, nodeBounds[1] * scale.y, nodeBounds[2] * scale.z);
+    }
+
+    /**
+     * Gets the max corner of the bounds of the whole tree
+     * @param scale
+     * The scale to apply
+     * @return
+     * The max corner, scaled
+     */
+    public Vector3D GetMax(Vector3D scale)
+    {
+        if(triangleCount == 0) return Vector3D.Zero;
+
+        return new Vector3D(nodeBounds[3] * scale.x, nodeBounds[4] * scale.y, nodeBounds[5] * scale.z);
+    }
+
+    @Override
+    public Vector3D GetVertex(int triangle, int corner, Vector3D scale)
+    {
+        int vertex = indices[triangle * 3 + corner] * 3;
+
+        return new Vector3D(positions[vertex] * scale.x, positions[vertex + 1] * scale.y, positions[vertex + 2] * scale.z);
+    }
+
+    @Override
+    public boolean IsEdgeActive(int triangle, int edge)
+    {
+        return (activeEdges[triangle] & (1 << edge)) != 0;
+    }
+
+    /**
+     * Gets the furthest vertex along a direction
+     * @param direction
+     * The direction to search along, in the scaled space of the tree
+     * @param scale
+     * The scale to apply
+     * @return
+     * The furthest vertex, scaled
+     */
+    public Vector3D GetSupportVertex(Vector3D direction, Vector3D scale)
+    {
+        float dx = direction.x * scale.x, dy = direction.y * scale.y, dz = direction.z * scale.z;
+
+        int best = 0;
+        float bestDot = Float.NEGATIVE_INFINITY;
+        for(int vertex = 0; vertex < positions.length; vertex += 3)
+        {
+            float dot = positions[vertex] * dx + positions[vertex + 1] * dy + positions[vertex + 2] * dz;
+            if(dot > bestDot)
+            {
+                bestDot = dot;
+                best = vertex;
+            }
+        }
+
+        if(positions.length == 0) return Vector3D.Zero;
+
+        return new Vector3D(positions[best] * scale.x, positions[best + 1] * scale.y, positions[best + 2] * scale.z);
+    }
+
+    //------Queries------
+
+    @Override
+    public void Query(Vector3D min, Vector3D max, Vector3D scale, TriangleVisitor visitor)
+    {
+        if(triangleCount == 0) return;
+
+        //Bring the box into the unscaled space of the tree instead of scaling every node
+        float minX = min.x / scale.x, minY = min.y / scale.y, minZ = min.z / scale.z;
+        float maxX = max.x / scale.x, maxY = max.y / scale.y, maxZ = max.z / scale.z;
+
+        int[] stack = stacks.get();
+        int stackSize = 0;
+        stack[stackSize++] = 0;
+
+        while(stackSize > 0)
+        {
+            int node = stack[--stackSize];
+            int offset = node * 6;
+
+            if(nodeBounds[offset] > maxX || nodeBounds[offset + 3] < minX ||
+               nodeBounds[offset + 1] > maxY || nodeBounds[offset + 4] < minY ||
+               nodeBounds[offset + 2] > maxZ || nodeBounds[offset + 5] < minZ)
+                continue;
+
+            int triangles = nodeTriangles[node];
+            if(triangles > 0)
+            {
+                int first = nodeChild[node];
+                for(int triangle = first; triangle < first + triangles; triangle++)
+                {
+                    if(!visitor.Visit(triangle))
+                        return;
+                }
+            }
+            else
+            {
+                stack[stackSize++] = nodeChild[node];
+                stack[stackSize++] = node + 1;
+            }
+        }
+    }
+
+    /**
+     * Casts a ray against the triangles of the tree, visiting the nearest child first so most of the tree is skipped
+     * @param origin
+     * The origin of the ray, in the scaled space of the tree
+     * @param direction
+     * The direction of the ray, in the scaled space of the tree. Distances are measured in units of its length
+     * @param maxDistance
+     * The max distance of the hit
+     * @param scale
+     * The scale to apply
+     * @param hitTriangle
+     * Array of at least one element, receives the index of the triangle that was hit
+     * @return
+     * The distance to the hit, positive infinity if nothing was hit
+     */
+    public float Raycast(Vector3D origin, Vector3D direction, float maxDistance, Vector3D scale, int[] hitTriangle)
+    {
+        return TraceRay(origin, direction, maxDistance, scale, hitTriangle, false);
+    }
+
+    /**
+     * Counts every triangle crossed by a ray, used to check if a point is inside a closed mesh
+     * @param origin
+     * The origin of the ray, in the scaled space of the tree
+     * @param direction
+     * The direction of the ray, in the scaled space of the tree
+     * @param scale
+     * The scale to apply
+     * @return
+     * The number of triangles crossed
+     */
+    public int CountRayCrossings(Vector3D origin, Vector3D direction, Vector3D scale)
+    {
+        int[] crossings = new int[1];
+        TraceRay(origin, direction, Float.POSITIVE_INFINITY, scale, crossings, true);
+
+        return crossings[0];
+    }
+
+    private float TraceRay(Vector3D origin, Vector3D direction, float maxDistance, Vector3D scale, int[] result, boolean countAll)
+    {
+        if(triangleCount == 0) return Float.POSITIVE_INFINITY;
+
+        //The mapping into the unscaled space is linear, so distances along the ray are preserved
+        float ox = origin.x / scale.x, oy = origin.y / scale.y, oz = origin.z / scale.z;
+        float dx = direction.x / scale.x, dy = direction.y / scale.y, dz = direction.z / scale.z;
+        float invX = 1.0f / dx, invY = 1.0f / dy, invZ = 1.0f / dz;
+
+        float closest = maxDistance;
+        int crossings = 0;
+        if(!countAll)
+            result[0] = -1;
+
+        int[] stack = stacks.get();
+        int stackSize = 0;
+        stack[stackSize++] = 0;
+
+        while(stackSize > 0)
+        {
+            int node = stack[--stackSize];
+
+            if(SlabDistance(node, ox, oy, oz, invX, invY, invZ, closest) == Float.POSITIVE_INFINITY)
+                continue;
+
+            int triangles = nodeTriangles[node];
+            if(triangles > 0)
+            {
+                int first = nodeChild[node];
+                for(int triangle = first; triangle < first + triangles; triangle++)
+                {
+                    float distance = IntersectTriangle(triangle, ox, oy, oz, dx, dy, dz);
+                    if(distance < 0 || distance > closest)
+                        continue;
+
+                    if(countAll)
+                        crossings++;
+                    else
+                    {
+                        closest = distance;
+                        result[0] = triangle;
+                    }
+                }
+            }
+            else
+            {
+                int left = node + 1;
+                int right = nodeChild[node];
+
+                float leftDistance = SlabDistance(left, ox, oy, oz, invX, invY, invZ, closest);
+                float rightDistance = SlabDistance(right, ox, oy, oz, invX, invY, invZ, closest);
+
+                //Push the farthest child first so the nearest one is visited first
+                if(leftDistance <= rightDistance)
+                {
+                    if(rightDistance != Float.POSITIVE_INFINITY) stack[stackSize++] = right;
+                    if(leftDistance != Float.POSITIVE_INFINITY) stack[stackSize++] = left;
+                }
+                else
+                {
+                    if(leftDistance != Float.POSITIVE_INFINITY) stack[stackSize++] = left;
+                    if(rightDistance != Float.POSITIVE_INFINITY) stack[stackSize++] = right;
+                }
+            }
+        }
+
+        if(countAll)
+        {
+            result[0] = crossings;
+            return Float.POSITIVE_INFINITY;
+        }
+
+        return result[0] >= 0 ? closest : Float.POSITIVE_INFINITY;
+    }
+
+    /**
+     * Gets the closest point on the surface of the mesh to a point, nodes farther than the best point found so far are skipped
+     * @param point
+     * The point, in the scaled space of the tree
+     * @param scale
+     * The scale to apply
+     * @return
+     * The closest point on the surface, scaled, or null if the tree is empty
+     */
+    public Vector3D ClosestPoint(Vector3D point, Vector3D scale)
+    {
+        if(triangleCount == 0) return null;
+
+        Vector3D closest = null;
+        float closestDistance = Float.POSITIVE_INFINITY;
+
+        int[] stack = stacks.get();
+        int stackSize = 0;
+        stack[stackSize++] = 0;
+
+        while(stackSize > 0)
+        {
+            int node = stack[--stackSize];
+
+            if(SquaredDistanceToNode(node, point, scale) >= closestDistance)
+                continue;
+
+            int triangles = nodeTriangles[node];
+            if(triangles > 0)
+            {
+                int first = nodeChild[node];
+                for(int triangle = first; triangle < first + triangles; triangle++)
+                {
+                    Vector3D candidate = ClosestPointOnTriangle(point, GetVertex(triangle, 0, scale), GetVertex(triangle, 1, scale), GetVertex(triangle, 2, scale));
+                    float distance = Vector3D.DistanceSquared(candidate, point);
+
+                    if(distance < closestDistance)
+                    {
+                        closestDistance = distance;
+                        closest = candidate;
+                    }
+                }
+            }
+            else
+            {
+                int left = node + 1;
+                int right = nodeChild[node];
+
+                //Push the farthest child first so the nearest one is visited first
+                if(SquaredDistanceToNode(left, point, scale) <= SquaredDistanceToNode(right, point, scale))
+                {
+                    stack[stackSize++] = right;
+                    stack[stackSize++] = left;
+                }
+                else
+                {
+                    stack[stackSize++] = left;
+                    stack[stackSize++] = right;
+                }
+            }
+        }
+
+        return closest;
+    }
+
+    private float SquaredDistanceToNode(int node, Vector3D point, Vector3D scale)
+    {
+        int offset = node * 6;
+
+        float x = Math.max(Math.max(nodeBounds[offset] * scale.x - point.x, point.x - nodeBounds[offset + 3] * scale.x), 0.0f);
+        float y = Math.max(Math.max(nodeBounds[offset + 1] * scale.y - point.y, point.y - nodeBounds[offset + 4] * scale.y), 0.0f);
+        float z = Math.max(Math.max(nodeBounds[offset + 2] * scale.z - point.z, point.z - nodeBounds[offset + 5] * scale.z), 0.0f);
+
+        return x * x + y * y + z * z;
+    }
+
+    /**
+     * Gets the closest point on a triangle to a point
+     * @param point
+     * The point
+     * @param a
+     * The first vertex of the triangle
+     * @param b
+     * The second vertex of the triangle
+     * @param c
+     * The third vertex of the triangle
+     * @return
+     * The closest point on the triangle
+     */
+    public static Vector3D ClosestPointOnTriangle(Vector3D point, Vector3D a, Vector3D b, Vector3D c)
+    {
+        //Voronoi regions of the triangle, from Real-Time Collision Detection
+        Vector3D ab = b.Subtract(a);
+        Vector3D ac = c.Subtract(a);
+        Vector3D ap = point.Subtract(a);
+
+        float d1 = ab.DotProduct(ap);
+        float d2 = ac.DotProduct(ap);
+        if(d1 <= 0 && d2 <= 0) return a;
+
+        Vector3D bp = point.Subtract(b);
+        float d3 = ab.DotProduct(bp);
+        float d4 = ac.DotProduct(bp);
+        if(d3 >= 0 && d4 <= d3) return b;
+
+        float vc = d1 * d4 - d3 * d2;
+        if(vc <= 0 && d1 >= 0 && d3 <= 0)
+            return a.Add(ab.Scale(d1 / (d1 - d3)));
+
+        Vector3D cp = point.Subtract(c);
+        float d5 = ab.DotProduct(cp);
+        float d6 = ac.DotProduct(cp);
+        if(d6 >= 0 && d5 <= d6) return c;
+
+        float vb = d5 * d2 - d1 * d6;
+        if(vb <= 0 && d2 >= 0 && d6 <= 0)
+            return a.Add(ac.Scale(d2 / (d2 - d6)));
+
+        float va = d3 * d6 - d5 * d4;
+        if(va <= 0 && (d4 - d3) >= 0 && (d5 - d6) >= 0)
+            return b.Add(c.Subtract(b).Scale((d4 - d3) / ((d4 - d3) + (d5 - d6))));
+
+        float denominator = 1.0f / (va + vb + vc);
+
+        return a.Add(ab.Scale(vb * denominator)).Add(ac.Scale(vc * denominator));
+    }
+
+    /**
+     * Gets the distance along a ray to the bounds of a node
+     * @return
+     * The entry distance, positive infinity if the ray misses the node within the max distance
+     */
+    private float SlabDistance(int node, float ox, float oy, float oz, float invX, float invY, float invZ, float maxDistance)
+    {
+        int offset = node * 6;
+
+        float t1 = (nodeBounds[offset] - ox) * invX, t2 = (nodeBounds[offset + 3] - ox) * invX;
+        float tMin = Math.min(t1, t2), tMax = Math.max(t1, t2);
+
+        t1 = (nodeBounds[offset + 1] - oy) * invY;
+        t2 = (nodeBounds[offset + 4] - oy) * invY;
+        tMin = Math.max(tMin, Math.min(t1, t2));
+        tMax = Math.min(tMax, Math.max(t1, t2));
+
+        t1 = (nodeBounds[offset + 2] - oz) * invZ;
+        t2 = (nodeBounds[offset + 5] - oz) * invZ;
+        tMin = Math.max(tMin, Math.min(t1, t2));
+        tMax = Math.min(tMax, Math.max(t1, t2));
+
+        //NaNs from rays lying on a slab plane fall through the comparisons and count as a hit
+        if(tMax < Math.max(tMin, 0.0f) || tMin > maxDistance)
+            return Float.POSITIVE_INFINITY;
+
+        return Math.max(tMin, 0.0f);
+    }
+
+    /**
+     * Intersects a ray with a triangle, both sides of the triangle are hit (Möller–Trumbore)
+     * @return
+     * The distance to the hit, negative if the ray misses
+     */
+    private float IntersectTriangle(int triangle, float ox, float oy, float oz, float dx, float dy, float dz)
+    {
+        int a = indices[triangle * 3] * 3, b = indices[triangle * 3 + 1] * 3, c = indices[triangle * 3 + 2] * 3;
+
+        float e1x = positions[b] - positions[a], e1y = positions[b + 1] - positions[a + 1], e1z = positions[b + 2] - positions[a + 2];
+        float e2x = positions[c] - positions[a], e2y = positions[c + 1] - positions[a + 1], e2z = positions[c + 2] - positions[a + 2];
+
+        float px = dy * e2z - dz * e2y, py = dz * e2x - dx * e2z, pz = dx * e2y - dy * e2x;
+        float determinant = e1x * px + e1y * py + e1z * pz;
+        if(Math.abs(determinant) < 1e-12f)
+            return -1;
+
+        float inverse = 1.0f / determinant;
+        float tx = ox - positions[a], ty = oy - positions[a + 1], tz = oz - positions[a + 2];
+
+        float u = (tx * px + ty * py + tz * pz) * inverse;
+        if(u < 0 || u > 1) return -1;
+
+        float qx = ty * e1z - tz * e1y, qy = tz * e1x - tx * e1z, qz = tx * e1y - ty * e1x;
+
+        float v = (dx * qx + dy * qy + dz * qz) * inverse;
+        if(v < 0 || u + v > 1) return -1;
+
+        return (e2x * qx + e2y * qy + e2z * qz) * inverse;
+    }
+}
@@ -22,6 +22,12 @@ public class BoundingBox extends BoundingVolume
         this.halfSize = halfSize;
     }
 
+    @Override
+    public BoundingType GetBoundingType()
+    {
+        return BoundingType.Box;
+    }
+
     @Override
     public float GetVolume()
     {
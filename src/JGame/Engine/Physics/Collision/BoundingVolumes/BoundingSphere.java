@@ -21,6 +21,12 @@ public class BoundingSphere extends BoundingVolume
         this.radius = radius;
     }
 
+    @Override
+    public BoundingType GetBoundingType()
+    {
+        return BoundingType.Sphere;
+    }
+
     @Override
     public float GetVolume()
     {
@@ -28,31 +28,31 @@ public abstract class BoundingVolume
      */
     public final boolean Overlaps(BoundingVolume other)
     {
-        if (this instanceof BoundingBox boxA)
+        return overlapTests[GetBoundingType().ordinal()][other.GetBoundingType().ordinal()].Overlaps(this, other);
+    }
+
+    @FunctionalInterface
+    private interface OverlapTest
+    {
+        boolean Overlaps(BoundingVolume a, BoundingVolume b);
+    }
+
+    /**
+     * Overlap tests indexed by the bounding type ordinal of each volume
+     */
+    private static final OverlapTest[][] overlapTests =
+    {
+        //Box
         {
-            if (other instanceof BoundingBox boxB)
-            {
-                return BoundingVolumeHelper.Overlaps(boxA, boxB);
-            }
-            else if (other instanceof BoundingSphere sphereB)
-            {
-                return BoundingVolumeHelper.Overlaps(boxA, sphereB);
-            }
-        }
-        else if (this instanceof BoundingSphere sphereA)
+            (a, b) -> BoundingVolumeHelper.Overlaps((BoundingBox) a, (BoundingBox) b),
+            (a, b) -> BoundingVolumeHelper.Overlaps((BoundingBox) a, (BoundingSphere) b)
+        },
+        //Sphere
         {
-            if (other instanceof BoundingBox boxB)
-            {
-                return BoundingVolumeHelper.Overlaps(boxB, sphereA);
-            }
-            else if (other instanceof BoundingSphere sphereB)
-            {
-                return BoundingVolumeHelper.Overlaps(sphereA, sphereB);
-            }
+            (a, b) -> BoundingVolumeHelper.Overlaps((BoundingBox) b, (BoundingSphere) a),
+            (a, b) -> BoundingVolumeHelper.Overlaps((BoundingSphere) a, (BoundingSphere) b)
         }
-        throw new IllegalArgumentException("Unsupported Bounding Volume types");
-    }
-
+    };
 
     /**
      * Generates a bounding volume encapsulating the volumes, matching the type of the first volume
@@ -229,6 +229,12 @@ public abstract class BoundingVolume
         return new BoundingSphere(center, radius);
     }
 
+    /**
+     * Gets the type of the volume
+     * @return
+     * The type of the volume
+     */
+    public abstract BoundingType GetBoundingType();
     public abstract float GetVolume();
     public abstract float GetGrowth(BoundingVolume volume);
     public Vector3D GetCenter() { return center; }
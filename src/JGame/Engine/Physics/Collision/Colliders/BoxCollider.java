@@ -18,35 +18,58 @@ public class BoxCollider extends Collider
      */
     private Vector3D halfSize = Vector3D.One.Scale(0.5f);
 
+    /**
+     * World data of the box, with the half size scaled by the global scale
+     */
+    private static final class BoxWorldData extends WorldData
+    {
+        private final Vector3D scaledHalfSize;
+
+        private BoxWorldData(WorldData world, Vector3D scaledHalfSize)
+        {
+            super(world);
+            this.scaledHalfSize = scaledHalfSize;
+        }
+    }
+
     public Vector3D GetHalfSize()
     {
         return halfSize;
     }
     public Vector3D GetScaledHalfSize()
     {
-        return MathUtilities.Abs(halfSize).Multiply(transform().GetGlobalScale());
+        return ((BoxWorldData) GetWorldData()).scaledHalfSize;
     }
 
     public void SetHalfSize(Vector3D halfSize)
     {
         this.halfSize = halfSize;
+        MarkWorldDataDirty();
         if(colliderRenderer != null)
             ((WirecubeRenderer)colliderRenderer).SetHalfSize(MathUtilities.Abs(halfSize));
     }
     @Override
     public void SetCenter(Vector3D center)
     {
-        this.center = center;
+        super.SetCenter(center);
         if(colliderRenderer != null)
             ((WirecubeRenderer)colliderRenderer).SetCenter(center);
     }
+
+    @Override
+    protected WorldData CreateWorldData(WorldData world)
+    {
+        return new BoxWorldData(world, MathUtilities.Abs(halfSize).Multiply(world.scale));
+    }
+
     @Override
     public RaycastContact Raycast(Vector3D origin, Vector3D direction, float maxDistance)
     {
-        Vector3D localOrigin = transform().WorldToLocalSpace(origin);
-        Vector3D localDirection = transform().WorldToLocalSpace(origin.Add(direction)).Subtract(localOrigin).Normalized();
+        BoxWorldData world = (BoxWorldData) GetWorldData();
+        Vector3D localOrigin = world.WorldToShapeSpace(origin);
+        Vector3D localDirection = world.WorldToShapeDirection(direction.Normalized());
 
-        Vector3D halfSize = GetScaledHalfSize();
+        Vector3D halfSize = world.scaledHalfSize;
 
         float tMin = 0.0f;
         float tMax = maxDistance;
@@ -107,8 +130,8 @@ public class BoxCollider extends Collider
             return null; // Handle edge case if no valid normal is found
         }
 
-        Vector3D collisionPointWorld = transform().LocalToWorldSpace(collisionPointLocal);
-        Vector3D normalWorld = transform().LocalToWorldSpace(normalLocal).Normalized();
+        Vector3D collisionPointWorld = world.ShapeToWorldSpace(collisionPointLocal);
+        Vector3D normalWorld = world.ShapeToWorldDirection(normalLocal);
 
         return new RaycastContact(collisionPointWorld, normalWorld, GetRigidbody());
     }
@@ -128,16 +151,69 @@ public class BoxCollider extends Collider
     }
 
     @Override
-    public BoundingVolume GetBoundingVolume()
+    protected BoundingVolume CalculateBoundingVolume(WorldData world)
     {
-        return new BoundingBox(GetCenterWorld(), GetScaledHalfSize().Rotate(transform().GetGlobalRotation().ToRotationMatrix().Absolute()));
+        Vector3D halfSize = ((BoxWorldData) world).scaledHalfSize;
+
+        //Extent of the rotated box along each world axis
+        Vector3D extents = MathUtilities.Abs(world.GetAxis(0)).Scale(halfSize.x)
+                .Add(MathUtilities.Abs(world.GetAxis(1)).Scale(halfSize.y))
+                .Add(MathUtilities.Abs(world.GetAxis(2)).Scale(halfSize.z));
+
+        return new BoundingBox(world.center, extents);
+    }
+
+    @Override
+    public Vector3D Support(Vector3D direction)
+    {
+        BoxWorldData world = (BoxWorldData) GetWorldData();
+        Vector3D scaledHalfSize = world.scaledHalfSize;
+        Vector3D support = world.center;
+
+        Vector3D right = world.GetAxis(0);
+        Vector3D up = world.GetAxis(1);
+        Vector3D forward = world.GetAxis(2);
+
+        support = support.Add(right.Scale(direction.DotProduct(right) >= 0 ? scaledHalfSize.x : -scaledHalfSize.x));
+        support = support.Add(up.Scale(direction.DotProduct(up) >= 0 ? scaledHalfSize.y : -scaledHalfSize.y));
+        support = support.Add(forward.Scale(direction.DotProduct(forward) >= 0 ? scaledHalfSize.z : -scaledHalfSize.z));
+
+        return support;
+    }
+
+    @Override
+    public void Support(float x, float y, float z, float[] target, int offset)
+    {
+        BoxWorldData world = (BoxWorldData) GetWorldData();
+        Vector3D scaledHalfSize = world.scaledHalfSize;
+
+        float supportX = world.center.x;
+        float supportY = world.center.y;
+        float supportZ = world.center.z;
+
+        for(int i = 0; i < 3; i++)
+        {
+            Vector3D axis = world.GetAxis(i);
+            float extent = i == 0 ? scaledHalfSize.x : i == 1 ? scaledHalfSize.y : scaledHalfSize.z;
+            if(axis.x * x + axis.y * y + axis.z * z < 0)
+                extent = -extent;
+
+            supportX += axis.x * extent;
+            supportY += axis.y * extent;
+            supportZ += axis.z * extent;
+        }
+
+        target[offset] = supportX;
+        target[offset + 1] = supportY;
+        target[offset + 2] = supportZ;
     }
 
     @Override
     public boolean CheckPoint(Vector3D point)
     {
-        Vector3D scaledHalfSize = GetScaledHalfSize();
-        Vector3D localPoint = transform().WorldToLocalSpace(point);
+        BoxWorldData world = (BoxWorldData) GetWorldData();
+        Vector3D scaledHalfSize = world.scaledHalfSize;
+        Vector3D localPoint = world.WorldToShapeSpace(point);
 
         return !(Math.abs(localPoint.x) > scaledHalfSize.x ||
                 Math.abs(localPoint.y) > scaledHalfSize.y ||
@@ -147,19 +223,20 @@ public class BoxCollider extends Collider
     @Override
     public Contact GetContactPoint(Vector3D point, Rigidbody source)
     {
-        Vector3D scaledHalfSize = GetScaledHalfSize();
-        Vector3D localPoint = transform().WorldToLocalSpace(point);
+        BoxWorldData world = (BoxWorldData) GetWorldData();
+        Vector3D scaledHalfSize = world.scaledHalfSize;
+        Vector3D localPoint = world.WorldToShapeSpace(point);
 
         float minDepth = scaledHalfSize.x - Math.abs(localPoint.x);
         if(minDepth < 0) return null;
-        Vector3D normal = transform().Right().Scale(Math.signum(localPoint.x));
+        Vector3D normal = world.GetAxis(0).Scale(Math.signum(localPoint.x));
 
         float depth = scaledHalfSize.y - Math.abs(localPoint.y);
         if(depth < 0) return null;
         else if (depth < minDepth)
         {
             minDepth = depth;
-            normal = transform().Right().Scale(Math.signum(localPoint.y));
+            normal = world.GetAxis(1).Scale(Math.signum(localPoint.y));
         }
 
         depth = scaledHalfSize.z - Math.abs(localPoint.z);
@@ -167,7 +244,7 @@ public class BoxCollider extends Collider
         else if (depth < minDepth)
         {
             minDepth = depth;
-            normal = transform().Right().Scale(Math.signum(localPoint.z));
+            normal = world.GetAxis(2).Scale(Math.signum(localPoint.z));
         }
 
         return new Contact(GetRigidbody(), rigidbody, point, normal, minDepth);
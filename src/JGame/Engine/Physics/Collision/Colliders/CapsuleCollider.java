@@ -2,18 +2,155 @@ package JGame.Engine.Physics.Collision.Colliders;
 
 import JGame.Engine.Graphics.Renderers.WireframeRenderers.WireshapeRenderer;
 import JGame.Engine.Physics.Bodies.Rigidbody;
+import JGame.Engine.Physics.Collision.BoundingVolumes.BoundingBox;
 import JGame.Engine.Physics.Collision.BoundingVolumes.BoundingVolume;
 import JGame.Engine.Physics.Collision.Contact.Contact;
 import JGame.Engine.Physics.Raycast.RaycastContact;
 import JGame.Engine.Structures.Vector3D;
+import JGame.Engine.Utilities.MathUtilities;
 
+/**
+ * Capsule collider aligned with the local Y axis
+ */
 public class CapsuleCollider extends Collider
 {
+    /**
+     * Radius of the capsule
+     */
+    private float radius = 0.5f;
+    /**
+     * Total height of the capsule, from tip to tip, including both caps
+     */
+    private float height = 2.0f;
+
+    public float GetRadius()
+    {
+        return radius;
+    }
+
+    public void SetRadius(float radius)
+    {
+        this.radius = Math.abs(radius);
+        MarkWorldDataDirty();
+    }
+
+    public float GetHeight()
+    {
+        return height;
+    }
+
+    public void SetHeight(float height)
+    {
+        this.height = Math.abs(height);
+        MarkWorldDataDirty();
+    }
+
+    /**
+     * World data of the capsule, with its sizes scaled by the global scale
+     */
+    private static final class CapsuleWorldData extends WorldData
+    {
+        private final float scaledRadius, scaledSegmentHalfLength;
+
+        private CapsuleWorldData(WorldData world, float scaledRadius, float scaledSegmentHalfLength)
+        {
+            super(world);
+            this.scaledRadius = scaledRadius;
+            this.scaledSegmentHalfLength = scaledSegmentHalfLength;
+        }
+    }
+
+    public float GetScaledRadius()
+    {
+        return ((CapsuleWorldData) GetWorldData()).scaledRadius;
+    }
+
+    /**
+     * Gets the half length of the inner segment of the capsule, without the caps, taking scale into account
+     * @return
+     * The half length of the inner segment
+     */
+    public float GetScaledSegmentHalfLength()
+    {
+        return ((CapsuleWorldData) GetWorldData()).scaledSegmentHalfLength;
+    }
+
+    @Override
+    protected WorldData CreateWorldData(WorldData world)
+    {
+        Vector3D scale = world.scale;
+        float scaledRadius = Math.max(scale.x, scale.z) * radius;
+
+        return new CapsuleWorldData(world, scaledRadius, Math.max(scale.y * height * 0.5f - scaledRadius, 0.0f));
+    }
+
+    /**
+     * Gets the closest point to a point on the inner segment of the capsule, in world space
+     * @param point
+     * The point
+     * @return
+     * The closest point on the inner segment
+     */
+    public Vector3D GetClosestSegmentPoint(Vector3D point)
+    {
+        return GetClosestSegmentPoint((CapsuleWorldData) GetWorldData(), point);
+    }
+
+    private static Vector3D GetClosestSegmentPoint(CapsuleWorldData world, Vector3D point)
+    {
+        Vector3D axis = world.GetAxis(1);
+        float halfLength = world.scaledSegmentHalfLength;
+
+        float t = MathUtilities.Clamp(point.Subtract(world.center).DotProduct(axis), -halfLength, halfLength);
+
+        return world.center.Add(axis.Scale(t));
+    }
 
     @Override
     public RaycastContact Raycast(Vector3D origin, Vector3D direction, float maxDistance)
     {
-        return null;
+        CapsuleWorldData world = (CapsuleWorldData) GetWorldData();
+        Vector3D worldDirection = direction.Normalized();
+
+        //In the space of the shape the segment lies along Y
+        Vector3D localOrigin = world.WorldToShapeSpace(origin);
+        Vector3D localDirection = world.WorldToShapeDirection(worldDirection);
+        float radius = world.scaledRadius;
+        float halfLength = world.scaledSegmentHalfLength;
+
+        float distance = CylinderCollider.RaycastSide(localOrigin, localDirection, radius, halfLength);
+
+        //Each cap is a sphere, only the half beyond the segment is part of the surface
+        for(int cap = -1; cap <= 1; cap += 2)
+        {
+            Vector3D oc = localOrigin.Subtract(new Vector3D(0, cap * halfLength, 0));
+
+            float b = oc.DotProduct(localDirection);
+            float c = oc.DotProduct(oc) - radius * radius;
+            float discriminant = b * b - c;
+            if(discriminant < 0)
+                continue;
+
+            float root = (float) Math.sqrt(discriminant);
+            for(int side = -1; side <= 1; side += 2)
+            {
+                float t = -b + side * root;
+                float y = localOrigin.y + localDirection.y * t;
+
+                if(t >= 0 && t < distance && (y - cap * halfLength) * cap >= 0)
+                    distance = t;
+            }
+        }
+
+        if(distance > maxDistance)
+            return null;
+
+        //The normal points away from the closest point of the segment
+        Vector3D localPoint = localOrigin.Add(localDirection.Scale(distance));
+        Vector3D segmentPoint = new Vector3D(0, MathUtilities.Clamp(localPoint.y, -halfLength, halfLength), 0);
+        Vector3D normal = world.ShapeToWorldDirection(localPoint.Subtract(segmentPoint)).Normalized();
+
+        return new RaycastContact(origin.Add(worldDirection.Scale(distance)), normal, GetRigidbody());
     }
 
     @Override
@@ -23,20 +160,62 @@ public class CapsuleCollider extends Collider
     }
 
     @Override
-    public BoundingVolume GetBoundingVolume()
+    protected BoundingVolume CalculateBoundingVolume(WorldData world)
     {
-        return null;
+        CapsuleWorldData capsule = (CapsuleWorldData) world;
+        Vector3D segment = MathUtilities.Abs(world.GetAxis(1)).Scale(capsule.scaledSegmentHalfLength);
+        float scaledRadius = capsule.scaledRadius;
+
+        return new BoundingBox(world.center, segment.Add(new Vector3D(scaledRadius, scaledRadius, scaledRadius)));
+    }
+
+    @Override
+    public Vector3D Support(Vector3D direction)
+    {
+        CapsuleWorldData world = (CapsuleWorldData) GetWorldData();
+        Vector3D axis = world.GetAxis(1);
+        float halfLength = world.scaledSegmentHalfLength;
+
+        Vector3D tip = world.center.Add(axis.Scale(direction.DotProduct(axis) >= 0 ? halfLength : -halfLength));
+
+        return tip.Add(direction.Normalized().Scale(world.scaledRadius));
+    }
+
+    @Override
+    public void Support(float x, float y, float z, float[] target, int offset)
+    {
+        CapsuleWorldData world = (CapsuleWorldData) GetWorldData();
+        Vector3D axis = world.GetAxis(1);
+
+        float halfLength = axis.x * x + axis.y * y + axis.z * z >= 0 ? world.scaledSegmentHalfLength : -world.scaledSegmentHalfLength;
+        float length = (float) Math.sqrt(x * x + y * y + z * z);
+        float scale = length < 1e-7f ? 0 : world.scaledRadius / length;
+
+        target[offset] = world.center.x + axis.x * halfLength + x * scale;
+        target[offset + 1] = world.center.y + axis.y * halfLength + y * scale;
+        target[offset + 2] = world.center.z + axis.z * halfLength + z * scale;
     }
 
     @Override
     public boolean CheckPoint(Vector3D point)
     {
-        return false;
+        CapsuleWorldData world = (CapsuleWorldData) GetWorldData();
+        float scaledRadius = world.scaledRadius;
+
+        return Vector3D.DistanceSquared(GetClosestSegmentPoint(world, point), point) <= scaledRadius * scaledRadius;
     }
 
     @Override
     public Contact GetContactPoint(Vector3D point, Rigidbody source)
     {
-        return null;
+        CapsuleWorldData world = (CapsuleWorldData) GetWorldData();
+        Vector3D localPoint = GetClosestSegmentPoint(world, point).Subtract(point);
+        float distance = localPoint.Magnitude();
+
+        float depth = world.scaledRadius - distance;
+        if(depth < 0) return null;
+        Vector3D normal = distance == 0 ? world.GetAxis(0) : localPoint.Normalized();
+
+        return new Contact(GetRigidbody(), source, point, normal, depth);
     }
 }
@@ -1,25 +1,44 @@
 package JGame.Engine.Physics.Collision.Colliders;
 
 import JGame.Engine.Basic.JComponent;
+import JGame.Engine.Basic.NotCopied;
 import JGame.Engine.EventSystem.Event1P;
 import JGame.Engine.Graphics.Renderers.WireframeRenderers.WireshapeRenderer;
 import JGame.Engine.Physics.Bodies.Rigidbody;
+import JGame.Engine.Physics.Collision.BoundingVolumes.BoundingBox;
 import JGame.Engine.Physics.Collision.BoundingVolumes.BoundingVolume;
 import JGame.Engine.Physics.Collision.Contact.Contact;
-import JGame.Engine.Physics.Collision.Helper.CollisionHelper;
+import JGame.Engine.Physics.Collision.Helper.CollisionDispatcher;
+import JGame.Engine.Physics.Interfaces.ISupportShape;
 import JGame.Engine.Physics.Raycast.RaycastContact;
 import JGame.Engine.Settings;
 import JGame.Engine.Structures.ColorRGBA;
+import JGame.Engine.Structures.Matrix4x4;
 import JGame.Engine.Structures.Vector3D;
+import JGame.Engine.Utilities.MathUtilities;
+
+import java.util.List;
 
 /**
  * Base Class for colliders, all colliders should extend from this class
  */
-public abstract class Collider extends JComponent
+public abstract class Collider extends JComponent implements ISupportShape
 {
     protected Rigidbody rigidbody;
+    @NotCopied
     protected WireshapeRenderer colliderRenderer;
 
+    /**
+     * Trigger colliders only detect overlaps, they never generate contacts or block raycasts.
+     * Overlaps are reported through OnTriggerEnter, OnTriggerStay and OnTriggerExit
+     */
+    public boolean isTrigger = false;
+
+    /**
+     * Shape type ordinal used to select the narrow phase routines for each pair of colliders
+     */
+    private final int shapeType = CollisionDispatcher.GetShapeType(getClass());
+
     private final Event1P<Boolean> OnDebugView = new Event1P<>()
     {
         @Override
@@ -39,7 +58,17 @@ public abstract class Collider extends JComponent
     }
 
     /**
-     * Center of the box, in local space
+     * Gets the shape type ordinal of the collider, as registered in the CollisionDispatcher
+     * @return
+     * The shape type ordinal
+     */
+    public final int GetShapeType()
+    {
+        return shapeType;
+    }
+
+    /**
+     * Center of the collider, in local space
      */
     protected Vector3D center = Vector3D.Zero;
     /**
@@ -56,13 +85,287 @@ public abstract class Collider extends JComponent
      * @return
      * The center of the collider in world space
      */
-    public Vector3D GetCenterWorld()
+    public final Vector3D GetCenterWorld()
     {
-        return transform().LocalToWorldSpace(center);
+        return GetWorldData().center;
     }
     public void SetCenter(Vector3D center)
     {
         this.center = center;
+        MarkWorldDataDirty();
+    }
+
+    //------World Data Cache------
+
+    /**
+     * World data of a collider built from one transformation matrix. It's never modified after being published, so queries running on
+     * several threads always read a consistent set of values. Colliders with more cached values, like their scaled sizes, extend it
+     */
+    protected static class WorldData
+    {
+        /**
+         * Transformation matrix the world data was built from, the transform replaces its matrix on every change
+         */
+        private final Matrix4x4 transformation;
+        private final int shapeVersion;
+        private final Vector3D[] axes;
+        private BoundingVolume boundingVolume;
+
+        /**
+         * Center of the collider in world space
+         */
+        public final Vector3D center;
+        /**
+         * Absolute global scale of the collider
+         */
+        public final Vector3D scale;
+
+        private WorldData(Matrix4x4 transformation, int shapeVersion, Vector3D center, Vector3D[] axes, Vector3D scale)
+        {
+            this.transformation = transformation;
+            this.shapeVersion = shapeVersion;
+            this.center = center;
+            this.axes = axes;
+            this.scale = scale;
+        }
+
+        /**
+         * Creates world data with the same values as another, used by colliders to add their own cached values
+         * @param world
+         * The world data to copy
+         */
+        protected WorldData(WorldData world)
+        {
+            this(world.transformation, world.shapeVersion, world.center, world.axes, world.scale);
+        }
+
+        /**
+         * Gets one of the normalized axes of the collider in world space
+         * @param index
+         * 0 for right, 1 for up and 2 for forward
+         * @return
+         * The axis in world space
+         */
+        public final Vector3D GetAxis(int index)
+        {
+            return axes[index];
+        }
+
+        /**
+         * Transforms a point from world space into the space of the shape
+         * @param point
+         * The point in world space
+         * @return
+         * The point in shape space
+         */
+        public final Vector3D WorldToShapeSpace(Vector3D point)
+        {
+            return WorldToShapeDirection(point.Subtract(center));
+        }
+
+        /**
+         * Transforms a point from the space of the shape into world space
+         * @param point
+         * The point in shape space
+         * @return
+         * The point in world space
+         */
+        public final Vector3D ShapeToWorldSpace(Vector3D point)
+        {
+            return center.Add(ShapeToWorldDirection(point));
+        }
+
+        /**
+         * Transforms a direction from world space into the space of the shape
+         * @param direction
+         * The direction in world space
+         * @return
+         * The direction in shape space
+         */
+        public final Vector3D WorldToShapeDirection(Vector3D direction)
+        {
+            return new Vector3D(direction.DotProduct(axes[0]), direction.DotProduct(axes[1]), direction.DotProduct(axes[2]));
+        }
+
+        /**
+         * Transforms a direction from the space of the shape into world space
+         * @param direction
+         * The direction in shape space
+         * @return
+         * The direction in world space
+         */
+        public final Vector3D ShapeToWorldDirection(Vector3D direction)
+        {
+            return axes[0].Scale(direction.x)
+                    .Add(axes[1].Scale(direction.y))
+                    .Add(axes[2].Scale(direction.z));
+        }
+
+        /**
+         * Gets the world space bounding box of a box given in shape space
+         * @param min
+         * The min corner in shape space
+         * @param max
+         * The max corner in shape space
+         * @return
+         * The world space bounding box
+         */
+        public final BoundingBox ShapeBoundsToWorld(Vector3D min, Vector3D max)
+        {
+            Vector3D half = max.Subtract(min).Scale(0.5f);
+            Vector3D halfSize = MathUtilities.Abs(axes[0]).Scale(half.x)
+                    .Add(MathUtilities.Abs(axes[1]).Scale(half.y))
+                    .Add(MathUtilities.Abs(axes[2]).Scale(half.z));
+
+            return new BoundingBox(ShapeToWorldSpace(min.Add(max).Scale(0.5f)), halfSize);
+        }
+    }
+
+    /**
+     * Last published world data, replaced as a whole whenever the transform or the shape changes
+     */
+    @NotCopied
+    private volatile WorldData worldData;
+    /**
+     * Incremented on every shape change, the world data built for an older version is rebuilt
+     */
+    @NotCopied
+    private volatile int shapeVersion;
+
+    /**
+     * Flags the cached world data to be rebuilt, should be called whenever a shape property changes
+     */
+    protected final void MarkWorldDataDirty()
+    {
+        shapeVersion++;
+    }
+
+    @Override
+    protected void OnCopied()
+    {
+        super.OnCopied();
+
+        //Duplicates may have built the cache for their default shape before the copy
+        MarkWorldDataDirty();
+    }
+
+    /**
+     * Rebuilds the cached world data if the transform or the shape changed since the last time it was built.
+     * Physics queries call this implicitly, so the cache is rebuilt at most once per step for every moving collider
+     */
+    public final void RefreshWorldData()
+    {
+        GetWorldData();
+    }
+
+    /**
+     * Gets the world data of the collider, rebuilding it if the transform or the shape changed since it was built.
+     * Readers should get it once and read every value from it, so they don't mix values from two different snapshots
+     * @return
+     * The world data of the collider
+     */
+    protected final WorldData GetWorldData()
+    {
+        Matrix4x4 transformation = transform().GetTransformationMatrix();
+        int shapeVersion = this.shapeVersion;
+        WorldData world = worldData;
+
+        if(world != null && world.transformation == transformation && world.shapeVersion == shapeVersion)
+            return world;
+
+        Vector3D[] axes = { transform().Right(), transform().Up(), transform().Forward() };
+        world = CreateWorldData(new WorldData(transformation, shapeVersion, transform().LocalToWorldSpace(center), axes,
+                MathUtilities.Abs(transform().GetGlobalScale())));
+        world.boundingVolume = CalculateBoundingVolume(world);
+
+        //Everything is computed before this single write, other threads see either the previous snapshot or the complete new one
+        worldData = world;
+
+        return world;
+    }
+
+    /**
+     * Called when the world data is rebuilt, colliders with cached values such as their scaled sizes return their own
+     * world data extending the given one. Shouldn't call any getter reading the world data of the collider
+     * @param world
+     * The world data with the center, axes and scale
+     * @return
+     * The world data to publish
+     */
+    protected WorldData CreateWorldData(WorldData world)
+    {
+        return world;
+    }
+
+    /**
+     * Gets one of the normalized axes of the collider in world space
+     * @param index
+     * 0 for right, 1 for up and 2 for forward
+     * @return
+     * The axis in world space
+     */
+    public final Vector3D GetWorldAxis(int index)
+    {
+        return GetWorldData().GetAxis(index);
+    }
+
+    /**
+     * Gets the absolute global scale of the collider
+     * @return
+     * The absolute global scale
+     */
+    public final Vector3D GetWorldScale()
+    {
+        return GetWorldData().scale;
+    }
+
+    /**
+     * Transforms a point from world space into the space of the shape: centered on the world center, aligned with the world axes
+     * and without scale, so it can be compared directly against the scaled sizes of the shape
+     * @param point
+     * The point in world space
+     * @return
+     * The point in shape space
+     */
+    public final Vector3D WorldToShapeSpace(Vector3D point)
+    {
+        return GetWorldData().WorldToShapeSpace(point);
+    }
+
+    /**
+     * Transforms a point from the space of the shape into world space
+     * @param point
+     * The point in shape space
+     * @return
+     * The point in world space
+     */
+    public final Vector3D ShapeToWorldSpace(Vector3D point)
+    {
+        return GetWorldData().ShapeToWorldSpace(point);
+    }
+
+    /**
+     * Transforms a direction from world space into the space of the shape
+     * @param direction
+     * The direction in world space
+     * @return
+     * The direction in shape space
+     */
+    public final Vector3D WorldToShapeDirection(Vector3D direction)
+    {
+        return GetWorldData().WorldToShapeDirection(direction);
+    }
+
+    /**
+     * Transforms a direction from the space of the shape into world space
+     * @param direction
+     * The direction in shape space
+     * @return
+     * The direction in world space
+     */
+    public final Vector3D ShapeToWorldDirection(Vector3D direction)
+    {
+        return GetWorldData().ShapeToWorldDirection(direction);
     }
 
     /**
@@ -78,6 +381,11 @@ public abstract class Collider extends JComponent
     private void CreateRenderer()
     {
         colliderRenderer = CreateWireframe();
+
+        //Not every shape has a wireframe representation
+        if(colliderRenderer == null)
+            return;
+
         colliderRenderer.SetColor(ColorRGBA.Green);
 
         colliderRenderer.SetActive(Settings.Debug.GetDebugView());
@@ -103,12 +411,20 @@ public abstract class Collider extends JComponent
     @Override
     protected final void OnEnable()
     {
-        if(rigidbody != null)
+        if(rigidbody != null && !IsSuspended())
             rigidbody.  AddCollider(this);
     }
 
     @Override
     protected final void OnDisable()
+    {
+        //Suspended colliders stay in the mid phase of their rigidbody
+        if(rigidbody != null && !IsSuspended())
+            rigidbody.RemoveCollider(this);
+    }
+
+    @Override
+    protected final void OnRelease()
     {
         if(rigidbody != null)
             rigidbody.RemoveCollider(this);
@@ -136,139 +452,9 @@ public abstract class Collider extends JComponent
      */
     public final boolean Overlaps(Collider other)
     {
-        // Handle cases where `this` is a BoxCollider
-        if (this instanceof BoxCollider box)
-        {
-            if (other instanceof BoxCollider boxB)
-            {
-                return CollisionHelper.Overlaps(box, boxB);
-            }
-            else if (other instanceof SphereCollider sphere)
-            {
-                return CollisionHelper.Overlaps(box, sphere);
-            }
-            else if (other instanceof CapsuleCollider capsule)
-            {
-                return CollisionHelper.Overlaps(box, capsule);
-            }
-            else if (other instanceof CylinderCollider cylinder)
-            {
-                return CollisionHelper.Overlaps(box, cylinder);
-            }
-            else if (other instanceof PlaneCollider plane)
-            {
-                return CollisionHelper.Overlaps(box, plane);
-            }
-        }
-
-        // Handle cases where `this` is a SphereCollider
-        else if (this instanceof SphereCollider sphere)
-        {
-            if (other instanceof BoxCollider box)
-            {
-                return CollisionHelper.Overlaps(box, sphere);
-            }
-            else if (other instanceof SphereCollider sphereB)
-            {
-                return CollisionHelper.Overlaps(sphere, sphereB);
-            }
-            else if (other instanceof CapsuleCollider capsule)
-            {
-                return CollisionHelper.Overlaps(sphere, capsule);
-            }
-            else if (other instanceof CylinderCollider cylinder)
-            {
-                return CollisionHelper.Overlaps(sphere, cylinder);
-            }
-            else if (other instanceof PlaneCollider plane)
-            {
-                return CollisionHelper.Overlaps(sphere, plane);
-            }
-        }
-
-        // Handle cases where `this` is a CapsuleCollider
-        else if (this instanceof CapsuleCollider capsule)
-        {
-            if (other instanceof BoxCollider box)
-            {
-                return CollisionHelper.Overlaps(box, capsule);
-            }
-            else if (other instanceof SphereCollider sphere)
-            {
-                return CollisionHelper.Overlaps(sphere, capsule);
-            }
-            else if (other instanceof CapsuleCollider capsuleB)
-            {
-                return CollisionHelper.Overlaps(capsule, capsuleB);
-            }
-            else if (other instanceof CylinderCollider cylinder)
-            {
-                return CollisionHelper.Overlaps(cylinder, capsule);
-            }
-            else if (other instanceof PlaneCollider plane)
-            {
-                return CollisionHelper.Overlaps(capsule, plane);
-            }
-        }
-
-        // Handle cases where `this` is a CylinderCollider
-        else if (this instanceof CylinderCollider cylinder)
-        {
-            if (other instanceof BoxCollider box)
-            {
-                return CollisionHelper.Overlaps(box, cylinder);
-            }
-            else if (other instanceof SphereCollider sphere)
-            {
-                return CollisionHelper.Overlaps(sphere, cylinder);
-            }
-            else if (other instanceof CapsuleCollider capsule)
-            {
-                return CollisionHelper.Overlaps(cylinder, capsule);
-            }
-            else if (other instanceof CylinderCollider cylinderB)
-            {
-                return CollisionHelper.Overlaps(cylinder, cylinderB);
-            }
-            else if (other instanceof PlaneCollider plane)
-            {
-                return CollisionHelper.Overlaps(cylinder, plane);
-            }
-        }
-
-        // Handle cases where `this` is a PlaneCollider
-        else if (this instanceof PlaneCollider plane)
-        {
-            if (other instanceof BoxCollider box)
-            {
-                return CollisionHelper.Overlaps(box, plane);
-            }
-            else if (other instanceof SphereCollider sphere)
-            {
-                return CollisionHelper.Overlaps(sphere, plane);
-            }
-            else if (other instanceof CapsuleCollider capsule)
-            {
-                return CollisionHelper.Overlaps(capsule, plane);
-            }
-            else if (other instanceof CylinderCollider cylinder)
-            {
-                return CollisionHelper.Overlaps(cylinder, plane);
-            }
-            else if (other instanceof PlaneCollider planeB)
-            {
-                return CollisionHelper.Overlaps(plane, planeB);
-            }
-        }
-
-        throw new IllegalArgumentException(
-                "Invalid Collider type combination! Collider types: "
-                        + this.getClass().getName() + " and "
-                        + other.getClass().getName()
-        );
+        return CollisionDispatcher.Overlaps(this, other);
     }
 
-
     /**
      * Gets contacts between this collider and another
      * @param other
@@ -278,138 +464,25 @@ public abstract class Collider extends JComponent
      */
     public final Contact GetContact(Collider other)
     {
-        // Handle cases where `this` is a BoxCollider
-        if (this instanceof BoxCollider box)
-        {
-            if (other instanceof BoxCollider boxB)
-            {
-                return CollisionHelper.GetContact(box, boxB);
-            }
-            else if (other instanceof SphereCollider sphere)
-            {
-                return CollisionHelper.GetContact(box, sphere);
-            }
-            else if (other instanceof CapsuleCollider capsule)
-            {
-                return CollisionHelper.GetContact(box, capsule);
-            }
-            else if (other instanceof CylinderCollider cylinder)
-            {
-                return CollisionHelper.GetContact(box, cylinder);
-            }
-            else if (other instanceof PlaneCollider plane)
-            {
-                return CollisionHelper.GetContact(box, plane);
-            }
-        }
-
-        // Handle cases where `this` is a SphereCollider
-        else if (this instanceof SphereCollider sphere)
-        {
-            if (other instanceof BoxCollider box)
-            {
-                return CollisionHelper.GetContact(box, sphere);
-            }
-            else if (other instanceof SphereCollider sphereB)
-            {
-                return CollisionHelper.GetContact(sphere, sphereB);
-            }
-            else if (other instanceof CapsuleCollider capsule)
-            {
-                return CollisionHelper.GetContact(sphere, capsule);
-            }
-            else if (other instanceof CylinderCollider cylinder)
-            {
-                return CollisionHelper.GetContact(sphere, cylinder);
-            }
-            else if (other instanceof PlaneCollider plane)
-            {
-                return CollisionHelper.GetContact(sphere, plane);
-            }
-        }
-
-        // Handle cases where `this` is a CapsuleCollider
-        else if (this instanceof CapsuleCollider capsule)
-        {
-            if (other instanceof BoxCollider box)
-            {
-                return CollisionHelper.GetContact(box, capsule);
-            }
-            else if (other instanceof SphereCollider sphere)
-            {
-                return CollisionHelper.GetContact(sphere, capsule);
-            }
-            else if (other instanceof CapsuleCollider capsuleB)
-            {
-                return CollisionHelper.GetContact(capsule, capsuleB);
-            }
-            else if (other instanceof CylinderCollider cylinder)
-            {
-                return CollisionHelper.GetContact(cylinder, capsule);
-            }
-            else if (other instanceof PlaneCollider plane)
-            {
-                return CollisionHelper.GetContact(capsule, plane);
-            }
-        }
-
-        // Handle cases where `this` is a CylinderCollider
-        else if (this instanceof CylinderCollider cylinder)
-        {
-            if (other instanceof BoxCollider box)
-            {
-                return CollisionHelper.GetContact(box, cylinder);
-            }
-            else if (other instanceof SphereCollider sphere)
-            {
-                return CollisionHelper.GetContact(sphere, cylinder);
-            }
-            else if (other instanceof CapsuleCollider capsule)
-            {
-                return CollisionHelper.GetContact(cylinder, capsule);
-            }
-            else if (other instanceof CylinderCollider cylinderB)
-            {
-                return CollisionHelper.GetContact(cylinder, cylinderB);
-            }
-            else if (other instanceof PlaneCollider plane)
-            {
-                return CollisionHelper.GetContact(cylinder, plane);
-            }
-        }
-
-        // Handle cases where `this` is a PlaneCollider
-        else if (this instanceof PlaneCollider plane)
-        {
-            if (other instanceof BoxCollider box)
-            {
-                return CollisionHelper.GetContact(box, plane);
-            }
-            else if (other instanceof SphereCollider sphere)
-            {
-                return CollisionHelper.GetContact(sphere, plane);
-            }
-            else if (other instanceof CapsuleCollider capsule)
-            {
-                return CollisionHelper.GetContact(capsule, plane);
-            }
-            else if (other instanceof CylinderCollider cylinder)
-            {
-                return CollisionHelper.GetContact(cylinder, plane);
-            }
-            else if (other instanceof PlaneCollider planeB)
-            {
-                return CollisionHelper.GetContact(plane, planeB);
-            }
-        }
-
-        throw new IllegalArgumentException(
-                "Invalid Collider type combination! Collider types: "
-                        + this.getClass().getName() + " and "
-                        + other.getClass().getName()
-        );
+        return CollisionDispatcher.GetContact(this, other);
     }
 
+    /**
+     * Adds the contacts between this collider and another to a list, pairs that support contact manifolds
+     * can add more than one contact
+     * @param other
+     * The other collider
+     * @param contacts
+     * The list the contacts are added to
+     * @param limit
+     * The max number of contacts to add
+     * @return
+     * The number of contacts added
+     */
+    public final int GetContacts(Collider other, List<Contact> contacts, int limit)
+    {
+        return CollisionDispatcher.GetContacts(this, other, contacts, limit);
+    }
 
     /**
      * Should add a wireshape renderer of the matching shape to the object and return it
@@ -418,11 +491,56 @@ public abstract class Collider extends JComponent
      */
     protected abstract WireshapeRenderer CreateWireframe();
     /**
-     * Gets the bounding volume that encapsulates this collider
+     * Gets the bounding volume that encapsulates this collider, from the world data cache
+     * @return
+     * The bounding volume that encapsulates this collider
+     */
+    public final BoundingVolume GetBoundingVolume()
+    {
+        return GetWorldData().boundingVolume;
+    }
+
+    /**
+     * Calculates the bounding volume that encapsulates this collider, called when the world data cache is rebuilt
+     * @param world
+     * The world data being built, the values must be read from it instead of the getters of the collider
      * @return
      * The bounding volume that encapsulates this collider
      */
-    public abstract BoundingVolume GetBoundingVolume();
+    protected abstract BoundingVolume CalculateBoundingVolume(WorldData world);
+
+    /**
+     * Gets the furthest point of the collider along a direction, in world space.
+     * Used by the generic convex narrow phase (GJK/EPA), so every collider must be convex
+     * @param direction
+     * The direction to search along, doesn't need to be normalized
+     * @return
+     * The furthest point of the collider along the direction, in world space
+     */
+    public abstract Vector3D Support(Vector3D direction);
+
+    /**
+     * Writes the furthest point of the collider along a direction into an array, in world space. The generic narrow phase calls this
+     * in its inner loop, so the built-in convex colliders override it without allocating
+     * @param x
+     * The X component of the direction, which doesn't need to be normalized
+     * @param y
+     * The Y component of the direction
+     * @param z
+     * The Z component of the direction
+     * @param target
+     * The array the point is written to
+     * @param offset
+     * The offset the point is written at
+     */
+    public void Support(float x, float y, float z, float[] target, int offset)
+    {
+        Vector3D support = Support(new Vector3D(x, y, z));
+
+        target[offset] = support.x;
+        target[offset + 1] = support.y;
+        target[offset + 2] = support.z;
+    }
 
     /**
      * Returns true if the point is inside the collider
@@ -2,17 +2,158 @@ package JGame.Engine.Physics.Collision.Colliders;
 
 import JGame.Engine.Graphics.Renderers.WireframeRenderers.WireshapeRenderer;
 import JGame.Engine.Physics.Bodies.Rigidbody;
+import JGame.Engine.Physics.Collision.BoundingVolumes.BoundingBox;
 import JGame.Engine.Physics.Collision.BoundingVolumes.BoundingVolume;
 import JGame.Engine.Physics.Collision.Contact.Contact;
 import JGame.Engine.Physics.Raycast.RaycastContact;
 import JGame.Engine.Structures.Vector3D;
+import JGame.Engine.Utilities.MathUtilities;
 
+/**
+ * Cylinder collider aligned with the local Y axis
+ */
 public class CylinderCollider extends Collider
 {
+    /**
+     * Radius of the cylinder
+     */
+    private float radius = 0.5f;
+    /**
+     * Total height of the cylinder
+     */
+    private float height = 2.0f;
+
+    public float GetRadius()
+    {
+        return radius;
+    }
+
+    public void SetRadius(float radius)
+    {
+        this.radius = Math.abs(radius);
+        MarkWorldDataDirty();
+    }
+
+    public float GetHeight()
+    {
+        return height;
+    }
+
+    public void SetHeight(float height)
+    {
+        this.height = Math.abs(height);
+        MarkWorldDataDirty();
+    }
+
+    /**
+     * World data of the cylinder, with its sizes scaled by the global scale
+     */
+    private static final class CylinderWorldData extends WorldData
+    {
+        private final float scaledRadius, scaledHalfHeight;
+
+        private CylinderWorldData(WorldData world, float scaledRadius, float scaledHalfHeight)
+        {
+            super(world);
+            this.scaledRadius = scaledRadius;
+            this.scaledHalfHeight = scaledHalfHeight;
+        }
+    }
+
+    public float GetScaledRadius()
+    {
+        return ((CylinderWorldData) GetWorldData()).scaledRadius;
+    }
+
+    public float GetScaledHalfHeight()
+    {
+        return ((CylinderWorldData) GetWorldData()).scaledHalfHeight;
+    }
+
+    @Override
+    protected WorldData CreateWorldData(WorldData world)
+    {
+        Vector3D scale = world.scale;
+
+        return new CylinderWorldData(world, Math.max(scale.x, scale.z) * radius, scale.y * height * 0.5f);
+    }
+
     @Override
     public RaycastContact Raycast(Vector3D origin, Vector3D direction, float maxDistance)
     {
-        return null;
+        CylinderWorldData world = (CylinderWorldData) GetWorldData();
+        Vector3D worldDirection = direction.Normalized();
+
+        //In the space of the shape the axis of the cylinder is Y
+        Vector3D localOrigin = world.WorldToShapeSpace(origin);
+        Vector3D localDirection = world.WorldToShapeDirection(worldDirection);
+        float radius = world.scaledRadius;
+        float halfHeight = world.scaledHalfHeight;
+
+        float distance = RaycastSide(localOrigin, localDirection, radius, halfHeight);
+        float capNormal = 0;
+
+        if(Math.abs(localDirection.y) > 1e-12f)
+        {
+            for(int cap = -1; cap <= 1; cap += 2)
+            {
+                float t = (cap * halfHeight - localOrigin.y) / localDirection.y;
+                float x = localOrigin.x + localDirection.x * t;
+                float z = localOrigin.z + localDirection.z * t;
+
+                if(t >= 0 && t < distance && x * x + z * z <= radius * radius)
+                {
+                    distance = t;
+                    capNormal = cap;
+                }
+            }
+        }
+
+        if(distance > maxDistance)
+            return null;
+
+        Vector3D localPoint = localOrigin.Add(localDirection.Scale(distance));
+        Vector3D localNormal = capNormal != 0 ? new Vector3D(0, capNormal, 0) : new Vector3D(localPoint.x, 0, localPoint.z);
+
+        return new RaycastContact(origin.Add(worldDirection.Scale(distance)), world.ShapeToWorldDirection(localNormal).Normalized(), GetRigidbody());
+    }
+
+    /**
+     * Gets the closest distance along a ray to the side of a cylinder around the Y axis, the caps aren't included.
+     * Rays starting inside the cylinder hit the side on their way out
+     * @param origin
+     * The origin of the ray, in the space of the shape
+     * @param direction
+     * The normalized direction of the ray, in the space of the shape
+     * @param radius
+     * The radius of the cylinder
+     * @param halfHeight
+     * The half height of the side
+     * @return
+     * The distance along the ray, infinity if the side isn't hit
+     */
+    static float RaycastSide(Vector3D origin, Vector3D direction, float radius, float halfHeight)
+    {
+        float a = direction.x * direction.x + direction.z * direction.z;
+        if(a < 1e-12f)
+            return Float.POSITIVE_INFINITY;
+
+        float b = origin.x * direction.x + origin.z * direction.z;
+        float c = origin.x * origin.x + origin.z * origin.z - radius * radius;
+        float discriminant = b * b - a * c;
+        if(discriminant < 0)
+            return Float.POSITIVE_INFINITY;
+
+        float root = (float) Math.sqrt(discriminant);
+        for(int side = -1; side <= 1; side += 2)
+        {
+            float t = (-b + side * root) / a;
+
+            if(t >= 0 && Math.abs(origin.y + direction.y * t) <= halfHeight)
+                return t;
+        }
+
+        return Float.POSITIVE_INFINITY;
     }
 
     @Override
@@ -22,21 +163,94 @@ public class CylinderCollider extends Collider
     }
 
     @Override
-    public BoundingVolume GetBoundingVolume()
+    protected BoundingVolume CalculateBoundingVolume(WorldData world)
     {
-        return null;
+        CylinderWorldData cylinder = (CylinderWorldData) world;
+        Vector3D axis = world.GetAxis(1);
+        float halfHeight = cylinder.scaledHalfHeight;
+        float scaledRadius = cylinder.scaledRadius;
+
+        //The disc of the caps extends by radius * sin(angle between the axis and each world axis)
+        Vector3D halfSize = new Vector3D
+        (
+            Math.abs(axis.x) * halfHeight + scaledRadius * (float) Math.sqrt(Math.max(0.0f, 1.0f - axis.x * axis.x)),
+            Math.abs(axis.y) * halfHeight + scaledRadius * (float) Math.sqrt(Math.max(0.0f, 1.0f - axis.y * axis.y)),
+            Math.abs(axis.z) * halfHeight + scaledRadius * (float) Math.sqrt(Math.max(0.0f, 1.0f - axis.z * axis.z))
+        );
+
+        return new BoundingBox(world.center, halfSize);
+    }
+
+    @Override
+    public Vector3D Support(Vector3D direction)
+    {
+        CylinderWorldData world = (CylinderWorldData) GetWorldData();
+        Vector3D axis = world.GetAxis(1);
+        float alongAxis = direction.DotProduct(axis);
+        float halfHeight = world.scaledHalfHeight;
+
+        Vector3D support = world.center.Add(axis.Scale(alongAxis >= 0 ? halfHeight : -halfHeight));
+
+        Vector3D radial = direction.Subtract(axis.Scale(alongAxis));
+        if(radial.SquaredMagnitude() > 1e-12f)
+            support = support.Add(radial.Normalized().Scale(world.scaledRadius));
+
+        return support;
+    }
+
+    @Override
+    public void Support(float x, float y, float z, float[] target, int offset)
+    {
+        CylinderWorldData world = (CylinderWorldData) GetWorldData();
+        Vector3D axis = world.GetAxis(1);
+
+        float alongAxis = axis.x * x + axis.y * y + axis.z * z;
+        float halfHeight = alongAxis >= 0 ? world.scaledHalfHeight : -world.scaledHalfHeight;
+
+        float radialX = x - axis.x * alongAxis;
+        float radialY = y - axis.y * alongAxis;
+        float radialZ = z - axis.z * alongAxis;
+        float radialSquared = radialX * radialX + radialY * radialY + radialZ * radialZ;
+        float scale = radialSquared > 1e-12f ? world.scaledRadius / (float) Math.sqrt(radialSquared) : 0;
+
+        target[offset] = world.center.x + axis.x * halfHeight + radialX * scale;
+        target[offset + 1] = world.center.y + axis.y * halfHeight + radialY * scale;
+        target[offset + 2] = world.center.z + axis.z * halfHeight + radialZ * scale;
     }
 
     @Override
     public boolean CheckPoint(Vector3D point)
     {
-        return false;
+        CylinderWorldData world = (CylinderWorldData) GetWorldData();
+        Vector3D axis = world.GetAxis(1);
+        Vector3D localPoint = point.Subtract(world.center);
+        float alongAxis = localPoint.DotProduct(axis);
+
+        if(Math.abs(alongAxis) > world.scaledHalfHeight)
+            return false;
+
+        float scaledRadius = world.scaledRadius;
+
+        return localPoint.Subtract(axis.Scale(alongAxis)).SquaredMagnitude() <= scaledRadius * scaledRadius;
     }
 
     @Override
     public Contact GetContactPoint(Vector3D point, Rigidbody source)
     {
-        return null;
-    }
+        CylinderWorldData world = (CylinderWorldData) GetWorldData();
+        Vector3D axis = world.GetAxis(1);
+        Vector3D localPoint = point.Subtract(world.center);
+        float alongAxis = localPoint.DotProduct(axis);
+        Vector3D radial = localPoint.Subtract(axis.Scale(alongAxis));
+        float radialDistance = radial.Magnitude();
+
+        float capDepth = world.scaledHalfHeight - Math.abs(alongAxis);
+        float sideDepth = world.scaledRadius - radialDistance;
+        if(capDepth < 0 || sideDepth < 0) return null;
 
+        if(capDepth < sideDepth || radialDistance == 0)
+            return new Contact(GetRigidbody(), source, point, axis.Scale(alongAxis >= 0 ? -1 : 1), capDepth);
+
+        return new Contact(GetRigidbody(), source, point, radial.Scale(-1.0f / radialDistance), sideDepth);
+    }
 }
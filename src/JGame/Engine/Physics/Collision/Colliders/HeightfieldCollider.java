@@ -0,0 +1,677 @@
+package JGame.Engine.Physics.Collision.Colliders;
+
+import JGame.Engine.Graphics.Renderers.WireframeRenderers.WireshapeRenderer;
+import JGame.Engine.Physics.Bodies.Rigidbody;
+import JGame.Engine.Physics.Collision.BoundingVolumes.BoundingVolume;
+import JGame.Engine.Physics.Collision.Contact.Contact;
+import JGame.Engine.Physics.Collision.Detection.BroadCollisionDetection;
+import JGame.Engine.Physics.Interfaces.ITriangleShape;
+import JGame.Engine.Physics.Raycast.RaycastContact;
+import JGame.Engine.Structures.Vector3D;
+
+/**
+ * Terrain collider made of a regular grid of heights on the local X-Z plane, centered on the collider center.
+ * The grid is split in tiles of the same size that can be loaded and unloaded at any time, cells of unloaded tiles don't collide.
+ * Every cell is made of two triangles, contacts only visit the cells under the bounds of the other collider
+ * and raycasts walk the grid with a DDA, first over the tiles and then over the cells of the tiles the ray can hit.
+ * Heightfields generate contacts against spheres, boxes and capsules
+ */
+public class HeightfieldCollider extends Collider implements ITriangleShape
+{
+    private static final float EPSILON = 1e-7f;
+    /**
+     * Edges between triangles whose normals are closer than this are inactive
+     */
+    private static final float COPLANAR_COSINE = 0.9995f;
+
+    private int tilesX = 0, tilesZ = 0;
+    private int tileCellsX = 0, tileCellsZ = 0;
+    private int cellsX = 0, cellsZ = 0;
+    private float cellSize = 1.0f;
+
+    /**
+     * Heights of every tile, stored row by row along X, null for unloaded tiles. Tiles share their border samples with their neighbours
+     */
+    private float[][] tiles = new float[0][];
+    private float[] tileMinHeights = new float[0];
+    private float[] tileMaxHeights = new float[0];
+
+    private float minHeight = 0, maxHeight = 0;
+
+    //------Grid------
+
+    /**
+     * Sets the layout of the grid, unloading every tile
+     * @param tilesX
+     * Number of tiles along X
+     * @param tilesZ
+     * Number of tiles along Z
+     * @param tileCellsX
+     * Number of cells of every tile along X, tiles have tileCellsX + 1 samples along X
+     * @param tileCellsZ
+     * Number of cells of every tile along Z, tiles have tileCellsZ + 1 samples along Z
+     * @param cellSize
+     * Size of every cell, before scale
+     */
+    public void SetGrid(int tilesX, int tilesZ, int tileCellsX, int tileCellsZ, float cellSize)
+    {
+        if(tilesX <= 0 || tilesZ <= 0 || tileCellsX <= 0 || tileCellsZ <= 0 || cellSize <= 0)
+            throw new IllegalArgumentException("A heightfield needs at least one tile, one cell per tile and a positive cell size!");
+
+        this.tilesX = tilesX;
+        this.tilesZ = tilesZ;
+        this.tileCellsX = tileCellsX;
+        this.tileCellsZ = tileCellsZ;
+        this.cellsX = tilesX * tileCellsX;
+        this.cellsZ = tilesZ * tileCellsZ;
+        this.cellSize = cellSize;
+
+        tiles = new float[tilesX * tilesZ][];
+        tileMinHeights = new float[tilesX * tilesZ];
+        tileMaxHeights = new float[tilesX * tilesZ];
+
+        UpdateHeightRange();
+    }
+
+    /**
+     * Sets the whole heightfield as a single tile
+     * @param samplesX
+     * Number of samples along X
+     * @param samplesZ
+     * Number of samples along Z
+     * @param heights
+     * The heights, stored row by row along X. The array is kept, not copied
+     * @param cellSize
+     * Distance between samples, before scale
+     */
+    public void SetHeights(int samplesX, int samplesZ, float[] heights, float cellSize)
+    {
+        SetGrid(1, 1, samplesX - 1, samplesZ - 1, cellSize);
+        LoadTile(0, 0, heights);
+    }
+
+    /**
+     * Loads the heights of a tile, replacing the previous ones
+     * @param tileX
+     * The tile index along X
+     * @param tileZ
+     * The tile index along Z
+     * @param heights
+     * The (tileCellsX + 1) * (tileCellsZ + 1) heights of the tile, stored row by row along X. The array is kept, not copied
+     */
+    public void LoadTile(int tileX, int tileZ, float[] heights)
+    {
+        int tile = GetTileIndex(tileX, tileZ);
+
+        if(heights.length != (tileCellsX + 1) * (tileCellsZ + 1))
+            throw new IllegalArgumentException("Tile heights must have " + (tileCellsX + 1) * (tileCellsZ + 1) + " samples, got " + heights.length + "!");
+
+        float min = Float.POSITIVE_INFINITY, max = Float.NEGATIVE_INFINITY;
+        for(float height : heights)
+        {
+            min = Math.min(min, height);
+            max = Math.max(max, height);
+        }
+
+        tiles[tile] = heights;
+        tileMinHeights[tile] = min;
+        tileMaxHeights[tile] = max;
+
+        UpdateHeightRange();
+    }
+
+    /**
+     * Unloads a tile, its cells stop colliding
+     * @param tileX
+     * The tile index along X
+     * @param tileZ
+     * The tile index along Z
+     */
+    public void UnloadTile(int tileX, int tileZ)
+    {
+        tiles[GetTileIndex(tileX, tileZ)] = null;
+
+        UpdateHeightRange();
+    }
+
+    /**
+     * Checks if a tile is loaded
+     * @param tileX
+     * The tile index along X
+     * @param tileZ
+     * The tile index along Z
+     * @return
+     * True if the tile is loaded
+     */
+    public boolean IsTileLoaded(int tileX, int tileZ)
+    {
+        return tiles[GetTileIndex(tileX, tileZ)] != null;
+    }
+
+    public int GetTilesX()
+    {
+        return tilesX;
+    }
+
+    public int GetTilesZ()
+    {
+        return tilesZ;
+    }
+
+    public float GetCellSize()
+    {
+        return cellSize;
+    }
+
+    private int GetTileIndex(int tileX, int tileZ)
+    {
+        if(tileX < 0 || tileX >= tilesX || tileZ < 0 || tileZ >= tilesZ)
+            throw new IllegalArgumentException("Tile (" + tileX + ", " + tileZ + ") is outside of the " + tilesX + "x" + tilesZ + " heightfield grid!");
+
+        return tileZ * tilesX + tileX;
+    }
+
+    private void UpdateHeightRange()
+    {
+        minHeight = Float.POSITIVE_INFINITY;
+        maxHeight = Float.NEGATIVE_INFINITY;
+
+        for(int tile = 0; tile < tiles.length; tile++)
+        {
+            if(tiles[tile] == null) continue;
+
+            minHeight = Math.min(minHeight, tileMinHeights[tile]);
+            maxHeight = Math.max(maxHeight, tileMaxHeights[tile]);
+        }
+
+        if(minHeight > maxHeight)
+            minHeight = maxHeight = 0;
+
+        MarkWorldDataDirty();
+
+        //The bounds of the body change with the loaded tiles
+        if(GetRigidbody() != null)
+            BroadCollisionDetection.Update(GetRigidbody());
+    }
+
+    //------Samples------
+
+    private float GetOriginX()
+    {
+        return -cellsX * cellSize * 0.5f;
+    }
+
+    private float GetOriginZ()
+    {
+        return -cellsZ * cellSize * 0.5f;
+    }
+
+    /**
+     * Gets the heights of a cell, or null if its tile isn't loaded
+     */
+    private float[] GetCellTile(int cellX, int cellZ)
+    {
+        return tiles[(cellZ / tileCellsZ) * tilesX + cellX / tileCellsX];
+    }
+
+    /**
+     * Gets the index of a sample of a cell inside the heights of the tile of the cell
+     */
+    private int GetSampleIndex(int cellX, int cellZ, int offsetX, int offsetZ)
+    {
+        int localX = cellX % tileCellsX + offsetX;
+        int localZ = cellZ % tileCellsZ + offsetZ;
+
+        return localZ * (tileCellsX + 1) + localX;
+    }
+
+    /**
+     * Gets the height of the terrain at a point, without scale
+     * @param x
+     * The local X coordinate, without scale
+     * @param z
+     * The local Z coordinate, without scale
+     * @return
+     * The height, NaN outside the grid or in unloaded tiles
+     */
+    public float GetHeight(float x, float z)
+    {
+        float gridX = (x - GetOriginX()) / cellSize;
+        float gridZ = (z - GetOriginZ()) / cellSize;
+
+        int cellX = (int) Math.floor(gridX);
+        int cellZ = (int) Math.floor(gridZ);
+
+        //Points on the far border belong to the last cell
+        if(cellX == cellsX && gridX == cellsX) cellX--;
+        if(cellZ == cellsZ && gridZ == cellsZ) cellZ--;
+
+        if(cellX < 0 || cellZ < 0 || cellX >= cellsX || cellZ >= cellsZ)
+            return Float.NaN;
+
+        float[] heights = GetCellTile(cellX, cellZ);
+        if(heights == null)
+            return Float.NaN;
+
+        float u = gridX - cellX;
+        float v = gridZ - cellZ;
+
+        float h00 = heights[GetSampleIndex(cellX, cellZ, 0, 0)];
+        float h11 = heights[GetSampleIndex(cellX, cellZ, 1, 1)];
+
+        //The diagonal goes from (0, 0) to (1, 1)
+        if(v >= u)
+            return h00 + (heights[GetSampleIndex(cellX, cellZ, 0, 1)] - h00) * v + (h11 - heights[GetSampleIndex(cellX, cellZ, 0, 1)]) * u;
+
+        return h00 + (heights[GetSampleIndex(cellX, cellZ, 1, 0)] - h00) * u + (h11 - heights[GetSampleIndex(cellX, cellZ, 1, 0)]) * v;
+    }
+
+    //------Triangle Shape------
+
+    /**
+     * Triangles are numbered (cellZ * cellsX + cellX) * 2 + half. Half 0 is (0, 0), (0, 1), (1, 1) and half 1 is (0, 0), (1, 1), (1, 0),
+     * both wound so their normal points up
+     */
+    private static final int[][] HALF_CORNERS_X = { { 0, 0, 1 }, { 0, 1, 1 } };
+    private static final int[][] HALF_CORNERS_Z = { { 0, 1, 1 }, { 0, 1, 0 } };
+
+    @Override
+    public void Query(Vector3D min, Vector3D max, Vector3D scale, TriangleVisitor visitor)
+    {
+        if(cellsX == 0) return;
+
+        float minY = min.y / scale.y, maxY = max.y / scale.y;
+        if(minY > maxHeight || maxY < minHeight)
+            return;
+
+        int firstX = Math.max(0, (int) Math.floor((min.x / scale.x - GetOriginX()) / cellSize));
+        int lastX = Math.min(cellsX - 1, (int) Math.floor((max.x / scale.x - GetOriginX()) / cellSize));
+        int firstZ = Math.max(0, (int) Math.floor((min.z / scale.z - GetOriginZ()) / cellSize));
+        int lastZ = Math.min(cellsZ - 1, (int) Math.floor((max.z / scale.z - GetOriginZ()) / cellSize));
+
+        for(int cellZ = firstZ; cellZ <= lastZ; cellZ++)
+        {
+            for(int cellX = firstX; cellX <= lastX; cellX++)
+            {
+                float[] heights = GetCellTile(cellX, cellZ);
+                if(heights == null)
+                    continue;
+
+                int tile = (cellZ / tileCellsZ) * tilesX + cellX / tileCellsX;
+                if(minY > tileMaxHeights[tile] || maxY < tileMinHeights[tile])
+                {
+                    //Skip the rest of the row inside this tile
+                    cellX = Math.min(lastX, (cellX / tileCellsX + 1) * tileCellsX - 1);
+                    continue;
+                }
+
+                float h00 = heights[GetSampleIndex(cellX, cellZ, 0, 0)], h10 = heights[GetSampleIndex(cellX, cellZ, 1, 0)];
+                float h01 = heights[GetSampleIndex(cellX, cellZ, 0, 1)], h11 = heights[GetSampleIndex(cellX, cellZ, 1, 1)];
+
+                if(minY > Math.max(Math.max(h00, h10), Math.max(h01, h11)) || maxY < Math.min(Math.min(h00, h10), Math.min(h01, h11)))
+                    continue;
+
+                int triangle = (cellZ * cellsX + cellX) * 2;
+                if(!visitor.Visit(triangle) || !visitor.Visit(triangle + 1))
+                    return;
+            }
+        }
+    }
+
+    @Override
+    public Vector3D GetVertex(int triangle, int corner, Vector3D scale)
+    {
+        int cell = triangle >> 1;
+        int half = triangle & 1;
+        int cellX = cell % cellsX;
+        int cellZ = cell / cellsX;
+        int offsetX = HALF_CORNERS_X[half][corner];
+        int offsetZ = HALF_CORNERS_Z[half][corner];
+
+        float height = GetCellTile(cellX, cellZ)[GetSampleIndex(cellX, cellZ, offsetX, offsetZ)];
+
+        return new Vector3D(
+                (GetOriginX() + (cellX + offsetX) * cellSize) * scale.x,
+                height * scale.y,
+                (GetOriginZ() + (cellZ + offsetZ) * cellSize) * scale.z);
+    }
+
+    @Override
+    public boolean IsEdgeActive(int triangle, int edge)
+    {
+        int cell = triangle >> 1;
+        int half = triangle & 1;
+        int cellX = cell % cellsX;
+        int cellZ = cell / cellsX;
+
+        //Find the triangle across the edge, see the corner layout of the halves
+        int neighbour;
+        if(half == 0)
+        {
+            neighbour = switch (edge)
+            {
+                case 0 -> cellX > 0 ? (cell - 1) * 2 + 1 : -1;
+                case 1 -> cellZ < cellsZ - 1 ? (cell + cellsX) * 2 + 1 : -1;
+                default -> cell * 2 + 1;
+            };
+        }
+        else
+        {
+            neighbour = switch (edge)
+            {
+                case 0 -> cell * 2;
+                case 1 -> cellX < cellsX - 1 ? (cell + 1) * 2 : -1;
+                default -> cellZ > 0 ? (cell - cellsX) * 2 : -1;
+            };
+        }
+
+        //Borders of the grid and of unloaded tiles are always active
+        if(neighbour < 0 || GetCellTile((neighbour >> 1) % cellsX, (neighbour >> 1) / cellsX) == null)
+            return true;
+
+        Vector3D normal = GetTriangleNormal(triangle);
+        Vector3D neighbourNormal = GetTriangleNormal(neighbour);
+
+        return normal.DotProduct(neighbourNormal) <= COPLANAR_COSINE;
+    }
+
+    private Vector3D GetTriangleNormal(int triangle)
+    {
+        Vector3D a = GetVertex(triangle, 0, Vector3D.One);
+        Vector3D b = GetVertex(triangle, 1, Vector3D.One);
+        Vector3D c = GetVertex(triangle, 2, Vector3D.One);
+
+        return b.Subtract(a).CrossProduct(c.Subtract(a)).Normalized();
+    }
+
+    //------Collider------
+
+    @Override
+    public RaycastContact Raycast(Vector3D origin, Vector3D direction, float maxDistance)
+    {
+        if(cellsX == 0)
+            return null;
+
+        Vector3D worldDirection = direction.Normalized();
+        Vector3D scale = GetWorldScale();
+
+        //The mapping into the unscaled grid is linear, so distances along the ray are preserved
+        Vector3D localOrigin = WorldToShapeSpace(origin).Divide(scale);
+        Vector3D localDirection = WorldToShapeDirection(worldDirection).Divide(scale);
+
+        float[] hit = new float[4];
+        if(!TraceRay(localOrigin, localDirection, maxDistance, hit))
+            return null;
+
+        Vector3D normal = ShapeToWorldDirection(new Vector3D(hit[1], hit[2], hit[3]).Divide(scale)).Normalized();
+        if(normal.DotProduct(worldDirection) > 0)
+            normal = normal.Negate();
+
+        return new RaycastContact(origin.Add(worldDirection.Scale(hit[0])), normal, GetRigidbody());
+    }
+
+    /**
+     * Walks the tiles crossed by the ray, and the cells of the tiles whose height range the ray crosses
+     * @param hit
+     * Receives the distance to the hit and the unscaled, unnormalized normal of the triangle
+     * @return
+     * True if the ray hit the terrain
+     */
+    private boolean TraceRay(Vector3D origin, Vector3D direction, float maxDistance, float[] hit)
+    {
+        float originX = GetOriginX(), originZ = GetOriginZ();
+
+        //Clip the ray against the bounds of the heightfield
+        float[] range = { 0, maxDistance };
+        if(!ClipSlab(origin.x, direction.x, originX, -originX, range) ||
+           !ClipSlab(origin.y, direction.y, minHeight, maxHeight, range) ||
+           !ClipSlab(origin.z, direction.z, originZ, -originZ, range))
+            return false;
+
+        //Walk in grid units, where every cell is 1x1
+        float gridOriginX = (origin.x - originX) / cellSize, gridOriginZ = (origin.z - originZ) / cellSize;
+        float gridDirectionX = direction.x / cellSize, gridDirectionZ = direction.z / cellSize;
+
+        float tileSizeX = tileCellsX, tileSizeZ = tileCellsZ;
+        float start = range[0], end = range[1];
+
+        int tileX = Clamp((int) Math.floor((gridOriginX + gridDirectionX * start) / tileSizeX), 0, tilesX - 1);
+        int tileZ = Clamp((int) Math.floor((gridOriginZ + gridDirectionZ * start) / tileSizeZ), 0, tilesZ - 1);
+        int stepX = gridDirectionX >= 0 ? 1 : -1, stepZ = gridDirectionZ >= 0 ? 1 : -1;
+
+        float tileStart = start;
+        while(tileStart <= end)
+        {
+            float nextX = NextBoundary(gridOriginX, gridDirectionX, tileX, stepX, tileSizeX);
+            float nextZ = NextBoundary(gridOriginZ, gridDirectionZ, tileZ, stepZ, tileSizeZ);
+            float tileEnd = Math.min(end, Math.min(nextX, nextZ));
+
+            int tile = tileZ * tilesX + tileX;
+            if(tiles[tile] != null && RayCrossesHeights(origin.y, direction.y, tileStart, tileEnd, tileMinHeights[tile], tileMaxHeights[tile]))
+            {
+                if(TraceTile(tileX, tileZ, origin, direction, gridOriginX, gridOriginZ, gridDirectionX, gridDirectionZ, tileStart, tileEnd, hit))
+                    return true;
+            }
+
+            if(nextX < nextZ) tileX += stepX;
+            else tileZ += stepZ;
+
+            if(tileX < 0 || tileX >= tilesX || tileZ < 0 || tileZ >= tilesZ)
+                break;
+
+            tileStart = tileEnd;
+        }
+
+        return false;
+    }
+
+    private boolean TraceTile(int tileX, int tileZ, Vector3D origin, Vector3D direction, float gridOriginX, float gridOriginZ,
+                              float gridDirectionX, float gridDirectionZ, float start, float end, float[] hit)
+    {
+        int firstX = tileX * tileCellsX, firstZ = tileZ * tileCellsZ;
+        int lastX = firstX + tileCellsX - 1, lastZ = firstZ + tileCellsZ - 1;
+
+        //Start from the cell where the ray enters the tile
+        int cellX = Clamp((int) Math.floor(gridOriginX + gridDirectionX * start), firstX, lastX);
+        int cellZ = Clamp((int) Math.floor(gridOriginZ + gridDirectionZ * start), firstZ, lastZ);
+        int stepX = gridDirectionX >= 0 ? 1 : -1, stepZ = gridDirectionZ >= 0 ? 1 : -1;
+
+        float[] heights = tiles[tileZ * tilesX + tileX];
+        float[] secondHit = new float[4];
+        float cellStart = start;
+
+        while(cellStart <= end)
+        {
+            float nextX = NextBoundary(gridOriginX, gridDirectionX, cellX, stepX, 1.0f);
+            float nextZ = NextBoundary(gridOriginZ, gridDirectionZ, cellZ, stepZ, 1.0f);
+            float cellEnd = Math.min(end, Math.min(nextX, nextZ));
+
+            float h00 = heights[GetSampleIndex(cellX, cellZ, 0, 0)], h10 = heights[GetSampleIndex(cellX, cellZ, 1, 0)];
+            float h01 = heights[GetSampleIndex(cellX, cellZ, 0, 1)], h11 = heights[GetSampleIndex(cellX, cellZ, 1, 1)];
+
+            float cellMin = Math.min(Math.min(h00, h10), Math.min(h01, h11));
+            float cellMax = Math.max(Math.max(h00, h10), Math.max(h01, h11));
+
+            if(RayCrossesHeights(origin.y, direction.y, cellStart, cellEnd, cellMin, cellMax))
+            {
+                float x0 = GetOriginX() + cellX * cellSize, z0 = GetOriginZ() + cellZ * cellSize;
+                float x1 = x0 + cellSize, z1 = z0 + cellSize;
+
+                float first = IntersectTriangle(origin, direction, x0, h00, z0, x0, h01, z1, x1, h11, z1, hit);
+                float second = IntersectTriangle(origin, direction, x0, h00, z0, x1, h11, z1, x1, h10, z0, secondHit);
+
+                if(second >= 0 && (first < 0 || second < first))
+                {
+                    System.arraycopy(secondHit, 1, hit, 1, 3);
+                    first = second;
+                }
+
+                if(first >= 0 && first <= end + EPSILON)
+                {
+                    hit[0] = first;
+                    return true;
+                }
+            }
+
+            if(nextX < nextZ) cellX += stepX;
+            else cellZ += stepZ;
+
+            if(cellX < firstX || cellX > lastX || cellZ < firstZ || cellZ > lastZ)
+                break;
+
+            cellStart = cellEnd;
+        }
+
+        return false;
+    }
+
+    /**
+     * Gets the distance along the ray to the next boundary of the grid along one axis
+     */
+    private static float NextBoundary(float origin, float direction, int index, int step, float size)
+    {
+        if(Math.abs(direction) < EPSILON)
+            return Float.POSITIVE_INFINITY;
+
+        float boundary = (step > 0 ? index + 1 : index) * size;
+
+        return (boundary - origin) / direction;
+    }
+
+    private static boolean RayCrossesHeights(float originY, float directionY, float start, float end, float min, float max)
+    {
+        float startY = originY + directionY * start;
+        float endY = originY + directionY * end;
+
+        return Math.max(startY, endY) >= min && Math.min(startY, endY) <= max;
+    }
+
+    /**
+     * Clips a ray range against a slab
+     * @return
+     * False if the range is empty
+     */
+    private static boolean ClipSlab(float origin, float direction, float min, float max, float[] range)
+    {
+        if(Math.abs(direction) < EPSILON)
+            return origin >= min && origin <= max;
+
+        float t1 = (min - origin) / direction, t2 = (max - origin) / direction;
+
+        range[0] = Math.max(range[0], Math.min(t1, t2));
+        range[1] = Math.min(range[1], Math.max(t1, t2));
+
+        return range[0] <= range[1];
+    }
+
+    /**
+     * Intersects a ray with a triangle (Möller–Trumbore), storing the unnormalized normal of the triangle in hit[1..3]
+     * @return
+     * The distance to the hit, negative if the ray misses
+     */
+    private static float IntersectTriangle(Vector3D origin, Vector3D direction, float ax, float ay, float az, float bx, float by, float bz,
+                                           float cx, float cy, float cz, float[] hit)
+    {
+        float e1x = bx - ax, e1y = by - ay, e1z = bz - az;
+        float e2x = cx - ax, e2y = cy - ay, e2z = cz - az;
+
+        float px = direction.y * e2z - direction.z * e2y, py = direction.z * e2x - direction.x * e2z, pz = direction.x * e2y - direction.y * e2x;
+        float determinant = e1x * px + e1y * py + e1z * pz;
+        if(Math.abs(determinant) < 1e-12f)
+            return -1;
+
+        float inverse = 1.0f / determinant;
+        float tx = origin.x - ax, ty = origin.y - ay, tz = origin.z - az;
+
+        float u = (tx * px + ty * py + tz * pz) * inverse;
+        if(u < 0 || u > 1) return -1;
+
+        float qx = ty * e1z - tz * e1y, qy = tz * e1x - tx * e1z, qz = tx * e1y - ty * e1x;
+
+        float v = (direction.x * qx + direction.y * qy + direction.z * qz) * inverse;
+        if(v < 0 || u + v > 1) return -1;
+
+        hit[1] = e1y * e2z - e1z * e2y;
+        hit[2] = e1z * e2x - e1x * e2z;
+        hit[3] = e1x * e2y - e1y * e2x;
+
+        return (e2x * qx + e2y * qy + e2z * qz) * inverse;
+    }
+
+    private static int Clamp(int value, int min, int max)
+    {
+        return Math.max(min, Math.min(max, value));
+    }
+
+    /**
+     * Copies the tile tables, so loading or unloading tiles doesn't change the heightfield copied from. The height arrays of the tiles are kept
+     */
+    @Override
+    protected void OnCopied()
+    {
+        super.OnCopied();
+
+        tiles = tiles.clone();
+        tileMinHeights = tileMinHeights.clone();
+        tileMaxHeights = tileMaxHeights.clone();
+    }
+
+    @Override
+    protected WireshapeRenderer CreateWireframe()
+    {
+        return null;
+    }
+
+    @Override
+    protected BoundingVolume CalculateBoundingVolume(WorldData world)
+    {
+        Vector3D scale = world.scale;
+
+        Vector3D min = new Vector3D(GetOriginX() * scale.x, minHeight * scale.y, GetOriginZ() * scale.z);
+        Vector3D max = new Vector3D(-GetOriginX() * scale.x, maxHeight * scale.y, -GetOriginZ() * scale.z);
+
+        return world.ShapeBoundsToWorld(min, max);
+    }
+
+    /**
+     * Gets the furthest corner of the bounds of the heightfield along a direction. Heightfields aren't convex,
+     * so this is only an approximation used by the generic narrow phase
+     */
+    @Override
+    public Vector3D Support(Vector3D direction)
+    {
+        Vector3D localDirection = WorldToShapeDirection(direction);
+        Vector3D scale = GetWorldScale();
+
+        return ShapeToWorldSpace(new Vector3D(
+                (localDirection.x >= 0 ? -GetOriginX() : GetOriginX()) * scale.x,
+                (localDirection.y >= 0 ? maxHeight : minHeight) * scale.y,
+                (localDirection.z >= 0 ? -GetOriginZ() : GetOriginZ()) * scale.z));
+    }
+
+    /**
+     * Checks if a point is below the terrain
+     */
+    @Override
+    public boolean CheckPoint(Vector3D point)
+    {
+        Vector3D localPoint = WorldToShapeSpace(point).Divide(GetWorldScale());
+        float height = GetHeight(localPoint.x, localPoint.z);
+
+        return !Float.isNaN(height) && localPoint.y <= height;
+    }
+
+    @Override
+    public Contact GetContactPoint(Vector3D point, Rigidbody source)
+    {
+        Vector3D scale = GetWorldScale();
+        Vector3D localPoint = WorldToShapeSpace(point).Divide(scale);
+        float height = GetHeight(localPoint.x, localPoint.z);
+
+        if(Float.isNaN(height) || localPoint.y > height)
+            return null;
+
+        //Same convention as the other colliders, the normal points into the collider
+        return new Contact(GetRigidbody(), source, point, GetWorldAxis(1).Negate(), (height - localPoint.y) * scale.y);
+    }
+}
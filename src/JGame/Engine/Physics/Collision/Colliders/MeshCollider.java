@@ -0,0 +1,193 @@
+package JGame.Engine.Physics.Collision.Colliders;
+
+import JGame.Engine.Graphics.Models.Mesh;
+import JGame.Engine.Graphics.Renderers.MeshRenderer;
+import JGame.Engine.Graphics.Renderers.WireframeRenderers.WireshapeRenderer;
+import JGame.Engine.Physics.Bodies.Rigidbody;
+import JGame.Engine.Physics.Collision.BoundingVolumeHierarchy.TriangleBVH;
+import JGame.Engine.Physics.Collision.BoundingVolumes.BoundingBox;
+import JGame.Engine.Physics.Collision.BoundingVolumes.BoundingVolume;
+import JGame.Engine.Physics.Collision.Contact.Contact;
+import JGame.Engine.Physics.Raycast.RaycastContact;
+import JGame.Engine.Structures.Vector3D;
+
+/**
+ * Collider made of the triangles of a mesh, meant for static level geometry. The triangles are stored in a {@link TriangleBVH}
+ * shared by every collider using the same mesh. Mesh colliders generate contacts against spheres, boxes and capsules,
+ * and don't collide with planes, cylinders or other mesh colliders.
+ * If no mesh is set, the mesh of the {@link MeshRenderer} of the object is used
+ */
+public class MeshCollider extends Collider
+{
+    private Mesh mesh;
+    private TriangleBVH triangleBVH;
+
+    /**
+     * World data of the mesh collider, with the mesh and triangle tree in use, which come from the mesh renderer if none was set
+     */
+    private static final class MeshWorldData extends WorldData
+    {
+        private final Mesh mesh;
+        private final TriangleBVH triangleBVH;
+
+        private MeshWorldData(WorldData world, Mesh mesh, TriangleBVH triangleBVH)
+        {
+            super(world);
+            this.mesh = mesh;
+            this.triangleBVH = triangleBVH;
+        }
+    }
+
+    public Mesh GetMesh()
+    {
+        return ((MeshWorldData) GetWorldData()).mesh;
+    }
+
+    /**
+     * Sets the mesh of the collider, the triangle tree of the mesh is built the first time it's used and shared afterwards
+     * @param mesh
+     * The mesh
+     */
+    public void SetMesh(Mesh mesh)
+    {
+        this.mesh = mesh;
+        this.triangleBVH = mesh == null ? null : TriangleBVH.Get(mesh);
+        MarkWorldDataDirty();
+    }
+
+    /**
+     * Gets the triangle tree of the collider
+     * @return
+     * The triangle tree, null if there is no mesh
+     */
+    public TriangleBVH GetTriangleBVH()
+    {
+        return ((MeshWorldData) GetWorldData()).triangleBVH;
+    }
+
+    /**
+     * Sets the triangle tree of the collider directly, to share a tree built from raw triangle data
+     * @param triangleBVH
+     * The triangle tree
+     */
+    public void SetTriangleBVH(TriangleBVH triangleBVH)
+    {
+        this.mesh = null;
+        this.triangleBVH = triangleBVH;
+        MarkWorldDataDirty();
+    }
+
+    @Override
+    protected WorldData CreateWorldData(WorldData world)
+    {
+        if(triangleBVH != null)
+            return new MeshWorldData(world, mesh, triangleBVH);
+
+        MeshRenderer renderer = object().GetComponent(MeshRenderer.class);
+        if(renderer != null && renderer.mesh != null)
+            return new MeshWorldData(world, renderer.mesh, TriangleBVH.Get(renderer.mesh));
+
+        return new MeshWorldData(world, null, null);
+    }
+
+    @Override
+    public RaycastContact Raycast(Vector3D origin, Vector3D direction, float maxDistance)
+    {
+        MeshWorldData world = (MeshWorldData) GetWorldData();
+        TriangleBVH triangleBVH = world.triangleBVH;
+        if(triangleBVH == null)
+            return null;
+
+        Vector3D worldDirection = direction.Normalized();
+        Vector3D localOrigin = world.WorldToShapeSpace(origin);
+        Vector3D localDirection = world.WorldToShapeDirection(worldDirection);
+        Vector3D scale = world.scale;
+
+        int[] hitTriangle = new int[1];
+        float distance = triangleBVH.Raycast(localOrigin, localDirection, maxDistance, scale, hitTriangle);
+        if(distance == Float.POSITIVE_INFINITY)
+            return null;
+
+        Vector3D a = triangleBVH.GetVertex(hitTriangle[0], 0, scale);
+        Vector3D b = triangleBVH.GetVertex(hitTriangle[0], 1, scale);
+        Vector3D c = triangleBVH.GetVertex(hitTriangle[0], 2, scale);
+
+        //Triangles are hit from both sides, the normal always faces the ray
+        Vector3D normal = world.ShapeToWorldDirection(b.Subtract(a).CrossProduct(c.Subtract(a))).Normalized();
+        if(normal.DotProduct(worldDirection) > 0)
+            normal = normal.Negate();
+
+        return new RaycastContact(origin.Add(worldDirection.Scale(distance)), normal, GetRigidbody());
+    }
+
+    @Override
+    protected WireshapeRenderer CreateWireframe()
+    {
+        return null;
+    }
+
+    @Override
+    protected BoundingVolume CalculateBoundingVolume(WorldData world)
+    {
+        TriangleBVH triangleBVH = ((MeshWorldData) world).triangleBVH;
+        if(triangleBVH == null)
+            return new BoundingBox(world.center, Vector3D.Zero);
+
+        Vector3D scale = world.scale;
+
+        return world.ShapeBoundsToWorld(triangleBVH.GetMin(scale), triangleBVH.GetMax(scale));
+    }
+
+    /**
+     * Gets the furthest vertex of the mesh along a direction. Mesh colliders aren't convex,
+     * so this is the support point of their convex hull
+     */
+    @Override
+    public Vector3D Support(Vector3D direction)
+    {
+        MeshWorldData world = (MeshWorldData) GetWorldData();
+        if(world.triangleBVH == null)
+            return world.center;
+
+        return world.ShapeToWorldSpace(world.triangleBVH.GetSupportVertex(world.WorldToShapeDirection(direction), world.scale));
+    }
+
+    /**
+     * Checks if a point is inside the mesh by counting the triangles crossed by a ray leaving the point,
+     * only meaningful for closed meshes
+     */
+    @Override
+    public boolean CheckPoint(Vector3D point)
+    {
+        return CheckPoint((MeshWorldData) GetWorldData(), point);
+    }
+
+    private static boolean CheckPoint(MeshWorldData world, Vector3D point)
+    {
+        if(world.triangleBVH == null)
+            return false;
+
+        //A skewed direction avoids grazing the shared edges of axis aligned geometry
+        Vector3D direction = new Vector3D(0.8017f, 0.5345f, 0.2673f);
+
+        return world.triangleBVH.CountRayCrossings(world.WorldToShapeSpace(point), direction, world.scale) % 2 == 1;
+    }
+
+    @Override
+    public Contact GetContactPoint(Vector3D point, Rigidbody source)
+    {
+        MeshWorldData world = (MeshWorldData) GetWorldData();
+        if(!CheckPoint(world, point))
+            return null;
+
+        Vector3D closest = world.triangleBVH.ClosestPoint(world.WorldToShapeSpace(point), world.scale);
+        if(closest == null)
+            return null;
+
+        Vector3D toInside = point.Subtract(world.ShapeToWorldSpace(closest));
+        float depth = toInside.Magnitude();
+        Vector3D normal = depth == 0 ? world.GetAxis(1) : toInside.Scale(1.0f / depth);
+
+        return new Contact(GetRigidbody(), source, point, normal, depth);
+    }
+}
@@ -18,10 +18,26 @@ public class PlaneCollider extends Collider
      */
     private Vector2D halfSize = Vector2D.One.Scale(0.5f);
 
+    /**
+     * World data of the plane, with the half size scaled by the global scale
+     */
+    private static final class PlaneWorldData extends WorldData
+    {
+        private final Vector2D scaledHalfSize;
+
+        private PlaneWorldData(WorldData world, Vector2D scaledHalfSize)
+        {
+            super(world);
+            this.scaledHalfSize = scaledHalfSize;
+        }
+    }
+
     public void SetHalfSize(Vector2D halfSize)
     {
-        ((WireplaneRenderer)colliderRenderer).SetHalfSize(MathUtilities.Abs(halfSize));
         this.halfSize = halfSize;
+        MarkWorldDataDirty();
+        if(colliderRenderer != null)
+            ((WireplaneRenderer)colliderRenderer).SetHalfSize(MathUtilities.Abs(halfSize));
     }
     public Vector2D GetHalfSize()
     {
@@ -29,13 +45,19 @@ public class PlaneCollider extends Collider
     }
     public Vector2D GetScaledHalfSize()
     {
-        Vector3D scale = transform().GetGlobalScale();
-        scale = MathUtilities.Abs(scale);
-        return halfSize.Multiply(new Vector2D(scale.x, scale.z));
+        return ((PlaneWorldData) GetWorldData()).scaledHalfSize;
     }
     public Vector3D GetNormal()
     {
-        return transform().Up();
+        return GetWorldAxis(1);
+    }
+
+    @Override
+    protected WorldData CreateWorldData(WorldData world)
+    {
+        Vector3D scale = world.scale;
+
+        return new PlaneWorldData(world, halfSize.Multiply(new Vector2D(scale.x, scale.z)));
     }
 
     @Override
@@ -56,19 +78,53 @@ public class PlaneCollider extends Collider
     }
 
     @Override
-    public BoundingVolume GetBoundingVolume()
+    protected BoundingVolume CalculateBoundingVolume(WorldData world)
+    {
+        Vector2D scaledHalfSize = ((PlaneWorldData) world).scaledHalfSize;
+
+        //Extent of the rotated plane along each world axis, with a small thickness
+        Vector3D extents = MathUtilities.Abs(world.GetAxis(0)).Scale(scaledHalfSize.x)
+                .Add(MathUtilities.Abs(world.GetAxis(1)).Scale(0.01f))
+                .Add(MathUtilities.Abs(world.GetAxis(2)).Scale(scaledHalfSize.y));
+
+        return new BoundingBox(world.center, extents);
+    }
+
+    @Override
+    public Vector3D Support(Vector3D direction)
+    {
+        PlaneWorldData world = (PlaneWorldData) GetWorldData();
+        Vector2D scaledHalfSize = world.scaledHalfSize;
+
+        Vector3D right = world.GetAxis(0);
+        Vector3D forward = world.GetAxis(2);
+
+        return world.center
+                .Add(right.Scale(direction.DotProduct(right) >= 0 ? scaledHalfSize.x : -scaledHalfSize.x))
+                .Add(forward.Scale(direction.DotProduct(forward) >= 0 ? scaledHalfSize.y : -scaledHalfSize.y));
+    }
+
+    @Override
+    public void Support(float x, float y, float z, float[] target, int offset)
     {
-        Vector2D scaledHalfSize = GetScaledHalfSize();
-        Vector3D scaledHalfSize3D = new Vector3D(scaledHalfSize.x, 0.01f ,scaledHalfSize.y);
+        PlaneWorldData world = (PlaneWorldData) GetWorldData();
+        Vector3D right = world.GetAxis(0);
+        Vector3D forward = world.GetAxis(2);
+
+        float extentX = right.x * x + right.y * y + right.z * z >= 0 ? world.scaledHalfSize.x : -world.scaledHalfSize.x;
+        float extentZ = forward.x * x + forward.y * y + forward.z * z >= 0 ? world.scaledHalfSize.y : -world.scaledHalfSize.y;
 
-        return new BoundingBox(GetCenterWorld(), scaledHalfSize3D.Rotate(transform().GetGlobalRotation().ToRotationMatrix().Absolute()));
+        target[offset] = world.center.x + right.x * extentX + forward.x * extentZ;
+        target[offset + 1] = world.center.y + right.y * extentX + forward.y * extentZ;
+        target[offset + 2] = world.center.z + right.z * extentX + forward.z * extentZ;
     }
 
     @Override
     public boolean CheckPoint(Vector3D point)
     {
-        Vector2D scaledHalfSize = GetScaledHalfSize();
-        Vector3D localPoint = transform().WorldToLocalSpace(point);
+        PlaneWorldData world = (PlaneWorldData) GetWorldData();
+        Vector2D scaledHalfSize = world.scaledHalfSize;
+        Vector3D localPoint = world.WorldToShapeSpace(point);
 
         return !(Math.abs(localPoint.x) > scaledHalfSize.x ||
                 Math.abs(localPoint.y) > 1e-6 ||
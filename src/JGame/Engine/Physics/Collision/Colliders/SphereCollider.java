@@ -23,32 +23,55 @@ public class SphereCollider extends Collider
         return radius;
     }
 
-    public float GetScaledRadius()
+    /**
+     * World data of the sphere, with the radius scaled by the largest global scale axis
+     */
+    private static final class SphereWorldData extends WorldData
     {
-        Vector3D scale = transform().GetGlobalScale();
-        scale = MathUtilities.Abs(scale);
-        float largestScale = Math.max(Math.max(scale.x, scale.y), scale.z);
+        private final float scaledRadius;
+
+        private SphereWorldData(WorldData world, float scaledRadius)
+        {
+            super(world);
+            this.scaledRadius = scaledRadius;
+        }
+    }
 
-        return largestScale * radius;
+    public float GetScaledRadius()
+    {
+        return ((SphereWorldData) GetWorldData()).scaledRadius;
     }
 
     public void SetRadius(float radius)
     {
         this.radius = radius;
-        ((WiresphereRenderer)colliderRenderer).SetRadius(radius);
+        MarkWorldDataDirty();
+        if(colliderRenderer != null)
+            ((WiresphereRenderer)colliderRenderer).SetRadius(radius);
     }
     @Override
     public void SetCenter(Vector3D center)
     {
-        this.center = center;
-        ((WiresphereRenderer)colliderRenderer).SetCenter(center);
+        super.SetCenter(center);
+        if(colliderRenderer != null)
+            ((WiresphereRenderer)colliderRenderer).SetCenter(center);
+    }
+
+    @Override
+    protected WorldData CreateWorldData(WorldData world)
+    {
+        Vector3D scale = world.scale;
+        float largestScale = Math.max(Math.max(scale.x, scale.y), scale.z);
+
+        return new SphereWorldData(world, largestScale * radius);
     }
 
     @Override
     public RaycastContact Raycast(Vector3D origin, Vector3D direction, float maxDistance)
     {
-        Vector3D center = this.GetCenterWorld();
-        float radius = this.GetScaledRadius();
+        SphereWorldData world = (SphereWorldData) GetWorldData();
+        Vector3D center = world.center;
+        float radius = world.scaledRadius;
 
         Vector3D oc = origin.Subtract(center);
 
@@ -95,16 +118,38 @@ public class SphereCollider extends Collider
     }
 
     @Override
-    public BoundingVolume GetBoundingVolume()
+    protected BoundingVolume CalculateBoundingVolume(WorldData world)
     {
-        return new BoundingBox(GetCenterWorld(), Vector3D.One.Scale(GetScaledRadius()));
+        return new BoundingBox(world.center, Vector3D.One.Scale(((SphereWorldData) world).scaledRadius));
+    }
+
+    @Override
+    public Vector3D Support(Vector3D direction)
+    {
+        SphereWorldData world = (SphereWorldData) GetWorldData();
+
+        return world.center.Add(direction.Normalized().Scale(world.scaledRadius));
+    }
+
+    @Override
+    public void Support(float x, float y, float z, float[] target, int offset)
+    {
+        SphereWorldData world = (SphereWorldData) GetWorldData();
+
+        float length = (float) Math.sqrt(x * x + y * y + z * z);
+        float scale = length < 1e-7f ? 0 : world.scaledRadius / length;
+
+        target[offset] = world.center.x + x * scale;
+        target[offset + 1] = world.center.y + y * scale;
+        target[offset + 2] = world.center.z + z * scale;
     }
 
     @Override
     public boolean CheckPoint(Vector3D point)
     {
-        Vector3D localPoint = transform().GetGlobalPosition().Subtract(point);
-        float scaledRadius =  GetScaledRadius();
+        SphereWorldData world = (SphereWorldData) GetWorldData();
+        Vector3D localPoint = world.center.Subtract(point);
+        float scaledRadius = world.scaledRadius;
 
         return localPoint.SquaredMagnitude() <= scaledRadius * scaledRadius;
     }
@@ -112,9 +157,9 @@ public class SphereCollider extends Collider
     @Override
     public Contact GetContactPoint(Vector3D point, Rigidbody source)
     {
-        Vector3D globalPos = transform().GetGlobalPosition();
-        Vector3D localPoint = globalPos.Subtract(point);
-        float scaledRadius =  GetScaledRadius();
+        SphereWorldData world = (SphereWorldData) GetWorldData();
+        Vector3D localPoint = world.center.Subtract(point);
+        float scaledRadius = world.scaledRadius;
         float distanceFromCenter = localPoint.Magnitude();
 
         float depth = scaledRadius - distanceFromCenter;
@@ -1,6 +1,7 @@
 package JGame.Engine.Physics.Collision.Contact;
 
 import JGame.Engine.Internal.Logger;
+import JGame.Engine.Physics.General.PhysicsMetrics;
 import JGame.Engine.Settings;
 import JGame.Engine.Structures.Vector3D;
 
@@ -22,13 +23,23 @@ public class ContactResolver
         if(contacts.isEmpty())
             return;
 
+        long timer = PhysicsMetrics.StartTimer();
         PrepareContacts(contacts);
 
-        if(contacts.isEmpty()) return;
+        if(contacts.isEmpty())
+        {
+            PhysicsMetrics.StopTimer(PhysicsMetrics.POSITION_RESOLVE, timer);
+            return;
+        }
 
         AdjustPositions(contacts);
+        PhysicsMetrics.StopTimer(PhysicsMetrics.POSITION_RESOLVE, timer);
+        PhysicsMetrics.AddCounter(PhysicsMetrics.POSITION_ITERATIONS, posIterations);
 
+        timer = PhysicsMetrics.StartTimer();
         AdjustVelocities(contacts);
+        PhysicsMetrics.StopTimer(PhysicsMetrics.VELOCITY_RESOLVE, timer);
+        PhysicsMetrics.AddCounter(PhysicsMetrics.VELOCITY_ITERATIONS, velIterations);
     }
 
     /**
@@ -1,8 +1,15 @@
 package JGame.Engine.Physics.Collision.Detection;
 
 import JGame.Engine.Basic.BaseObject;
+import JGame.Engine.Physics.Bodies.Rigidbody;
 import JGame.Engine.Physics.Collision.BoundingVolumeHierarchy.BVHManager;
+import JGame.Engine.Physics.Collision.BoundingVolumeHierarchy.BVHNode;
+import JGame.Engine.Physics.Collision.BoundingVolumeHierarchy.StaticBVHManager;
+import JGame.Engine.Physics.Collision.BoundingVolumes.BoundingVolume;
 import JGame.Engine.Physics.Collision.Contact.PotentialContact;
+import JGame.Engine.Physics.General.Physics;
+import JGame.Engine.Physics.General.PhysicsObject;
+import JGame.Engine.Settings;
 
 import java.util.List;
 
@@ -11,10 +18,114 @@ import java.util.List;
  */
 public class BroadCollisionDetection
 {
+    /**
+     * Tree holding the dynamic and kinematic bodies, updated incrementally when they move
+     */
     public final static BVHManager BVHTree = BaseObject.CreateInstance(BVHManager.class);
+    /**
+     * Tree holding the static bodies, bulk built and only refitted when they change
+     */
+    public final static StaticBVHManager StaticBVHTree = new StaticBVHManager();
 
+    /**
+     * Gets the potential contacts for this step, running dynamic-vs-dynamic and dynamic-vs-static queries only.
+     * If the limit cuts the pairs, the overlaps of the trigger colliders are still recorded
+     * @return
+     * The list of potential contacts
+     */
     public static List<PotentialContact> GetPotentialContacts()
     {
-        return BVHTree.GetPotentialContacts();
+        int limit = Settings.Physics.BroadCollisionLimit();
+
+        List<PotentialContact> potentialContacts = BVHTree.GetPotentialContacts();
+
+        StaticBVHTree.GetPotentialContactsWith(BVHTree.GetRoot(), potentialContacts, limit - potentialContacts.size());
+
+        //Pairs past the limit would end their trigger overlaps, sending a spurious exit and enter
+        if(potentialContacts.size() >= limit)
+            ReportTriggerOverlaps();
+
+        return potentialContacts;
+    }
+
+    /**
+     * Queries both trees with every body holding a trigger collider, recording the trigger overlaps without going through the potential contacts
+     */
+    private static void ReportTriggerOverlaps()
+    {
+        BVHNode dynamicRoot = BVHTree.GetRoot();
+        BVHNode staticRoot = StaticBVHTree.GetRoot();
+
+        for(PhysicsObject physicsObject : Physics.physicsObjects)
+        {
+            if(!(physicsObject instanceof Rigidbody body) || !body.IsInBroadPhase() || !body.HasTriggers())
+                continue;
+
+            BoundingVolume volume = body.GetBoundingVolume();
+            if(volume == null)
+                continue;
+
+            if(dynamicRoot != null)
+                dynamicRoot.ReportTriggerOverlaps(body, volume);
+
+            if(staticRoot != null && body.GetBodyType() != Rigidbody.BodyType.Static)
+                staticRoot.ReportTriggerOverlaps(body, volume);
+        }
+    }
+
+    /**
+     * Inserts a body in the tree matching its body type
+     * @param body
+     * The body to insert
+     */
+    public static void Insert(Rigidbody body)
+    {
+        if(body.GetBodyType() == Rigidbody.BodyType.Static)
+            StaticBVHTree.Insert(body);
+        else
+            BVHTree.Insert(body);
+    }
+
+    /**
+     * Removes a body from the tree matching its body type
+     * @param body
+     * The body to remove
+     */
+    public static void Remove(Rigidbody body)
+    {
+        if(body.GetBodyType() == Rigidbody.BodyType.Static)
+            StaticBVHTree.Remove(body);
+        else
+            BVHTree.Remove(body);
+    }
+
+    /**
+     * Empties both trees and inserts the given bodies again, cheaper than removing many bodies one by one
+     * @param bodies
+     * The objects to keep in the trees, only the rigidbodies returning true on IsInBroadPhase are inserted
+     */
+    public static void Rebuild(List<? extends PhysicsObject> bodies)
+    {
+        BVHTree.Clear();
+        StaticBVHTree.Clear();
+
+        for(PhysicsObject physicsObject : bodies)
+        {
+            if(physicsObject instanceof Rigidbody body && body.IsInBroadPhase())
+                Insert(body);
+        }
+    }
+
+    /**
+     * Updates a body after its transform or colliders changed
+     * @param body
+     * The body to update
+     */
+    public static void Update(Rigidbody body)
+    {
+        if(body.GetBodyType() == Rigidbody.BodyType.Static)
+            StaticBVHTree.Update(body);
+        else
+            BVHTree.UpdateNode(body);
     }
 }
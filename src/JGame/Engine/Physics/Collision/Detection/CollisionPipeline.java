@@ -4,6 +4,8 @@ import JGame.Engine.Internal.Logger;
 import JGame.Engine.Physics.Collision.Contact.Contact;
 import JGame.Engine.Physics.Collision.Contact.ContactResolver;
 import JGame.Engine.Physics.Collision.Contact.PotentialContact;
+import JGame.Engine.Physics.Constraints.JointSolver;
+import JGame.Engine.Physics.General.PhysicsMetrics;
 
 import java.util.List;
 
@@ -13,14 +15,25 @@ import java.util.List;
 public class CollisionPipeline
 {
     /**
-     * Runs the collision pipeline, obtaining potential contacts, then generating actual contacts, and then finally resolving the contacts
+     * Runs the collision pipeline, obtaining potential contacts, then generating actual contacts, and then finally resolving the joints and contacts.
+     * Trigger overlaps found while generating contacts are dispatched at the end of the step
      */
     public static void RunPipeline()
     {
+        long timer = PhysicsMetrics.StartTimer();
         List<PotentialContact> potentialContacts = BroadCollisionDetection.GetPotentialContacts();
+        PhysicsMetrics.StopTimer(PhysicsMetrics.BROAD_PHASE, timer);
+        PhysicsMetrics.AddCounter(PhysicsMetrics.POTENTIAL_PAIRS, potentialContacts.size());
 
+        timer = PhysicsMetrics.StartTimer();
         List<Contact> contacts = FineCollisionDetection.GetContacts(potentialContacts);
+        PhysicsMetrics.StopTimer(PhysicsMetrics.NARROW_PHASE, timer);
+        PhysicsMetrics.AddCounter(PhysicsMetrics.CONTACTS, contacts.size());
 
+        //The contacts touching jointed bodies are solved with the joints, the rest by the contact resolver
+        JointSolver.SolveJoints(contacts);
         ContactResolver.ResolveContacts(contacts);
+
+        TriggerDetection.DispatchEvents();
     }
 }
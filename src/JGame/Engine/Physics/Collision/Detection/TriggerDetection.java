@@ -0,0 +1,115 @@
+package JGame.Engine.Physics.Collision.Detection;
+
+import JGame.Engine.Basic.JGameObject;
+import JGame.Engine.Physics.Collision.Colliders.Collider;
+
+import java.util.HashSet;
+
+/**
+ * Handles the overlaps of trigger colliders. Pairs with a trigger only run the overlap test during the fine collision phase
+ * and are recorded here instead of generating contacts, then the pairs of this step are compared with the pairs of the previous one
+ * to send the enter, stay and exit events to the components of both objects.
+ * Trigger pairs don't count towards the contact limits, and when the broad phase limit cuts the pairs the trigger bodies are queried apart,
+ * so a limit never ends an overlap. A pair can be reported more than once per step
+ */
+public class TriggerDetection
+{
+    public enum TriggerEvent
+    {
+        Enter,
+        Stay,
+        Exit
+    }
+
+    private static HashSet<TriggerPair> previousPairs = new HashSet<>();
+    private static HashSet<TriggerPair> currentPairs = new HashSet<>();
+
+    /**
+     * Records an overlap between two colliders where at least one of them is a trigger, called by the fine collision phase
+     * @param a
+     * The first collider
+     * @param b
+     * The second collider
+     */
+    public static void ReportOverlap(Collider a, Collider b)
+    {
+        currentPairs.add(new TriggerPair(a, b));
+    }
+
+    /**
+     * Sends the events for the overlaps reported during this step and starts a new step
+     */
+    public static void DispatchEvents()
+    {
+        //Swap first so callbacks destroying colliders can't change the sets being iterated
+        HashSet<TriggerPair> current = currentPairs;
+        HashSet<TriggerPair> previous = previousPairs;
+        previousPairs = current;
+        currentPairs = previous;
+
+        for(TriggerPair pair : current)
+        {
+            pair.Dispatch(previous.contains(pair) ? TriggerEvent.Stay : TriggerEvent.Enter);
+        }
+
+        for(TriggerPair pair : previous)
+        {
+            if(!current.contains(pair))
+                pair.Dispatch(TriggerEvent.Exit);
+        }
+
+        previous.clear();
+    }
+
+    /**
+     * Forgets every overlapping pair without sending exit events, used when the scene is cleared
+     */
+    public static void Clear()
+    {
+        previousPairs.clear();
+        currentPairs.clear();
+    }
+
+    /**
+     * Unordered pair of colliders
+     */
+    private static class TriggerPair
+    {
+        private final Collider a;
+        private final Collider b;
+
+        private TriggerPair(Collider a, Collider b)
+        {
+            this.a = a;
+            this.b = b;
+        }
+
+        private void Dispatch(TriggerEvent event)
+        {
+            //Colliders destroyed since the last step only leave the event for the other side
+            JGameObject objectA = a.object();
+            JGameObject objectB = b.object();
+
+            if(objectA != null && objectA.IsAvailable())
+                objectA._internalTriggerEvent(event, b);
+
+            if(objectB != null && objectB.IsAvailable())
+                objectB._internalTriggerEvent(event, a);
+        }
+
+        @Override
+        public boolean equals(Object obj)
+        {
+            if(!(obj instanceof TriggerPair other))
+                return false;
+
+            return (a == other.a && b == other.b) || (a == other.b && b == other.a);
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return System.identityHashCode(a) ^ System.identityHashCode(b);
+        }
+    }
+}
@@ -0,0 +1,453 @@
+package JGame.Engine.Physics.Collision.Helper;
+
+import JGame.Engine.Internal.Logger;
+import JGame.Engine.Physics.Collision.Colliders.*;
+import JGame.Engine.Physics.Collision.Contact.Contact;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Selects the narrow phase routine for a pair of colliders through tables indexed by the shape type of each collider.
+ * Every kernel is registered for one order of the pair and the reverse order is served by swapping the arguments.
+ * Pairs without a registered kernel fall back to the generic GJK/EPA narrow phase.
+ * <p>
+ * Pairs of the built in box, sphere, capsule, cylinder and plane colliders skip the tables and are dispatched through instanceof checks
+ * calling CollisionHelper directly, since a megamorphic call through the table measured slower than the type checks for mixed scenes.
+ * Registering a kernel for one of those pairs replaces the built in one like any other entry
+ */
+public class CollisionDispatcher
+{
+    /**
+     * Max number of collider shape types that can be registered
+     */
+    public static final int MAX_SHAPE_TYPES = 32;
+
+    public static final int BOX = 0;
+    public static final int SPHERE = 1;
+    public static final int CAPSULE = 2;
+    public static final int CYLINDER = 3;
+    public static final int PLANE = 4;
+    public static final int MESH = 5;
+    public static final int HEIGHTFIELD = 6;
+
+    @FunctionalInterface
+    public interface OverlapKernel<A extends Collider, B extends Collider>
+    {
+        boolean Overlaps(A colliderA, B colliderB);
+    }
+
+    @FunctionalInterface
+    public interface ContactKernel<A extends Collider, B extends Collider>
+    {
+        Contact GetContact(A colliderA, B colliderB);
+    }
+
+    @FunctionalInterface
+    public interface ManifoldKernel<A extends Collider, B extends Collider>
+    {
+        List<Contact> GetContacts(A colliderA, B colliderB);
+    }
+
+    private static final Map<Class<?>, Integer> shapeTypes = new HashMap<>();
+    private static int shapeTypeCount = 0;
+
+    private static final int PAIR_COUNT = MAX_SHAPE_TYPES * MAX_SHAPE_TYPES;
+
+    private static final OverlapKernel<?, ?>[] overlapKernels = new OverlapKernel<?, ?>[PAIR_COUNT];
+    private static final ContactKernel<?, ?>[] contactKernels = new ContactKernel<?, ?>[PAIR_COUNT];
+    private static final ManifoldKernel<?, ?>[] manifoldKernels = new ManifoldKernel<?, ?>[PAIR_COUNT];
+
+    /**
+     * True where the kernel at that entry was registered for the reverse order and the arguments must be swapped
+     */
+    private static final boolean[] overlapSwapped = new boolean[PAIR_COUNT];
+    private static final boolean[] contactSwapped = new boolean[PAIR_COUNT];
+    private static final boolean[] manifoldSwapped = new boolean[PAIR_COUNT];
+
+    /**
+     * True where the overlap and contact kernels are the built in ones of CollisionHelper, dispatched without the tables
+     */
+    private static final boolean[] primitive = new boolean[PAIR_COUNT];
+
+    static
+    {
+        RegisterShapeType(BoxCollider.class);
+        RegisterShapeType(SphereCollider.class);
+        RegisterShapeType(CapsuleCollider.class);
+        RegisterShapeType(CylinderCollider.class);
+        RegisterShapeType(PlaneCollider.class);
+        RegisterShapeType(MeshCollider.class);
+        RegisterShapeType(HeightfieldCollider.class);
+
+        //Specialized kernels, every other pair goes through GJK/EPA
+        RegisterKernels(BoxCollider.class, BoxCollider.class, CollisionHelper::Overlaps, CollisionHelper::GetContact);
+        RegisterKernels(BoxCollider.class, SphereCollider.class, CollisionHelper::Overlaps, CollisionHelper::GetContact);
+        RegisterKernels(BoxCollider.class, PlaneCollider.class, CollisionHelper::Overlaps, CollisionHelper::GetContact);
+        RegisterKernels(SphereCollider.class, SphereCollider.class, CollisionHelper::Overlaps, CollisionHelper::GetContact);
+        RegisterKernels(SphereCollider.class, PlaneCollider.class, CollisionHelper::Overlaps, CollisionHelper::GetContact);
+        RegisterKernels(PlaneCollider.class, PlaneCollider.class, CollisionHelper::Overlaps, CollisionHelper::GetContact);
+
+        for(int a = BOX; a <= PLANE; a++)
+        {
+            for(int b = BOX; b <= PLANE; b++)
+                primitive[Pair(a, b)] = true;
+        }
+
+        RegisterManifoldKernel(BoxCollider.class, BoxCollider.class, CollisionHelper::GetContacts);
+
+        RegisterKernels(SphereCollider.class, MeshCollider.class, MeshCollisionHelper::Overlaps, MeshCollisionHelper::GetContact);
+        RegisterKernels(BoxCollider.class, MeshCollider.class, MeshCollisionHelper::Overlaps, MeshCollisionHelper::GetContact);
+        RegisterKernels(CapsuleCollider.class, MeshCollider.class, MeshCollisionHelper::Overlaps, MeshCollisionHelper::GetContact);
+        RegisterManifoldKernel(SphereCollider.class, MeshCollider.class, MeshCollisionHelper::GetContacts);
+        RegisterManifoldKernel(BoxCollider.class, MeshCollider.class, MeshCollisionHelper::GetContacts);
+        RegisterManifoldKernel(CapsuleCollider.class, MeshCollider.class, MeshCollisionHelper::GetContacts);
+
+        RegisterKernels(CylinderCollider.class, MeshCollider.class, MeshCollisionHelper::Overlaps, MeshCollisionHelper::GetContact);
+        RegisterKernels(PlaneCollider.class, MeshCollider.class, MeshCollisionHelper::Overlaps, MeshCollisionHelper::GetContact);
+        RegisterManifoldKernel(CylinderCollider.class, MeshCollider.class, MeshCollisionHelper::GetContacts);
+        RegisterManifoldKernel(PlaneCollider.class, MeshCollider.class, MeshCollisionHelper::GetContacts);
+
+        RegisterKernels(SphereCollider.class, HeightfieldCollider.class, MeshCollisionHelper::Overlaps, MeshCollisionHelper::GetContact);
+        RegisterKernels(BoxCollider.class, HeightfieldCollider.class, MeshCollisionHelper::Overlaps, MeshCollisionHelper::GetContact);
+        RegisterKernels(CapsuleCollider.class, HeightfieldCollider.class, MeshCollisionHelper::Overlaps, MeshCollisionHelper::GetContact);
+        RegisterManifoldKernel(SphereCollider.class, HeightfieldCollider.class, MeshCollisionHelper::GetContacts);
+        RegisterManifoldKernel(BoxCollider.class, HeightfieldCollider.class, MeshCollisionHelper::GetContacts);
+        RegisterManifoldKernel(CapsuleCollider.class, HeightfieldCollider.class, MeshCollisionHelper::GetContacts);
+        RegisterKernels(CylinderCollider.class, HeightfieldCollider.class, MeshCollisionHelper::Overlaps, MeshCollisionHelper::GetContact);
+        RegisterKernels(PlaneCollider.class, HeightfieldCollider.class, MeshCollisionHelper::Overlaps, MeshCollisionHelper::GetContact);
+        RegisterManifoldKernel(CylinderCollider.class, HeightfieldCollider.class, MeshCollisionHelper::GetContacts);
+        RegisterManifoldKernel(PlaneCollider.class, HeightfieldCollider.class, MeshCollisionHelper::GetContacts);
+
+        //Two triangle shapes aren't convex, so they must not reach GJK/EPA
+        RegisterUnsupportedPair(MeshCollider.class, MeshCollider.class);
+        RegisterUnsupportedPair(MeshCollider.class, HeightfieldCollider.class);
+        RegisterUnsupportedPair(HeightfieldCollider.class, HeightfieldCollider.class);
+    }
+
+    //------Shape Types------
+
+    /**
+     * Registers a collider class as a new shape type, if it's not registered already
+     * @param type
+     * The collider class
+     * @return
+     * The shape type ordinal of the class
+     */
+    public static int RegisterShapeType(Class<? extends Collider> type)
+    {
+        Integer existing = shapeTypes.get(type);
+        if(existing != null)
+            return existing;
+
+        if(shapeTypeCount >= MAX_SHAPE_TYPES)
+            throw new IllegalStateException("Can't register collider type \"" + type.getName() + "\", the limit of " + MAX_SHAPE_TYPES + " shape types was reached!");
+
+        shapeTypes.put(type, shapeTypeCount);
+
+        return shapeTypeCount++;
+    }
+
+    /**
+     * Gets the shape type ordinal of a collider class. Subclasses of registered colliders share the type of their parent,
+     * unknown types are registered automatically and use the generic narrow phase
+     * @param type
+     * The collider class
+     * @return
+     * The shape type ordinal
+     */
+    public static int GetShapeType(Class<? extends Collider> type)
+    {
+        for(Class<?> current = type; current != null && current != Collider.class; current = current.getSuperclass())
+        {
+            Integer shapeType = shapeTypes.get(current);
+            if(shapeType != null)
+                return shapeType;
+        }
+
+        return RegisterShapeType(type);
+    }
+
+    //------Registration------
+
+    /**
+     * Registers the overlap and contact kernels for a pair of collider types, the reverse pair is handled automatically
+     * @param typeA
+     * The type of the first collider
+     * @param typeB
+     * The type of the second collider
+     * @param overlap
+     * The overlap test, can be null to use the generic one
+     * @param contact
+     * The contact generator, can be null to use the generic one
+     */
+    public static <A extends Collider, B extends Collider> void RegisterKernels(Class<A> typeA, Class<B> typeB, OverlapKernel<A, B> overlap, ContactKernel<A, B> contact)
+    {
+        int a = GetShapeType(typeA);
+        int b = GetShapeType(typeB);
+
+        SetKernels(Pair(a, b), overlap, contact, false);
+
+        if(a != b)
+        {
+            SetKernels(Pair(b, a), overlap, contact, true);
+        }
+    }
+
+    /**
+     * Registers a kernel generating several contacts at once for a pair of collider types, the reverse pair is handled automatically.
+     * Pairs without a manifold kernel generate a single contact
+     * @param typeA
+     * The type of the first collider
+     * @param typeB
+     * The type of the second collider
+     * @param manifold
+     * The manifold generator, the deepest contact must be first
+     */
+    public static <A extends Collider, B extends Collider> void RegisterManifoldKernel(Class<A> typeA, Class<B> typeB, ManifoldKernel<A, B> manifold)
+    {
+        int a = GetShapeType(typeA);
+        int b = GetShapeType(typeB);
+
+        manifoldKernels[Pair(a, b)] = manifold;
+        manifoldSwapped[Pair(a, b)] = false;
+
+        if(a != b)
+        {
+            manifoldKernels[Pair(b, a)] = manifold;
+            manifoldSwapped[Pair(b, a)] = true;
+        }
+    }
+
+    /**
+     * Registers a pair of collider types without narrow phase, which never collide. A warning is logged the first time the pair is tested
+     */
+    private static <A extends Collider, B extends Collider> void RegisterUnsupportedPair(Class<A> typeA, Class<B> typeB)
+    {
+        AtomicBoolean warned = new AtomicBoolean();
+        Runnable warning = () ->
+        {
+            if(!warned.getAndSet(true))
+                Logger.DebugWarning("Collisions between " + typeA.getSimpleName() + " and " + typeB.getSimpleName() + " aren't supported, the pair is ignored");
+        };
+
+        RegisterKernels(typeA, typeB, (a, b) ->
+        {
+            warning.run();
+            return false;
+        }, (a, b) ->
+        {
+            warning.run();
+            return null;
+        });
+    }
+
+    private static void SetKernels(int pair, OverlapKernel<?, ?> overlap, ContactKernel<?, ?> contact, boolean swapped)
+    {
+        overlapKernels[pair] = overlap;
+        overlapSwapped[pair] = swapped;
+        contactKernels[pair] = contact;
+        contactSwapped[pair] = swapped;
+        primitive[pair] = false;
+    }
+
+    private static int Pair(int shapeTypeA, int shapeTypeB)
+    {
+        return shapeTypeA * MAX_SHAPE_TYPES + shapeTypeB;
+    }
+
+    //------Dispatch------
+
+    /**
+     * Checks if two colliders overlap
+     * @param colliderA
+     * The first collider
+     * @param colliderB
+     * The second collider
+     * @return
+     * True if the colliders overlap
+     */
+    public static boolean Overlaps(Collider colliderA, Collider colliderB)
+    {
+        int pair = Pair(colliderA.GetShapeType(), colliderB.GetShapeType());
+
+        if(primitive[pair])
+            return PrimitiveOverlaps(colliderA, colliderB);
+
+        OverlapKernel<Collider, Collider> kernel = AsColliderKernel(overlapKernels[pair]);
+
+        if(kernel == null)
+            return GJKHelper.Overlaps(colliderA, colliderB);
+
+        return overlapSwapped[pair] ? kernel.Overlaps(colliderB, colliderA) : kernel.Overlaps(colliderA, colliderB);
+    }
+
+    /**
+     * Gets a contact between two colliders
+     * @param colliderA
+     * The first collider
+     * @param colliderB
+     * The second collider
+     * @return
+     * A contact between the colliders, null if they don't overlap
+     */
+    public static Contact GetContact(Collider colliderA, Collider colliderB)
+    {
+        int pair = Pair(colliderA.GetShapeType(), colliderB.GetShapeType());
+
+        if(primitive[pair])
+            return PrimitiveContact(colliderA, colliderB);
+
+        ContactKernel<Collider, Collider> kernel = AsColliderKernel(contactKernels[pair]);
+
+        if(kernel == null)
+            return GJKHelper.GetContact(colliderA, colliderB);
+
+        return contactSwapped[pair] ? kernel.GetContact(colliderB, colliderA) : kernel.GetContact(colliderA, colliderB);
+    }
+
+    /**
+     * Adds the contacts between two colliders to a list
+     * @param colliderA
+     * The first collider
+     * @param colliderB
+     * The second collider
+     * @param contacts
+     * The list the contacts are added to
+     * @param limit
+     * The max number of contacts to add
+     * @return
+     * The number of contacts added
+     */
+    public static int GetContacts(Collider colliderA, Collider colliderB, List<Contact> contacts, int limit)
+    {
+        if(limit <= 0)
+            return 0;
+
+        int pair = Pair(colliderA.GetShapeType(), colliderB.GetShapeType());
+
+        ManifoldKernel<Collider, Collider> kernel = AsColliderKernel(manifoldKernels[pair]);
+
+        if(kernel == null)
+        {
+            Contact contact = GetContact(colliderA, colliderB);
+            if(contact == null)
+                return 0;
+
+            contacts.add(contact);
+            return 1;
+        }
+
+        List<Contact> manifold = manifoldSwapped[pair] ? kernel.GetContacts(colliderB, colliderA) : kernel.GetContacts(colliderA, colliderB);
+        int count = Math.min(manifold.size(), limit);
+
+        contacts.addAll(manifold.subList(0, count));
+        return count;
+    }
+
+    //------Primitive kernels------
+
+    private static boolean PrimitiveOverlaps(Collider colliderA, Collider colliderB)
+    {
+        if(colliderA instanceof BoxCollider boxA)
+        {
+            if(colliderB instanceof BoxCollider boxB) return CollisionHelper.Overlaps(boxA, boxB);
+            if(colliderB instanceof SphereCollider sphereB) return CollisionHelper.Overlaps(boxA, sphereB);
+            if(colliderB instanceof CapsuleCollider capsuleB) return CollisionHelper.Overlaps(boxA, capsuleB);
+            if(colliderB instanceof CylinderCollider cylinderB) return CollisionHelper.Overlaps(boxA, cylinderB);
+            if(colliderB instanceof PlaneCollider planeB) return CollisionHelper.Overlaps(boxA, planeB);
+        }
+        else if(colliderA instanceof SphereCollider sphereA)
+        {
+            if(colliderB instanceof BoxCollider boxB) return CollisionHelper.Overlaps(boxB, sphereA);
+            if(colliderB instanceof SphereCollider sphereB) return CollisionHelper.Overlaps(sphereA, sphereB);
+            if(colliderB instanceof CapsuleCollider capsuleB) return CollisionHelper.Overlaps(sphereA, capsuleB);
+            if(colliderB instanceof CylinderCollider cylinderB) return CollisionHelper.Overlaps(sphereA, cylinderB);
+            if(colliderB instanceof PlaneCollider planeB) return CollisionHelper.Overlaps(sphereA, planeB);
+        }
+        else if(colliderA instanceof CapsuleCollider capsuleA)
+        {
+            if(colliderB instanceof BoxCollider boxB) return CollisionHelper.Overlaps(boxB, capsuleA);
+            if(colliderB instanceof SphereCollider sphereB) return CollisionHelper.Overlaps(sphereB, capsuleA);
+            if(colliderB instanceof CapsuleCollider capsuleB) return CollisionHelper.Overlaps(capsuleA, capsuleB);
+            if(colliderB instanceof CylinderCollider cylinderB) return CollisionHelper.Overlaps(cylinderB, capsuleA);
+            if(colliderB instanceof PlaneCollider planeB) return CollisionHelper.Overlaps(capsuleA, planeB);
+        }
+        else if(colliderA instanceof CylinderCollider cylinderA)
+        {
+            if(colliderB instanceof BoxCollider boxB) return CollisionHelper.Overlaps(boxB, cylinderA);
+            if(colliderB instanceof SphereCollider sphereB) return CollisionHelper.Overlaps(sphereB, cylinderA);
+            if(colliderB instanceof CapsuleCollider capsuleB) return CollisionHelper.Overlaps(cylinderA, capsuleB);
+            if(colliderB instanceof CylinderCollider cylinderB) return CollisionHelper.Overlaps(cylinderA, cylinderB);
+            if(colliderB instanceof PlaneCollider planeB) return CollisionHelper.Overlaps(cylinderA, planeB);
+        }
+        else if(colliderA instanceof PlaneCollider planeA)
+        {
+            if(colliderB instanceof BoxCollider boxB) return CollisionHelper.Overlaps(boxB, planeA);
+            if(colliderB instanceof SphereCollider sphereB) return CollisionHelper.Overlaps(sphereB, planeA);
+            if(colliderB instanceof CapsuleCollider capsuleB) return CollisionHelper.Overlaps(capsuleB, planeA);
+            if(colliderB instanceof CylinderCollider cylinderB) return CollisionHelper.Overlaps(cylinderB, planeA);
+            if(colliderB instanceof PlaneCollider planeB) return CollisionHelper.Overlaps(planeA, planeB);
+        }
+
+        throw new IllegalStateException("No primitive overlap test for " + colliderA.getClass().getSimpleName() + " and " + colliderB.getClass().getSimpleName() + "!");
+    }
+
+    private static Contact PrimitiveContact(Collider colliderA, Collider colliderB)
+    {
+        if(colliderA instanceof BoxCollider boxA)
+        {
+            if(colliderB instanceof BoxCollider boxB) return CollisionHelper.GetContact(boxA, boxB);
+            if(colliderB instanceof SphereCollider sphereB) return CollisionHelper.GetContact(boxA, sphereB);
+            if(colliderB instanceof CapsuleCollider capsuleB) return CollisionHelper.GetContact(boxA, capsuleB);
+            if(colliderB instanceof CylinderCollider cylinderB) return CollisionHelper.GetContact(boxA, cylinderB);
+            if(colliderB instanceof PlaneCollider planeB) return CollisionHelper.GetContact(boxA, planeB);
+        }
+        else if(colliderA instanceof SphereCollider sphereA)
+        {
+            if(colliderB instanceof BoxCollider boxB) return CollisionHelper.GetContact(boxB, sphereA);
+            if(colliderB instanceof SphereCollider sphereB) return CollisionHelper.GetContact(sphereA, sphereB);
+            if(colliderB instanceof CapsuleCollider capsuleB) return CollisionHelper.GetContact(sphereA, capsuleB);
+            if(colliderB instanceof CylinderCollider cylinderB) return CollisionHelper.GetContact(sphereA, cylinderB);
+            if(colliderB instanceof PlaneCollider planeB) return CollisionHelper.GetContact(sphereA, planeB);
+        }
+        else if(colliderA instanceof CapsuleCollider capsuleA)
+        {
+            if(colliderB instanceof BoxCollider boxB) return CollisionHelper.GetContact(boxB, capsuleA);
+            if(colliderB instanceof SphereCollider sphereB) return CollisionHelper.GetContact(sphereB, capsuleA);
+            if(colliderB instanceof CapsuleCollider capsuleB) return CollisionHelper.GetContact(capsuleA, capsuleB);
+            if(colliderB instanceof CylinderCollider cylinderB) return CollisionHelper.GetContact(cylinderB, capsuleA);
+            if(colliderB instanceof PlaneCollider planeB) return CollisionHelper.GetContact(capsuleA, planeB);
+        }
+        else if(colliderA instanceof CylinderCollider cylinderA)
+        {
+            if(colliderB instanceof BoxCollider boxB) return CollisionHelper.GetContact(boxB, cylinderA);
+            if(colliderB instanceof SphereCollider sphereB) return CollisionHelper.GetContact(sphereB, cylinderA);
+            if(colliderB instanceof CapsuleCollider capsuleB) return CollisionHelper.GetContact(cylinderA, capsuleB);
+            if(colliderB instanceof CylinderCollider cylinderB) return CollisionHelper.GetContact(cylinderA, cylinderB);
+            if(colliderB instanceof PlaneCollider planeB) return CollisionHelper.GetContact(cylinderA, planeB);
+        }
+        else if(colliderA instanceof PlaneCollider planeA)
+        {
+            if(colliderB instanceof BoxCollider boxB) return CollisionHelper.GetContact(boxB, planeA);
+            if(colliderB instanceof SphereCollider sphereB) return CollisionHelper.GetContact(sphereB, planeA);
+            if(colliderB instanceof CapsuleCollider capsuleB) return CollisionHelper.GetContact(capsuleB, planeA);
+            if(colliderB instanceof CylinderCollider cylinderB) return CollisionHelper.GetContact(cylinderB, planeA);
+            if(colliderB instanceof PlaneCollider planeB) return CollisionHelper.GetContact(planeA, planeB);
+        }
+
+        throw new IllegalStateException("No primitive contact generator for " + colliderA.getClass().getSimpleName() + " and " + colliderB.getClass().getSimpleName() + "!");
+    }
+
+    /**
+     * Casts a kernel from the tables to take any collider. The kernel at an entry is only called with the shape types it was registered for,
+     * swapped if needed, so its arguments always have the types it expects
+     */
+    @SuppressWarnings("unchecked")
+    private static <K> K AsColliderKernel(Object kernel)
+    {
+        return (K) kernel;
+    }
+}
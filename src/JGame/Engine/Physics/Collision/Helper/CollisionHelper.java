@@ -12,6 +12,16 @@ import java.util.*;
 
 public class CollisionHelper
 {
+    /**
+     * Max number of points in a contact manifold
+     */
+    public static final int MAX_MANIFOLD_POINTS = 4;
+
+    /**
+     * An edge-edge axis is only selected if its penetration is below this fraction of the best face axis
+     */
+    static final float EDGE_AXIS_TOLERANCE = 0.95f;
+
     /**
      * Calculates the point of closest approach between two line segments
      * @param pointA
@@ -80,12 +90,12 @@ public class CollisionHelper
         float vertexX = vector2D.x;
         float vertexZ = vector2D.y;
 
-        if(plane.transform().Right().DotProduct(normal) < 0) vertexX = -vector2D.x;
-        if(plane.transform().Forward().DotProduct(normal) < 0) vertexZ = -vector2D.y;
+        if(plane.GetWorldAxis(0).DotProduct(normal) < 0) vertexX = -vector2D.x;
+        if(plane.GetWorldAxis(2).DotProduct(normal) < 0) vertexZ = -vector2D.y;
 
         Vector3D vector = new Vector3D(vertexX, 0, vertexZ);
 
-        return new Contact(collider.GetRigidbody(), plane.GetRigidbody(), plane.transform().LocalToWorldSpace(vector), normal, penetration);
+        return new Contact(collider.GetRigidbody(), plane.GetRigidbody(), plane.ShapeToWorldSpace(vector), normal, penetration);
     }
     /**
      *  Returns a Point-Face contact from another collider and a box
@@ -98,12 +108,12 @@ public class CollisionHelper
 
         Vector3D scaledHalfSize = box.GetScaledHalfSize();
         Vector3D vertex = new Vector3D(
-                normal.DotProduct(box.transform().Right()) < 0 ? -scaledHalfSize.x : scaledHalfSize.x,
-                normal.DotProduct(box.transform().Up()) < 0 ? -scaledHalfSize.y : scaledHalfSize.y,
-                normal.DotProduct(box.transform().Forward()) < 0 ? -scaledHalfSize.z : scaledHalfSize.z
+                normal.DotProduct(box.GetWorldAxis(0)) < 0 ? -scaledHalfSize.x : scaledHalfSize.x,
+                normal.DotProduct(box.GetWorldAxis(1)) < 0 ? -scaledHalfSize.y : scaledHalfSize.y,
+                normal.DotProduct(box.GetWorldAxis(2)) < 0 ? -scaledHalfSize.z : scaledHalfSize.z
         );
 
-        vertex = box.transform().LocalToWorldSpace(vertex);
+        vertex = box.ShapeToWorldSpace(vertex);
 
         return new Contact(collider.GetRigidbody(), box.GetRigidbody(), vertex, normal, penetration);
     }
@@ -238,8 +248,8 @@ public class CollisionHelper
     {
         Vector2D halfSize = plane.GetScaledHalfSize();
 
-        return Math.abs(plane.transform().Right().DotProduct(axis)) * halfSize.x +
-                Math.abs(plane.transform().Forward().DotProduct(axis)) * halfSize.y;
+        return Math.abs(plane.GetWorldAxis(0).DotProduct(axis)) * halfSize.x +
+                Math.abs(plane.GetWorldAxis(2).DotProduct(axis)) * halfSize.y;
     }
     /**
      * Projects a box into an axis
@@ -254,9 +264,9 @@ public class CollisionHelper
     {
         Vector3D halfSize = box.GetScaledHalfSize();
 
-        return Math.abs(box.transform().Right().DotProduct(axis)) * halfSize.x +
-                Math.abs(box.transform().Up().DotProduct(axis)) * halfSize.y +
-                Math.abs(box.transform().Forward().DotProduct(axis)) * halfSize.z;
+        return Math.abs(box.GetWorldAxis(0).DotProduct(axis)) * halfSize.x +
+                Math.abs(box.GetWorldAxis(1).DotProduct(axis)) * halfSize.y +
+                Math.abs(box.GetWorldAxis(2).DotProduct(axis)) * halfSize.z;
     }
 
     //---- Overlap Checking ----
@@ -275,15 +285,15 @@ public class CollisionHelper
         List<Vector3D> candidateAxes = new ArrayList<>();
 
         Vector3D[] axesA = {
-                boxA.transform().Right(),
-                boxA.transform().Up(),
-                boxA.transform().Forward()
+                boxA.GetWorldAxis(0),
+                boxA.GetWorldAxis(1),
+                boxA.GetWorldAxis(2)
         };
 
         Vector3D[] axesB = {
-                boxB.transform().Right(),
-                boxB.transform().Up(),
-                boxB.transform().Forward()
+                boxB.GetWorldAxis(0),
+                boxB.GetWorldAxis(1),
+                boxB.GetWorldAxis(2)
         };
 
         Collections.addAll(candidateAxes, axesA);
@@ -327,7 +337,7 @@ public class CollisionHelper
         Vector3D boxScaledHalfSize = box.GetScaledHalfSize();
         float sphereRadius = sphere.GetScaledRadius();
 
-        Vector3D localSphereCenter = box.transform().WorldToLocalSpace(sphereCenter);
+        Vector3D localSphereCenter = box.WorldToShapeSpace(sphereCenter);
 
         if (Math.abs(localSphereCenter.x) > boxScaledHalfSize.x + sphereRadius ||
             Math.abs(localSphereCenter.y) > boxScaledHalfSize.y + sphereRadius ||
@@ -340,8 +350,8 @@ public class CollisionHelper
                 MathUtilities.Clamp(localSphereCenter.x, -boxScaledHalfSize.x, boxScaledHalfSize.x),
                 MathUtilities.Clamp(localSphereCenter.y, -boxScaledHalfSize.y, boxScaledHalfSize.y),
                 MathUtilities.Clamp(localSphereCenter.z, -boxScaledHalfSize.z, boxScaledHalfSize.z)
-        ).Multiply(box.transform().GetGlobalScale().Normalized());;
-        closestPoint = box.transform().LocalToWorldSpace(closestPoint);
+        );
+        closestPoint = box.ShapeToWorldSpace(closestPoint);
 
         float distanceSquared = Vector3D.DistanceSquared(closestPoint, sphereCenter);
 
@@ -359,7 +369,7 @@ public class CollisionHelper
      */
     public static boolean Overlaps(BoxCollider box, CylinderCollider cylinder)
     {
-        return false;
+        return GJKHelper.Overlaps(box, cylinder);
     }
 
     /**
@@ -373,7 +383,7 @@ public class CollisionHelper
      */
     public static boolean Overlaps(BoxCollider box, CapsuleCollider capsule)
     {
-        return false;
+        return GJKHelper.Overlaps(box, capsule);
     }
     /**
      * Checks if a box and a plane overlap
@@ -389,14 +399,14 @@ public class CollisionHelper
         List<Vector3D> candidateAxes = new ArrayList<>();
 
         Vector3D[] axesA = {
-                box.transform().Right(),
-                box.transform().Up(),
-                box.transform().Forward()
+                box.GetWorldAxis(0),
+                box.GetWorldAxis(1),
+                box.GetWorldAxis(2)
         };
 
         Vector3D[] axesB = {
-                plane.transform().Right(),
-                plane.transform().Forward()
+                plane.GetWorldAxis(0),
+                plane.GetWorldAxis(2)
         };
 
         Collections.addAll(candidateAxes, axesA);
@@ -453,7 +463,7 @@ public class CollisionHelper
      */
     public static boolean Overlaps(SphereCollider sphere, CylinderCollider cylinder)
     {
-        return false;
+        return GJKHelper.Overlaps(sphere, cylinder);
     }
 
     /**
@@ -467,7 +477,7 @@ public class CollisionHelper
      */
     public static boolean Overlaps(SphereCollider sphere, CapsuleCollider capsule)
     {
-        return false;
+        return GJKHelper.Overlaps(sphere, capsule);
     }
     /**
      * Checks if a sphere and a plane overlap
@@ -484,7 +494,7 @@ public class CollisionHelper
         Vector2D planeBoxHalfSize = plane.GetScaledHalfSize();
         float sphereRadius = sphere.GetScaledRadius();
 
-        Vector3D localSphereCenter = plane.transform().WorldToLocalSpace(sphereCenter);
+        Vector3D localSphereCenter = plane.WorldToShapeSpace(sphereCenter);
 
         if (Math.abs(localSphereCenter.x) > planeBoxHalfSize.x + sphereRadius ||
             Math.abs(localSphereCenter.y) > 1e-6 + sphereRadius ||
@@ -498,7 +508,7 @@ public class CollisionHelper
                 0,
                 MathUtilities.Clamp(localSphereCenter.z, -planeBoxHalfSize.y, planeBoxHalfSize.y)
         );
-        closestPoint = plane.transform().LocalToWorldSpace(closestPoint);
+        closestPoint = plane.ShapeToWorldSpace(closestPoint);
 
         float distanceSquared = Vector3D.DistanceSquared(closestPoint, sphereCenter);
 
@@ -516,7 +526,7 @@ public class CollisionHelper
      */
     public static boolean Overlaps(CylinderCollider cylinderA, CylinderCollider cylinderB)
     {
-        return false;
+        return GJKHelper.Overlaps(cylinderA, cylinderB);
     }
 
     /**
@@ -530,7 +540,7 @@ public class CollisionHelper
      */
     public static boolean Overlaps(CylinderCollider cylinder, CapsuleCollider capsule)
     {
-        return false;
+        return GJKHelper.Overlaps(cylinder, capsule);
     }
     /**
      * Checks if a cylinder and a plane overlap
@@ -543,7 +553,7 @@ public class CollisionHelper
      */
     public static boolean Overlaps(CylinderCollider cylinder, PlaneCollider plane)
     {
-        return false;
+        return GJKHelper.Overlaps(cylinder, plane);
     }
 
     /**
@@ -557,7 +567,7 @@ public class CollisionHelper
      */
     public static boolean Overlaps(CapsuleCollider capsuleA, CapsuleCollider capsuleB)
     {
-        return false;
+        return GJKHelper.Overlaps(capsuleA, capsuleB);
     }
     /**
      * Checks if a capsule and a plane overlap
@@ -570,7 +580,7 @@ public class CollisionHelper
      */
     public static boolean Overlaps(CapsuleCollider capsule, PlaneCollider plane)
     {
-        return false;
+        return GJKHelper.Overlaps(capsule, plane);
     }
     /**
      * Checks if two planes overlap
@@ -586,13 +596,13 @@ public class CollisionHelper
         List<Vector3D> candidateAxes = new ArrayList<>();
 
         Vector3D[] axesA = {
-                planeA.transform().Right(),
-                planeA.transform().Forward()
+                planeA.GetWorldAxis(0),
+                planeA.GetWorldAxis(2)
         };
 
         Vector3D[] axesB = {
-                planeB.transform().Right(),
-                planeB.transform().Forward()
+                planeB.GetWorldAxis(0),
+                planeB.GetWorldAxis(2)
         };
 
         Collections.addAll(candidateAxes, axesA);
@@ -630,22 +640,40 @@ public class CollisionHelper
      * @param boxB
      * The second box collider
      * @return
-     * A contact between the boxes
+     * The deepest contact between the boxes
      */
     public static Contact GetContact(BoxCollider boxA, BoxCollider boxB)
     {
+        List<Contact> contacts = GetContacts(boxA, boxB);
+
+        return contacts.isEmpty() ? null : contacts.get(0);
+    }
+
+    /**
+     * Generates a contact manifold between two boxes, face contacts are clipped against the reference face
+     * to get up to MAX_MANIFOLD_POINTS points, edge contacts produce a single point
+     * @param boxA
+     * The first box collider
+     * @param boxB
+     * The second box collider
+     * @return
+     * The contacts between the boxes, the deepest first, empty if they don't overlap
+     */
+    public static List<Contact> GetContacts(BoxCollider boxA, BoxCollider boxB)
+    {
+        List<Contact> contacts = new ArrayList<>();
         List<Vector3D> candidateAxes = new ArrayList<>();
 
         Vector3D[] axesA = {
-                boxA.transform().Right(),
-                boxA.transform().Up(),
-                boxA.transform().Forward()
+                boxA.GetWorldAxis(0),
+                boxA.GetWorldAxis(1),
+                boxA.GetWorldAxis(2)
         };
 
         Vector3D[] axesB = {
-                boxB.transform().Right(),
-                boxB.transform().Up(),
-                boxB.transform().Forward()
+                boxB.GetWorldAxis(0),
+                boxB.GetWorldAxis(1),
+                boxB.GetWorldAxis(2)
         };
 
         Collections.addAll(candidateAxes, axesA);
@@ -677,9 +705,10 @@ public class CollisionHelper
 
             float penetration = GetPenetrationDepth(boxA, boxB, candidateAxis, T);
             if(penetration < 0)
-                return null;
+                return contacts;
 
-            if(penetration < minPen)
+            //Edge axes need to be clearly better than face axes, otherwise resting boxes flip between both
+            if(i < 6 ? penetration < minPen : penetration < minPen * EDGE_AXIS_TOLERANCE)
             {
                 minPen = penetration;
                 minPenAxisIdx = i;
@@ -691,15 +720,21 @@ public class CollisionHelper
 
         if(minPenAxisIdx < 3)
         {
-            Vector3D normal = boxA.transform().GetAxis(minPenAxisIdx);
-            //Logger.DebugLog("First Box Axis!");
-            return PointFaceContact(boxA, boxB, T, normal, minPen);
+            ClipBoxFaceContacts(boxA, boxB, minPenAxisIdx, contacts);
+
+            if(contacts.isEmpty())
+                contacts.add(PointFaceContact(boxA, boxB, T, boxA.GetWorldAxis(minPenAxisIdx), minPen));
+
+            return contacts;
         }
         else if(minPenAxisIdx < 6)
         {
-            Vector3D normal = boxB.transform().GetAxis(minPenAxisIdx - 3);
-            //Logger.DebugLog("Second Box Axis!");
-            return PointFaceContact(boxB, boxA, T.Negate(), normal, minPen);
+            ClipBoxFaceContacts(boxB, boxA, minPenAxisIdx - 3, contacts);
+
+            if(contacts.isEmpty())
+                contacts.add(PointFaceContact(boxB, boxA, T.Negate(), boxB.GetWorldAxis(minPenAxisIdx - 3), minPen));
+
+            return contacts;
         }
         else
         {
@@ -707,8 +742,8 @@ public class CollisionHelper
             int axisIndexA = minPenAxisIdx / 3;
             int axisIndexB = minPenAxisIdx % 3;
 
-            Vector3D axisA = boxA.transform().GetAxis(axisIndexA);
-            Vector3D axisB = boxB.transform().GetAxis(axisIndexB);
+            Vector3D axisA = boxA.GetWorldAxis(axisIndexA);
+            Vector3D axisB = boxB.GetWorldAxis(axisIndexB);
             Vector3D axis = axisA.CrossProduct(axisB).Normalized();
 
             if(axis.DotProduct(T) < 1e-6) axis = axis.Negate();
@@ -722,17 +757,17 @@ public class CollisionHelper
             for(int i = 0; i < 3; i++)
             {
                 if(axisIndexA == i) pointEdgeA[i] = 0;
-                else if(boxA.transform().GetAxis(i).DotProduct(axis) > 0) pointEdgeA[i] = -pointEdgeA[i];
+                else if(boxA.GetWorldAxis(i).DotProduct(axis) > 0) pointEdgeA[i] = -pointEdgeA[i];
 
                 if(axisIndexB == i) pointEdgeB[i] = 0;
-                else if(boxB.transform().GetAxis(i).DotProduct(axis) > 0) pointEdgeB[i] = -pointEdgeB[i];
+                else if(boxB.GetWorldAxis(i).DotProduct(axis) > 0) pointEdgeB[i] = -pointEdgeB[i];
             }
 
             Vector3D pointEdgeAVector = new Vector3D(pointEdgeA);
             Vector3D pointEdgeBVector = new Vector3D(pointEdgeB);
 
-            pointEdgeAVector = boxA.transform().LocalToWorldSpace(pointEdgeAVector);
-            pointEdgeBVector = boxB.transform().LocalToWorldSpace(pointEdgeBVector);
+            pointEdgeAVector = boxA.ShapeToWorldSpace(pointEdgeAVector);
+            pointEdgeBVector = boxB.ShapeToWorldSpace(pointEdgeBVector);
 
             float sizeA = axisIndexA == 0 ? halfSizeA.x : (axisIndexA == 1 ? halfSizeA.y : halfSizeA.z);
             float sizeB = axisIndexB == 0 ? halfSizeB.x : (axisIndexB == 1 ? halfSizeB.y : halfSizeB.z);
@@ -741,9 +776,208 @@ public class CollisionHelper
                                               pointEdgeBVector, axisB, sizeB,
                                          minPenSingleAxisIdx > 2);
 
-            //Logger.DebugLog("Cross Product Axis!");
-            return new Contact(boxA.GetRigidbody(), boxB.GetRigidbody(), vertex, axis, minPen);
+            contacts.add(new Contact(boxA.GetRigidbody(), boxB.GetRigidbody(), vertex, axis, minPen));
+            return contacts;
+        }
+    }
+
+    /**
+     * Clips the incident face of a box against the side planes of the reference face of another box (Sutherland-Hodgman)
+     * and adds a contact for every clipped point behind the reference face, reduced to MAX_MANIFOLD_POINTS
+     * @param reference
+     * The box owning the face of minimum penetration
+     * @param incident
+     * The other box
+     * @param axisIndex
+     * The index of the reference face axis
+     * @param contacts
+     * The list the contacts are added to, the deepest first
+     */
+    private static void ClipBoxFaceContacts(BoxCollider reference, BoxCollider incident, int axisIndex, List<Contact> contacts)
+    {
+        Vector3D referenceCenter = reference.GetCenterWorld();
+        Vector3D incidentCenter = incident.GetCenterWorld();
+        float[] referenceHalfSize = reference.GetScaledHalfSize().ToArray();
+        float[] incidentHalfSize = incident.GetScaledHalfSize().ToArray();
+
+        //Reference face normal, pointing towards the incident box
+        Vector3D normal = reference.GetWorldAxis(axisIndex);
+        if(normal.DotProduct(incidentCenter.Subtract(referenceCenter)) < 0)
+            normal = normal.Negate();
+
+        //The incident face is the one most anti-parallel to the reference normal
+        int incidentAxisIndex = 0;
+        float maxAlignment = -1;
+        for(int i = 0; i < 3; i++)
+        {
+            float alignment = Math.abs(incident.GetWorldAxis(i).DotProduct(normal));
+            if(alignment > maxAlignment)
+            {
+                maxAlignment = alignment;
+                incidentAxisIndex = i;
+            }
         }
+
+        Vector3D incidentNormal = incident.GetWorldAxis(incidentAxisIndex);
+        if(incidentNormal.DotProduct(normal) > 0)
+            incidentNormal = incidentNormal.Negate();
+
+        Vector3D incidentFaceCenter = incidentCenter.Add(incidentNormal.Scale(incidentHalfSize[incidentAxisIndex]));
+        Vector3D sideU = incident.GetWorldAxis((incidentAxisIndex + 1) % 3).Scale(incidentHalfSize[(incidentAxisIndex + 1) % 3]);
+        Vector3D sideV = incident.GetWorldAxis((incidentAxisIndex + 2) % 3).Scale(incidentHalfSize[(incidentAxisIndex + 2) % 3]);
+
+        Vector3D[] polygon = new Vector3D[8];
+        Vector3D[] clipped = new Vector3D[8];
+        polygon[0] = incidentFaceCenter.Add(sideU).Add(sideV);
+        polygon[1] = incidentFaceCenter.Subtract(sideU).Add(sideV);
+        polygon[2] = incidentFaceCenter.Subtract(sideU).Subtract(sideV);
+        polygon[3] = incidentFaceCenter.Add(sideU).Subtract(sideV);
+        int count = 4;
+
+        //Clip against the four side planes of the reference face
+        for(int side = 1; side <= 2 && count > 0; side++)
+        {
+            int sideIndex = (axisIndex + side) % 3;
+            Vector3D sideAxis = reference.GetWorldAxis(sideIndex);
+            float offset = sideAxis.DotProduct(referenceCenter);
+
+            count = ClipPolygon(polygon, count, sideAxis, offset + referenceHalfSize[sideIndex], clipped);
+            Vector3D[] temp = polygon; polygon = clipped; clipped = temp;
+
+            count = ClipPolygon(polygon, count, sideAxis.Negate(), -offset + referenceHalfSize[sideIndex], clipped);
+            temp = polygon; polygon = clipped; clipped = temp;
+        }
+
+        //Keep the points behind the reference face
+        float referencePlane = normal.DotProduct(referenceCenter) + referenceHalfSize[axisIndex];
+        float[] depths = new float[8];
+        int kept = 0;
+        for(int i = 0; i < count; i++)
+        {
+            float depth = referencePlane - normal.DotProduct(polygon[i]);
+            if(depth >= 0)
+            {
+                polygon[kept] = polygon[i];
+                depths[kept] = depth;
+                kept++;
+            }
+        }
+
+        if(kept == 0)
+            return;
+
+        int[] selected = ReduceManifold(polygon, depths, kept, normal);
+
+        Vector3D contactNormal = normal.Negate();
+        for(int index : selected)
+        {
+            contacts.add(new Contact(reference.GetRigidbody(), incident.GetRigidbody(), polygon[index], contactNormal, depths[index]));
+        }
+    }
+
+    /**
+     * Clips a convex polygon against a plane, keeping the part where dot(planeNormal, point) is at most planeOffset
+     * @return
+     * The number of points in the output polygon
+     */
+    static int ClipPolygon(Vector3D[] input, int count, Vector3D planeNormal, float planeOffset, Vector3D[] output)
+    {
+        int outputCount = 0;
+
+        for(int i = 0; i < count; i++)
+        {
+            Vector3D current = input[i];
+            Vector3D next = input[(i + 1) % count];
+
+            float currentDistance = planeNormal.DotProduct(current) - planeOffset;
+            float nextDistance = planeNormal.DotProduct(next) - planeOffset;
+
+            if(currentDistance <= 0 && outputCount < output.length)
+                output[outputCount++] = current;
+
+            //The edge crosses the plane, add the intersection
+            if((currentDistance < 0 && nextDistance > 0) || (currentDistance > 0 && nextDistance < 0))
+            {
+                if(outputCount < output.length)
+                {
+                    float t = currentDistance / (currentDistance - nextDistance);
+                    output[outputCount++] = MathUtilities.Lerp(current, next, t);
+                }
+            }
+        }
+
+        return outputCount;
+    }
+
+    /**
+     * Selects up to MAX_MANIFOLD_POINTS points: the deepest point, the point furthest from it, and the points
+     * spanning the largest area on each side of the segment between them
+     * @return
+     * The indices of the selected points, the deepest first
+     */
+    static int[] ReduceManifold(Vector3D[] points, float[] depths, int count, Vector3D normal)
+    {
+        int deepest = 0;
+        for(int i = 1; i < count; i++)
+        {
+            if(depths[i] > depths[deepest])
+                deepest = i;
+        }
+
+        if(count <= MAX_MANIFOLD_POINTS)
+        {
+            int[] all = new int[count];
+            all[0] = deepest;
+            for(int i = 0, j = 1; i < count; i++)
+            {
+                if(i != deepest) all[j++] = i;
+            }
+            return all;
+        }
+
+        int furthest = -1;
+        float maxDistance = -1;
+        for(int i = 0; i < count; i++)
+        {
+            float distance = Vector3D.DistanceSquared(points[i], points[deepest]);
+            if(i != deepest && distance > maxDistance)
+            {
+                maxDistance = distance;
+                furthest = i;
+            }
+        }
+
+        Vector3D segment = points[furthest].Subtract(points[deepest]);
+
+        int positive = -1, negative = -1;
+        float maxPositive = 0, maxNegative = 0;
+        for(int i = 0; i < count; i++)
+        {
+            if(i == deepest || i == furthest)
+                continue;
+
+            float area = normal.DotProduct(segment.CrossProduct(points[i].Subtract(points[deepest])));
+            if(area > maxPositive)
+            {
+                maxPositive = area;
+                positive = i;
+            }
+            else if(area < maxNegative)
+            {
+                maxNegative = area;
+                negative = i;
+            }
+        }
+
+        int selectedCount = 2 + (positive >= 0 ? 1 : 0) + (negative >= 0 ? 1 : 0);
+        int[] selected = new int[selectedCount];
+        selected[0] = deepest;
+        selected[1] = furthest;
+        int next = 2;
+        if(positive >= 0) selected[next++] = positive;
+        if(negative >= 0) selected[next] = negative;
+
+        return selected;
     }
 
     /**
@@ -761,7 +995,7 @@ public class CollisionHelper
         Vector3D boxScaledHalfSize = box.GetScaledHalfSize();
         float sphereRadius = sphere.GetScaledRadius();
 
-        Vector3D localSphereCenter = box.transform().WorldToLocalSpace(sphereCenter);
+        Vector3D localSphereCenter = box.WorldToShapeSpace(sphereCenter);
 
         if (Math.abs(localSphereCenter.x) > boxScaledHalfSize.x + sphereRadius ||
                 Math.abs(localSphereCenter.y) > boxScaledHalfSize.y + sphereRadius ||
@@ -775,7 +1009,7 @@ public class CollisionHelper
                 MathUtilities.Clamp(localSphereCenter.y, -boxScaledHalfSize.y, boxScaledHalfSize.y),
                 MathUtilities.Clamp(localSphereCenter.z, -boxScaledHalfSize.z, boxScaledHalfSize.z)
         );
-        closestPoint = box.transform().LocalToWorldSpace(closestPoint);
+        closestPoint = box.ShapeToWorldSpace(closestPoint);
 
         float distanceSquared = Vector3D.DistanceSquared(closestPoint, sphereCenter);
 
@@ -798,7 +1032,7 @@ public class CollisionHelper
      */
     public static Contact GetContact(BoxCollider box, CylinderCollider cylinder)
     {
-        return null;
+        return GJKHelper.GetContact(box, cylinder);
     }
 
     /**
@@ -815,14 +1049,14 @@ public class CollisionHelper
         List<Vector3D> candidateAxes = new ArrayList<>();
 
         Vector3D[] axesBox = {
-                box.transform().Right(),
-                box.transform().Up(),
-                box.transform().Forward()
+                box.GetWorldAxis(0),
+                box.GetWorldAxis(1),
+                box.GetWorldAxis(2)
         };
 
         Vector3D[] axesPlane = {
-                plane.transform().Right(),
-                plane.transform().Forward()
+                plane.GetWorldAxis(0),
+                plane.GetWorldAxis(2)
         };
 
         Collections.addAll(candidateAxes, axesBox);
@@ -868,12 +1102,12 @@ public class CollisionHelper
 
         if(minPenAxisIdx < 3)
         {
-            Vector3D normal = box.transform().GetAxis(minPenAxisIdx);
+            Vector3D normal = box.GetWorldAxis(minPenAxisIdx);
             return PointFaceContact(box, plane, T, normal, minPen);
         }
         else if(minPenAxisIdx < 6)
         {
-            Vector3D normal = plane.transform().GetAxis(minPenAxisIdx - 3);
+            Vector3D normal = plane.GetWorldAxis(minPenAxisIdx - 3);
             return PointFaceContact(plane, box, T.Negate(), normal, minPen);
         }
         else
@@ -882,8 +1116,8 @@ public class CollisionHelper
             int axisIndexBox = minPenAxisIdx / 3;
             int axisIndexPlane = minPenAxisIdx % 3;
 
-            Vector3D axisBox = box.transform().GetAxis(axisIndexBox);
-            Vector3D axisPlane = plane.transform().GetAxis(axisIndexPlane);
+            Vector3D axisBox = box.GetWorldAxis(axisIndexBox);
+            Vector3D axisPlane = plane.GetWorldAxis(axisIndexPlane);
             Vector3D axis = axisBox.CrossProduct(axisPlane).Normalized();
 
             if(axis.DotProduct(T) > 0) axis = axis.Negate();
@@ -897,17 +1131,17 @@ public class CollisionHelper
             for(int i = 0; i < 3; i++)
             {
                 if(axisIndexBox == i) pointEdgeBox[i] = 0;
-                else if(box.transform().GetAxis(i).DotProduct(axis) > 0) pointEdgeBox[i] = -pointEdgeBox[i];
+                else if(box.GetWorldAxis(i).DotProduct(axis) > 0) pointEdgeBox[i] = -pointEdgeBox[i];
 
                 if(axisIndexPlane == i) pointEdgePlane[i] = 0;
-                else if(plane.transform().GetAxis(i).DotProduct(axis) > 0) pointEdgePlane[i] = -pointEdgePlane[i];
+                else if(plane.GetWorldAxis(i).DotProduct(axis) > 0) pointEdgePlane[i] = -pointEdgePlane[i];
             }
 
             Vector3D pointEdgeBoxVector = new Vector3D(pointEdgeBox);
             Vector3D pointEdgePlaneVector = new Vector3D(pointEdgePlane);
 
-            pointEdgeBoxVector = box.transform().LocalToWorldSpace(pointEdgeBoxVector);
-            pointEdgePlaneVector = plane.transform().LocalToWorldSpace(pointEdgePlaneVector);
+            pointEdgeBoxVector = box.ShapeToWorldSpace(pointEdgeBoxVector);
+            pointEdgePlaneVector = plane.ShapeToWorldSpace(pointEdgePlaneVector);
 
             float sizeA = axisIndexBox == 0 ? halfSizeBox.x : (axisIndexBox == 1 ? halfSizeBox.y : halfSizeBox.z);
             float sizeB = axisIndexPlane == 0 ? halfSizePlane.x : (axisIndexPlane == 1 ? 0 : halfSizePlane.y);
@@ -931,7 +1165,7 @@ public class CollisionHelper
      */
     public static Contact GetContact(BoxCollider box, CapsuleCollider capsule)
     {
-        return null;
+        return GJKHelper.GetContact(box, capsule);
     }
 
     /**
@@ -971,7 +1205,7 @@ public class CollisionHelper
      */
     public static Contact GetContact(SphereCollider sphere, CylinderCollider cylinder)
     {
-        return null;
+        return GJKHelper.GetContact(sphere, cylinder);
     }
 
     /**
@@ -985,7 +1219,7 @@ public class CollisionHelper
      */
     public static Contact GetContact(SphereCollider sphere, CapsuleCollider capsule)
     {
-        return null;
+        return GJKHelper.GetContact(sphere, capsule);
     }
 
     /**
@@ -1003,7 +1237,7 @@ public class CollisionHelper
         float sphereRadius = sphere.GetScaledRadius();
 
         Vector2D planeHalfSize = plane.GetScaledHalfSize();
-        Vector3D localSphereCenter = plane.transform().WorldToLocalSpace(sphereCenter);
+        Vector3D localSphereCenter = plane.WorldToShapeSpace(sphereCenter);
 
 
         if (Math.abs(localSphereCenter.x) > planeHalfSize.x + sphereRadius ||
@@ -1018,7 +1252,7 @@ public class CollisionHelper
                 MathUtilities.Clamp(localSphereCenter.z, -planeHalfSize.y, planeHalfSize.y)
         );
 
-        closestPoint = plane.transform().LocalToWorldSpace(closestPoint);
+        closestPoint = plane.ShapeToWorldSpace(closestPoint);
 
         float distance = Vector3D.Distance(sphereCenter, closestPoint);
 
@@ -1040,7 +1274,7 @@ public class CollisionHelper
      */
     public static Contact GetContact(CylinderCollider cylinderA, CylinderCollider cylinderB)
     {
-        return null;
+        return GJKHelper.GetContact(cylinderA, cylinderB);
     }
 
     /**
@@ -1054,7 +1288,7 @@ public class CollisionHelper
      */
     public static Contact GetContact(CylinderCollider cylinder, CapsuleCollider capsule)
     {
-        return null;
+        return GJKHelper.GetContact(cylinder, capsule);
     }
 
     /**
@@ -1068,7 +1302,7 @@ public class CollisionHelper
      */
     public static Contact GetContact(CylinderCollider cylinder, PlaneCollider plane)
     {
-        return null;
+        return GJKHelper.GetContact(cylinder, plane);
     }
 
     /**
@@ -1082,7 +1316,7 @@ public class CollisionHelper
      */
     public static Contact GetContact(CapsuleCollider capsuleA, CapsuleCollider capsuleB)
     {
-        return null;
+        return GJKHelper.GetContact(capsuleA, capsuleB);
     }
 
     /**
@@ -1096,7 +1330,7 @@ public class CollisionHelper
      */
     public static Contact GetContact(CapsuleCollider capsule, PlaneCollider plane)
     {
-        return null;
+        return GJKHelper.GetContact(capsule, plane);
     }
 
     /**
@@ -1113,13 +1347,13 @@ public class CollisionHelper
         List<Vector3D> candidateAxes = new ArrayList<>();
 
         Vector3D[] axesA = {
-                planeA.transform().Right(),
-                planeA.transform().Forward()
+                planeA.GetWorldAxis(0),
+                planeA.GetWorldAxis(2)
         };
 
         Vector3D[] axesB = {
-                planeB.transform().Right(),
-                planeB.transform().Forward()
+                planeB.GetWorldAxis(0),
+                planeB.GetWorldAxis(2)
         };
 
         Collections.addAll(candidateAxes, axesA);
@@ -1165,12 +1399,12 @@ public class CollisionHelper
 
         if(minPenAxisIdx < 3)
         {
-            Vector3D normal = planeA.transform().GetAxis(minPenAxisIdx);
+            Vector3D normal = planeA.GetWorldAxis(minPenAxisIdx);
             return PointFaceContact(planeA, planeB, T, normal, minPen);
         }
         else if(minPenAxisIdx < 6)
         {
-            Vector3D normal = planeB.transform().GetAxis(minPenAxisIdx - 3);
+            Vector3D normal = planeB.GetWorldAxis(minPenAxisIdx - 3);
             return PointFaceContact(planeB, planeA, T.Negate(), normal, minPen);
         }
         else
@@ -1179,8 +1413,8 @@ public class CollisionHelper
             int axisIndexA = minPenAxisIdx / 3;
             int axisIndexB = minPenAxisIdx % 3;
 
-            Vector3D axisA = planeA.transform().GetAxis(axisIndexA);
-            Vector3D axisB = planeB.transform().GetAxis(axisIndexB);
+            Vector3D axisA = planeA.GetWorldAxis(axisIndexA);
+            Vector3D axisB = planeB.GetWorldAxis(axisIndexB);
             Vector3D axis = axisA.CrossProduct(axisB).Normalized();
 
             if(axis.DotProduct(T) > 0) axis = axis.Negate();
@@ -1194,17 +1428,17 @@ public class CollisionHelper
             for(int i = 0; i < 3; i++)
             {
                 if(axisIndexA == i) pointEdgeA[i] = 0;
-                else if(planeA.transform().GetAxis(i).DotProduct(axis) > 0) pointEdgeA[i] = -pointEdgeA[i];
+                else if(planeA.GetWorldAxis(i).DotProduct(axis) > 0) pointEdgeA[i] = -pointEdgeA[i];
 
                 if(axisIndexB == i) pointEdgeB[i] = 0;
-                else if(planeB.transform().GetAxis(i).DotProduct(axis) > 0) pointEdgeB[i] = -pointEdgeB[i];
+                else if(planeB.GetWorldAxis(i).DotProduct(axis) > 0) pointEdgeB[i] = -pointEdgeB[i];
             }
 
             Vector3D pointEdgeAVector = new Vector3D(pointEdgeA);
             Vector3D pointEdgeBVector = new Vector3D(pointEdgeB);
 
-            pointEdgeAVector = planeA.transform().LocalToWorldSpace(pointEdgeAVector);
-            pointEdgeBVector = planeB.transform().LocalToWorldSpace(pointEdgeBVector);
+            pointEdgeAVector = planeA.ShapeToWorldSpace(pointEdgeAVector);
+            pointEdgeBVector = planeB.ShapeToWorldSpace(pointEdgeBVector);
 
             float sizeA = axisIndexA == 0 ? halfSizeA.x : (axisIndexA == 1 ? 0 : halfSizeA.y);
             float sizeB = axisIndexB == 0 ? halfSizeB.x : (axisIndexB == 1 ? 0 : halfSizeB.y);
@@ -0,0 +1,782 @@
+package JGame.Engine.Physics.Collision.Helper;
+
+import JGame.Engine.Physics.Bodies.Rigidbody;
+import JGame.Engine.Physics.Collision.Colliders.Collider;
+import JGame.Engine.Physics.Collision.Contact.Contact;
+import JGame.Engine.Physics.Interfaces.ISupportShape;
+import JGame.Engine.Structures.Vector3D;
+
+/**
+ * Generic convex narrow phase built on the support function of every collider.
+ * GJK is used to find out if two convex colliders intersect, and EPA expands the resulting simplex to find
+ * the penetration normal, depth and contact point.
+ * The simplex and polytope are stored in preallocated primitive arrays and the colliders write their support points into them,
+ * so a query only allocates its resulting contact.
+ */
+public class GJKHelper
+{
+    private static final int GJK_MAX_ITERATIONS = 64;
+    private static final int EPA_MAX_ITERATIONS = 64;
+    private static final float EPA_TOLERANCE = 1e-4f;
+    private static final float EPSILON = 1e-10f;
+
+    private static final int EPA_MAX_VERTICES = 64;
+    private static final int EPA_MAX_FACES = 128;
+    private static final int EPA_MAX_EDGES = 128;
+
+    /**
+     * Solver state, one per thread so queries can run in parallel
+     */
+    private static final ThreadLocal<Solver> solvers = ThreadLocal.withInitial(Solver::new);
+
+    /**
+     * Checks if two convex colliders overlap
+     * @param colliderA
+     * The first collider
+     * @param colliderB
+     * The second collider
+     * @return
+     * True if the colliders overlap
+     */
+    public static boolean Overlaps(Collider colliderA, Collider colliderB)
+    {
+        return solvers.get().Intersect(colliderA, colliderB);
+    }
+
+    /**
+     * Generates a contact between two convex colliders, the normal points from B to A
+     * @param colliderA
+     * The first collider
+     * @param colliderB
+     * The second collider
+     * @return
+     * A contact between the colliders, or null if they don't overlap
+     */
+    public static Contact GetContact(Collider colliderA, Collider colliderB)
+    {
+        return GetContact(colliderA, colliderB, colliderA.GetRigidbody(), colliderB.GetRigidbody());
+    }
+
+    /**
+     * Generates a contact between two convex shapes, the normal points from B to A. Used for the shapes that aren't colliders,
+     * like the triangles of meshes
+     * @param shapeA
+     * The first shape
+     * @param shapeB
+     * The second shape
+     * @param bodyA
+     * The body of the first shape
+     * @param bodyB
+     * The body of the second shape
+     * @return
+     * A contact between the shapes, or null if they don't overlap
+     */
+    public static Contact GetContact(ISupportShape shapeA, ISupportShape shapeB, Rigidbody bodyA, Rigidbody bodyB)
+    {
+        Solver solver = solvers.get();
+
+        if(!solver.Intersect(shapeA, shapeB) || !solver.Expand(shapeA, shapeB))
+            return null;
+
+        //EPA finds the normal of the Minkowski difference A - B, A has to move against it to separate
+        Vector3D normal = new Vector3D(-solver.normalX, -solver.normalY, -solver.normalZ);
+        Vector3D point = new Vector3D(solver.pointX, solver.pointY, solver.pointZ);
+
+        return new Contact(bodyA, bodyB, point, normal, solver.depth);
+    }
+
+    private static class Solver
+    {
+        //------Simplex, stored as xyz triplets, the newest point is always the last one------
+
+        private final float[] simplex = new float[4 * 3];
+        private final float[] simplexA = new float[4 * 3];
+        private final float[] simplexB = new float[4 * 3];
+        private int simplexCount;
+
+        private float directionX, directionY, directionZ;
+
+        //------Polytope------
+
+        private final float[] vertices = new float[EPA_MAX_VERTICES * 3];
+        private final float[] verticesA = new float[EPA_MAX_VERTICES * 3];
+        private final float[] verticesB = new float[EPA_MAX_VERTICES * 3];
+        private int vertexCount;
+
+        /**
+         * Vertex indices of every face, counter-clockwise seen from outside
+         */
+        private final int[] faces = new int[EPA_MAX_FACES * 3];
+        /**
+         * Normal and distance to the origin of every face, stored as [nx, ny, nz, distance]
+         */
+        private final float[] faceNormals = new float[EPA_MAX_FACES * 4];
+        private int faceCount;
+
+        private final int[] edges = new int[EPA_MAX_EDGES * 2];
+        private int edgeCount;
+
+        //------Results------
+
+        private float normalX, normalY, normalZ, depth;
+        private float pointX, pointY, pointZ;
+
+        //------GJK------
+
+        private boolean Intersect(ISupportShape colliderA, ISupportShape colliderB)
+        {
+            Vector3D centerA = colliderA.GetCenterWorld();
+            Vector3D centerB = colliderB.GetCenterWorld();
+            float initialX = centerB.x - centerA.x;
+            float initialY = centerB.y - centerA.y;
+            float initialZ = centerB.z - centerA.z;
+            if(initialX * initialX + initialY * initialY + initialZ * initialZ < EPSILON)
+            {
+                initialX = 1;
+                initialY = 0;
+                initialZ = 0;
+            }
+
+            simplexCount = 0;
+            AddSupport(colliderA, colliderB, initialX, initialY, initialZ, simplex, simplexA, simplexB, 0);
+            simplexCount = 1;
+
+            directionX = -simplex[0];
+            directionY = -simplex[1];
+            directionZ = -simplex[2];
+
+            for(int i = 0; i < GJK_MAX_ITERATIONS; i++)
+            {
+                //The origin lies on the simplex, so it's inside the Minkowski difference, symmetric shapes like stacked cylinders get here often
+                if(directionX * directionX + directionY * directionY + directionZ * directionZ < EPSILON)
+                    return CompleteSimplex(colliderA, colliderB);
+
+                int index = simplexCount * 3;
+                AddSupport(colliderA, colliderB, directionX, directionY, directionZ, simplex, simplexA, simplexB, simplexCount);
+                simplexCount++;
+
+                //The new point didn't pass the origin, so the Minkowski difference can't contain it
+                if(simplex[index] * directionX + simplex[index + 1] * directionY + simplex[index + 2] * directionZ < 0)
+                    return false;
+
+                if(UpdateSimplex())
+                    return true;
+            }
+
+            return false;
+        }
+
+        /**
+         * Reduces the simplex to the feature closest to the origin and updates the search direction
+         * @return
+         * True if the simplex encloses the origin
+         */
+        private boolean UpdateSimplex()
+        {
+            return switch (simplexCount)
+            {
+                case 2 -> UpdateLine();
+                case 3 -> UpdateTriangle();
+                case 4 -> UpdateTetrahedron();
+                default -> false;
+            };
+        }
+
+        private boolean UpdateLine()
+        {
+            //A is the newest point, B the oldest
+            float ax = simplex[3], ay = simplex[4], az = simplex[5];
+            float abx = simplex[0] - ax, aby = simplex[1] - ay, abz = simplex[2] - az;
+            float aox = -ax, aoy = -ay, aoz = -az;
+
+            if(abx * aox + aby * aoy + abz * aoz > 0)
+            {
+                LineDirection(abx, aby, abz, aox, aoy, aoz);
+            }
+            else
+            {
+                KeepPoints(1);
+                directionX = aox;
+                directionY = aoy;
+                directionZ = aoz;
+            }
+
+            return false;
+        }
+
+        /**
+         * Sets the search direction perpendicular to a segment and towards the origin, or to any perpendicular direction if the origin is on the segment
+         */
+        private void LineDirection(float abx, float aby, float abz, float aox, float aoy, float aoz)
+        {
+            TripleCross(abx, aby, abz, aox, aoy, aoz);
+
+            if(directionX * directionX + directionY * directionY + directionZ * directionZ < EPSILON)
+                Perpendicular(abx, aby, abz);
+        }
+
+        private boolean UpdateTriangle()
+        {
+            //A is the newest point, then B, then C
+            float ax = simplex[6], ay = simplex[7], az = simplex[8];
+            float abx = simplex[3] - ax, aby = simplex[4] - ay, abz = simplex[5] - az;
+            float acx = simplex[0] - ax, acy = simplex[1] - ay, acz = simplex[2] - az;
+            float aox = -ax, aoy = -ay, aoz = -az;
+
+            float nx = aby * acz - abz * acy;
+            float ny = abz * acx - abx * acz;
+            float nz = abx * acy - aby * acx;
+
+            //Edge AC region, test with (ABC x AC)
+            float ex = ny * acz - nz * acy;
+            float ey = nz * acx - nx * acz;
+            float ez = nx * acy - ny * acx;
+
+            if(ex * aox + ey * aoy + ez * aoz > 0)
+            {
+                if(acx * aox + acy * aoy + acz * aoz > 0)
+                {
+                    //Keep [C, A]
+                    KeepPoints(0, 2);
+                    LineDirection(acx, acy, acz, aox, aoy, aoz);
+                }
+                else
+                {
+                    //Keep [B, A] and test it as a line
+                    KeepPoints(1, 2);
+                    return UpdateLine();
+                }
+
+                return false;
+            }
+
+            //Edge AB region, test with (AB x ABC)
+            ex = aby * nz - abz * ny;
+            ey = abz * nx - abx * nz;
+            ez = abx * ny - aby * nx;
+
+            if(ex * aox + ey * aoy + ez * aoz > 0)
+            {
+                KeepPoints(1, 2);
+                return UpdateLine();
+            }
+
+            //Inside the triangle, search above or below it
+            if(nx * aox + ny * aoy + nz * aoz > 0)
+            {
+                directionX = nx;
+                directionY = ny;
+                directionZ = nz;
+            }
+            else
+            {
+                //Swap B and C to keep a consistent winding
+                KeepPoints(1, 0, 2);
+                directionX = -nx;
+                directionY = -ny;
+                directionZ = -nz;
+            }
+
+            return false;
+        }
+
+        private boolean UpdateTetrahedron()
+        {
+            //A is the newest point, then B, C and D
+            float ax = simplex[9], ay = simplex[10], az = simplex[11];
+            float abx = simplex[6] - ax, aby = simplex[7] - ay, abz = simplex[8] - az;
+            float acx = simplex[3] - ax, acy = simplex[4] - ay, acz = simplex[5] - az;
+            float adx = simplex[0] - ax, ady = simplex[1] - ay, adz = simplex[2] - az;
+            float aox = -ax, aoy = -ay, aoz = -az;
+
+            //ABC face
+            if(Dot(Cross(abx, aby, abz, acx, acy, acz), aox, aoy, aoz) > 0)
+            {
+                KeepPoints(1, 2, 3);
+                return UpdateTriangle();
+            }
+
+            //ACD face
+            if(Dot(Cross(acx, acy, acz, adx, ady, adz), aox, aoy, aoz) > 0)
+            {
+                KeepPoints(0, 1, 3);
+                return UpdateTriangle();
+            }
+
+            //ADB face
+            if(Dot(Cross(adx, ady, adz, abx, aby, abz), aox, aoy, aoz) > 0)
+            {
+                KeepPoints(2, 0, 3);
+                return UpdateTriangle();
+            }
+
+            return true;
+        }
+
+        /**
+         * Adds support points until the simplex is a tetrahedron, used when the origin lies on a point, segment or triangle of the simplex.
+         * The origin stays on the boundary of the tetrahedron, EPA expands it from there
+         * @return
+         * False if the Minkowski difference is flat, so the colliders only touch
+         */
+        private boolean CompleteSimplex(ISupportShape colliderA, ISupportShape colliderB)
+        {
+            if(simplexCount == 1)
+            {
+                for(int axis = 0; axis < 6 && simplexCount == 1; axis++)
+                {
+                    float sign = axis < 3 ? 1 : -1;
+                    TryAddPoint(colliderA, colliderB, axis % 3 == 0 ? sign : 0, axis % 3 == 1 ? sign : 0, axis % 3 == 2 ? sign : 0);
+                }
+            }
+
+            if(simplexCount == 2)
+            {
+                float abx = simplex[3] - simplex[0], aby = simplex[4] - simplex[1], abz = simplex[5] - simplex[2];
+
+                Perpendicular(abx, aby, abz);
+                float px = directionX, py = directionY, pz = directionZ;
+                float qx = aby * pz - abz * py, qy = abz * px - abx * pz, qz = abx * py - aby * px;
+
+                TryAddPoint(colliderA, colliderB, px, py, pz);
+                if(simplexCount == 2) TryAddPoint(colliderA, colliderB, -px, -py, -pz);
+                if(simplexCount == 2) TryAddPoint(colliderA, colliderB, qx, qy, qz);
+                if(simplexCount == 2) TryAddPoint(colliderA, colliderB, -qx, -qy, -qz);
+            }
+
+            if(simplexCount == 3)
+            {
+                float[] normal = Cross(simplex[3] - simplex[0], simplex[4] - simplex[1], simplex[5] - simplex[2],
+                        simplex[6] - simplex[0], simplex[7] - simplex[1], simplex[8] - simplex[2]);
+                float nx = normal[0], ny = normal[1], nz = normal[2];
+
+                TryAddPoint(colliderA, colliderB, nx, ny, nz);
+                if(simplexCount == 3) TryAddPoint(colliderA, colliderB, -nx, -ny, -nz);
+            }
+
+            return simplexCount == 4;
+        }
+
+        /**
+         * Adds the support point along a direction to the simplex if it isn't on the point, line or plane of the current simplex
+         */
+        private void TryAddPoint(ISupportShape colliderA, ISupportShape colliderB, float x, float y, float z)
+        {
+            int index = simplexCount * 3;
+            AddSupport(colliderA, colliderB, x, y, z, simplex, simplexA, simplexB, simplexCount);
+
+            float apx = simplex[index] - simplex[0], apy = simplex[index + 1] - simplex[1], apz = simplex[index + 2] - simplex[2];
+            float offset;
+
+            switch(simplexCount)
+            {
+                case 1 -> offset = apx * apx + apy * apy + apz * apz;
+                case 2 ->
+                {
+                    float[] c = Cross(simplex[3] - simplex[0], simplex[4] - simplex[1], simplex[5] - simplex[2], apx, apy, apz);
+                    offset = c[0] * c[0] + c[1] * c[1] + c[2] * c[2];
+                }
+                default ->
+                {
+                    float[] n = Cross(simplex[3] - simplex[0], simplex[4] - simplex[1], simplex[5] - simplex[2],
+                            simplex[6] - simplex[0], simplex[7] - simplex[1], simplex[8] - simplex[2]);
+                    float distance = Dot(n, apx, apy, apz);
+                    offset = distance * distance;
+                }
+            }
+
+            if(offset > EPA_TOLERANCE * EPA_TOLERANCE)
+                simplexCount++;
+        }
+
+        /**
+         * Sets the search direction to a direction perpendicular to a vector
+         */
+        private void Perpendicular(float x, float y, float z)
+        {
+            //Cross with the axis least aligned with the vector
+            float absX = Math.abs(x), absY = Math.abs(y), absZ = Math.abs(z);
+
+            if(absX <= absY && absX <= absZ)
+            {
+                directionX = 0;
+                directionY = z;
+                directionZ = -y;
+            }
+            else if(absY <= absZ)
+            {
+                directionX = -z;
+                directionY = 0;
+                directionZ = x;
+            }
+            else
+            {
+                directionX = y;
+                directionY = -x;
+                directionZ = 0;
+            }
+        }
+
+        //------EPA------
+
+        /**
+         * Expands the enclosing simplex left by GJK until the closest face of the Minkowski difference is found
+         * @return
+         * True if a penetration was found
+         */
+        private boolean Expand(ISupportShape colliderA, ISupportShape colliderB)
+        {
+            vertexCount = 4;
+            System.arraycopy(simplex, 0, vertices, 0, 12);
+            System.arraycopy(simplexA, 0, verticesA, 0, 12);
+            System.arraycopy(simplexB, 0, verticesB, 0, 12);
+
+            //The origin can be on the boundary of the tetrahedron, so the faces are wound away from its centroid instead of the origin
+            float cx = (vertices[0] + vertices[3] + vertices[6] + vertices[9]) * 0.25f;
+            float cy = (vertices[1] + vertices[4] + vertices[7] + vertices[10]) * 0.25f;
+            float cz = (vertices[2] + vertices[5] + vertices[8] + vertices[11]) * 0.25f;
+
+            faceCount = 0;
+            AddInitialFace(0, 1, 2, cx, cy, cz);
+            AddInitialFace(0, 3, 1, cx, cy, cz);
+            AddInitialFace(0, 2, 3, cx, cy, cz);
+            AddInitialFace(1, 3, 2, cx, cy, cz);
+
+            int closest;
+
+            for(int iteration = 0; iteration < EPA_MAX_ITERATIONS; iteration++)
+            {
+                closest = FindClosestFace();
+                if(closest < 0)
+                    return false;
+
+                int faceOffset = closest * 4;
+                float nx = faceNormals[faceOffset];
+                float ny = faceNormals[faceOffset + 1];
+                float nz = faceNormals[faceOffset + 2];
+                float distance = faceNormals[faceOffset + 3];
+
+                if(vertexCount >= EPA_MAX_VERTICES)
+                    break;
+
+                int newVertex = vertexCount;
+                AddSupport(colliderA, colliderB, nx, ny, nz, vertices, verticesA, verticesB, newVertex);
+
+                int v = newVertex * 3;
+                float supportDistance = vertices[v] * nx + vertices[v + 1] * ny + vertices[v + 2] * nz;
+
+                //Couldn't expand any further, the closest face is on the boundary
+                if(supportDistance - distance < EPA_TOLERANCE)
+                    break;
+
+                vertexCount++;
+
+                //Remove every face visible from the new vertex and keep the horizon edges
+                edgeCount = 0;
+                for(int f = 0; f < faceCount; f++)
+                {
+                    int fo = f * 4;
+                    int first = faces[f * 3] * 3;
+
+                    float visible = faceNormals[fo] * (vertices[v] - vertices[first])
+                            + faceNormals[fo + 1] * (vertices[v + 1] - vertices[first + 1])
+                            + faceNormals[fo + 2] * (vertices[v + 2] - vertices[first + 2]);
+
+                    if(visible > 0)
+                    {
+                        int f3 = f * 3;
+                        if(!AddEdge(faces[f3], faces[f3 + 1]) || !AddEdge(faces[f3 + 1], faces[f3 + 2]) || !AddEdge(faces[f3 + 2], faces[f3]))
+                            return Finish(closest);
+
+                        RemoveFace(f);
+                        f--;
+                    }
+                }
+
+                if(faceCount + edgeCount > EPA_MAX_FACES)
+                    return Finish(closest);
+
+                for(int e = 0; e < edgeCount; e++)
+                    AddFace(edges[e * 2], edges[e * 2 + 1], newVertex);
+            }
+
+            closest = FindClosestFace();
+            if(closest < 0)
+                return false;
+
+            return Finish(closest);
+        }
+
+        /**
+         * Stores the results for the given face, computing the contact point from the barycentric coordinates of the
+         * origin projected on it
+         */
+        private boolean Finish(int face)
+        {
+            int fo = face * 4;
+            normalX = faceNormals[fo];
+            normalY = faceNormals[fo + 1];
+            normalZ = faceNormals[fo + 2];
+            depth = faceNormals[fo + 3];
+
+            if(depth <= 0)
+                return false;
+
+            int a = faces[face * 3] * 3;
+            int b = faces[face * 3 + 1] * 3;
+            int c = faces[face * 3 + 2] * 3;
+
+            float px = normalX * depth, py = normalY * depth, pz = normalZ * depth;
+
+            float v0x = vertices[b] - vertices[a], v0y = vertices[b + 1] - vertices[a + 1], v0z = vertices[b + 2] - vertices[a + 2];
+            float v1x = vertices[c] - vertices[a], v1y = vertices[c + 1] - vertices[a + 1], v1z = vertices[c + 2] - vertices[a + 2];
+            float v2x = px - vertices[a], v2y = py - vertices[a + 1], v2z = pz - vertices[a + 2];
+
+            float d00 = v0x * v0x + v0y * v0y + v0z * v0z;
+            float d01 = v0x * v1x + v0y * v1y + v0z * v1z;
+            float d11 = v1x * v1x + v1y * v1y + v1z * v1z;
+            float d20 = v2x * v0x + v2y * v0y + v2z * v0z;
+            float d21 = v2x * v1x + v2y * v1y + v2z * v1z;
+
+            float denominator = d00 * d11 - d01 * d01;
+
+            float u, v, w;
+            if(Math.abs(denominator) < EPSILON)
+            {
+                u = 1.0f;
+                v = 0.0f;
+                w = 0.0f;
+            }
+            else
+            {
+                v = (d11 * d20 - d01 * d21) / denominator;
+                w = (d00 * d21 - d01 * d20) / denominator;
+                u = 1.0f - v - w;
+            }
+
+            //The contact point is halfway between the deepest points of each collider
+            pointX = 0.5f * (u * (verticesA[a] + verticesB[a]) + v * (verticesA[b] + verticesB[b]) + w * (verticesA[c] + verticesB[c]));
+            pointY = 0.5f * (u * (verticesA[a + 1] + verticesB[a + 1]) + v * (verticesA[b + 1] + verticesB[b + 1]) + w * (verticesA[c + 1] + verticesB[c + 1]));
+            pointZ = 0.5f * (u * (verticesA[a + 2] + verticesB[a + 2]) + v * (verticesA[b + 2] + verticesB[b + 2]) + w * (verticesA[c + 2] + verticesB[c + 2]));
+
+            return true;
+        }
+
+        private int FindClosestFace()
+        {
+            int closest = -1;
+            float closestDistance = Float.MAX_VALUE;
+
+            for(int f = 0; f < faceCount; f++)
+            {
+                float distance = faceNormals[f * 4 + 3];
+                if(distance < closestDistance)
+                {
+                    closestDistance = distance;
+                    closest = f;
+                }
+            }
+
+            return closest;
+        }
+
+        private void AddInitialFace(int a, int b, int c, float cx, float cy, float cz)
+        {
+            int ia = a * 3, ib = b * 3, ic = c * 3;
+
+            float[] n = Cross(vertices[ib] - vertices[ia], vertices[ib + 1] - vertices[ia + 1], vertices[ib + 2] - vertices[ia + 2],
+                    vertices[ic] - vertices[ia], vertices[ic + 1] - vertices[ia + 1], vertices[ic + 2] - vertices[ia + 2]);
+
+            if(Dot(n, vertices[ia] - cx, vertices[ia + 1] - cy, vertices[ia + 2] - cz) < 0)
+                AddFace(a, c, b);
+            else
+                AddFace(a, b, c);
+        }
+
+        private void AddFace(int a, int b, int c)
+        {
+            int f3 = faceCount * 3;
+            int fo = faceCount * 4;
+
+            int ia = a * 3, ib = b * 3, ic = c * 3;
+
+            float abx = vertices[ib] - vertices[ia], aby = vertices[ib + 1] - vertices[ia + 1], abz = vertices[ib + 2] - vertices[ia + 2];
+            float acx = vertices[ic] - vertices[ia], acy = vertices[ic + 1] - vertices[ia + 1], acz = vertices[ic + 2] - vertices[ia + 2];
+
+            float nx = aby * acz - abz * acy;
+            float ny = abz * acx - abx * acz;
+            float nz = abx * acy - aby * acx;
+
+            float length = (float) Math.sqrt(nx * nx + ny * ny + nz * nz);
+
+            if(length < EPSILON)
+            {
+                //Degenerate face, keep it but never select it as the closest one
+                faces[f3] = a;
+                faces[f3 + 1] = b;
+                faces[f3 + 2] = c;
+                faceNormals[fo] = 0;
+                faceNormals[fo + 1] = 0;
+                faceNormals[fo + 2] = 0;
+                faceNormals[fo + 3] = Float.MAX_VALUE;
+                faceCount++;
+                return;
+            }
+
+            nx /= length;
+            ny /= length;
+            nz /= length;
+
+            float distance = nx * vertices[ia] + ny * vertices[ia + 1] + nz * vertices[ia + 2];
+
+            //The origin is inside the polytope, so every normal must point away from it.
+            //Faces through the origin keep their winding, which already points outwards
+            if(distance < -EPA_TOLERANCE)
+            {
+                int temp = b;
+                b = c;
+                c = temp;
+                nx = -nx;
+                ny = -ny;
+                nz = -nz;
+                distance = -distance;
+            }
+
+            faces[f3] = a;
+            faces[f3 + 1] = b;
+            faces[f3 + 2] = c;
+            faceNormals[fo] = nx;
+            faceNormals[fo + 1] = ny;
+            faceNormals[fo + 2] = nz;
+            faceNormals[fo + 3] = distance;
+            faceCount++;
+        }
+
+        private void RemoveFace(int face)
+        {
+            int last = faceCount - 1;
+
+            System.arraycopy(faces, last * 3, faces, face * 3, 3);
+            System.arraycopy(faceNormals, last * 4, faceNormals, face * 4, 4);
+
+            faceCount--;
+        }
+
+        /**
+         * Adds an edge to the horizon, or removes it if it's shared with another removed face
+         * @return
+         * False if the edge buffer is full
+         */
+        private boolean AddEdge(int a, int b)
+        {
+            for(int e = 0; e < edgeCount; e++)
+            {
+                if(edges[e * 2] == b && edges[e * 2 + 1] == a)
+                {
+                    edgeCount--;
+                    edges[e * 2] = edges[edgeCount * 2];
+                    edges[e * 2 + 1] = edges[edgeCount * 2 + 1];
+                    return true;
+                }
+            }
+
+            if(edgeCount >= EPA_MAX_EDGES)
+                return false;
+
+            edges[edgeCount * 2] = a;
+            edges[edgeCount * 2 + 1] = b;
+            edgeCount++;
+
+            return true;
+        }
+
+        //------Helpers------
+
+        /**
+         * Gets the support point of the Minkowski difference A - B along a direction and stores it at the given index
+         */
+        private static void AddSupport(ISupportShape colliderA, ISupportShape colliderB, float x, float y, float z,
+                                       float[] target, float[] targetA, float[] targetB, int index)
+        {
+            int offset = index * 3;
+            colliderA.Support(x, y, z, targetA, offset);
+            colliderB.Support(-x, -y, -z, targetB, offset);
+
+            target[offset] = targetA[offset] - targetB[offset];
+            target[offset + 1] = targetA[offset + 1] - targetB[offset + 1];
+            target[offset + 2] = targetA[offset + 2] - targetB[offset + 2];
+        }
+
+        private void KeepPoints(int a)
+        {
+            KeepPoints(1, a, 0, 0);
+        }
+
+        private void KeepPoints(int a, int b)
+        {
+            KeepPoints(2, a, b, 0);
+        }
+
+        private void KeepPoints(int a, int b, int c)
+        {
+            KeepPoints(3, a, b, c);
+        }
+
+        /**
+         * Reorders the simplex keeping only the given points, in the given order
+         */
+        private void KeepPoints(int count, int a, int b, int c)
+        {
+            CopyToScratch(0, a);
+            if(count > 1) CopyToScratch(1, b);
+            if(count > 2) CopyToScratch(2, c);
+
+            for(int i = 0; i < count; i++)
+            {
+                System.arraycopy(scratch, i * 9, simplex, i * 3, 3);
+                System.arraycopy(scratch, i * 9 + 3, simplexA, i * 3, 3);
+                System.arraycopy(scratch, i * 9 + 6, simplexB, i * 3, 3);
+            }
+
+            simplexCount = count;
+        }
+
+        private void CopyToScratch(int slot, int index)
+        {
+            System.arraycopy(simplex, index * 3, scratch, slot * 9, 3);
+            System.arraycopy(simplexA, index * 3, scratch, slot * 9 + 3, 3);
+            System.arraycopy(simplexB, index * 3, scratch, slot * 9 + 6, 3);
+        }
+
+        private final float[] scratch = new float[3 * 9];
+        private final float[] cross = new float[3];
+
+        /**
+         * Sets the search direction to (a x b) x a, perpendicular to a and pointing towards b
+         */
+        private void TripleCross(float ax, float ay, float az, float bx, float by, float bz)
+        {
+            float cx = ay * bz - az * by;
+            float cy = az * bx - ax * bz;
+            float cz = ax * by - ay * bx;
+
+            directionX = cy * az - cz * ay;
+            directionY = cz * ax - cx * az;
+            directionZ = cx * ay - cy * ax;
+        }
+
+        private float[] Cross(float ax, float ay, float az, float bx, float by, float bz)
+        {
+            cross[0] = ay * bz - az * by;
+            cross[1] = az * bx - ax * bz;
+            cross[2] = ax * by - ay * bx;
+
+            return cross;
+        }
+
+        private static float Dot(float[] a, float x, float y, float z)
+        {
+            return a[0] * x + a[1] * y + a[2] * z;
+        }
+    }
+}
@@ -0,0 +1,1164 @@
+package JGame.Engine.Physics.Collision.Helper;
+
+import JGame.Engine.Physics.Collision.BoundingVolumeHierarchy.BoundsUtilities;
+import JGame.Engine.Physics.Collision.BoundingVolumeHierarchy.TriangleBVH;
+import JGame.Engine.Physics.Collision.Colliders.BoxCollider;
+import JGame.Engine.Physics.Collision.Colliders.CapsuleCollider;
+import JGame.Engine.Physics.Collision.Colliders.Collider;
+import JGame.Engine.Physics.Collision.Colliders.CylinderCollider;
+import JGame.Engine.Physics.Collision.Colliders.HeightfieldCollider;
+import JGame.Engine.Physics.Collision.Colliders.MeshCollider;
+import JGame.Engine.Physics.Collision.Colliders.PlaneCollider;
+import JGame.Engine.Physics.Collision.Colliders.SphereCollider;
+import JGame.Engine.Physics.Collision.Contact.Contact;
+import JGame.Engine.Physics.Interfaces.ISupportShape;
+import JGame.Engine.Physics.Interfaces.ITriangleShape;
+import JGame.Engine.Structures.Vector3D;
+import JGame.Engine.Utilities.MathUtilities;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Narrow phase between triangle colliders (meshes and heightfields) and spheres, boxes and capsules, other convex colliders like cylinders and planes
+ * are tested against every triangle through GJK/EPA. Only the triangles whose bounds overlap the other collider
+ * are tested, every touching triangle adds its contacts and the result is merged and reduced into a single manifold
+ */
+public class MeshCollisionHelper
+{
+    /**
+     * Contacts closer than this to a deeper contact are dropped, neighbouring triangles report the same point on shared edges
+     */
+    private static final float MERGE_DISTANCE = 0.01f;
+    private static final float EPSILON = 1e-6f;
+    /**
+     * Contacts whose normal is this close to the face normal are never treated as coming from an edge
+     */
+    private static final float FACE_NORMAL_COSINE = 0.999f;
+
+    private static final int TRIANGLE_FACE = 0, BOX_FACE = 1, EDGE = 2;
+
+    //------Sphere------
+
+    /**
+     * Checks if a sphere overlaps a mesh
+     * @param sphere
+     * The sphere collider
+     * @param mesh
+     * The mesh collider
+     * @return
+     * True if the sphere touches any triangle of the mesh
+     */
+    public static boolean Overlaps(SphereCollider sphere, MeshCollider mesh)
+    {
+        List<Contact> contacts = new ArrayList<>();
+        CollectSphereContacts(sphere, mesh, mesh.GetTriangleBVH(), contacts, true);
+
+        return !contacts.isEmpty();
+    }
+
+    /**
+     * Generates the deepest contact between a sphere and a mesh
+     * @param sphere
+     * The sphere collider
+     * @param mesh
+     * The mesh collider
+     * @return
+     * The deepest contact, null if they don't overlap
+     */
+    public static Contact GetContact(SphereCollider sphere, MeshCollider mesh)
+    {
+        return First(GetContacts(sphere, mesh));
+    }
+
+    /**
+     * Generates the contacts between a sphere and a mesh, one for every group of touching triangles
+     * @param sphere
+     * The sphere collider
+     * @param mesh
+     * The mesh collider
+     * @return
+     * The contacts, the deepest first
+     */
+    public static List<Contact> GetContacts(SphereCollider sphere, MeshCollider mesh)
+    {
+        List<Contact> contacts = new ArrayList<>();
+        CollectSphereContacts(sphere, mesh, mesh.GetTriangleBVH(), contacts, false);
+
+        return ReduceContacts(contacts);
+    }
+
+    private static void CollectSphereContacts(SphereCollider sphere, Collider shapeCollider, ITriangleShape shape, List<Contact> contacts, boolean stopAtFirst)
+    {
+        if(shape == null)
+            return;
+
+        //Everything is tested in the space of the triangle shape
+        Vector3D scale = shapeCollider.GetWorldScale();
+        Vector3D center = shapeCollider.WorldToShapeSpace(sphere.GetCenterWorld());
+        float radius = sphere.GetScaledRadius();
+        Vector3D extent = new Vector3D(radius, radius, radius);
+
+        shape.Query(center.Subtract(extent), center.Add(extent), scale, triangle ->
+        {
+            Vector3D a = shape.GetVertex(triangle, 0, scale);
+            Vector3D b = shape.GetVertex(triangle, 1, scale);
+            Vector3D c = shape.GetVertex(triangle, 2, scale);
+
+            Vector3D closest = TriangleBVH.ClosestPointOnTriangle(center, a, b, c);
+            Vector3D offset = center.Subtract(closest);
+            float distanceSquared = offset.SquaredMagnitude();
+
+            if(distanceSquared > radius * radius)
+                return true;
+
+            float distance = (float) Math.sqrt(distanceSquared);
+            Vector3D faceNormal = FaceNormal(a, b, c);
+            if(faceNormal == null)
+                return true;
+
+            Vector3D normal = distance > EPSILON ? offset.Scale(1.0f / distance) : faceNormal;
+            if(IsInactiveFeature(shape, triangle, closest, a, b, c, normal, faceNormal))
+                return true;
+
+            contacts.add(new Contact(sphere.GetRigidbody(), shapeCollider.GetRigidbody(), shapeCollider.ShapeToWorldSpace(closest), shapeCollider.ShapeToWorldDirection(normal), radius - distance));
+
+            return !stopAtFirst;
+        });
+    }
+
+    //------Capsule------
+
+    /**
+     * Checks if a capsule overlaps a mesh
+     * @param capsule
+     * The capsule collider
+     * @param mesh
+     * The mesh collider
+     * @return
+     * True if the capsule touches any triangle of the mesh
+     */
+    public static boolean Overlaps(CapsuleCollider capsule, MeshCollider mesh)
+    {
+        List<Contact> contacts = new ArrayList<>();
+        CollectCapsuleContacts(capsule, mesh, mesh.GetTriangleBVH(), contacts, true);
+
+        return !contacts.isEmpty();
+    }
+
+    /**
+     * Generates the deepest contact between a capsule and a mesh
+     * @param capsule
+     * The capsule collider
+     * @param mesh
+     * The mesh collider
+     * @return
+     * The deepest contact, null if they don't overlap
+     */
+    public static Contact GetContact(CapsuleCollider capsule, MeshCollider mesh)
+    {
+        return First(GetContacts(capsule, mesh));
+    }
+
+    /**
+     * Generates the contacts between a capsule and a mesh, a capsule lying on a triangle touches it at both ends
+     * @param capsule
+     * The capsule collider
+     * @param mesh
+     * The mesh collider
+     * @return
+     * The contacts, the deepest first
+     */
+    public static List<Contact> GetContacts(CapsuleCollider capsule, MeshCollider mesh)
+    {
+        List<Contact> contacts = new ArrayList<>();
+        CollectCapsuleContacts(capsule, mesh, mesh.GetTriangleBVH(), contacts, false);
+
+        return ReduceContacts(contacts);
+    }
+
+    private static void CollectCapsuleContacts(CapsuleCollider capsule, Collider shapeCollider, ITriangleShape shape, List<Contact> contacts, boolean stopAtFirst)
+    {
+        if(shape == null)
+            return;
+
+        Vector3D scale = shapeCollider.GetWorldScale();
+        Vector3D segment = capsule.GetWorldAxis(1).Scale(capsule.GetScaledSegmentHalfLength());
+        Vector3D start = shapeCollider.WorldToShapeSpace(capsule.GetCenterWorld().Subtract(segment));
+        Vector3D end = shapeCollider.WorldToShapeSpace(capsule.GetCenterWorld().Add(segment));
+        Vector3D center = start.Add(end).Scale(0.5f);
+        float radius = capsule.GetScaledRadius();
+
+        Vector3D min = new Vector3D(Math.min(start.x, end.x) - radius, Math.min(start.y, end.y) - radius, Math.min(start.z, end.z) - radius);
+        Vector3D max = new Vector3D(Math.max(start.x, end.x) + radius, Math.max(start.y, end.y) + radius, Math.max(start.z, end.z) + radius);
+
+        float[] parameters = new float[2];
+
+        shape.Query(min, max, scale, triangle ->
+        {
+            Vector3D a = shape.GetVertex(triangle, 0, scale);
+            Vector3D b = shape.GetVertex(triangle, 1, scale);
+            Vector3D c = shape.GetVertex(triangle, 2, scale);
+
+            Vector3D faceNormal = FaceNormal(a, b, c);
+            if(faceNormal == null)
+                return true;
+
+            int before = contacts.size();
+
+            //The segment crosses the triangle, push it out towards the side holding most of it
+            float startDistance = faceNormal.DotProduct(start.Subtract(a));
+            float endDistance = faceNormal.DotProduct(end.Subtract(a));
+            if(startDistance * endDistance < 0)
+            {
+                Vector3D crossing = MathUtilities.Lerp(start, end, startDistance / (startDistance - endDistance));
+
+                if(PointInTriangle(crossing, a, b, c, faceNormal))
+                {
+                    boolean startDeeper = Math.abs(startDistance) < Math.abs(endDistance);
+                    float side = Math.signum(startDeeper ? endDistance : startDistance);
+                    float depth = radius + Math.min(Math.abs(startDistance), Math.abs(endDistance));
+
+                    contacts.add(CreateContact(capsule, shapeCollider, crossing, faceNormal.Scale(side), depth));
+                    return !stopAtFirst;
+                }
+            }
+
+            //Both ends of the segment against the triangle
+            for(Vector3D point : new Vector3D[] { start, end })
+            {
+                Vector3D closest = TriangleBVH.ClosestPointOnTriangle(point, a, b, c);
+                AddCapsuleContact(capsule, shapeCollider, shape, triangle, point, closest, center, radius, contacts);
+            }
+
+            //The inside of the segment against the edges of the triangle, the ends are already covered
+            Vector3D[] vertices = { a, b, c };
+            for(int edge = 0; edge < 3; edge++)
+            {
+                Vector3D edgeStart = vertices[edge];
+                Vector3D edgeEnd = vertices[(edge + 1) % 3];
+
+                ClosestSegmentParameters(start, end, edgeStart, edgeEnd, parameters);
+                if(parameters[0] <= EPSILON || parameters[0] >= 1 - EPSILON)
+                    continue;
+
+                Vector3D point = MathUtilities.Lerp(start, end, parameters[0]);
+                Vector3D closest = MathUtilities.Lerp(edgeStart, edgeEnd, parameters[1]);
+                AddCapsuleContact(capsule, shapeCollider, shape, triangle, point, closest, center, radius, contacts);
+            }
+
+            return !stopAtFirst || contacts.size() == before;
+        });
+    }
+
+    private static void AddCapsuleContact(CapsuleCollider capsule, Collider shapeCollider, ITriangleShape shape, int triangle, Vector3D segmentPoint,
+                                          Vector3D trianglePoint, Vector3D center, float radius, List<Contact> contacts)
+    {
+        Vector3D scale = shapeCollider.GetWorldScale();
+        Vector3D a = shape.GetVertex(triangle, 0, scale);
+        Vector3D b = shape.GetVertex(triangle, 1, scale);
+        Vector3D c = shape.GetVertex(triangle, 2, scale);
+        Vector3D faceNormal = FaceNormal(a, b, c);
+
+        Vector3D offset = segmentPoint.Subtract(trianglePoint);
+        float distanceSquared = offset.SquaredMagnitude();
+
+        if(distanceSquared > radius * radius)
+            return;
+
+        float distance = (float) Math.sqrt(distanceSquared);
+        Vector3D normal;
+        if(distance > EPSILON)
+            normal = offset.Scale(1.0f / distance);
+        else
+            normal = faceNormal.DotProduct(center.Subtract(trianglePoint)) < 0 ? faceNormal.Negate() : faceNormal;
+
+        if(IsInactiveFeature(shape, triangle, trianglePoint, a, b, c, normal, faceNormal))
+            return;
+
+        contacts.add(CreateContact(capsule, shapeCollider, trianglePoint, normal, radius - distance));
+    }
+
+    private static Contact CreateContact(CapsuleCollider capsule, Collider shapeCollider, Vector3D point, Vector3D normal, float depth)
+    {
+        return new Contact(capsule.GetRigidbody(), shapeCollider.GetRigidbody(), shapeCollider.ShapeToWorldSpace(point), shapeCollider.ShapeToWorldDirection(normal), depth);
+    }
+
+    //------Box------
+
+    /**
+     * Checks if a box overlaps a mesh
+     * @param box
+     * The box collider
+     * @param mesh
+     * The mesh collider
+     * @return
+     * True if the box touches any triangle of the mesh
+     */
+    public static boolean Overlaps(BoxCollider box, MeshCollider mesh)
+    {
+        List<Contact> contacts = new ArrayList<>();
+        CollectBoxContacts(box, mesh, mesh.GetTriangleBVH(), contacts, true);
+
+        return !contacts.isEmpty();
+    }
+
+    /**
+     * Generates the deepest contact between a box and a mesh
+     * @param box
+     * The box collider
+     * @param mesh
+     * The mesh collider
+     * @return
+     * The deepest contact, null if they don't overlap
+     */
+    public static Contact GetContact(BoxCollider box, MeshCollider mesh)
+    {
+        return First(GetContacts(box, mesh));
+    }
+
+    /**
+     * Generates the contacts between a box and a mesh. Every touching triangle is tested with the separating axis test
+     * and face contacts are clipped like box-box manifolds
+     * @param box
+     * The box collider
+     * @param mesh
+     * The mesh collider
+     * @return
+     * The contacts, the deepest first
+     */
+    public static List<Contact> GetContacts(BoxCollider box, MeshCollider mesh)
+    {
+        List<Contact> contacts = new ArrayList<>();
+        CollectBoxContacts(box, mesh, mesh.GetTriangleBVH(), contacts, false);
+
+        return ReduceContacts(contacts);
+    }
+
+    private static void CollectBoxContacts(BoxCollider box, Collider shapeCollider, ITriangleShape shape, List<Contact> contacts, boolean stopAtFirst)
+    {
+        if(shape == null)
+            return;
+
+        Vector3D scale = shapeCollider.GetWorldScale();
+        float[] halfSize = box.GetScaledHalfSize().ToArray();
+
+        //Bounds of the box in the space of the triangle shape
+        Vector3D center = shapeCollider.WorldToShapeSpace(box.GetCenterWorld());
+        Vector3D extent = Vector3D.Zero;
+        for(int i = 0; i < 3; i++)
+            extent = extent.Add(MathUtilities.Abs(shapeCollider.WorldToShapeDirection(box.GetWorldAxis(i))).Scale(halfSize[i]));
+
+        //The triangles are moved into the space of the box, where it's an axis aligned box centered at the origin
+        Vector3D origin = box.WorldToShapeSpace(shapeCollider.GetCenterWorld());
+        Vector3D[] meshAxes = new Vector3D[3];
+        for(int i = 0; i < 3; i++)
+            meshAxes[i] = box.WorldToShapeDirection(shapeCollider.GetWorldAxis(i));
+
+        shape.Query(center.Subtract(extent), center.Add(extent), scale, triangle ->
+        {
+            Vector3D[] vertices = new Vector3D[3];
+            for(int corner = 0; corner < 3; corner++)
+            {
+                Vector3D vertex = shape.GetVertex(triangle, corner, scale);
+                vertices[corner] = origin.Add(meshAxes[0].Scale(vertex.x)).Add(meshAxes[1].Scale(vertex.y)).Add(meshAxes[2].Scale(vertex.z));
+            }
+
+            int before = contacts.size();
+            AddBoxTriangleContacts(box, shapeCollider, halfSize, vertices, shape, triangle, contacts);
+
+            return !stopAtFirst || contacts.size() == before;
+        });
+    }
+
+    /**
+     * Separating axis test between a box and a triangle in the space of the box, adding the contacts along the axis of minimum penetration
+     */
+    private static void AddBoxTriangleContacts(BoxCollider box, Collider shapeCollider, float[] halfSize, Vector3D[] vertices,
+                                               ITriangleShape shape, int triangle, List<Contact> contacts)
+    {
+        Vector3D faceNormal = FaceNormal(vertices[0], vertices[1], vertices[2]);
+        if(faceNormal == null)
+            return;
+
+        Vector3D[] boxAxes = { Vector3D.Right, Vector3D.Up, Vector3D.Forward };
+        float[] direction = new float[1];
+
+        float faceDepth = AxisPenetration(faceNormal, halfSize, vertices, direction);
+        if(faceDepth < 0) return;
+
+        Vector3D faceAxisNormal = faceNormal.Scale(direction[0]);
+        float bestDepth = faceDepth;
+        Vector3D bestNormal = faceAxisNormal;
+        int bestType = TRIANGLE_FACE;
+        int bestBoxAxis = 0, bestEdge = 0;
+
+        for(int i = 0; i < 3; i++)
+        {
+            float depth = AxisPenetration(boxAxes[i], halfSize, vertices, direction);
+            if(depth < 0) return;
+
+            //The face of the triangle wins ties, so flat ground made of triangles behaves like a single face
+            if(depth < bestDepth)
+            {
+                bestDepth = depth;
+                bestNormal = boxAxes[i].Scale(direction[0]);
+                bestType = BOX_FACE;
+                bestBoxAxis = i;
+            }
+        }
+
+        for(int i = 0; i < 3; i++)
+        {
+            for(int edge = 0; edge < 3; edge++)
+            {
+                Vector3D axis = boxAxes[i].CrossProduct(vertices[(edge + 1) % 3].Subtract(vertices[edge]));
+                float length = axis.Magnitude();
+
+                //Parallel edges don't define an axis
+                if(length < EPSILON)
+                    continue;
+
+                axis = axis.Scale(1.0f / length);
+
+                float depth = AxisPenetration(axis, halfSize, vertices, direction);
+                if(depth < 0) return;
+
+                if(depth < bestDepth * CollisionHelper.EDGE_AXIS_TOLERANCE)
+                {
+                    bestDepth = depth;
+                    bestNormal = axis.Scale(direction[0]);
+                    bestType = EDGE;
+                    bestBoxAxis = i;
+                    bestEdge = edge;
+                }
+            }
+        }
+
+        //Inactive edges can separate the box from the triangle but never give the contact normal
+        if(bestType != TRIANGLE_FACE && !IsSupportingFeatureActive(shape, triangle, vertices, bestNormal))
+        {
+            bestDepth = faceDepth;
+            bestNormal = faceAxisNormal;
+            bestType = TRIANGLE_FACE;
+        }
+
+        Vector3D[] polygon = new Vector3D[8];
+        Vector3D[] clipped = new Vector3D[8];
+        float[] depths = new float[8];
+        int count = 0;
+
+        if(bestType == TRIANGLE_FACE)
+        {
+            //Clip the face of the box most anti-parallel to the normal against the sides of the triangle
+            float[] normal = bestNormal.ToArray();
+            int axis = 0;
+            for(int i = 1; i < 3; i++)
+            {
+                if(Math.abs(normal[i]) > Math.abs(normal[axis]))
+                    axis = i;
+            }
+
+            float sign = normal[axis] > 0 ? -1 : 1;
+            Vector3D faceCenter = boxAxes[axis].Scale(sign * halfSize[axis]);
+            Vector3D sideU = boxAxes[(axis + 1) % 3].Scale(halfSize[(axis + 1) % 3]);
+            Vector3D sideV = boxAxes[(axis + 2) % 3].Scale(halfSize[(axis + 2) % 3]);
+
+            polygon[0] = faceCenter.Add(sideU).Add(sideV);
+            polygon[1] = faceCenter.Subtract(sideU).Add(sideV);
+            polygon[2] = faceCenter.Subtract(sideU).Subtract(sideV);
+            polygon[3] = faceCenter.Add(sideU).Subtract(sideV);
+            count = 4;
+
+            for(int edge = 0; edge < 3 && count > 0; edge++)
+            {
+                Vector3D edgeStart = vertices[edge];
+                Vector3D sideNormal = vertices[(edge + 1) % 3].Subtract(edgeStart).CrossProduct(faceNormal);
+                if(sideNormal.DotProduct(vertices[(edge + 2) % 3].Subtract(edgeStart)) > 0)
+                    sideNormal = sideNormal.Negate();
+
+                count = CollisionHelper.ClipPolygon(polygon, count, sideNormal, sideNormal.DotProduct(edgeStart), clipped);
+                Vector3D[] temp = polygon; polygon = clipped; clipped = temp;
+            }
+
+            //Keep the points of the box behind the triangle
+            float plane = bestNormal.DotProduct(vertices[0]);
+            count = KeepPenetrating(polygon, depths, count, bestNormal, plane);
+        }
+        else if(bestType == BOX_FACE)
+        {
+            //Clip the triangle against the sides of the face of the box facing it
+            polygon[0] = vertices[0];
+            polygon[1] = vertices[1];
+            polygon[2] = vertices[2];
+            count = 3;
+
+            for(int side = 1; side <= 2 && count > 0; side++)
+            {
+                int sideIndex = (bestBoxAxis + side) % 3;
+
+                count = CollisionHelper.ClipPolygon(polygon, count, boxAxes[sideIndex], halfSize[sideIndex], clipped);
+                Vector3D[] temp = polygon; polygon = clipped; clipped = temp;
+
+                count = CollisionHelper.ClipPolygon(polygon, count, boxAxes[sideIndex].Negate(), halfSize[sideIndex], clipped);
+                temp = polygon; polygon = clipped; clipped = temp;
+            }
+
+            //Keep the points of the triangle inside the box, behind the face pointing against the normal
+            count = KeepPenetrating(polygon, depths, count, bestNormal.Negate(), halfSize[bestBoxAxis]);
+        }
+
+        if(count == 0)
+        {
+            //Edge contacts, or clipping found nothing: use the closest points of the box edge and the triangle edge
+            Vector3D point = bestType == EDGE ? EdgeContactPoint(halfSize, bestBoxAxis, vertices, bestEdge, bestNormal) : DeepestBoxCorner(halfSize, bestNormal);
+
+            polygon[0] = point;
+            depths[0] = bestDepth;
+            count = 1;
+        }
+
+        int[] selected = count > CollisionHelper.MAX_MANIFOLD_POINTS ? CollisionHelper.ReduceManifold(polygon, depths, count, bestNormal) : null;
+        int selectedCount = selected == null ? count : selected.length;
+
+        Vector3D worldNormal = box.ShapeToWorldDirection(bestNormal);
+        for(int i = 0; i < selectedCount; i++)
+        {
+            int index = selected == null ? i : selected[i];
+            contacts.add(new Contact(box.GetRigidbody(), shapeCollider.GetRigidbody(), box.ShapeToWorldSpace(polygon[index]), worldNormal, depths[index]));
+        }
+    }
+
+    /**
+     * Gets the penetration between the box and the triangle along an axis
+     * @param direction
+     * Receives 1 if the box must be pushed along the axis to separate them, -1 if it must be pushed against it
+     * @return
+     * The penetration along the axis, negative if the axis separates them
+     */
+    private static float AxisPenetration(Vector3D axis, float[] halfSize, Vector3D[] vertices, float[] direction)
+    {
+        float radius = halfSize[0] * Math.abs(axis.x) + halfSize[1] * Math.abs(axis.y) + halfSize[2] * Math.abs(axis.z);
+
+        float a = axis.DotProduct(vertices[0]), b = axis.DotProduct(vertices[1]), c = axis.DotProduct(vertices[2]);
+        float min = Math.min(a, Math.min(b, c));
+        float max = Math.max(a, Math.max(b, c));
+
+        float pushNegative = radius - min;
+        float pushPositive = max + radius;
+
+        if(pushNegative < pushPositive)
+        {
+            direction[0] = -1;
+            return pushNegative;
+        }
+
+        direction[0] = 1;
+        return pushPositive;
+    }
+
+    /**
+     * Keeps the points below a plane, storing how deep they are
+     * @return
+     * The number of points kept
+     */
+    private static int KeepPenetrating(Vector3D[] points, float[] depths, int count, Vector3D normal, float plane)
+    {
+        int kept = 0;
+        for(int i = 0; i < count; i++)
+        {
+            float depth = plane - normal.DotProduct(points[i]);
+            if(depth >= 0)
+            {
+                points[kept] = points[i];
+                depths[kept] = depth;
+                kept++;
+            }
+        }
+
+        return kept;
+    }
+
+    private static Vector3D DeepestBoxCorner(float[] halfSize, Vector3D normal)
+    {
+        return new Vector3D(
+                normal.x > 0 ? -halfSize[0] : halfSize[0],
+                normal.y > 0 ? -halfSize[1] : halfSize[1],
+                normal.z > 0 ? -halfSize[2] : halfSize[2]);
+    }
+
+    private static Vector3D EdgeContactPoint(float[] halfSize, int boxAxis, Vector3D[] vertices, int edge, Vector3D normal)
+    {
+        //The edge of the box furthest against the normal
+        float[] corner = DeepestBoxCorner(halfSize, normal).ToArray();
+        corner[boxAxis] = -halfSize[boxAxis];
+        Vector3D boxEdgeStart = new Vector3D(corner);
+        corner[boxAxis] = halfSize[boxAxis];
+        Vector3D boxEdgeEnd = new Vector3D(corner);
+
+        Vector3D triangleEdgeStart = vertices[edge];
+        Vector3D triangleEdgeEnd = vertices[(edge + 1) % 3];
+
+        float[] parameters = new float[2];
+        ClosestSegmentParameters(boxEdgeStart, boxEdgeEnd, triangleEdgeStart, triangleEdgeEnd, parameters);
+
+        Vector3D onBox = MathUtilities.Lerp(boxEdgeStart, boxEdgeEnd, parameters[0]);
+        Vector3D onTriangle = MathUtilities.Lerp(triangleEdgeStart, triangleEdgeEnd, parameters[1]);
+
+        return onBox.Add(onTriangle).Scale(0.5f);
+    }
+
+    //------Convex------
+
+    /**
+     * Checks if a cylinder overlaps a mesh
+     * @param cylinder
+     * The cylinder collider
+     * @param mesh
+     * The mesh collider
+     * @return
+     * True if the cylinder touches any triangle of the mesh
+     */
+    public static boolean Overlaps(CylinderCollider cylinder, MeshCollider mesh)
+    {
+        List<Contact> contacts = new ArrayList<>();
+        CollectConvexContacts(cylinder, mesh, mesh.GetTriangleBVH(), contacts, true);
+
+        return !contacts.isEmpty();
+    }
+
+    public static Contact GetContact(CylinderCollider cylinder, MeshCollider mesh)
+    {
+        return First(GetContacts(cylinder, mesh));
+    }
+
+    /**
+     * Generates the contacts between a cylinder and a mesh, every touching triangle is tested with GJK/EPA
+     * @param cylinder
+     * The cylinder collider
+     * @param mesh
+     * The mesh collider
+     * @return
+     * The contacts, the deepest first
+     */
+    public static List<Contact> GetContacts(CylinderCollider cylinder, MeshCollider mesh)
+    {
+        List<Contact> contacts = new ArrayList<>();
+        CollectConvexContacts(cylinder, mesh, mesh.GetTriangleBVH(), contacts, false);
+
+        return ReduceContacts(contacts);
+    }
+
+    /**
+     * Checks if a plane overlaps a mesh
+     * @param plane
+     * The plane collider
+     * @param mesh
+     * The mesh collider
+     * @return
+     * True if the plane touches any triangle of the mesh
+     */
+    public static boolean Overlaps(PlaneCollider plane, MeshCollider mesh)
+    {
+        List<Contact> contacts = new ArrayList<>();
+        CollectConvexContacts(plane, mesh, mesh.GetTriangleBVH(), contacts, true);
+
+        return !contacts.isEmpty();
+    }
+
+    public static Contact GetContact(PlaneCollider plane, MeshCollider mesh)
+    {
+        return First(GetContacts(plane, mesh));
+    }
+
+    /**
+     * Generates the contacts between a plane and a mesh, every touching triangle is tested with GJK/EPA.
+     * A plane lying flat on the triangles only touches them, so it gets no contacts
+     * @param plane
+     * The plane collider
+     * @param mesh
+     * The mesh collider
+     * @return
+     * The contacts, the deepest first
+     */
+    public static List<Contact> GetContacts(PlaneCollider plane, MeshCollider mesh)
+    {
+        List<Contact> contacts = new ArrayList<>();
+        CollectConvexContacts(plane, mesh, mesh.GetTriangleBVH(), contacts, false);
+
+        return ReduceContacts(contacts);
+    }
+
+    private static void CollectConvexContacts(Collider convex, Collider shapeCollider, ITriangleShape shape, List<Contact> contacts, boolean stopAtFirst)
+    {
+        if(shape == null)
+            return;
+
+        Vector3D scale = shapeCollider.GetWorldScale();
+
+        //Bounds of the collider in the space of the triangle shape
+        float[] bounds = new float[6];
+        BoundsUtilities.Write(convex.GetBoundingVolume(), bounds, 0);
+
+        Vector3D center = shapeCollider.WorldToShapeSpace(new Vector3D(BoundsUtilities.Centroid(bounds, 0, 0), BoundsUtilities.Centroid(bounds, 0, 1), BoundsUtilities.Centroid(bounds, 0, 2)));
+        Vector3D[] worldAxes = { Vector3D.Right, Vector3D.Up, Vector3D.Forward };
+        Vector3D extent = Vector3D.Zero;
+        for(int i = 0; i < 3; i++)
+            extent = extent.Add(MathUtilities.Abs(shapeCollider.WorldToShapeDirection(worldAxes[i])).Scale((bounds[3 + i] - bounds[i]) * 0.5f));
+
+        TriangleSupport triangleSupport = new TriangleSupport();
+
+        shape.Query(center.Subtract(extent), center.Add(extent), scale, triangle ->
+        {
+            Vector3D[] vertices = new Vector3D[3];
+            for(int corner = 0; corner < 3; corner++)
+                vertices[corner] = shape.GetVertex(triangle, corner, scale);
+
+            Vector3D faceNormal = FaceNormal(vertices[0], vertices[1], vertices[2]);
+            if(faceNormal == null)
+                return true;
+
+            triangleSupport.Set(shapeCollider.ShapeToWorldSpace(vertices[0]), shapeCollider.ShapeToWorldSpace(vertices[1]), shapeCollider.ShapeToWorldSpace(vertices[2]));
+
+            Contact contact = GJKHelper.GetContact(convex, triangleSupport, convex.GetRigidbody(), shapeCollider.GetRigidbody());
+            if(contact == null)
+                return true;
+
+            //Inactive edges can separate the collider from the triangle but never give the contact normal, the face is used instead
+            Vector3D normal = shapeCollider.WorldToShapeDirection(contact.contactNormal);
+            if(Math.abs(normal.DotProduct(faceNormal)) <= FACE_NORMAL_COSINE && !IsSupportingFeatureActive(shape, triangle, vertices, normal))
+            {
+                contact = CreateFaceContact(convex, shapeCollider, vertices[0], faceNormal);
+                if(contact == null)
+                    return true;
+            }
+
+            contacts.add(contact);
+
+            return !stopAtFirst;
+        });
+    }
+
+    /**
+     * Creates the contact between a convex collider and the face of a triangle, at the deepest point of the collider behind the face
+     * @param vertex
+     * A vertex of the triangle, in the space of the triangle shape
+     * @param faceNormal
+     * The normal of the triangle, in the space of the triangle shape
+     * @return
+     * The contact, null if the collider doesn't reach the face
+     */
+    private static Contact CreateFaceContact(Collider convex, Collider shapeCollider, Vector3D vertex, Vector3D faceNormal)
+    {
+        Vector3D worldVertex = shapeCollider.ShapeToWorldSpace(vertex);
+        Vector3D normal = shapeCollider.ShapeToWorldDirection(faceNormal);
+
+        if(normal.DotProduct(convex.GetCenterWorld().Subtract(worldVertex)) < 0)
+            normal = normal.Negate();
+
+        Vector3D deepest = convex.Support(normal.Negate());
+        float depth = normal.DotProduct(worldVertex.Subtract(deepest));
+
+        if(depth < 0)
+            return null;
+
+        return new Contact(convex.GetRigidbody(), shapeCollider.GetRigidbody(), deepest, normal, depth);
+    }
+
+    //------Heightfield------
+
+    /**
+     * Checks if a sphere overlaps a heightfield
+     * @param sphere
+     * The sphere collider
+     * @param heightfield
+     * The heightfield collider
+     * @return
+     * True if the sphere touches any loaded triangle of the heightfield
+     */
+    public static boolean Overlaps(SphereCollider sphere, HeightfieldCollider heightfield)
+    {
+        List<Contact> contacts = new ArrayList<>();
+        CollectSphereContacts(sphere, heightfield, heightfield, contacts, true);
+
+        return !contacts.isEmpty();
+    }
+
+    public static Contact GetContact(SphereCollider sphere, HeightfieldCollider heightfield)
+    {
+        return First(GetContacts(sphere, heightfield));
+    }
+
+    /**
+     * Generates the contacts between a sphere and a heightfield, only the cells under the sphere are tested
+     * @param sphere
+     * The sphere collider
+     * @param heightfield
+     * The heightfield collider
+     * @return
+     * The contacts, the deepest first
+     */
+    public static List<Contact> GetContacts(SphereCollider sphere, HeightfieldCollider heightfield)
+    {
+        List<Contact> contacts = new ArrayList<>();
+        CollectSphereContacts(sphere, heightfield, heightfield, contacts, false);
+
+        return ReduceContacts(contacts);
+    }
+
+    public static boolean Overlaps(CapsuleCollider capsule, HeightfieldCollider heightfield)
+    {
+        List<Contact> contacts = new ArrayList<>();
+        CollectCapsuleContacts(capsule, heightfield, heightfield, contacts, true);
+
+        return !contacts.isEmpty();
+    }
+
+    public static Contact GetContact(CapsuleCollider capsule, HeightfieldCollider heightfield)
+    {
+        return First(GetContacts(capsule, heightfield));
+    }
+
+    /**
+     * Generates the contacts between a capsule and a heightfield, only the cells under the capsule are tested
+     * @param capsule
+     * The capsule collider
+     * @param heightfield
+     * The heightfield collider
+     * @return
+     * The contacts, the deepest first
+     */
+    public static List<Contact> GetContacts(CapsuleCollider capsule, HeightfieldCollider heightfield)
+    {
+        List<Contact> contacts = new ArrayList<>();
+        CollectCapsuleContacts(capsule, heightfield, heightfield, contacts, false);
+
+        return ReduceContacts(contacts);
+    }
+
+    public static boolean Overlaps(BoxCollider box, HeightfieldCollider heightfield)
+    {
+        List<Contact> contacts = new ArrayList<>();
+        CollectBoxContacts(box, heightfield, heightfield, contacts, true);
+
+        return !contacts.isEmpty();
+    }
+
+    public static Contact GetContact(BoxCollider box, HeightfieldCollider heightfield)
+    {
+        return First(GetContacts(box, heightfield));
+    }
+
+    /**
+     * Generates the contacts between a box and a heightfield, only the cells under the box are tested
+     * @param box
+     * The box collider
+     * @param heightfield
+     * The heightfield collider
+     * @return
+     * The contacts, the deepest first
+     */
+    public static List<Contact> GetContacts(BoxCollider box, HeightfieldCollider heightfield)
+    {
+        List<Contact> contacts = new ArrayList<>();
+        CollectBoxContacts(box, heightfield, heightfield, contacts, false);
+
+        return ReduceContacts(contacts);
+    }
+
+    public static boolean Overlaps(CylinderCollider cylinder, HeightfieldCollider heightfield)
+    {
+        List<Contact> contacts = new ArrayList<>();
+        CollectConvexContacts(cylinder, heightfield, heightfield, contacts, true);
+
+        return !contacts.isEmpty();
+    }
+
+    public static Contact GetContact(CylinderCollider cylinder, HeightfieldCollider heightfield)
+    {
+        return First(GetContacts(cylinder, heightfield));
+    }
+
+    /**
+     * Generates the contacts between a cylinder and a heightfield, only the cells under the cylinder are tested
+     * @param cylinder
+     * The cylinder collider
+     * @param heightfield
+     * The heightfield collider
+     * @return
+     * The contacts, the deepest first
+     */
+    public static List<Contact> GetContacts(CylinderCollider cylinder, HeightfieldCollider heightfield)
+    {
+        List<Contact> contacts = new ArrayList<>();
+        CollectConvexContacts(cylinder, heightfield, heightfield, contacts, false);
+
+        return ReduceContacts(contacts);
+    }
+
+    public static boolean Overlaps(PlaneCollider plane, HeightfieldCollider heightfield)
+    {
+        List<Contact> contacts = new ArrayList<>();
+        CollectConvexContacts(plane, heightfield, heightfield, contacts, true);
+
+        return !contacts.isEmpty();
+    }
+
+    public static Contact GetContact(PlaneCollider plane, HeightfieldCollider heightfield)
+    {
+        return First(GetContacts(plane, heightfield));
+    }
+
+    /**
+     * Generates the contacts between a plane and a heightfield, only the cells under the plane are tested
+     * @param plane
+     * The plane collider
+     * @param heightfield
+     * The heightfield collider
+     * @return
+     * The contacts, the deepest first
+     */
+    public static List<Contact> GetContacts(PlaneCollider plane, HeightfieldCollider heightfield)
+    {
+        List<Contact> contacts = new ArrayList<>();
+        CollectConvexContacts(plane, heightfield, heightfield, contacts, false);
+
+        return ReduceContacts(contacts);
+    }
+
+    //------Shared------
+
+    /**
+     * Checks if a contact comes from an inactive edge or vertex of a triangle, with a normal that isn't the face normal.
+     * Those contacts are left to the neighbouring triangles, which report the same point with the right normal
+     * @param point
+     * The contact point on the triangle
+     * @return
+     * True if the contact must be dropped
+     */
+    private static boolean IsInactiveFeature(ITriangleShape shape, int triangle, Vector3D point, Vector3D a, Vector3D b, Vector3D c,
+                                             Vector3D normal, Vector3D faceNormal)
+    {
+        if(Math.abs(normal.DotProduct(faceNormal)) > FACE_NORMAL_COSINE)
+            return false;
+
+        Vector3D[] vertices = { a, b, c };
+        boolean onEdge = false;
+        for(int edge = 0; edge < 3; edge++)
+        {
+            Vector3D start = vertices[edge];
+            Vector3D segment = vertices[(edge + 1) % 3].Subtract(start);
+            float length = segment.SquaredMagnitude();
+            float t = length > EPSILON ? MathUtilities.Clamp(point.Subtract(start).DotProduct(segment) / length, 0, 1) : 0;
+
+            if(Vector3D.DistanceSquared(start.Add(segment.Scale(t)), point) > EPSILON * Math.max(length, 1.0f))
+                continue;
+
+            //A point on any active edge is a real edge or vertex contact
+            if(shape.IsEdgeActive(triangle, edge))
+                return false;
+
+            onEdge = true;
+        }
+
+        return onEdge;
+    }
+
+    /**
+     * Checks if the feature of the triangle reaching furthest along a normal lies on an active edge
+     */
+    private static boolean IsSupportingFeatureActive(ITriangleShape shape, int triangle, Vector3D[] vertices, Vector3D normal)
+    {
+        float[] projections = { normal.DotProduct(vertices[0]), normal.DotProduct(vertices[1]), normal.DotProduct(vertices[2]) };
+        float max = Math.max(projections[0], Math.max(projections[1], projections[2]));
+        float tolerance = 1e-4f * Math.max(1.0f, Math.abs(max));
+
+        boolean[] supporting = new boolean[3];
+        for(int i = 0; i < 3; i++)
+            supporting[i] = projections[i] >= max - tolerance;
+
+        for(int edge = 0; edge < 3; edge++)
+        {
+            //The supporting feature is a vertex touching this edge, or the edge itself
+            if((supporting[edge] || supporting[(edge + 1) % 3]) && shape.IsEdgeActive(triangle, edge))
+                return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * Gets the unit normal of a triangle, following its winding
+     * @return
+     * The normal, null if the triangle is degenerate
+     */
+    private static Vector3D FaceNormal(Vector3D a, Vector3D b, Vector3D c)
+    {
+        Vector3D normal = b.Subtract(a).CrossProduct(c.Subtract(a));
+        float length = normal.Magnitude();
+
+        return length < EPSILON ? null : normal.Scale(1.0f / length);
+    }
+
+    private static boolean PointInTriangle(Vector3D point, Vector3D a, Vector3D b, Vector3D c, Vector3D normal)
+    {
+        return b.Subtract(a).CrossProduct(point.Subtract(a)).DotProduct(normal) >= 0 &&
+               c.Subtract(b).CrossProduct(point.Subtract(b)).DotProduct(normal) >= 0 &&
+               a.Subtract(c).CrossProduct(point.Subtract(c)).DotProduct(normal) >= 0;
+    }
+
+    /**
+     * Gets the parameters of the closest points between two segments (from Real-Time Collision Detection)
+     * @param parameters
+     * Receives the parameter along the first segment and along the second one, both between 0 and 1
+     */
+    private static void ClosestSegmentParameters(Vector3D startA, Vector3D endA, Vector3D startB, Vector3D endB, float[] parameters)
+    {
+        Vector3D directionA = endA.Subtract(startA);
+        Vector3D directionB = endB.Subtract(startB);
+        Vector3D offset = startA.Subtract(startB);
+
+        float lengthA = directionA.DotProduct(directionA);
+        float lengthB = directionB.DotProduct(directionB);
+        float f = directionB.DotProduct(offset);
+
+        float s, t;
+        if(lengthA <= EPSILON && lengthB <= EPSILON)
+        {
+            s = t = 0;
+        }
+        else if(lengthA <= EPSILON)
+        {
+            s = 0;
+            t = MathUtilities.Clamp(f / lengthB, 0, 1);
+        }
+        else
+        {
+            float c = directionA.DotProduct(offset);
+
+            if(lengthB <= EPSILON)
+            {
+                t = 0;
+                s = MathUtilities.Clamp(-c / lengthA, 0, 1);
+            }
+            else
+            {
+                float b = directionA.DotProduct(directionB);
+                float denominator = lengthA * lengthB - b * b;
+
+                s = denominator != 0 ? MathUtilities.Clamp((b * f - c * lengthB) / denominator, 0, 1) : 0;
+                t = (b * s + f) / lengthB;
+
+                if(t < 0)
+                {
+                    t = 0;
+                    s = MathUtilities.Clamp(-c / lengthA, 0, 1);
+                }
+                else if(t > 1)
+                {
+                    t = 1;
+                    s = MathUtilities.Clamp((b - c) / lengthA, 0, 1);
+                }
+            }
+        }
+
+        parameters[0] = s;
+        parameters[1] = t;
+    }
+
+    /**
+     * Drops the contacts repeated by neighbouring triangles and reduces the rest to MAX_MANIFOLD_POINTS
+     * @return
+     * The contacts, the deepest first
+     */
+    private static List<Contact> ReduceContacts(List<Contact> contacts)
+    {
+        if(contacts.size() <= 1)
+            return contacts;
+
+        contacts.sort((a, b) -> Float.compare(b.penetration, a.penetration));
+
+        List<Contact> merged = new ArrayList<>();
+        for(Contact contact : contacts)
+        {
+            boolean repeated = false;
+            for(Contact kept : merged)
+            {
+                if(Vector3D.DistanceSquared(kept.contactPoint, contact.contactPoint) < MERGE_DISTANCE * MERGE_DISTANCE)
+                {
+                    repeated = true;
+                    break;
+                }
+            }
+
+            if(!repeated)
+                merged.add(contact);
+        }
+
+        if(merged.size() <= CollisionHelper.MAX_MANIFOLD_POINTS)
+            return merged;
+
+        Vector3D[] points = new Vector3D[merged.size()];
+        float[] depths = new float[merged.size()];
+        for(int i = 0; i < merged.size(); i++)
+        {
+            points[i] = merged.get(i).contactPoint;
+            depths[i] = merged.get(i).penetration;
+        }
+
+        List<Contact> reduced = new ArrayList<>(CollisionHelper.MAX_MANIFOLD_POINTS);
+        for(int index : CollisionHelper.ReduceManifold(points, depths, points.length, merged.get(0).contactNormal))
+            reduced.add(merged.get(index));
+
+        return reduced;
+    }
+
+    private static Contact First(List<Contact> contacts)
+    {
+        return contacts.isEmpty() ? null : contacts.get(0);
+    }
+
+    /**
+     * A triangle in world space tested by the generic convex narrow phase, reused for every triangle of a query
+     */
+    private static final class TriangleSupport implements ISupportShape
+    {
+        private final float[] vertices = new float[9];
+
+        private void Set(Vector3D a, Vector3D b, Vector3D c)
+        {
+            Vector3D[] corners = { a, b, c };
+            for(int i = 0; i < 3; i++)
+            {
+                vertices[i * 3] = corners[i].x;
+                vertices[i * 3 + 1] = corners[i].y;
+                vertices[i * 3 + 2] = corners[i].z;
+            }
+        }
+
+        @Override
+        public Vector3D GetCenterWorld()
+        {
+            return new Vector3D((vertices[0] + vertices[3] + vertices[6]) / 3.0f, (vertices[1] + vertices[4] + vertices[7]) / 3.0f, (vertices[2] + vertices[5] + vertices[8]) / 3.0f);
+        }
+
+        @Override
+        public void Support(float x, float y, float z, float[] target, int offset)
+        {
+            int best = 0;
+            float bestProjection = Float.NEGATIVE_INFINITY;
+
+            for(int i = 0; i < 9; i += 3)
+            {
+                float projection = vertices[i] * x + vertices[i + 1] * y + vertices[i + 2] * z;
+                if(projection > bestProjection)
+                {
+                    bestProjection = projection;
+                    best = i;
+                }
+            }
+
+            System.arraycopy(vertices, best, target, offset, 3);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package JGame.Engine.Physics.Constraints;
+
+import JGame.Engine.Structures.Vector3D;
+
+/**
+ * Joint keeping the anchors of both bodies together while letting them rotate freely around it, like a shoulder
+ */
+public class BallSocketJoint extends Joint
+{
+    private static final Vector3D[] AXES = { Vector3D.Right, Vector3D.Up, Vector3D.Forward };
+
+    @Override
+    protected void BuildRows(JointSolver.RowBuilder rows)
+    {
+        AddPointRows(rows);
+    }
+
+    /**
+     * Adds one row per world axis keeping both anchors in the same point
+     * @param rows
+     * The row builder
+     */
+    protected final void AddPointRows(JointSolver.RowBuilder rows)
+    {
+        Vector3D offsetA = rows.GetWorldOffsetA(anchors[0]);
+        Vector3D offsetB = rows.GetWorldOffsetB(anchors[1]);
+        Vector3D delta = rows.GetWorldPointB(anchors[1]).Subtract(rows.GetWorldPointA(anchors[0]));
+
+        for(Vector3D axis : AXES)
+        {
+            rows.AddLinearRow(axis, offsetA, offsetB, delta.DotProduct(axis));
+        }
+    }
+}
@@ -1,41 +1,14 @@
 package JGame.Engine.Physics.Constraints;
 
-import JGame.Engine.Physics.Collision.Contact.Contact;
-
 /**
- * Constraint that links two objects using a cable, creating a contact if they stray too far
+ * Constraint that links two objects using a cable that can extend up to maxLength, pulling them back if they stray too far
+ * and bouncing with the restitution of the joint
  */
-public class CableConstraint extends LinkConstraint
+public class CableConstraint extends DistanceJoint
 {
-
-
-    /**
-     * The maximum length the cable can extend
-     */
-    public float maxLength;
-    /**
-     * The restitution constant (bounciness) of the cable
-     */
-    public float restitution;
-
-
-
     @Override
-    public int FillContact(Contact[] contacts, int limit)
+    protected float GetMinLength()
     {
-        float length = CurrentLength();
-
-
-        if(length < maxLength)
-            return 0;
-
-//        contacts[0].rigidbodies[0] = rigidbodies[0];
-//        contacts[0].rigidbodies[1] = rigidbodies[1];
-//
-//        contacts[0].contactNormal = rigidbodies[1].transform().GetGlobalPosition().Subtract(rigidbodies[0].transform().GetGlobalPosition()).Normalized();
-//        contacts[0].penetration = length - maxLength;
-//        contacts[0].restitution = restitution;
-
-        return 1;
+        return 0;
     }
 }
@@ -0,0 +1,95 @@
+package JGame.Engine.Physics.Constraints;
+
+import JGame.Engine.Structures.Vector3D;
+
+/**
+ * Joint keeping the distance between the anchors of both bodies between a minimum and a maximum length,
+ * equal lengths make a rigid rod and a minimum of zero makes a rope
+ */
+public class DistanceJoint extends Joint
+{
+    /**
+     * The minimum distance between both anchors
+     */
+    public float minLength = 1.0f;
+    /**
+     * The maximum distance between both anchors
+     */
+    public float maxLength = 1.0f;
+    /**
+     * Fraction of the velocity kept, in the opposite direction, when a limit is reached
+     */
+    public float restitution = 0.0f;
+
+    /**
+     * Sets both limits to the same length, making the joint rigid
+     * @param length
+     * The distance between both anchors
+     */
+    public void SetLength(float length)
+    {
+        minLength = length;
+        maxLength = length;
+    }
+
+    /**
+     * Gets the current distance between both anchors
+     * @return
+     * The distance between both anchors
+     */
+    public float CurrentLength()
+    {
+        Vector3D pointA = rigidbodies[0].transform().LocalToWorldSpace(anchors[0]);
+        Vector3D pointB = rigidbodies[1] == null ? anchors[1] : rigidbodies[1].transform().LocalToWorldSpace(anchors[1]);
+
+        return Vector3D.Distance(pointA, pointB);
+    }
+
+    /**
+     * Gets the minimum length used by the rows, override to derive the limits from other values
+     */
+    protected float GetMinLength()
+    {
+        return minLength;
+    }
+
+    /**
+     * Gets the maximum length used by the rows, override to derive the limits from other values
+     */
+    protected float GetMaxLength()
+    {
+        return maxLength;
+    }
+
+    @Override
+    protected void BuildRows(JointSolver.RowBuilder rows)
+    {
+        Vector3D offsetA = rows.GetWorldOffsetA(anchors[0]);
+        Vector3D offsetB = rows.GetWorldOffsetB(anchors[1]);
+        Vector3D delta = rows.GetWorldPointB(anchors[1]).Subtract(rows.GetWorldPointA(anchors[0]));
+
+        float length = delta.Magnitude();
+
+        //Anchors on top of each other have no direction to push along
+        if(length < 1e-6f)
+            return;
+
+        Vector3D normal = delta.Scale(1.0f / length);
+
+        float min = GetMinLength();
+        float max = GetMaxLength();
+
+        if(max - min < 1e-6f)
+        {
+            rows.AddLinearRow(normal, offsetA, offsetB, length - max);
+        }
+        else if(length > max)
+        {
+            rows.AddLinearRow(normal, offsetA, offsetB, length - max, Float.NEGATIVE_INFINITY, 0, restitution);
+        }
+        else if(length < min)
+        {
+            rows.AddLinearRow(normal, offsetA, offsetB, length - min, 0, Float.POSITIVE_INFINITY, restitution);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package JGame.Engine.Physics.Constraints;
+
+import JGame.Engine.Structures.Vector3D;
+
+/**
+ * Joint keeping the anchors of both bodies together and only letting them rotate around a shared axis, like a door or an elbow
+ */
+public class HingeJoint extends BallSocketJoint
+{
+    /**
+     * The hinge axis in the local space of each body, or in world space if the body is the world
+     */
+    protected Vector3D[] axes = new Vector3D[] { Vector3D.Up, Vector3D.Up };
+
+    /**
+     * Sets the axis the bodies rotate around
+     * @param axisA
+     * The axis in the local space of body A
+     * @param axisB
+     * The axis in the local space of body B, or in world space if the joint is attached to the world
+     */
+    public void SetAxis(Vector3D axisA, Vector3D axisB)
+    {
+        axes[0] = axisA.Normalized();
+        axes[1] = axisB.Normalized();
+    }
+
+    @Override
+    protected void BuildRows(JointSolver.RowBuilder rows)
+    {
+        AddPointRows(rows);
+
+        Vector3D axisA = rows.GetWorldAxisA(axes[0]);
+        Vector3D axisB = rows.GetWorldAxisB(axes[1]);
+
+        //Two directions perpendicular to the hinge, the bodies can't rotate around them relative to each other
+        Vector3D reference = Math.abs(axisA.x) < 0.9f ? Vector3D.Right : Vector3D.Up;
+        Vector3D tangent = axisA.CrossProduct(reference).Normalized();
+        Vector3D bitangent = axisA.CrossProduct(tangent);
+
+        //For small misalignments axisA x axisB is the rotation that takes the axis of B back to the axis of A
+        Vector3D misalignment = axisA.CrossProduct(axisB);
+
+        rows.AddAngularRow(tangent, misalignment.DotProduct(tangent));
+        rows.AddAngularRow(bitangent, misalignment.DotProduct(bitangent));
+    }
+}
@@ -0,0 +1,130 @@
+package JGame.Engine.Physics.Constraints;
+
+import JGame.Engine.Basic.JComponent;
+import JGame.Engine.Basic.NotCopied;
+import JGame.Engine.Physics.Bodies.Rigidbody;
+import JGame.Engine.Structures.Vector3D;
+
+/**
+ * Base class for joints, constraints between two rigidbodies (or a rigidbody and a point in the world) solved by the {@link JointSolver}
+ * right after the contacts of every physics step. Every joint describes itself as a set of rows, each one removing a degree of freedom
+ * between both bodies, through BuildRows
+ */
+public abstract class Joint extends JComponent
+{
+    /**
+     * Pair of bodies to be linked, the second one is null when the joint is attached to the world
+     */
+    protected Rigidbody[] rigidbodies = new Rigidbody[2];
+    /**
+     * Connection points in the local space of each body, or in world space if the body is the world
+     */
+    protected Vector3D[] anchors = new Vector3D[] { Vector3D.Zero, Vector3D.Zero };
+
+    private boolean attachedToWorld = false;
+
+    /**
+     * Impulses applied by the rows of the last step, used to warm start the next one
+     */
+    @NotCopied
+    float[] lastImpulses = new float[0];
+    @NotCopied
+    int lastRowCount = 0;
+
+    /**
+     * Connects two bodies through the joint
+     * @param a
+     * The first body
+     * @param anchorA
+     * The connection point for the body A, in local space
+     * @param b
+     * The second body, or null to attach the joint to the world
+     * @param anchorB
+     * The connection point for the body B, in local space, or in world space if b is null
+     */
+    public void SetConnection(Rigidbody a, Vector3D anchorA, Rigidbody b, Vector3D anchorB)
+    {
+        if(a == null)
+            throw new IllegalArgumentException("The first body of a joint can't be null, use the second one to attach it to the world!");
+
+        rigidbodies[0] = a;
+        rigidbodies[1] = b;
+        anchors[0] = anchorA;
+        anchors[1] = anchorB;
+
+        attachedToWorld = b == null;
+        lastRowCount = 0;
+    }
+
+    /**
+     * Connects two bodies through the joint, with connection points at their origins
+     * @param a
+     * The first body
+     * @param b
+     * The second body
+     */
+    public void SetConnection(Rigidbody a, Rigidbody b)
+    {
+        SetConnection(a, Vector3D.Zero, b, Vector3D.Zero);
+    }
+
+    /**
+     * Attaches a body to a point in the world through the joint
+     * @param a
+     * The body
+     * @param anchorA
+     * The connection point for the body, in local space
+     * @param worldAnchor
+     * The connection point in world space
+     */
+    public void SetConnection(Rigidbody a, Vector3D anchorA, Vector3D worldAnchor)
+    {
+        SetConnection(a, anchorA, null, worldAnchor);
+    }
+
+    @Override
+    protected void OnCopied()
+    {
+        super.OnCopied();
+
+        rigidbodies = rigidbodies.clone();
+        anchors = anchors.clone();
+    }
+
+    /**
+     * Gets if the joint has to be solved this step, joints whose bodies were destroyed or disabled are skipped
+     * @return
+     * True if the joint has to be solved
+     */
+    final boolean IsSolvable()
+    {
+        if(rigidbodies[0] == null || !rigidbodies[0].IsAvailable())
+            return false;
+
+        if(rigidbodies[1] == null)
+            return attachedToWorld;
+
+        return rigidbodies[1].IsAvailable();
+    }
+
+    /**
+     * Writes the rows of the joint for the current pose of its bodies, called for the velocity pass and for every iteration of the position pass.
+     * The rows written should be the same ones on both passes, but can change between steps, like a distance limit that's only active when stretched
+     * @param rows
+     * The builder used to read the pose of the bodies and write the rows
+     */
+    protected abstract void BuildRows(JointSolver.RowBuilder rows);
+
+    @Override
+    protected void OnEnable()
+    {
+        JointSolver.Register(this);
+    }
+
+    @Override
+    protected void OnDisable()
+    {
+        if(!IsBulkDestroying())
+            JointSolver.Unregister(this);
+    }
+}
@@ -0,0 +1,1008 @@
+package JGame.Engine.Physics.Constraints;
+
+import JGame.Engine.Internal.Time;
+import JGame.Engine.Physics.Bodies.Rigidbody;
+import JGame.Engine.Physics.Collision.Contact.Contact;
+import JGame.Engine.Physics.General.PhysicsMetrics;
+import JGame.Engine.Settings;
+import JGame.Engine.Structures.Quaternion;
+import JGame.Engine.Structures.Vector3D;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Solves every registered joint together with the contacts touching the jointed bodies. Joints and contacts are turned into batched rows, one per
+ * removed degree of freedom, stored in flat arrays together with a copy of the state of the bodies involved, so the solver iterations don't touch
+ * the rigidbodies or allocate. Every iteration sweeps the joint and contact rows alike, so a chain resting on the ground is solved as one system.
+ * The velocity pass runs sequential impulses warm started with the joint impulses of the last step, then the position pass projects the remaining
+ * error out of the poses, which keeps stiff chains stable at the normal physics rate without springs or smaller timesteps
+ */
+public class JointSolver
+{
+    /**
+     * Position error allowed before the position pass corrects a linear row
+     */
+    public static float linearSlop = 0.001f;
+    /**
+     * Angle error in radians allowed before the position pass corrects an angular row
+     */
+    public static float angularSlop = 0.002f;
+    /**
+     * Fraction of the error removed by every iteration of the position pass
+     */
+    public static float positionCorrection = 0.8f;
+    /**
+     * Maximum correction applied by a single row in an iteration of the position pass, avoids overshooting on large errors
+     */
+    public static float maxLinearCorrection = 0.2f;
+    /**
+     * Fraction of the last step impulses applied before the velocity iterations
+     */
+    public static float warmStarting = 0.9f;
+    /**
+     * Approaching speed below which rows with restitution don't bounce, so resting contacts don't jitter
+     */
+    public static float bounceThreshold = 0.01f;
+
+    private static final ArrayList<Joint> joints = new ArrayList<>();
+
+    /**
+     * Index used by rows attached to the world instead of a body
+     */
+    private static final int WORLD = -1;
+
+    //------Bodies------
+
+    private static final BodyIndices bodyIndices = new BodyIndices();
+    private static Rigidbody[] bodies = new Rigidbody[16];
+    private static int bodyCount = 0;
+
+    private static float[] linearVelocities = new float[16 * 3];
+    private static float[] angularVelocities = new float[16 * 3];
+    private static float[] inverseMasses = new float[16];
+    private static float[] inverseInertias = new float[16 * 9];
+    private static float[] positions = new float[16 * 3];
+    private static float[] rotations = new float[16 * 4];
+    private static float[] scales = new float[16 * 3];
+    private static boolean[] moved = new boolean[16];
+
+    //------Rows------
+
+    /**
+     * Values per row of the jacobian: linear A, angular A, linear B, angular B
+     */
+    private static final int JACOBIAN_SIZE = 12;
+
+    private static int rowCount = 0;
+    private static int[] rowBodyA = new int[64];
+    private static int[] rowBodyB = new int[64];
+    private static float[] jacobians = new float[64 * JACOBIAN_SIZE];
+    /**
+     * The jacobian premultiplied by the inverse masses and inertias, the change in velocity of each body per unit of impulse
+     */
+    private static float[] velocityChanges = new float[64 * JACOBIAN_SIZE];
+    private static float[] effectiveMasses = new float[64];
+    private static float[] errors = new float[64];
+    private static float[] targetVelocities = new float[64];
+    private static float[] lowerLimits = new float[64];
+    private static float[] upperLimits = new float[64];
+    private static float[] impulses = new float[64];
+    private static boolean[] angularRows = new boolean[64];
+
+    //------Contacts------
+
+    private static int contactCount = 0;
+    private static int[] contactBodyA = new int[16];
+    private static int[] contactBodyB = new int[16];
+    /**
+     * Contact point in the local space of each body, 6 values per contact
+     */
+    private static float[] contactAnchors = new float[16 * 6];
+    /**
+     * Direction separating the bodies, from A to B, in world space
+     */
+    private static float[] contactNormals = new float[16 * 3];
+    /**
+     * Separation of the bodies along the normal when the contact was found, negative while they penetrate
+     */
+    private static float[] contactSeparations = new float[16];
+    private static float[] contactRestitutions = new float[16];
+    /**
+     * Part of the separating velocity gained from the accelerations of this step, left out of the bounce
+     */
+    private static float[] contactAccelerationVelocities = new float[16];
+
+    private static final RowBuilder builder = new RowBuilder();
+
+    static void Register(Joint joint)
+    {
+        if(!joints.contains(joint))
+            joints.add(joint);
+    }
+
+    static void Unregister(Joint joint)
+    {
+        joints.remove(joint);
+    }
+
+    /**
+     * Gets the number of joints currently registered
+     * @return
+     * The number of joints
+     */
+    public static int JointCount()
+    {
+        return joints.size();
+    }
+
+    /**
+     * Runs the velocity and position passes for every registered joint and the contacts touching the jointed bodies, directly or through other
+     * dynamic bodies. Those contacts are removed from the list, called by the collision pipeline before resolving the remaining contacts
+     * @param contacts
+     * The contacts of the step
+     */
+    public static void SolveJoints(List<Contact> contacts)
+    {
+        if(joints.isEmpty())
+            return;
+
+        GatherBodies();
+
+        if(bodyCount == 0)
+            return;
+
+        GatherContacts(contacts);
+
+        long timer = PhysicsMetrics.StartTimer();
+        SolveVelocities();
+        PhysicsMetrics.StopTimer(PhysicsMetrics.VELOCITY_RESOLVE, timer);
+        PhysicsMetrics.AddCounter(PhysicsMetrics.VELOCITY_ITERATIONS, Settings.Physics.jointVelocityIterations);
+
+        timer = PhysicsMetrics.StartTimer();
+        SolvePositions();
+        PhysicsMetrics.StopTimer(PhysicsMetrics.POSITION_RESOLVE, timer);
+        PhysicsMetrics.AddCounter(PhysicsMetrics.POSITION_ITERATIONS, Settings.Physics.jointPositionIterations);
+
+        WriteBackBodies();
+    }
+
+    /**
+     * Removes the joints that were destroyed or disabled without unregistering, used at the end of bulk destroys
+     */
+    public static void RemoveUnavailableJoints()
+    {
+        joints.removeIf(joint -> !joint.IsAvailable());
+    }
+
+    /**
+     * Forgets every joint, used when the scene is cleared
+     */
+    public static void Clear()
+    {
+        joints.clear();
+        bodyIndices.Clear();
+        Arrays.fill(bodies, null);
+        bodyCount = 0;
+    }
+
+    //------Body state------
+
+    /**
+     * Copies the state of every body used by a solvable joint into the solver arrays
+     */
+    private static void GatherBodies()
+    {
+        bodyIndices.Clear();
+        bodyCount = 0;
+
+        for(Joint joint : joints)
+        {
+            if(!joint.IsSolvable())
+                continue;
+
+            AddBody(joint.rigidbodies[0]);
+
+            if(joint.rigidbodies[1] != null)
+                AddBody(joint.rigidbodies[1]);
+        }
+    }
+
+    private static int AddBody(Rigidbody body)
+    {
+        int existing = bodyIndices.Get(body);
+
+        if(existing >= 0)
+            return existing;
+
+        if(bodyCount == bodies.length)
+            GrowBodies();
+
+        int index = bodyCount++;
+        bodyIndices.Put(body, index);
+        bodies[index] = body;
+
+        Vector3D linearVelocity = body.GetLinearVelocity();
+        Vector3D angularVelocity = body.GetAngularVelocity();
+        Vector3D position = body.transform().GetGlobalPosition();
+        Quaternion rotation = body.transform().GetGlobalRotation();
+        Vector3D scale = body.transform().GetGlobalScale();
+
+        SetVector(linearVelocities, index, linearVelocity);
+        SetVector(angularVelocities, index, angularVelocity);
+        SetVector(positions, index, position);
+        SetVector(scales, index, scale);
+
+        rotations[index * 4] = rotation.w;
+        rotations[index * 4 + 1] = rotation.x;
+        rotations[index * 4 + 2] = rotation.y;
+        rotations[index * 4 + 3] = rotation.z;
+
+        inverseMasses[index] = body.GetInverseMass();
+        System.arraycopy(body.GetInverseInertiaTensorWorld().values, 0, inverseInertias, index * 9, 9);
+
+        moved[index] = false;
+
+        return index;
+    }
+
+    private static void GrowBodies()
+    {
+        int capacity = bodies.length * 2;
+
+        bodies = Arrays.copyOf(bodies, capacity);
+        linearVelocities = Arrays.copyOf(linearVelocities, capacity * 3);
+        angularVelocities = Arrays.copyOf(angularVelocities, capacity * 3);
+        inverseMasses = Arrays.copyOf(inverseMasses, capacity);
+        inverseInertias = Arrays.copyOf(inverseInertias, capacity * 9);
+        positions = Arrays.copyOf(positions, capacity * 3);
+        rotations = Arrays.copyOf(rotations, capacity * 4);
+        scales = Arrays.copyOf(scales, capacity * 3);
+        moved = Arrays.copyOf(moved, capacity);
+    }
+
+    /**
+     * Writes the solved velocities and poses back into the rigidbodies
+     */
+    private static void WriteBackBodies()
+    {
+        for(int i = 0; i < bodyCount; i++)
+        {
+            Rigidbody body = bodies[i];
+
+            if(body.GetBodyType() == Rigidbody.BodyType.Static)
+                continue;
+
+            body.SetLinearVelocity(GetVector(linearVelocities, i));
+            body.SetAngularVelocity(GetVector(angularVelocities, i));
+
+            if(moved[i])
+            {
+                Quaternion rotation = new Quaternion(rotations[i * 4], rotations[i * 4 + 1], rotations[i * 4 + 2], rotations[i * 4 + 3]);
+                body.transform().SetGlobalPositionAndRotation(GetVector(positions, i), rotation);
+            }
+        }
+
+        Arrays.fill(bodies, 0, bodyCount, null);
+    }
+
+    //------Contact state------
+
+    /**
+     * Moves the contacts touching a dynamic body of the solver out of the list and into the solver, adding their other body.
+     * Repeats until no contact is taken, so a pile of bodies resting on a jointed one is solved with it. Static bodies don't spread the
+     * solver, otherwise a joint attached to the ground would take every contact with the ground
+     */
+    private static void GatherContacts(List<Contact> contacts)
+    {
+        contactCount = 0;
+
+        boolean taken = true;
+        while(taken)
+        {
+            taken = false;
+            int kept = 0;
+
+            for(int i = 0; i < contacts.size(); i++)
+            {
+                Contact contact = contacts.get(i);
+
+                if(IsDynamicInSolver(contact.bodies[0]) || IsDynamicInSolver(contact.bodies[1]))
+                {
+                    AddContact(contact);
+                    taken = true;
+                }
+                else
+                {
+                    contacts.set(kept++, contact);
+                }
+            }
+
+            contacts.subList(kept, contacts.size()).clear();
+        }
+    }
+
+    private static boolean IsDynamicInSolver(Rigidbody body)
+    {
+        int index = bodyIndices.Get(body);
+        return index >= 0 && inverseMasses[index] != 0;
+    }
+
+    private static void AddContact(Contact contact)
+    {
+        int a = AddBody(contact.bodies[0]);
+        int b = AddBody(contact.bodies[1]);
+
+        if(contactCount == contactSeparations.length)
+            GrowContacts();
+
+        int index = contactCount++;
+        contactBodyA[index] = a;
+        contactBodyB[index] = b;
+
+        SetLocalAnchor(a, contact.contactPoint, index * 6);
+        SetLocalAnchor(b, contact.contactPoint, index * 6 + 3);
+
+        //The contact normal pushes the first body, the rows push the second one
+        SetVector(contactNormals, index, contact.contactNormal.Negate());
+        contactSeparations[index] = -contact.penetration;
+        contactRestitutions[index] = contact.restitution;
+
+        Vector3D relativeAcceleration = contact.bodies[1].GetLinearAcceleration().Subtract(contact.bodies[0].GetLinearAcceleration());
+        contactAccelerationVelocities[index] = relativeAcceleration.DotProduct(contact.contactNormal.Negate()) * (float) Time.PhysicsDeltaTime();
+    }
+
+    /**
+     * Stores a point in the local space of a body, the inverse of RowBuilder.GetWorldOffset
+     */
+    private static void SetLocalAnchor(int body, Vector3D point, int offset)
+    {
+        Vector3D local = point.Subtract(RowBuilder.GetPosition(body)).Rotate(RowBuilder.GetRotation(body).Inverse());
+
+        contactAnchors[offset] = Unscale(local.x, scales[body * 3]);
+        contactAnchors[offset + 1] = Unscale(local.y, scales[body * 3 + 1]);
+        contactAnchors[offset + 2] = Unscale(local.z, scales[body * 3 + 2]);
+    }
+
+    private static float Unscale(float value, float scale)
+    {
+        return scale == 0 ? 0 : value / scale;
+    }
+
+    private static void GrowContacts()
+    {
+        int capacity = contactSeparations.length * 2;
+
+        contactBodyA = Arrays.copyOf(contactBodyA, capacity);
+        contactBodyB = Arrays.copyOf(contactBodyB, capacity);
+        contactAnchors = Arrays.copyOf(contactAnchors, capacity * 6);
+        contactNormals = Arrays.copyOf(contactNormals, capacity * 3);
+        contactSeparations = Arrays.copyOf(contactSeparations, capacity);
+        contactRestitutions = Arrays.copyOf(contactRestitutions, capacity);
+        contactAccelerationVelocities = Arrays.copyOf(contactAccelerationVelocities, capacity);
+    }
+
+    //------Velocity pass------
+
+    /**
+     * Builds the rows of every joint and contact once and runs the sequential impulse iterations over all of them
+     */
+    private static void SolveVelocities()
+    {
+        rowCount = 0;
+
+        for(Joint joint : joints)
+        {
+            if(!joint.IsSolvable())
+                continue;
+
+            int start = rowCount;
+            BuildJointRows(joint);
+            int count = rowCount - start;
+
+            //Warm start only when the joint keeps the same rows as the last step
+            boolean warmStart = count == joint.lastRowCount;
+            joint.lastRowCount = count;
+
+            for(int r = start; r < rowCount; r++)
+            {
+                impulses[r] = warmStart ? joint.lastImpulses[r - start] * warmStarting : 0;
+
+                if(impulses[r] != 0)
+                    ApplyImpulse(r, impulses[r]);
+            }
+        }
+
+        //Contacts are new every step, so their rows start without impulse
+        for(int c = 0; c < contactCount; c++)
+        {
+            int row = rowCount;
+            BuildContactRow(c);
+
+            if(rowCount > row)
+                targetVelocities[row] = ContactBounce(c, row);
+        }
+
+        for(int iteration = 0; iteration < Settings.Physics.jointVelocityIterations; iteration++)
+        {
+            for(int r = 0; r < rowCount; r++)
+            {
+                float velocity = RowVelocity(r);
+                float impulse = effectiveMasses[r] * (targetVelocities[r] - velocity);
+
+                float previous = impulses[r];
+                impulses[r] = Math.max(lowerLimits[r], Math.min(upperLimits[r], previous + impulse));
+
+                ApplyImpulse(r, impulses[r] - previous);
+            }
+        }
+
+        //Store the impulses of each joint for the next step
+        int row = 0;
+        for(Joint joint : joints)
+        {
+            if(!joint.IsSolvable())
+                continue;
+
+            int count = joint.lastRowCount;
+
+            if(joint.lastImpulses.length < count)
+                joint.lastImpulses = new float[count];
+
+            System.arraycopy(impulses, row, joint.lastImpulses, 0, count);
+            row += count;
+        }
+    }
+
+    /**
+     * Builds the rows of a joint at the end of the row arrays
+     */
+    private static void BuildJointRows(Joint joint)
+    {
+        builder.bodyA = bodyIndices.Get(joint.rigidbodies[0]);
+        builder.bodyB = joint.rigidbodies[1] == null ? WORLD : bodyIndices.Get(joint.rigidbodies[1]);
+
+        joint.BuildRows(builder);
+    }
+
+    /**
+     * Builds the row of a contact at the end of the row arrays, pushing its bodies apart along the normal
+     */
+    private static void BuildContactRow(int contact)
+    {
+        int a = contactBodyA[contact];
+        int b = contactBodyB[contact];
+
+        builder.bodyA = a;
+        builder.bodyB = b;
+
+        Vector3D normal = GetVector(contactNormals, contact);
+        Vector3D offsetA = RowBuilder.GetWorldOffset(a, GetVector(contactAnchors, contact * 2));
+        Vector3D offsetB = RowBuilder.GetWorldOffset(b, GetVector(contactAnchors, contact * 2 + 1));
+
+        //Both contact points start at the same place, the separation changes as the position pass moves the bodies
+        Vector3D pointA = RowBuilder.GetPosition(a).Add(offsetA);
+        Vector3D pointB = RowBuilder.GetPosition(b).Add(offsetB);
+        float separation = contactSeparations[contact] + pointB.Subtract(pointA).DotProduct(normal);
+
+        builder.AddLinearRow(normal, offsetA, offsetB, separation, 0, Float.POSITIVE_INFINITY, 0);
+    }
+
+    /**
+     * Gets the separating velocity a contact row bounces to. The velocity gained from the accelerations of this step is left out like
+     * the contact resolver does, otherwise bodies resting on each other would bounce off the gravity of every step
+     */
+    private static float ContactBounce(int contact, int row)
+    {
+        float velocity = RowVelocity(row) - contactAccelerationVelocities[contact];
+
+        return velocity < -bounceThreshold ? -contactRestitutions[contact] * velocity : 0;
+    }
+
+    /**
+     * Gets the relative velocity of the bodies of a row along the row
+     */
+    private static float RowVelocity(int row)
+    {
+        int j = row * JACOBIAN_SIZE;
+        int a = rowBodyA[row];
+        int b = rowBodyB[row];
+
+        float velocity = Dot(jacobians, j, linearVelocities, a * 3) + Dot(jacobians, j + 3, angularVelocities, a * 3);
+
+        if(b != WORLD)
+            velocity += Dot(jacobians, j + 6, linearVelocities, b * 3) + Dot(jacobians, j + 9, angularVelocities, b * 3);
+
+        return velocity;
+    }
+
+    /**
+     * Applies an impulse along a row to the velocities of both bodies
+     */
+    private static void ApplyImpulse(int row, float impulse)
+    {
+        int j = row * JACOBIAN_SIZE;
+        int a = rowBodyA[row] * 3;
+        int b = rowBodyB[row] * 3;
+
+        for(int i = 0; i < 3; i++)
+        {
+            linearVelocities[a + i] += velocityChanges[j + i] * impulse;
+            angularVelocities[a + i] += velocityChanges[j + 3 + i] * impulse;
+        }
+
+        if(rowBodyB[row] == WORLD)
+            return;
+
+        for(int i = 0; i < 3; i++)
+        {
+            linearVelocities[b + i] += velocityChanges[j + 6 + i] * impulse;
+            angularVelocities[b + i] += velocityChanges[j + 9 + i] * impulse;
+        }
+    }
+
+    //------Position pass------
+
+    /**
+     * Projects the error of every joint and contact out of the poses of the bodies, rebuilding the rows of each one from the poses corrected so far
+     */
+    private static void SolvePositions()
+    {
+        for(int iteration = 0; iteration < Settings.Physics.jointPositionIterations; iteration++)
+        {
+            for(Joint joint : joints)
+            {
+                if(!joint.IsSolvable())
+                    continue;
+
+                rowCount = 0;
+                BuildJointRows(joint);
+                CorrectPositions();
+            }
+
+            for(int c = 0; c < contactCount; c++)
+            {
+                rowCount = 0;
+                BuildContactRow(c);
+                CorrectPositions();
+            }
+        }
+    }
+
+    /**
+     * Removes a fraction of the error of the rows built from the poses of their bodies
+     */
+    private static void CorrectPositions()
+    {
+        for(int r = 0; r < rowCount; r++)
+        {
+            float slop = angularRows[r] ? angularSlop : linearSlop;
+            float error = errors[r];
+
+            if(Math.abs(error) <= slop)
+                continue;
+
+            error -= Math.signum(error) * slop;
+
+            if(!angularRows[r])
+                error = Math.max(-maxLinearCorrection, Math.min(maxLinearCorrection, error));
+
+            float impulse = -positionCorrection * effectiveMasses[r] * error;
+
+            //Inequality rows can only push in the direction allowed by their limits
+            if(lowerLimits[r] >= 0)
+                impulse = Math.max(impulse, 0);
+            if(upperLimits[r] <= 0)
+                impulse = Math.min(impulse, 0);
+
+            ApplyPositionImpulse(r, impulse);
+        }
+    }
+
+    /**
+     * Applies an impulse along a row directly to the poses of both bodies
+     */
+    private static void ApplyPositionImpulse(int row, float impulse)
+    {
+        if(impulse == 0)
+            return;
+
+        int j = row * JACOBIAN_SIZE;
+
+        MovePose(rowBodyA[row], j, impulse);
+
+        if(rowBodyB[row] != WORLD)
+            MovePose(rowBodyB[row], j + 6, impulse);
+    }
+
+    private static void MovePose(int body, int change, float impulse)
+    {
+        if(inverseMasses[body] == 0)
+            return;
+
+        int p = body * 3;
+        positions[p] += velocityChanges[change] * impulse;
+        positions[p + 1] += velocityChanges[change + 1] * impulse;
+        positions[p + 2] += velocityChanges[change + 2] * impulse;
+
+        float x = velocityChanges[change + 3] * impulse;
+        float y = velocityChanges[change + 4] * impulse;
+        float z = velocityChanges[change + 5] * impulse;
+
+        //q = q + 0.5 * (0, rotation) * q, same as Quaternion.Add
+        int q = body * 4;
+        float qw = rotations[q], qx = rotations[q + 1], qy = rotations[q + 2], qz = rotations[q + 3];
+
+        float nw = qw + 0.5f * (-x * qx - y * qy - z * qz);
+        float nx = qx + 0.5f * (x * qw + y * qz - z * qy);
+        float ny = qy + 0.5f * (y * qw + z * qx - x * qz);
+        float nz = qz + 0.5f * (z * qw + x * qy - y * qx);
+
+        float magnitude = (float) Math.sqrt(nw * nw + nx * nx + ny * ny + nz * nz);
+
+        rotations[q] = nw / magnitude;
+        rotations[q + 1] = nx / magnitude;
+        rotations[q + 2] = ny / magnitude;
+        rotations[q + 3] = nz / magnitude;
+
+        moved[body] = true;
+    }
+
+    //------Rows------
+
+    /**
+     * Adds a row between the current bodies of the builder
+     */
+    private static void AddRow(int bodyA, int bodyB, float[] jacobian, float error, float targetVelocity, float lower, float upper, boolean angular)
+    {
+        if(rowCount == effectiveMasses.length)
+            GrowRows();
+
+        int row = rowCount;
+        int j = row * JACOBIAN_SIZE;
+
+        rowBodyA[row] = bodyA;
+        rowBodyB[row] = bodyB;
+        System.arraycopy(jacobian, 0, jacobians, j, JACOBIAN_SIZE);
+
+        float inverseEffectiveMass = PremultiplyBody(bodyA, j);
+
+        if(bodyB != WORLD)
+            inverseEffectiveMass += PremultiplyBody(bodyB, j + 6);
+        else
+            Arrays.fill(velocityChanges, j + 6, j + 12, 0);
+
+        //Rows between two static bodies can't do anything
+        if(inverseEffectiveMass <= 1e-9f)
+            return;
+
+        effectiveMasses[row] = 1.0f / inverseEffectiveMass;
+        errors[row] = error;
+        targetVelocities[row] = targetVelocity;
+        lowerLimits[row] = lower;
+        upperLimits[row] = upper;
+        impulses[row] = 0;
+        angularRows[row] = angular;
+
+        rowCount++;
+    }
+
+    /**
+     * Fills the velocity changes of a body in a row and returns its contribution to the inverse effective mass
+     */
+    private static float PremultiplyBody(int body, int j)
+    {
+        float inverseMass = inverseMasses[body];
+        int inertia = body * 9;
+
+        for(int i = 0; i < 3; i++)
+        {
+            velocityChanges[j + i] = jacobians[j + i] * inverseMass;
+
+            velocityChanges[j + 3 + i] = inverseInertias[inertia + i * 3] * jacobians[j + 3] +
+                    inverseInertias[inertia + i * 3 + 1] * jacobians[j + 4] +
+                    inverseInertias[inertia + i * 3 + 2] * jacobians[j + 5];
+        }
+
+        return Dot(jacobians, j, velocityChanges, j) + Dot(jacobians, j + 3, velocityChanges, j + 3);
+    }
+
+    private static void GrowRows()
+    {
+        int capacity = effectiveMasses.length * 2;
+
+        rowBodyA = Arrays.copyOf(rowBodyA, capacity);
+        rowBodyB = Arrays.copyOf(rowBodyB, capacity);
+        jacobians = Arrays.copyOf(jacobians, capacity * JACOBIAN_SIZE);
+        velocityChanges = Arrays.copyOf(velocityChanges, capacity * JACOBIAN_SIZE);
+        effectiveMasses = Arrays.copyOf(effectiveMasses, capacity);
+        errors = Arrays.copyOf(errors, capacity);
+        targetVelocities = Arrays.copyOf(targetVelocities, capacity);
+        lowerLimits = Arrays.copyOf(lowerLimits, capacity);
+        upperLimits = Arrays.copyOf(upperLimits, capacity);
+        impulses = Arrays.copyOf(impulses, capacity);
+        angularRows = Arrays.copyOf(angularRows, capacity);
+    }
+
+    //------Helpers------
+
+    private static float Dot(float[] a, int offsetA, float[] b, int offsetB)
+    {
+        return a[offsetA] * b[offsetB] + a[offsetA + 1] * b[offsetB + 1] + a[offsetA + 2] * b[offsetB + 2];
+    }
+
+    private static void SetVector(float[] array, int index, Vector3D vector)
+    {
+        array[index * 3] = vector.x;
+        array[index * 3 + 1] = vector.y;
+        array[index * 3 + 2] = vector.z;
+    }
+
+    private static Vector3D GetVector(float[] array, int index)
+    {
+        return new Vector3D(array[index * 3], array[index * 3 + 1], array[index * 3 + 2]);
+    }
+
+    /**
+     * Used by the joints to read the current pose of their bodies and write their rows, the pose includes the corrections of the position pass
+     */
+    public static class RowBuilder
+    {
+        private int bodyA;
+        private int bodyB;
+
+        private final float[] jacobian = new float[JACOBIAN_SIZE];
+
+        private RowBuilder() { }
+
+        /**
+         * Gets the world space position of an anchor of body A
+         * @param localAnchor
+         * The anchor in the local space of the body
+         * @return
+         * The anchor in world space
+         */
+        public Vector3D GetWorldPointA(Vector3D localAnchor)
+        {
+            return GetPosition(bodyA).Add(GetWorldOffset(bodyA, localAnchor));
+        }
+
+        /**
+         * Gets the world space position of an anchor of body B
+         * @param localAnchor
+         * The anchor in the local space of the body, or in world space if the joint is attached to the world
+         * @return
+         * The anchor in world space
+         */
+        public Vector3D GetWorldPointB(Vector3D localAnchor)
+        {
+            return bodyB == WORLD ? localAnchor : GetPosition(bodyB).Add(GetWorldOffset(bodyB, localAnchor));
+        }
+
+        /**
+         * Gets the offset from the center of body A to an anchor, in world space
+         */
+        public Vector3D GetWorldOffsetA(Vector3D localAnchor)
+        {
+            return GetWorldOffset(bodyA, localAnchor);
+        }
+
+        /**
+         * Gets the offset from the center of body B to an anchor, in world space, zero if the joint is attached to the world
+         */
+        public Vector3D GetWorldOffsetB(Vector3D localAnchor)
+        {
+            return bodyB == WORLD ? Vector3D.Zero : GetWorldOffset(bodyB, localAnchor);
+        }
+
+        /**
+         * Rotates a direction from the local space of body A to world space
+         */
+        public Vector3D GetWorldAxisA(Vector3D localAxis)
+        {
+            return localAxis.Rotate(GetRotation(bodyA)).Normalized();
+        }
+
+        /**
+         * Rotates a direction from the local space of body B to world space, the direction is already in world space if the joint is attached to the world
+         */
+        public Vector3D GetWorldAxisB(Vector3D localAxis)
+        {
+            return bodyB == WORLD ? localAxis.Normalized() : localAxis.Rotate(GetRotation(bodyB)).Normalized();
+        }
+
+        /**
+         * Adds a row constraining the relative movement of two points of both bodies along a direction
+         * @param normal
+         * The direction in world space, normalized
+         * @param offsetA
+         * The offset from the center of body A to its point, in world space
+         * @param offsetB
+         * The offset from the center of body B to its point, in world space
+         * @param error
+         * The current separation of the points along the normal minus the desired one
+         * @param lower
+         * The lowest impulse the row can apply, -Infinity for an equality
+         * @param upper
+         * The highest impulse the row can apply, Infinity for an equality
+         * @param restitution
+         * Fraction of the approaching velocity along the normal turned into a bounce
+         */
+        public void AddLinearRow(Vector3D normal, Vector3D offsetA, Vector3D offsetB, float error, float lower, float upper, float restitution)
+        {
+            Vector3D angularA = offsetA.CrossProduct(normal);
+            Vector3D angularB = offsetB.CrossProduct(normal);
+
+            jacobian[0] = -normal.x; jacobian[1] = -normal.y; jacobian[2] = -normal.z;
+            jacobian[3] = -angularA.x; jacobian[4] = -angularA.y; jacobian[5] = -angularA.z;
+            jacobian[6] = normal.x; jacobian[7] = normal.y; jacobian[8] = normal.z;
+            jacobian[9] = angularB.x; jacobian[10] = angularB.y; jacobian[11] = angularB.z;
+
+            float targetVelocity = 0;
+
+            if(restitution > 0)
+            {
+                float velocity = Dot(jacobian, 0, linearVelocities, bodyA * 3) + Dot(jacobian, 3, angularVelocities, bodyA * 3);
+
+                if(bodyB != WORLD)
+                    velocity += Dot(jacobian, 6, linearVelocities, bodyB * 3) + Dot(jacobian, 9, angularVelocities, bodyB * 3);
+
+                //Only bounce when moving against the limit fast enough
+                if(Math.abs(velocity) > bounceThreshold && ((velocity > 0 && upper <= 0) || (velocity < 0 && lower >= 0)))
+                    targetVelocity = -restitution * velocity;
+            }
+
+            AddRow(bodyA, bodyB, jacobian, error, targetVelocity, lower, upper, false);
+        }
+
+        /**
+         * Adds an equality row constraining the relative movement of two points of both bodies along a direction
+         * @param normal
+         * The direction in world space, normalized
+         * @param offsetA
+         * The offset from the center of body A to its point, in world space
+         * @param offsetB
+         * The offset from the center of body B to its point, in world space
+         * @param error
+         * The current separation of the points along the normal minus the desired one
+         */
+        public void AddLinearRow(Vector3D normal, Vector3D offsetA, Vector3D offsetB, float error)
+        {
+            AddLinearRow(normal, offsetA, offsetB, error, Float.NEGATIVE_INFINITY, Float.POSITIVE_INFINITY, 0);
+        }
+
+        /**
+         * Adds a row constraining the relative rotation of both bodies around an axis
+         * @param axis
+         * The axis in world space, normalized
+         * @param error
+         * The current relative angle around the axis minus the desired one, in radians
+         * @param lower
+         * The lowest impulse the row can apply, -Infinity for an equality
+         * @param upper
+         * The highest impulse the row can apply, Infinity for an equality
+         */
+        public void AddAngularRow(Vector3D axis, float error, float lower, float upper)
+        {
+            jacobian[0] = 0; jacobian[1] = 0; jacobian[2] = 0;
+            jacobian[3] = -axis.x; jacobian[4] = -axis.y; jacobian[5] = -axis.z;
+            jacobian[6] = 0; jacobian[7] = 0; jacobian[8] = 0;
+            jacobian[9] = axis.x; jacobian[10] = axis.y; jacobian[11] = axis.z;
+
+            AddRow(bodyA, bodyB, jacobian, error, 0, lower, upper, true);
+        }
+
+        /**
+         * Adds an equality row constraining the relative rotation of both bodies around an axis
+         * @param axis
+         * The axis in world space, normalized
+         * @param error
+         * The current relative angle around the axis minus the desired one, in radians
+         */
+        public void AddAngularRow(Vector3D axis, float error)
+        {
+            AddAngularRow(axis, error, Float.NEGATIVE_INFINITY, Float.POSITIVE_INFINITY);
+        }
+
+        private static Vector3D GetPosition(int body)
+        {
+            return GetVector(positions, body);
+        }
+
+        private static Quaternion GetRotation(int body)
+        {
+            return new Quaternion(rotations[body * 4], rotations[body * 4 + 1], rotations[body * 4 + 2], rotations[body * 4 + 3]);
+        }
+
+        private static Vector3D GetWorldOffset(int body, Vector3D localAnchor)
+        {
+            Vector3D scaled = new Vector3D(localAnchor.x * scales[body * 3], localAnchor.y * scales[body * 3 + 1], localAnchor.z * scales[body * 3 + 2]);
+            return scaled.Rotate(GetRotation(body));
+        }
+    }
+
+    /**
+     * Map from the bodies to their index in the solver arrays, compared by identity like an IdentityHashMap but storing the indices
+     * without boxing them. Open addressing with linear probing, it's cleared at the start of every step
+     */
+    private static final class BodyIndices
+    {
+        private Rigidbody[] keys = new Rigidbody[32];
+        private int[] values = new int[32];
+        private int size = 0;
+
+        /**
+         * Gets the index of a body
+         * @param body
+         * The body
+         * @return
+         * The index of the body, or -1 if it isn't in the map
+         */
+        int Get(Rigidbody body)
+        {
+            int mask = keys.length - 1;
+
+            for(int slot = Hash(body) & mask; keys[slot] != null; slot = (slot + 1) & mask)
+            {
+                if(keys[slot] == body)
+                    return values[slot];
+            }
+
+            return -1;
+        }
+
+        /**
+         * Adds a body that isn't in the map yet
+         */
+        void Put(Rigidbody body, int index)
+        {
+            //Keep the load under a half so the probes stay short
+            if((size + 1) * 2 > keys.length)
+                Grow();
+
+            Insert(body, index);
+            size++;
+        }
+
+        void Clear()
+        {
+            Arrays.fill(keys, null);
+            size = 0;
+        }
+
+        private void Insert(Rigidbody body, int index)
+        {
+            int mask = keys.length - 1;
+            int slot = Hash(body) & mask;
+
+            while(keys[slot] != null)
+                slot = (slot + 1) & mask;
+
+            keys[slot] = body;
+            values[slot] = index;
+        }
+
+        private void Grow()
+        {
+            Rigidbody[] oldKeys = keys;
+            int[] oldValues = values;
+
+            keys = new Rigidbody[oldKeys.length * 2];
+            values = new int[oldKeys.length * 2];
+
+            for(int i = 0; i < oldKeys.length; i++)
+            {
+                if(oldKeys[i] != null)
+                    Insert(oldKeys[i], oldValues[i]);
+            }
+        }
+
+        private static int Hash(Rigidbody body)
+        {
+            //Spread the identity hash so consecutive hashes don't fill consecutive slots
+            int hash = System.identityHashCode(body) * 0x9E3779B9;
+            return hash ^ (hash >>> 16);
+        }
+    }
+}
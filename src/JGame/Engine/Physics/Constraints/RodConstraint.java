@@ -1,43 +1,24 @@
 package JGame.Engine.Physics.Constraints;
 
-import JGame.Engine.Physics.Collision.Contact.Contact;
-import JGame.Engine.Structures.Vector3D;
-
-public class RodConstraint extends LinkConstraint
+/**
+ * Constraint that links two objects using a rigid rod, keeping their anchors at a fixed distance
+ */
+public class RodConstraint extends DistanceJoint
 {
-
-
     /**
      * The length of the rod
      */
-    public float length;
+    public float length = 1.0f;
 
     @Override
-    public int FillContact(Contact[] contacts, int limit)
+    protected float GetMinLength()
     {
-        float currentLength = CurrentLength();
-
-        if(currentLength == length)
-           return 0;
-
-        contacts[0].bodies[0] = rigidbodies[0];
-        contacts[0].bodies[1] = rigidbodies[1];
-
-        Vector3D normal = rigidbodies[1].transform().GetGlobalPosition().Subtract(rigidbodies[0].transform().GetGlobalPosition()).Normalized();
-
-//        if(currentLength > length)
-//        {
-//            contacts[0].contactNormal = normal;
-//            contacts[0].penetration = currentLength - length;
-//        }
-//        else
-//        {
-//            contacts[0].contactNormal = normal.Negate();
-//            contacts[0].penetration = length - currentLength;
-//        }
-//
-//        contacts[0].restitution = 0;
+        return length;
+    }
 
-        return 1;
+    @Override
+    protected float GetMaxLength()
+    {
+        return length;
     }
 }
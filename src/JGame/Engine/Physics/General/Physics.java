@@ -1,29 +1,49 @@
 package JGame.Engine.Physics.General;
 
-import JGame.Engine.Basic.BaseObject;
+import JGame.Engine.Basic.CallbackDispatcher;
+import JGame.Engine.Coroutines.Coroutine;
 import JGame.Engine.Internal.InternalGameInstance;
 import JGame.Engine.Internal.Time;
+import JGame.Engine.Physics.Collision.Detection.BroadCollisionDetection;
 import JGame.Engine.Physics.Collision.Detection.CollisionPipeline;
+import JGame.Engine.Physics.Constraints.JointSolver;
 import JGame.Engine.Physics.Interfaces.IForceGenerator;
 import JGame.Engine.Physics.Bodies.Rigidbody;
 import JGame.Engine.Settings;
+import JGame.Engine.Structures.DeferredList;
 import JGame.Engine.Structures.Vector3D;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 
 public class Physics
 {
     public static final ArrayList<PhysicsObject> physicsObjects = new ArrayList<>();
 
-    public static final ArrayList<ForceRegistration> forceRegistrations = new ArrayList<>();
+    public static final DeferredList<ForceRegistration> forceRegistrations = new DeferredList<>();
 
     public static boolean useGlobalGravity = true;
 
     public static Vector3D gravityDirection = Vector3D.Down;
 
+    /**
+     * The number of collision layers available to rigidbodies
+     */
+    public static final int COLLISION_LAYER_COUNT = 32;
+
+    /**
+     * Layer interaction matrix, each entry is the bitmask of the layers the layer at that index collides with
+     */
+    private static final int[] layerCollisionMasks = new int[COLLISION_LAYER_COUNT];
+
+    static
+    {
+        Arrays.fill(layerCollisionMasks, ~0);
+    }
+
     private static double physicsTimer = 0.0f;
     /**
-     * Runs the update for physics behaviors
+     * Runs the update for physics behaviors, running as many fixed steps as fit in the time since the last frame
      */
     public static void UpdatePhysics()
     {
@@ -33,22 +53,44 @@ public class Physics
 
         while (physicsTimer >= Settings.Physics.physicsUpdateInterval)
         {
-            Time.UpdatePhysicsTime();
+            Step();
 
-            UpdateForces();
+            physicsTimer -= Settings.Physics.physicsUpdateInterval;
+        }
+    }
 
-            for(BaseObject baseObj : new ArrayList<>(BaseObject.allBaseObjects))
-            {
-                if(baseObj != null && baseObj.IsAvailable())
-                {
-                    baseObj._internalPhysicsUpdate();
-                }
-            }
+    /**
+     * Runs a single fixed physics step: force generators, physics updates and integration, and the collision pipeline.
+     * Doesn't depend on the frame time, so it can also drive the simulation without a window
+     */
+    public static void Step()
+    {
+        Time.UpdatePhysicsTime();
 
-            CollisionPipeline.RunPipeline();
+        long timer = PhysicsMetrics.StartTimer();
+        UpdateForces();
+        PhysicsMetrics.StopTimer(PhysicsMetrics.FORCE_UPDATE, timer);
 
-            physicsTimer -= Settings.Physics.physicsUpdateInterval;
-        }
+        timer = PhysicsMetrics.StartTimer();
+        CallbackDispatcher.Dispatch(CallbackDispatcher.Callback.PhysicsUpdate);
+        PhysicsMetrics.StopTimer(PhysicsMetrics.INTEGRATION, timer);
+
+        CollisionPipeline.RunPipeline();
+
+        PhysicsMetrics.EndStep();
+
+        Coroutine.ResumePhysicsStep();
+    }
+
+    /**
+     * Removes the objects destroyed or disabled during a bulk destroy from the physics registries in a single pass,
+     * and rebuilds the broad phase trees with the remaining bodies
+     */
+    public static void RemoveUnavailableObjects()
+    {
+        physicsObjects.removeIf(physicsObject -> !physicsObject.IsRegistered());
+        BroadCollisionDetection.Rebuild(physicsObjects);
+        JointSolver.RemoveUnavailableJoints();
     }
 
     /**
@@ -56,20 +98,34 @@ public class Physics
      */
     private static void UpdateForces()
     {
-        for(ForceRegistration reg : new ArrayList<>(forceRegistrations))
+        forceRegistrations.BeginIteration();
+
+        try
         {
-            //If either the registration itself, the generator or rigidbody are null, then delete the registration
-            if(reg == null || reg.Generator() == null || reg.Rigidbody() == null)
+            for(int i = 0; i < forceRegistrations.Size(); i++)
             {
-                UnregisterForce(reg);
-                continue;
-            }
+                ForceRegistration reg = forceRegistrations.Get(i);
 
-            if(reg.Generator().isActive() && reg.Rigidbody().IsAvailable())
-            {
-                reg.Generator().UpdateForce(reg.Rigidbody());
+                if(reg == null)
+                    continue;
+
+                //If either the generator or rigidbody are null, then delete the registration
+                if(reg.Generator() == null || reg.Rigidbody() == null)
+                {
+                    UnregisterForce(reg);
+                    continue;
+                }
+
+                if(reg.Generator().isActive() && reg.Rigidbody().IsAvailable())
+                {
+                    reg.Generator().UpdateForce(reg.Rigidbody());
+                }
             }
         }
+        finally
+        {
+            forceRegistrations.EndIteration();
+        }
     }
     /**
      * Registers a Force - Object pair
@@ -97,7 +153,7 @@ public class Physics
      */
     public static void RegisterForce(ForceRegistration forceRegistration)
     {
-        forceRegistrations.add(forceRegistration);
+        forceRegistrations.Add(forceRegistration);
     }
 
     /**
@@ -107,14 +163,82 @@ public class Physics
      */
     public static void UnregisterForce(ForceRegistration forceRegistration)
     {
-        forceRegistrations.remove(forceRegistration);
+        forceRegistrations.Remove(forceRegistration);
     }
     /**
      * Clears all Force - Object pair registers
      */
     public static void ClearForceRegisters()
     {
-        forceRegistrations.clear();
+        forceRegistrations.Clear();
+    }
+
+    //------Collision Layers------
+
+    /**
+     * Sets whether two collision layers interact with each other, the matrix is kept symmetric
+     * @param layerA
+     * The first layer, between 0 and COLLISION_LAYER_COUNT - 1
+     * @param layerB
+     * The second layer, between 0 and COLLISION_LAYER_COUNT - 1
+     * @param collide
+     * Should the layers collide?
+     */
+    public static void SetLayerCollision(int layerA, int layerB, boolean collide)
+    {
+        CheckLayer(layerA);
+        CheckLayer(layerB);
+
+        if(collide)
+        {
+            layerCollisionMasks[layerA] |= 1 << layerB;
+            layerCollisionMasks[layerB] |= 1 << layerA;
+        }
+        else
+        {
+            layerCollisionMasks[layerA] &= ~(1 << layerB);
+            layerCollisionMasks[layerB] &= ~(1 << layerA);
+        }
+    }
+
+    /**
+     * Checks if two collision layers interact with each other
+     * @param layerA
+     * The first layer
+     * @param layerB
+     * The second layer
+     * @return
+     * True if the layers collide
+     */
+    public static boolean GetLayerCollision(int layerA, int layerB)
+    {
+        CheckLayer(layerA);
+        CheckLayer(layerB);
+
+        return (layerCollisionMasks[layerA] & (1 << layerB)) != 0;
+    }
+
+    /**
+     * Gets the bitmask of the layers a layer collides with
+     * @param layer
+     * The layer
+     * @return
+     * The bitmask of the layers the layer collides with
+     */
+    public static int GetLayerCollisionMask(int layer)
+    {
+        return layerCollisionMasks[layer];
+    }
+
+    /**
+     * Throws an IllegalArgumentException if a layer isn't between 0 and COLLISION_LAYER_COUNT - 1
+     * @param layer
+     * The layer to check
+     */
+    public static void CheckLayer(int layer)
+    {
+        if(layer < 0 || layer >= COLLISION_LAYER_COUNT)
+            throw new IllegalArgumentException("Invalid collision layer " + layer + "! Use a value between 0 and " + (COLLISION_LAYER_COUNT - 1));
     }
 
     public static class Constraints
@@ -124,6 +248,20 @@ public class Physics
          */
         public boolean x, y, z = false;
 
+        public Constraints() { }
+
+        /**
+         * Creates a copy of the constraints
+         * @param constraints
+         * The constraints to copy
+         */
+        public Constraints(Constraints constraints)
+        {
+            x = constraints.x;
+            y = constraints.y;
+            z = constraints.z;
+        }
+
         public Vector3D AsVector()
         {
             return new Vector3D(x ? 0.0f : 1.0f, y ? 0.0f : 1.0f,z ? 0.0f : 1.0f);
@@ -144,5 +282,15 @@ public class Physics
             dragCoefficient = 0.001f;
             squaredDragCoefficient = 0.0001f;
         }
+
+        /**
+         * Creates a copy of the coefficients
+         * @param coefficients
+         * The coefficients to copy
+         */
+        public DragCoefficients(DragCoefficients coefficients)
+        {
+            this(coefficients.dragCoefficient, coefficients.squaredDragCoefficient);
+        }
     }
 }
@@ -0,0 +1,304 @@
+package JGame.Engine.Physics.General;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Per-step timings and counters of the physics pipeline. The physics step accumulates the values of the step being run
+ * and publishes them when it ends into a ring buffer holding the last HISTORY_SIZE steps, which can be read from any thread without locking.
+ * Every published step is also emitted as a {@link PhysicsStepEvent} when Java Flight Recorder is recording it
+ */
+public class PhysicsMetrics
+{
+    /**
+     * Turns the timers and counters on or off, the pipeline only pays for a branch per stage while disabled
+     */
+    public static boolean enabled = true;
+
+    /**
+     * Number of steps kept in the ring buffer
+     */
+    public static final int HISTORY_SIZE = 256;
+
+    //------Stages------
+
+    /**
+     * Force generators updating the accumulated forces
+     */
+    public static final int FORCE_UPDATE = 0;
+    /**
+     * Physics updates of every object, including rigidbody integration
+     */
+    public static final int INTEGRATION = 1;
+    public static final int BROAD_PHASE = 2;
+    /**
+     * Contact generation and trigger overlap tests
+     */
+    public static final int NARROW_PHASE = 3;
+    /**
+     * Contact preparation and interpenetration resolution
+     */
+    public static final int POSITION_RESOLVE = 4;
+    public static final int VELOCITY_RESOLVE = 5;
+    public static final int STAGE_COUNT = 6;
+
+    //------Counters------
+
+    public static final int POTENTIAL_PAIRS = 0;
+    public static final int CONTACTS = 1;
+    public static final int POSITION_ITERATIONS = 2;
+    public static final int VELOCITY_ITERATIONS = 3;
+    /**
+     * Dynamic bodies removed and inserted again in the broad phase tree
+     */
+    public static final int BVH_REINSERTS = 4;
+    public static final int COUNTER_COUNT = 5;
+
+    private static final String[] STAGE_NAMES = { "Force Update", "Integration", "Broad Phase", "Narrow Phase", "Position Resolve", "Velocity Resolve" };
+    private static final String[] COUNTER_NAMES = { "Potential Pairs", "Contacts", "Position Iterations", "Velocity Iterations", "BVH Reinserts" };
+
+    private static final int RECORD_SIZE = STAGE_COUNT + COUNTER_COUNT;
+
+    //------Current step, only touched by the physics thread------
+
+    private static final long[] currentStageNanos = new long[STAGE_COUNT];
+    private static final long[] currentCounters = new long[COUNTER_COUNT];
+
+    //------Ring buffer------
+
+    /**
+     * Number of the last published step, -1 before the first one
+     */
+    private static final AtomicLong lastStep = new AtomicLong(-1);
+    /**
+     * Step held by every slot, or -1 while the slot is being written. Readers check it before and after reading a slot
+     */
+    private static final AtomicLongArray slotSteps = new AtomicLongArray(HISTORY_SIZE);
+    private static final AtomicLongArray slotValues = new AtomicLongArray(HISTORY_SIZE * RECORD_SIZE);
+
+    static
+    {
+        for(int i = 0; i < HISTORY_SIZE; i++)
+            slotSteps.set(i, -1);
+    }
+
+    /**
+     * Values of a published step
+     */
+    public static class StepMetrics
+    {
+        public long step = -1;
+        public final long[] stageNanos = new long[STAGE_COUNT];
+        public final long[] counters = new long[COUNTER_COUNT];
+
+        /**
+         * Gets the time spent in every stage of the step
+         * @return
+         * The total time in nanoseconds
+         */
+        public long GetTotalNanos()
+        {
+            long total = 0;
+            for(long nanos : stageNanos)
+                total += nanos;
+
+            return total;
+        }
+
+        @Override
+        public String toString()
+        {
+            StringBuilder builder = new StringBuilder("Step " + step + ":");
+
+            for(int i = 0; i < STAGE_COUNT; i++)
+                builder.append(' ').append(STAGE_NAMES[i]).append(' ').append(String.format("%.3f", stageNanos[i] / 1e6)).append("ms,");
+
+            for(int i = 0; i < COUNTER_COUNT; i++)
+                builder.append(' ').append(COUNTER_NAMES[i]).append(' ').append(counters[i]).append(i < COUNTER_COUNT - 1 ? "," : "");
+
+            return builder.toString();
+        }
+    }
+
+    //------Recording------
+
+    /**
+     * Starts timing a stage
+     * @return
+     * The start timestamp to pass to StopTimer
+     */
+    public static long StartTimer()
+    {
+        return enabled ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Adds the time elapsed since StartTimer to a stage of the current step
+     * @param stage
+     * The stage
+     * @param start
+     * The timestamp returned by StartTimer
+     */
+    public static void StopTimer(int stage, long start)
+    {
+        if(enabled)
+            currentStageNanos[stage] += System.nanoTime() - start;
+    }
+
+    /**
+     * Adds to a counter of the current step
+     * @param counter
+     * The counter
+     * @param amount
+     * The amount to add
+     */
+    public static void AddCounter(int counter, long amount)
+    {
+        if(enabled)
+            currentCounters[counter] += amount;
+    }
+
+    /**
+     * Publishes the values of the current step into the ring buffer and emits its flight recorder event,
+     * called by the physics loop at the end of every step
+     */
+    public static void EndStep()
+    {
+        if(!enabled)
+            return;
+
+        long step = lastStep.get() + 1;
+        int slot = (int) (step % HISTORY_SIZE);
+        int offset = slot * RECORD_SIZE;
+
+        slotSteps.set(slot, -1);
+
+        for(int i = 0; i < STAGE_COUNT; i++)
+            slotValues.set(offset + i, currentStageNanos[i]);
+
+        for(int i = 0; i < COUNTER_COUNT; i++)
+            slotValues.set(offset + STAGE_COUNT + i, currentCounters[i]);
+
+        slotSteps.set(slot, step);
+        lastStep.set(step);
+
+        PhysicsStepEvent.Emit(currentStageNanos, currentCounters);
+
+        Arrays.fill(currentStageNanos, 0);
+        Arrays.fill(currentCounters, 0);
+    }
+
+    //------Reading------
+
+    /**
+     * Gets the number of the last published step
+     * @return
+     * The step number, -1 if no step has been published yet
+     */
+    public static long GetLastStep()
+    {
+        return lastStep.get();
+    }
+
+    /**
+     * Reads a published step from the ring buffer
+     * @param step
+     * The step number
+     * @param into
+     * The metrics to fill
+     * @return
+     * False if the step isn't in the buffer anymore, or is being overwritten
+     */
+    public static boolean ReadStep(long step, StepMetrics into)
+    {
+        if(step < 0 || step > lastStep.get() || step <= lastStep.get() - HISTORY_SIZE)
+            return false;
+
+        int slot = (int) (step % HISTORY_SIZE);
+        int offset = slot * RECORD_SIZE;
+
+        if(slotSteps.get(slot) != step)
+            return false;
+
+        for(int i = 0; i < STAGE_COUNT; i++)
+            into.stageNanos[i] = slotValues.get(offset + i);
+
+        for(int i = 0; i < COUNTER_COUNT; i++)
+            into.counters[i] = slotValues.get(offset + STAGE_COUNT + i);
+
+        //The writer may have started reusing the slot while it was being read
+        if(slotSteps.get(slot) != step)
+            return false;
+
+        into.step = step;
+        return true;
+    }
+
+    /**
+     * Reads the last published step
+     * @param into
+     * The metrics to fill
+     * @return
+     * False if no step could be read
+     */
+    public static boolean ReadLatest(StepMetrics into)
+    {
+        return ReadStep(lastStep.get(), into);
+    }
+
+    /**
+     * Averages the last published steps
+     * @param steps
+     * The number of steps to average, clamped to the size of the ring buffer
+     * @param into
+     * The metrics to fill with the averages, its step is set to the last step read
+     * @return
+     * The number of steps averaged
+     */
+    public static int ReadAverage(int steps, StepMetrics into)
+    {
+        StepMetrics read = new StepMetrics();
+        long[] stageTotals = new long[STAGE_COUNT];
+        long[] counterTotals = new long[COUNTER_COUNT];
+
+        long last = lastStep.get();
+        int count = 0;
+
+        for(long step = last; step > last - Math.min(steps, HISTORY_SIZE) && step >= 0; step--)
+        {
+            if(!ReadStep(step, read))
+                continue;
+
+            for(int i = 0; i < STAGE_COUNT; i++)
+                stageTotals[i] += read.stageNanos[i];
+
+            for(int i = 0; i < COUNTER_COUNT; i++)
+                counterTotals[i] += read.counters[i];
+
+            count++;
+        }
+
+        if(count == 0)
+            return 0;
+
+        for(int i = 0; i < STAGE_COUNT; i++)
+            into.stageNanos[i] = stageTotals[i] / count;
+
+        for(int i = 0; i < COUNTER_COUNT; i++)
+            into.counters[i] = counterTotals[i] / count;
+
+        into.step = last;
+        return count;
+    }
+
+    public static String GetStageName(int stage)
+    {
+        return STAGE_NAMES[stage];
+    }
+
+    public static String GetCounterName(int counter)
+    {
+        return COUNTER_NAMES[counter];
+    }
+}
@@ -8,12 +8,32 @@ public abstract class PhysicsObject extends JComponent
     @Override
     protected void OnEnable()
     {
-        Physics.physicsObjects.add(this);
+        //Suspended objects never left the registry
+        if(!IsSuspended())
+            Physics.physicsObjects.add(this);
     }
 
     @Override
     protected void OnDisable()
     {
-        Physics.physicsObjects.remove(this);
+        if(!IsBulkDestroying() && !IsSuspended())
+            Physics.physicsObjects.remove(this);
+    }
+
+    @Override
+    protected void OnRelease()
+    {
+        if(!IsBulkDestroying())
+            Physics.physicsObjects.remove(this);
+    }
+
+    /**
+     * Returns true if the object belongs in the physics registries, because it's available or suspended in an ObjectPool
+     * @return
+     * True if the object should be registered
+     */
+    public final boolean IsRegistered()
+    {
+        return IsAvailable() || IsSuspended();
     }
 }
@@ -0,0 +1,73 @@
+package JGame.Engine.Physics.General;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Flight recorder event holding the timings and counters of a physics step, see {@link PhysicsMetrics}
+ */
+@Name("JGame.PhysicsStep")
+@Label("Physics Step")
+@Category({ "JGame", "Physics" })
+@Description("Stage timings and counters of a physics step")
+@StackTrace(false)
+public class PhysicsStepEvent extends Event
+{
+    @Label("Force Update") @Timespan
+    long forceUpdate;
+    @Label("Integration") @Timespan
+    long integration;
+    @Label("Broad Phase") @Timespan
+    long broadPhase;
+    @Label("Narrow Phase") @Timespan
+    long narrowPhase;
+    @Label("Position Resolve") @Timespan
+    long positionResolve;
+    @Label("Velocity Resolve") @Timespan
+    long velocityResolve;
+
+    @Label("Potential Pairs")
+    long potentialPairs;
+    @Label("Contacts")
+    long contacts;
+    @Label("Position Iterations")
+    long positionIterations;
+    @Label("Velocity Iterations")
+    long velocityIterations;
+    @Label("BVH Reinserts")
+    long bvhReinserts;
+
+    /**
+     * Emits the event if the recorder is recording it
+     * @param stageNanos
+     * The stage timings, indexed by the PhysicsMetrics stages
+     * @param counters
+     * The counters, indexed by the PhysicsMetrics counters
+     */
+    static void Emit(long[] stageNanos, long[] counters)
+    {
+        PhysicsStepEvent event = new PhysicsStepEvent();
+        if(!event.isEnabled())
+            return;
+
+        event.forceUpdate = stageNanos[PhysicsMetrics.FORCE_UPDATE];
+        event.integration = stageNanos[PhysicsMetrics.INTEGRATION];
+        event.broadPhase = stageNanos[PhysicsMetrics.BROAD_PHASE];
+        event.narrowPhase = stageNanos[PhysicsMetrics.NARROW_PHASE];
+        event.positionResolve = stageNanos[PhysicsMetrics.POSITION_RESOLVE];
+        event.velocityResolve = stageNanos[PhysicsMetrics.VELOCITY_RESOLVE];
+
+        event.potentialPairs = counters[PhysicsMetrics.POTENTIAL_PAIRS];
+        event.contacts = counters[PhysicsMetrics.CONTACTS];
+        event.positionIterations = counters[PhysicsMetrics.POSITION_ITERATIONS];
+        event.velocityIterations = counters[PhysicsMetrics.VELOCITY_ITERATIONS];
+        event.bvhReinserts = counters[PhysicsMetrics.BVH_REINSERTS];
+
+        event.commit();
+    }
+}
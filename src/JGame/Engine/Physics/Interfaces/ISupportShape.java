@@ -0,0 +1,32 @@
+package JGame.Engine.Physics.Interfaces;
+
+import JGame.Engine.Structures.Vector3D;
+
+/**
+ * Interface for convex shapes described by their support function, so the generic convex narrow phase (GJK/EPA) can test
+ * colliders and loose shapes like the triangles of meshes alike
+ */
+public interface ISupportShape
+{
+    /**
+     * Gets a point inside the shape, used as the starting search direction
+     * @return
+     * The center of the shape, in world space
+     */
+    Vector3D GetCenterWorld();
+
+    /**
+     * Writes the furthest point of the shape along a direction into an array, in world space
+     * @param x
+     * The X component of the direction, which doesn't need to be normalized
+     * @param y
+     * The Y component of the direction
+     * @param z
+     * The Z component of the direction
+     * @param target
+     * The array the point is written to
+     * @param offset
+     * The offset the point is written at
+     */
+    void Support(float x, float y, float z, float[] target, int offset);
+}
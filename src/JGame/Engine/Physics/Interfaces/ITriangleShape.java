@@ -0,0 +1,60 @@
+package JGame.Engine.Physics.Interfaces;
+
+import JGame.Engine.Structures.Vector3D;
+
+/**
+ * Interface for collision shapes made of triangles, like meshes and heightfields, so they share the triangle narrow phase.
+ * Shapes are stored without scale, every query takes the scale to apply to the triangles
+ */
+public interface ITriangleShape
+{
+    @FunctionalInterface
+    interface TriangleVisitor
+    {
+        /**
+         * Called for every triangle whose bounds overlap the query
+         * @param triangle
+         * The index of the triangle
+         * @return
+         * False to stop the query
+         */
+        boolean Visit(int triangle);
+    }
+
+    /**
+     * Visits every triangle whose bounds overlap a box. The visitor must not query another shape on the same thread
+     * @param min
+     * The min corner of the box, in the scaled space of the shape
+     * @param max
+     * The max corner of the box, in the scaled space of the shape
+     * @param scale
+     * The scale to apply
+     * @param visitor
+     * The visitor called for every triangle
+     */
+    void Query(Vector3D min, Vector3D max, Vector3D scale, TriangleVisitor visitor);
+
+    /**
+     * Gets a vertex of a triangle
+     * @param triangle
+     * The index of the triangle
+     * @param corner
+     * The corner of the triangle, 0, 1 or 2
+     * @param scale
+     * The scale to apply
+     * @return
+     * The vertex, scaled
+     */
+    Vector3D GetVertex(int triangle, int corner, Vector3D scale);
+
+    /**
+     * Checks if an edge of a triangle is active, inactive edges lie inside flat surfaces and shouldn't produce contact normals
+     * @param triangle
+     * The index of the triangle
+     * @param edge
+     * The edge, from corner edge to corner edge + 1
+     * @return
+     * True if the edge is active
+     */
+    boolean IsEdgeActive(int triangle, int edge);
+}
@@ -34,7 +34,7 @@ public class Raycast
         float closestDistance = maxDistance;
         RaycastContact closestContact = null;
 
-        for (PhysicsObject obj : Physics.physicsObjects) if(obj instanceof Rigidbody rb)
+        for (PhysicsObject obj : Physics.physicsObjects) if(obj instanceof Rigidbody rb && rb.IsAvailable())
         {
             RaycastContact contact = rb.Raycast(origin, direction, maxDistance, ignoreTags);
             if (contact == null) continue;
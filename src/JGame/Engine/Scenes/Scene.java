@@ -1,6 +1,8 @@
 package JGame.Engine.Scenes;
 
 import JGame.Engine.Basic.JGameObject;
+import JGame.Engine.Physics.Collision.Detection.TriggerDetection;
+import JGame.Engine.Physics.Constraints.JointSolver;
 
 /**
  * Abstract class used to handle scenes, you can create an init scene function and define the specifics of the scene,
@@ -19,5 +21,7 @@ public abstract class Scene
     private void ResetScene()
     {
         JGameObject.DestroyAll();
+        TriggerDetection.Clear();
+        JointSolver.Clear();
     }
 }
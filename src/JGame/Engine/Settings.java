@@ -59,6 +59,35 @@ public final class Settings
 
         public static final float POINTLIGHT_NEAR_PLANE = 0.001f;
     }
+    /**
+     * Class holding settings for the lifetime of objects
+     */
+    public static final class Objects
+    {
+        /**
+         * Should the fields pointing to destroyed objects be set to null at the end of the frame?
+         * Off by default, since the sweep reflects over the fields of every object and its cost grows with the world instead of
+         * with the number of destroyed objects. Code should check IsDestroyed or use ObjectHandles to find destroyed references
+         */
+        public static boolean nullifyDestroyedReferences = false;
+    }
+
+    /**
+     * Class holding settings for the job system and parallel updates
+     */
+    public static final class Jobs
+    {
+        /**
+         * Should writes to Transforms and object creation or destruction be checked while jobs run?
+         * Throws when two jobs write the same Transform in a frame or a job changes objects outside the main thread, slows down every Transform write
+         */
+        public static boolean detectRaces = false;
+        /**
+         * The number of objects updated by every task of a parallel update
+         */
+        public static int parallelUpdateBatchSize = 32;
+    }
+
     /**
      * Class holding references and values related to lighting
      */
@@ -80,6 +109,14 @@ public final class Settings
          * The interval in seconds between physics updates
          */
         public static final double physicsUpdateInterval = 1f/60f;
+        /**
+         * The number of sequential impulse iterations run over the joint rows, and the rows of the contacts touching jointed bodies, every physics update
+         */
+        public static final int jointVelocityIterations = 10;
+        /**
+         * The number of iterations projecting the remaining joint and contact error out of the poses of the jointed bodies every physics update
+         */
+        public static final int jointPositionIterations = 4;
         /**
          * The max number of potential collisions to check during the broad collision detection phase in a single frame
          */
@@ -0,0 +1,377 @@
+package JGame.Engine.Structures;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.function.Predicate;
+
+/**
+ * Ordered list that can be modified while it's being iterated without copying it. Iterations are wrapped in BeginIteration and EndIteration,
+ * while any iteration is running removing an element only clears its slot and adding one puts it in a pending queue,
+ * both are applied when the last iteration ends, so every iteration sees the same elements in the same slots.
+ * Cleared slots are read as null, iterate through the slots with Size and Get and skip the null ones
+ * @param <T>
+ * The type of the elements
+ */
+public class DeferredList<T>
+{
+    private Object[] elements = new Object[16];
+    private int size = 0;
+    private int clearedSlots = 0;
+    private int iterationDepth = 0;
+
+    private final ArrayList<T> pendingAdds = new ArrayList<>();
+
+    /**
+     * Elements removed while removals are batched, applied in a single pass when the batch ends
+     */
+    private HashSet<Object> batchedRemovals = null;
+    /**
+     * The elements of the list when the first removal of the batch happened plus the ones added since, so removals can be checked in constant time
+     */
+    private HashSet<Object> batchMembers = null;
+
+    private static int removalBatchDepth = 0;
+    private static final ArrayList<DeferredList<?>> listsWithBatchedRemovals = new ArrayList<>();
+
+    /**
+     * Adds an element at the end of the list, deferred until the running iterations end
+     * @param element
+     * The element to add, can't be null
+     */
+    public void Add(T element)
+    {
+        if(element == null)
+            throw new IllegalArgumentException("Can't add null elements to a DeferredList!");
+
+        //Adding back an element removed during the batch just cancels the removal
+        if(batchedRemovals != null && batchedRemovals.remove(element))
+            return;
+
+        if(batchMembers != null)
+            batchMembers.add(element);
+
+        if(iterationDepth > 0)
+        {
+            pendingAdds.add(element);
+            return;
+        }
+
+        Append(element);
+    }
+
+    /**
+     * Removes an element, while iterating its slot is cleared right away so it's skipped by the iteration.
+     * While removals are batched the element is only hidden, and it's removed when the batch ends
+     * @param element
+     * The element to remove
+     * @return
+     * True if the element was in the list and wasn't removed already during the current batch
+     */
+    public boolean Remove(T element)
+    {
+        if(removalBatchDepth > 0)
+        {
+            if(batchedRemovals == null)
+            {
+                batchedRemovals = new HashSet<>();
+                batchMembers = new HashSet<>(ToList());
+                listsWithBatchedRemovals.add(this);
+            }
+
+            return batchMembers.contains(element) && batchedRemovals.add(element);
+        }
+
+        int index = IndexOf(element);
+
+        if(index < 0)
+            return pendingAdds.remove(element);
+
+        if(iterationDepth > 0)
+        {
+            elements[index] = null;
+            clearedSlots++;
+        }
+        else
+        {
+            System.arraycopy(elements, index + 1, elements, index, size - index - 1);
+            elements[--size] = null;
+        }
+
+        return true;
+    }
+
+    /**
+     * Removes every element matching a condition in a single pass, while iterating their slots are cleared right away
+     * @param condition
+     * The condition of the elements to remove
+     * @return
+     * The number of elements removed
+     */
+    @SuppressWarnings("unchecked")
+    public int RemoveAll(Predicate<? super T> condition)
+    {
+        int removedCount = 0;
+        int write = 0;
+
+        for(int read = 0; read < size; read++)
+        {
+            T element = (T) elements[read];
+
+            if(element != null && condition.test(element))
+            {
+                removedCount++;
+
+                if(iterationDepth > 0)
+                {
+                    elements[read] = null;
+                    clearedSlots++;
+                }
+                continue;
+            }
+
+            if(iterationDepth == 0)
+                elements[write++] = element;
+        }
+
+        if(iterationDepth == 0)
+        {
+            Arrays.fill(elements, write, size, null);
+            size = write;
+        }
+
+        int pendingCount = pendingAdds.size();
+        pendingAdds.removeIf(condition);
+
+        if(batchMembers != null)
+            batchMembers.removeIf(member -> condition.test((T) member));
+
+        return removedCount + pendingCount - pendingAdds.size();
+    }
+
+    /**
+     * Checks if the list holds an element, including the ones pending to be added
+     * @param element
+     * The element
+     * @return
+     * True if the element is in the list
+     */
+    public boolean Contains(T element)
+    {
+        if(batchedRemovals != null && batchedRemovals.contains(element))
+            return false;
+
+        return IndexOf(element) >= 0 || pendingAdds.contains(element);
+    }
+
+    /**
+     * Removes every element, including the pending ones
+     */
+    public void Clear()
+    {
+        if(iterationDepth > 0)
+        {
+            for(int i = 0; i < size; i++)
+            {
+                if(elements[i] != null)
+                {
+                    elements[i] = null;
+                    clearedSlots++;
+                }
+            }
+        }
+        else
+        {
+            Arrays.fill(elements, 0, size, null);
+            size = 0;
+            clearedSlots = 0;
+        }
+
+        pendingAdds.clear();
+
+        if(batchMembers != null)
+        {
+            batchMembers.clear();
+            batchedRemovals.clear();
+        }
+    }
+
+    //------Iteration------
+
+    /**
+     * Starts an iteration, the list isn't compacted and new elements are queued until the matching EndIteration
+     */
+    public void BeginIteration()
+    {
+        iterationDepth++;
+    }
+
+    /**
+     * Ends an iteration, applying the pending changes if it was the last one running
+     */
+    public void EndIteration()
+    {
+        if(iterationDepth == 0)
+            throw new IllegalStateException("EndIteration called without a matching BeginIteration!");
+
+        if(--iterationDepth == 0)
+            ApplyPending();
+    }
+
+    /**
+     * Gets the number of slots to iterate through
+     * @return
+     * The number of slots, including the ones cleared during the running iterations
+     */
+    public int Size()
+    {
+        return size;
+    }
+
+    /**
+     * Gets the element at a slot
+     * @param index
+     * The slot
+     * @return
+     * The element, or null if it was removed during the running iterations
+     */
+    @SuppressWarnings("unchecked")
+    public T Get(int index)
+    {
+        if(index < 0 || index >= size)
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+
+        Object element = elements[index];
+
+        if(batchedRemovals != null && element != null && batchedRemovals.contains(element))
+            return null;
+
+        return (T) element;
+    }
+
+    /**
+     * Gets the number of elements in the list, ignoring cleared slots and including the pending elements
+     * @return
+     * The number of elements
+     */
+    public int Count()
+    {
+        return size - clearedSlots + pendingAdds.size() - (batchedRemovals == null ? 0 : batchedRemovals.size());
+    }
+
+    /**
+     * Checks if the list has no elements, ignoring cleared slots and including the pending elements
+     * @return
+     * True if the list has no elements
+     */
+    public boolean IsEmpty()
+    {
+        return Count() == 0;
+    }
+
+    /**
+     * Copies the elements to a new list
+     * @return
+     * The list with every element, including the pending ones
+     */
+    public ArrayList<T> ToList()
+    {
+        ArrayList<T> list = new ArrayList<>(Count());
+
+        for(int i = 0; i < size; i++)
+        {
+            T element = Get(i);
+
+            if(element != null)
+                list.add(element);
+        }
+
+        for(T element : pendingAdds)
+        {
+            if(batchedRemovals == null || !batchedRemovals.contains(element))
+                list.add(element);
+        }
+        return list;
+    }
+
+    //------Batched removals------
+
+    /**
+     * Starts batching the removals of every DeferredList until the matching EndBatchedRemovals, removed elements are hidden right away
+     * but only taken out of their lists at the end. Used when destroying many objects at once, where removing listeners one by one
+     * would scan the same lists over and over
+     */
+    public static void BeginBatchedRemovals()
+    {
+        removalBatchDepth++;
+    }
+
+    /**
+     * Removes the elements batched since BeginBatchedRemovals from their lists, with a single pass per list
+     */
+    public static void EndBatchedRemovals()
+    {
+        if(removalBatchDepth == 0)
+            throw new IllegalStateException("EndBatchedRemovals called without a matching BeginBatchedRemovals!");
+
+        if(--removalBatchDepth > 0)
+            return;
+
+        for(DeferredList<?> list : listsWithBatchedRemovals)
+        {
+            HashSet<Object> removals = list.batchedRemovals;
+            list.batchedRemovals = null;
+            list.batchMembers = null;
+            list.RemoveAll(removals::contains);
+        }
+
+        listsWithBatchedRemovals.clear();
+    }
+
+    //------Internal------
+
+    /**
+     * Compacts the cleared slots and appends the pending elements, called when the last iteration ends
+     */
+    private void ApplyPending()
+    {
+        if(clearedSlots > 0)
+        {
+            int write = 0;
+            for(int read = 0; read < size; read++)
+            {
+                if(elements[read] != null)
+                    elements[write++] = elements[read];
+            }
+
+            Arrays.fill(elements, write, size, null);
+            size = write;
+            clearedSlots = 0;
+        }
+
+        for(int i = 0; i < pendingAdds.size(); i++)
+            Append(pendingAdds.get(i));
+
+        pendingAdds.clear();
+    }
+
+    private void Append(T element)
+    {
+        if(size == elements.length)
+            elements = Arrays.copyOf(elements, size * 2);
+
+        elements[size++] = element;
+    }
+
+    private int IndexOf(T element)
+    {
+        //Recently added elements are the most likely to be removed
+        for(int i = size - 1; i >= 0; i--)
+        {
+            if(elements[i] == element || (elements[i] != null && elements[i].equals(element)))
+                return i;
+        }
+
+        return -1;
+    }
+}
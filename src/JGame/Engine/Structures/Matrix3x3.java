@@ -38,7 +38,7 @@ public class Matrix3x3
      */
     public Matrix3x3(Matrix3x3 matrix)
     {
-        System.arraycopy(matrix.values, 0, values, 0, 3);
+        System.arraycopy(matrix.values, 0, values, 0, values.length);
     }
 
     /**
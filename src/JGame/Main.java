@@ -3,15 +3,19 @@ package JGame;
 import JGame.Application.Application;
 import JGame.Engine.Internal.Logger;
 
+import java.util.Arrays;
+
 public class Main
 {
     /**
-     * Starts the application
+     * Starts the application, pass --headless to run it without a window or an OpenGL context
      */
     public static void main(String[] args)
     {
-        Logger.DebugLog("Starting Application...");
-        Application app = new Application(); //Starts a window and opens the application, starts logic
+        boolean headless = Arrays.asList(args).contains("--headless");
+
+        Logger.DebugLog(headless ? "Starting Headless Application..." : "Starting Application...");
+        Application app = new Application(headless); //Starts a window and opens the application, starts logic
     }
 }
 